@@ -3,9 +3,11 @@ package com.solidarlink.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync // Active le support des méthodes asynchrones (@Async)
+@EnableScheduling // Tâches planifiées (@Scheduled)
 public class SolidarLinkApplication {
 
     public static void main(String[] args) {
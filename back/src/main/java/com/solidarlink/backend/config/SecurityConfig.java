@@ -1,8 +1,10 @@
 package com.solidarlink.backend.config;
 
+import com.solidarlink.backend.ratelimit.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,6 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
         private final JwtAuthenticationFilter jwtAuthFilter;
+        private final RateLimitFilter rateLimitFilter;
         private final AuthenticationProvider authenticationProvider;
 
         @Bean
@@ -25,13 +28,18 @@ public class SecurityConfig {
                                 .csrf(AbstractHttpConfigurer::disable)
                                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                                 .authorizeHttpRequests(auth -> auth
-                                                .requestMatchers("/api/auth/**", "/api/public/**", "/api/uploads/**", "/api/notifications/stream")
+                                                .requestMatchers("/api/auth/**", "/api/public/**", "/api/notifications/stream")
+                                                .permitAll()
+                                                // Lecture seule : téléverser ou pré-signer exige un compte
+                                                .requestMatchers(HttpMethod.GET, "/api/uploads/**")
                                                 .permitAll()
                                                 .anyRequest().authenticated())
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                                 .authenticationProvider(authenticationProvider)
-                                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                                // Après le JWT : quotas par utilisateur connecté, par IP sinon
+                                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
                 return http.build();
         }
@@ -1,21 +1,53 @@
 package com.solidarlink.backend.controller;
 
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseImportReport;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseReportSummary;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.dto.CaseStatusDTOs;
+import com.solidarlink.backend.dto.ModerationDTOs;
+import com.solidarlink.backend.dto.SignalementDTOs;
+import com.solidarlink.backend.dto.SignalementListItem;
 import com.solidarlink.backend.dto.StatsDTOs;
-import com.solidarlink.backend.entity.CasHumanitaire;
-import com.solidarlink.backend.entity.Signalement;
+import com.solidarlink.backend.dto.UserListItem;
+import com.solidarlink.backend.entity.SchedulerJob;
 import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
 import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.CaseActivity;
+import com.solidarlink.backend.enums.StatsGranularity;
+import com.solidarlink.backend.importer.CaseImportFormat;
+import com.solidarlink.backend.importer.CaseImportService;
+import com.solidarlink.backend.repository.CaseGeoJsonExport;
+import com.solidarlink.backend.scheduler.ScheduledJobRunner;
 import com.solidarlink.backend.service.AdminService;
+import com.solidarlink.backend.service.CaseActivityRollupService;
+import com.solidarlink.backend.service.ListStreamService;
+import com.solidarlink.backend.service.SignalementService;
+import com.solidarlink.backend.service.VolunteerStatsService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -23,15 +55,23 @@ import java.util.List;
 @PreAuthorize("hasAuthority('ADMIN')") // Ensure only admins can access
 public class AdminController {
 
+    private static final int MAX_TRIAGE_PAGE_SIZE = 100;
+
     private final AdminService adminService;
+    private final ListStreamService listStreamService;
+    private final CaseImportService caseImportService;
+    private final CaseActivityRollupService activityRollupService;
+    private final VolunteerStatsService volunteerStatsService;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final SignalementService signalementService;
 
     @GetMapping("/users/pending")
-    public ResponseEntity<List<User>> getPendingUsers() {
+    public ResponseEntity<List<UserListItem>> getPendingUsers() {
         return ResponseEntity.ok(adminService.getPendingUsers());
     }
 
     @GetMapping("/users/pending/paginated")
-    public ResponseEntity<Page<User>> getPendingUsersPaginated(
+    public ResponseEntity<Page<UserListItem>> getPendingUsersPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
@@ -50,13 +90,37 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    // ========== MODÉRATION EN MASSE (liste d'id ou filtre) ==========
+    @PostMapping("/users/validate")
+    public ResponseEntity<ModerationDTOs.BulkResult> validateUsers(
+            @Valid @RequestBody ModerationDTOs.UserSelection selection) {
+        return ResponseEntity.ok(adminService.validateUsers(selection));
+    }
+
+    @PostMapping("/users/ban")
+    public ResponseEntity<ModerationDTOs.BulkResult> banUsers(
+            @Valid @RequestBody ModerationDTOs.UserSelection selection) {
+        return ResponseEntity.ok(adminService.setUsersBanned(selection, true));
+    }
+
+    @PostMapping("/users/unban")
+    public ResponseEntity<ModerationDTOs.BulkResult> unbanUsers(
+            @Valid @RequestBody ModerationDTOs.UserSelection selection) {
+        return ResponseEntity.ok(adminService.setUsersBanned(selection, false));
+    }
+
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(adminService.getAllUsers());
+    public ResponseEntity<List<UserListItem>> getAllUsers() {
+        return ListResponses.bounded(adminService.getAllUsers());
+    }
+
+    @GetMapping(value = "/users/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ListResponses.ndjson(listStreamService.streamUsers());
     }
 
     @GetMapping("/users/paginated")
-    public ResponseEntity<Page<User>> getAllUsersPaginated(
+    public ResponseEntity<Page<UserListItem>> getAllUsersPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -73,12 +137,17 @@ public class AdminController {
     }
 
     @GetMapping("/cases")
-    public ResponseEntity<List<CasHumanitaire>> getAllCases() {
-        return ResponseEntity.ok(adminService.getAllCases());
+    public ResponseEntity<List<CaseListItem>> getAllCases() {
+        return ListResponses.bounded(adminService.getAllCases());
+    }
+
+    @GetMapping(value = "/cases/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCases() {
+        return ListResponses.ndjson(listStreamService.streamCases(CaseQuery.builder().build()));
     }
 
     @GetMapping("/cases/paginated")
-    public ResponseEntity<Page<CasHumanitaire>> getAllCasesPaginated(
+    public ResponseEntity<Page<CaseListItem>> getAllCasesPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -96,15 +165,54 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Transition en masse (ex. valider 500 cas en attente, ou tous les cas en attente d'une catégorie) :
+     * les cas pour lesquels elle est interdite sont ignorés et listés dans la réponse.
+     */
+    @PostMapping("/cases/status")
+    public ResponseEntity<CaseStatusDTOs.BulkStatusResult> updateCasesStatus(
+            @Valid @RequestBody CaseStatusDTOs.BulkStatusRequest request) {
+        return ResponseEntity.ok(adminService.updateCasesStatus(request));
+    }
+
     @DeleteMapping("/cases/{id}")
     public ResponseEntity<Void> deleteCase(@PathVariable Long id) {
         adminService.deleteCase(id);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Suppression en masse (POST : un corps de requête sur DELETE n'est pas fiable).
+     */
+    @PostMapping("/cases/delete")
+    public ResponseEntity<ModerationDTOs.BulkResult> deleteCases(
+            @Valid @RequestBody ModerationDTOs.CaseSelection selection) {
+        return ResponseEntity.ok(adminService.deleteCases(selection));
+    }
+
+    /**
+     * Import de cas depuis un fichier CSV (titre;description;categorie;latitude;longitude) ou GeoJSON
+     * (FeatureCollection de Points). Les cas importés sont en attente de validation.
+     */
+    @PostMapping(value = "/cases/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CaseImportReport> importCases(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) CaseImportFormat format,
+            @AuthenticationPrincipal User admin) throws IOException {
+        CaseImportFormat effective = format != null ? format : CaseImportFormat.fromFilename(file.getOriginalFilename());
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(caseImportService.importCases(in, effective, admin));
+        }
+    }
+
     @GetMapping("/signalements")
-    public ResponseEntity<List<Signalement>> getAllSignalements() {
-        return ResponseEntity.ok(adminService.getAllSignalements());
+    public ResponseEntity<List<SignalementListItem>> getAllSignalements() {
+        return ListResponses.bounded(adminService.getAllSignalements());
+    }
+
+    @GetMapping(value = "/signalements/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSignalements() {
+        return ListResponses.ndjson(listStreamService.streamSignalements());
     }
 
     @PutMapping("/signalements/{id}/close")
@@ -113,11 +221,74 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * File de tri : un élément par cas signalé, les plus signalés en tête.
+     */
+    @GetMapping("/signalements/triage")
+    public ResponseEntity<Page<CaseReportSummary>> getSignalementTriage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_TRIAGE_PAGE_SIZE));
+        return ResponseEntity.ok(signalementService.triage(pageable));
+    }
+
+    @GetMapping("/signalements/cases/{caseId}")
+    public ResponseEntity<Page<SignalementListItem>> getCaseSignalements(
+            @PathVariable Long caseId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_TRIAGE_PAGE_SIZE));
+        return ResponseEntity.ok(signalementService.openReportsOf(caseId, pageable));
+    }
+
+    /**
+     * Clôt d'un coup les signalements ouverts d'un cas : DISMISS republie un cas masqué automatiquement,
+     * REJECT_CASE rejette le cas.
+     */
+    @PostMapping("/signalements/cases/{caseId}/decision")
+    public ResponseEntity<Map<String, Integer>> decideSignalements(
+            @PathVariable Long caseId,
+            @RequestParam SignalementDTOs.Decision decision) {
+        return ResponseEntity.ok(Map.of("closed", signalementService.decide(caseId, decision)));
+    }
+
     @GetMapping("/stats")
     public ResponseEntity<StatsDTOs.AdminStatsDTO> getStats() {
         return ResponseEntity.ok(adminService.getStats());
     }
 
+    /**
+     * Séries temporelles de l'activité des cas sur une période quelconque, à l'heure, au jour,
+     * à la semaine ou au mois.
+     */
+    @GetMapping("/stats/timeseries")
+    public ResponseEntity<StatsDTOs.TimeSeries> getTimeSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") StatsGranularity granularity,
+            @RequestParam(required = false) Set<CaseActivity> activity,
+            @RequestParam(required = false) Set<CasCategorie> categorie,
+            @RequestParam(defaultValue = "false") boolean byCategory) {
+        return ResponseEntity.ok(activityRollupService.timeSeries(
+                from, to != null ? to : LocalDateTime.now(), granularity, activity, categorie, byCategory));
+    }
+
+    /**
+     * Recalcule les statistiques des bénévoles depuis les interventions et les cas.
+     */
+    @PostMapping("/stats/volunteers/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildVolunteerStats() {
+        return ResponseEntity.ok(Map.of("volunteers", volunteerStatsService.rebuild()));
+    }
+
+    /**
+     * Dernière exécution des tâches planifiées (rappels, cas en souffrance).
+     */
+    @GetMapping("/scheduler/jobs")
+    public ResponseEntity<List<SchedulerJob>> getSchedulerJobs() {
+        return ResponseEntity.ok(scheduledJobRunner.jobs());
+    }
+
     private final com.solidarlink.backend.service.ExportService exportService;
 
     @GetMapping("/reports/cases/pdf")
@@ -145,4 +316,23 @@ public class AdminController {
                 .contentType(org.springframework.http.MediaType.parseMediaType("text/csv"))
                 .body(new org.springframework.core.io.InputStreamResource(bis));
     }
+
+    /**
+     * Export GeoJSON pour les outils SIG (QGIS, ...), en flux : filtrable par statut, catégorie et emprise.
+     */
+    @GetMapping("/reports/cases/geojson")
+    public ResponseEntity<StreamingResponseBody> exportCasesGeoJson(
+            @RequestParam(required = false) Set<CasStatut> status,
+            @RequestParam(required = false) Set<CasCategorie> categorie,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) Double maxLat) {
+        CaseGeoJsonExport export = new CaseGeoJsonExport(status, categorie,
+                BoundingBox.ofNullable(minLon, minLat, maxLon, maxLat));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=cases.geojson")
+                .contentType(MediaType.parseMediaType("application/geo+json"))
+                .body(exportService.streamCasesGeoJson(export));
+    }
 }
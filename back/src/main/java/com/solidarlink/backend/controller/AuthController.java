@@ -1,7 +1,9 @@
 package com.solidarlink.backend.controller;
 
 import com.solidarlink.backend.dto.AuthDTOs;
+import com.solidarlink.backend.dto.UploadDTOs;
 import com.solidarlink.backend.service.AuthService;
+import com.solidarlink.backend.storage.StorageBackend;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -9,11 +11,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api")
@@ -22,6 +32,7 @@ import java.io.IOException;
 public class AuthController {
 
     private final AuthService authService;
+    private final StorageBackend storageBackend;
 
     @Operation(
             summary = "Inscription d'un nouvel utilisateur",
@@ -57,4 +68,33 @@ public class AuthController {
     public ResponseEntity<String> uploadFile(@RequestParam("file") MultipartFile file) throws IOException {
         return ResponseEntity.ok(authService.saveFile(file));
     }
+
+    @Operation(
+            summary = "Préparer un upload direct",
+            description = "Retourne une URL pré-signée pour envoyer le fichier directement au stockage objet (S3/MinIO)"
+    )
+    @PostMapping("/uploads/presign")
+    public ResponseEntity<UploadDTOs.PresignResponse> presignUpload(
+            @jakarta.validation.Valid @RequestBody UploadDTOs.PresignRequest request) {
+        return ResponseEntity.ok(authService.presignUpload(request));
+    }
+
+    @GetMapping("/uploads/{key:.+}")
+    public ResponseEntity<Resource> downloadFile(@PathVariable String key) {
+        // Stockage objet : redirection vers une URL pré-signée, le fichier ne passe pas par la JVM
+        Optional<URI> presigned = storageBackend.presignDownload(key);
+        if (presigned.isPresent()) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(presigned.get())
+                    .build();
+        }
+
+        return storageBackend.load(key)
+                .map(resource -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(7, TimeUnit.DAYS))
+                        .contentType(MediaTypeFactory.getMediaType(resource)
+                                .orElse(MediaType.APPLICATION_OCTET_STREAM))
+                        .body(resource))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
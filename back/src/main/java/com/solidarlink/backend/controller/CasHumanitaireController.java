@@ -1,12 +1,21 @@
 package com.solidarlink.backend.controller;
 
+import com.solidarlink.backend.dto.BoundingBox;
 import com.solidarlink.backend.dto.CasHumanitaireDTO;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
 import com.solidarlink.backend.dto.InterventionDTO;
+import com.solidarlink.backend.dto.SignalementDTOs;
 import com.solidarlink.backend.entity.CasHumanitaire;
 import com.solidarlink.backend.entity.User;
 import com.solidarlink.backend.enums.CasCategorie;
 import com.solidarlink.backend.enums.CasStatut;
 import com.solidarlink.backend.service.CasHumanitaireService;
+import com.solidarlink.backend.service.CaseCollectionVersion;
+import com.solidarlink.backend.service.ListStreamService;
+import com.solidarlink.backend.service.SignalementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,13 +28,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/cases")
@@ -35,6 +53,9 @@ import java.util.List;
 public class CasHumanitaireController {
 
     private final CasHumanitaireService casService;
+    private final ListStreamService listStreamService;
+    private final CaseCollectionVersion collectionVersion;
+    private final SignalementService signalementService;
 
     @Operation(
             summary = "Créer un nouveau cas humanitaire",
@@ -70,86 +91,185 @@ public class CasHumanitaireController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(
+            summary = "Lister tous les cas",
+            description = "Liste plafonnée (en-têtes X-Result-Limit / X-Result-Truncated). "
+                    + "Pour la liste complète : /paginated ou /stream"
+    )
     @GetMapping
-    public ResponseEntity<List<CasHumanitaire>> getAllCases() {
-        return ResponseEntity.ok(casService.getAllCases());
+    public ResponseEntity<List<CaseListItem>> getAllCases(WebRequest request) {
+        return ifCollectionModified(request, null, () -> ListResponses.bounded(casService.getAllCases()));
+    }
+
+    @Operation(
+            summary = "Tous les cas en flux NDJSON",
+            description = "Un cas par ligne, du plus récent au plus ancien, sans limite de taille"
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCases() {
+        return ListResponses.ndjson(listStreamService.streamCases(CaseQuery.builder().build()));
     }
 
     // ========== PAGINATED ENDPOINTS (NEW) ==========
+    @Operation(
+            summary = "Lister les cas avec filtres combinables",
+            description = "Statuts, catégories, emprise ou rayon (mètres), auteur, volontaire et période de création"
+    )
     @GetMapping("/paginated")
-    public ResponseEntity<Page<CasHumanitaire>> getAllCasesPaginated(
+    public ResponseEntity<Page<CaseListItem>> getAllCasesPaginated(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) CasStatut status,
-            @RequestParam(required = false) CasCategorie categorie,
+            @RequestParam(required = false) Set<CasStatut> status,
+            @RequestParam(required = false) Set<CasCategorie> categorie,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long volunteerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            WebRequest request) {
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
-        
-        Page<CasHumanitaire> result;
-        if (status != null && categorie != null) {
-            result = casService.getCasesByStatusAndCategorie(status, categorie, pageable);
-        } else if (status != null) {
-            result = casService.getCasesByStatus(status, pageable);
-        } else if (categorie != null) {
-            result = casService.getCasesByCategorie(categorie, pageable);
-        } else {
-            result = casService.getAllCasesPaginated(pageable);
-        }
-        
-        return ResponseEntity.ok(result);
+
+        CaseQuery query = CaseQuery.builder()
+                .statuses(status)
+                .categories(categorie)
+                .viewport(BoundingBox.ofNullable(minLon, minLat, maxLon, maxLat))
+                .radius(latitude != null && longitude != null && radius != null
+                        ? new CaseQuery.Radius(latitude, longitude, radius) : null)
+                .authorId(authorId)
+                .volunteerId(volunteerId)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+        return ifCollectionModified(request, null, () -> ResponseEntity.ok(casService.findCases(query, pageable)));
     }
 
     @GetMapping("/viewport")
-    public ResponseEntity<Page<CasHumanitaire>> getCasesInViewport(
+    public ResponseEntity<Page<CaseMapItem>> getCasesInViewport(
             @RequestParam double minLon,
             @RequestParam double minLat,
             @RequestParam double maxLon,
             @RequestParam double maxLat,
-            @RequestParam(required = false) CasStatut status,
+            @RequestParam(required = false) Set<CasStatut> status,
+            @RequestParam(required = false) Set<CasCategorie> categorie,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "100") int size) {
+            @RequestParam(defaultValue = "100") int size,
+            WebRequest request) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<CasHumanitaire> result = casService.getCasesWithinViewport(minLon, minLat, maxLon, maxLat, status, pageable);
-        return ResponseEntity.ok(result);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        BoundingBox viewport = new BoundingBox(minLon, minLat, maxLon, maxLat);
+        return ifCollectionModified(request, null, () ->
+                ResponseEntity.ok(casService.getCasesInViewport(viewport, status, categorie, pageable)));
+    }
+
+    @Operation(
+            summary = "Recherche plein texte",
+            description = "Recherche dans le titre et la description (français, insensible aux accents), "
+                    + "classée par pertinence et paginée par curseur"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<CaseSearchDTOs.SearchPage> searchCases(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Set<CasStatut> status,
+            @RequestParam(required = false) Set<CasCategorie> categorie,
+            @RequestParam(required = false) Double minLon,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double maxLon,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        BoundingBox viewport = BoundingBox.ofNullable(minLon, minLat, maxLon, maxLat);
+        return ifCollectionModified(request, null, () ->
+                ResponseEntity.ok(casService.searchCases(query, status, categorie, viewport, cursor, size)));
     }
 
     @GetMapping("/me")
-    public ResponseEntity<List<CasHumanitaire>> getMyCases(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(casService.getMyCases(user));
+    public ResponseEntity<List<CaseListItem>> getMyCases(@AuthenticationPrincipal User user, WebRequest request) {
+        return ifCollectionModified(request, user, () -> ListResponses.bounded(casService.getMyCases(user)));
+    }
+
+    @GetMapping(value = "/me/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMyCases(@AuthenticationPrincipal User user) {
+        return ListResponses.ndjson(listStreamService.streamCases(
+                CaseQuery.builder().authorId(user.getId()).build()));
     }
 
     @GetMapping("/me/paginated")
-    public ResponseEntity<Page<CasHumanitaire>> getMyCasesPaginated(
+    public ResponseEntity<Page<CaseListItem>> getMyCasesPaginated(
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return ResponseEntity.ok(casService.getMyCasesPaginated(user, pageable));
+        return ifCollectionModified(request, user, () ->
+                ResponseEntity.ok(casService.getMyCasesPaginated(user, pageable)));
     }
 
     @GetMapping("/validated")
-    public ResponseEntity<List<CasHumanitaire>> getValidatedCases() {
-        return ResponseEntity.ok(casService.getValidatedCases());
+    public ResponseEntity<List<CaseListItem>> getValidatedCases(WebRequest request) {
+        return ifCollectionModified(request, null, () -> ListResponses.bounded(casService.getValidatedCases()));
     }
 
+    @GetMapping(value = "/validated/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamValidatedCases() {
+        return ListResponses.ndjson(listStreamService.streamCases(
+                CaseQuery.builder().statuses(Set.of(CasStatut.VALIDE)).build()));
+    }
+
+    @Operation(
+        summary = "Cas à proximité",
+        description = "Cas dans un rayon donné en mètres, triés du plus proche au plus éloigné avec leur distance. "
+            + "Par défaut seuls les cas VALIDE sont retournés. Pagination par curseur (nextCursor)."
+    )
     @GetMapping("/nearby")
-    public ResponseEntity<List<CasHumanitaire>> getNearbyCases(
+    public ResponseEntity<CaseSearchDTOs.NearbyPage> getNearbyCases(
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam double radius,
-            @RequestParam(required = false) String categorie) {
-        // Category filtering can be added to service if needed, currently just location
-        return ResponseEntity.ok(casService.getNearbyCases(latitude, longitude, radius));
+            @RequestParam(defaultValue = "5000") double radius,
+            @RequestParam(required = false) Set<CasStatut> status,
+            @RequestParam(required = false) Set<CasCategorie> categorie,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        return ifCollectionModified(request, null, () -> ResponseEntity.ok(
+                casService.getNearbyCases(latitude, longitude, radius, status, categorie, cursor, size)));
     }
 
+    @Operation(
+            summary = "Détail d'un cas",
+            description = "ETag / Last-Modified dérivés de updatedAt : 304 sans chargement du cas si le client est à jour"
+    )
     @GetMapping("/{id}")
-    public ResponseEntity<CasHumanitaire> getCaseById(@PathVariable Long id) {
-        return ResponseEntity.ok(casService.getCaseById(id));
+    public ResponseEntity<CasHumanitaire> getCaseById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalResponses.isConditional(request)) {
+            // Validateur lu seul : le cas n'est chargé que s'il a changé
+            Optional<Instant> lastModified = casService.getCaseLastModified(id);
+            if (lastModified.isPresent()
+                    && request.checkNotModified(caseEtag(id, lastModified.get()), lastModified.get().toEpochMilli())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(ConditionalResponses.REVALIDATE_PRIVATE)
+                    .body(casService.getCaseById(id));
+        }
+        CasHumanitaire cas = casService.getCaseById(id);
+        Optional<Instant> modified = casService.lastModifiedOf(cas);
+        if (modified.isEmpty()) {
+            return ResponseEntity.ok(cas);
+        }
+        return ConditionalResponses.ifModified(request, caseEtag(id, modified.get()), modified.get(),
+                () -> ResponseEntity.ok(cas));
     }
 
     @PutMapping("/{id}/take")
@@ -160,19 +280,44 @@ public class CasHumanitaireController {
         return ResponseEntity.ok(casService.takeCase(id, intervention, user));
     }
 
+    @Operation(
+            summary = "Signaler un cas",
+            description = "Un signalement ouvert par utilisateur et par cas ; au-delà du seuil de signalants, "
+                    + "un cas publié repasse en modération"
+    )
+    @ApiResponse(responseCode = "201", description = "Signalement enregistré")
+    @ApiResponse(responseCode = "409", description = "Cas déjà signalé par cet utilisateur")
+    @PostMapping("/{id}/reports")
+    public ResponseEntity<Void> reportCase(
+            @PathVariable Long id,
+            @jakarta.validation.Valid @RequestBody SignalementDTOs.ReportRequest request,
+            @AuthenticationPrincipal User user) {
+        signalementService.report(id, request, user);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
     @GetMapping("/my-interventions")
-    public ResponseEntity<List<CasHumanitaire>> getMyInterventions(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(casService.getMyInterventions(user));
+    public ResponseEntity<List<CaseListItem>> getMyInterventions(@AuthenticationPrincipal User user,
+                                                                 WebRequest request) {
+        return ifCollectionModified(request, user, () -> ListResponses.bounded(casService.getMyInterventions(user)));
+    }
+
+    @GetMapping(value = "/my-interventions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMyInterventions(@AuthenticationPrincipal User user) {
+        return ListResponses.ndjson(listStreamService.streamCases(
+                CaseQuery.builder().volunteerId(user.getId()).build()));
     }
 
     @GetMapping("/my-interventions/paginated")
-    public ResponseEntity<Page<CasHumanitaire>> getMyInterventionsPaginated(
+    public ResponseEntity<Page<CaseListItem>> getMyInterventionsPaginated(
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("dateIntervention").descending());
-        return ResponseEntity.ok(casService.getMyInterventionsPaginated(user, pageable));
+        return ifCollectionModified(request, user, () ->
+                ResponseEntity.ok(casService.getMyInterventionsPaginated(user, pageable)));
     }
 
     @PutMapping("/{id}/resolve")
@@ -181,4 +326,20 @@ public class CasHumanitaireController {
             @AuthenticationPrincipal User user) {
         return ResponseEntity.ok(casService.resolveCase(id, user));
     }
+
+    private static String caseEtag(Long id, Instant modified) {
+        return "W/\"case-" + id + "-" + modified.getEpochSecond() + "." + modified.getNano() + "\"";
+    }
+
+    /**
+     * Listes : validateur tiré de la version de la collection, lue dans le même instantané que les données.
+     * Les listes propres à un utilisateur incluent son id dans l'ETag.
+     */
+    private <T> ResponseEntity<T> ifCollectionModified(WebRequest request, User user,
+                                                       Supplier<ResponseEntity<T>> response) {
+        return collectionVersion.read(version -> {
+            String etag = user == null ? version.etag() : version.etag("u" + user.getId());
+            return ConditionalResponses.ifModified(request, etag, version.lastModified(), response);
+        });
+    }
 }
@@ -0,0 +1,55 @@
+package com.solidarlink.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * GET conditionnels (If-None-Match / If-Modified-Since). Le validateur est calculé sans charger
+ * les données ; la réponse n'est construite que si le client n'est pas à jour.
+ */
+final class ConditionalResponses {
+
+    /**
+     * Mise en cache autorisée côté client à condition de revalider à chaque usage : sans cela,
+     * le Cache-Control no-store posé par Spring Security empêche tout GET conditionnel du navigateur.
+     */
+    static final CacheControl REVALIDATE_PRIVATE = CacheControl.noCache().cachePrivate();
+    static final CacheControl REVALIDATE_PUBLIC = CacheControl.noCache().cachePublic();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Le client présente-t-il un validateur ? Sinon, inutile de le calculer avant les données.
+     */
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    static <T> ResponseEntity<T> ifModified(WebRequest request, String etag, Instant lastModified,
+                                            Supplier<ResponseEntity<T>> response) {
+        return ifModified(request, etag, lastModified, REVALIDATE_PRIVATE, response);
+    }
+
+    /**
+     * @return null si le client est à jour : checkNotModified a déjà posé le statut 304 et les en-têtes ;
+     * sinon la réponse, ETag et Last-Modified étant eux aussi déjà posés
+     */
+    static <T> ResponseEntity<T> ifModified(WebRequest request, String etag, Instant lastModified,
+                                            CacheControl cacheControl, Supplier<ResponseEntity<T>> response) {
+        if (request.checkNotModified(etag, lastModified.toEpochMilli())) {
+            return null;
+        }
+        ResponseEntity<T> entity = response.get();
+        return ResponseEntity.status(entity.getStatusCode())
+                .headers(entity.getHeaders())
+                .cacheControl(cacheControl)
+                .body(entity.getBody());
+    }
+}
@@ -1,22 +1,36 @@
 package com.solidarlink.backend.controller;
 
 import com.solidarlink.backend.dto.InterventionDTOs;
+import com.solidarlink.backend.dto.InterventionItem;
+import com.solidarlink.backend.entity.User;
 import com.solidarlink.backend.service.InterventionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/interventions")
 @RequiredArgsConstructor
 public class InterventionController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_WINDOW_DAYS = 7;
+
     private final InterventionService interventionService;
 
     @PostMapping("/confirm")
@@ -27,4 +41,61 @@ public class InterventionController {
         interventionService.confirmIntervention(request, userDetails.getUsername());
         return ResponseEntity.ok().body("{\"message\": \"Intervention confirmée avec succès\"}");
     }
+
+    /**
+     * Historique des interventions d'un cas (auteur, bénévole du cas, administrateurs).
+     */
+    @GetMapping("/case/{caseId}")
+    public ResponseEntity<Page<InterventionItem>> getCaseTimeline(
+            @PathVariable Long caseId,
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(interventionService.getCaseTimeline(caseId, user, pageOf(page, size)));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<Page<InterventionItem>> getMyTimeline(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(interventionService.getVolunteerTimeline(user, pageOf(page, size)));
+    }
+
+    /**
+     * Interventions prévues du bénévole connecté, par défaut sur les {@value #DEFAULT_WINDOW_DAYS} prochains jours.
+     */
+    @GetMapping("/me/upcoming")
+    public ResponseEntity<Page<InterventionItem>> getMyUpcoming(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return ResponseEntity.ok(interventionService.getUpcoming(user, start,
+                to != null ? to : start.plusDays(DEFAULT_WINDOW_DAYS), pageOf(page, size)));
+    }
+
+    /**
+     * Planning de tous les bénévoles (administrateurs).
+     */
+    @GetMapping("/upcoming")
+    public ResponseEntity<Page<InterventionItem>> getUpcoming(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        return ResponseEntity.ok(interventionService.getAllUpcoming(user, start,
+                to != null ? to : start.plusDays(DEFAULT_WINDOW_DAYS), pageOf(page, size)));
+    }
+
+    /**
+     * Tri fixé par les requêtes ; taille de page plafonnée.
+     */
+    private static Pageable pageOf(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
 }
@@ -0,0 +1,36 @@
+package com.solidarlink.backend.controller;
+
+import com.solidarlink.backend.dto.BoundedList;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Réponses communes des listes non paginées : plafond signalé par en-têtes, variante NDJSON.
+ */
+final class ListResponses {
+
+    static final String LIMIT_HEADER = "X-Result-Limit";
+    static final String TRUNCATED_HEADER = "X-Result-Truncated";
+
+    private ListResponses() {
+    }
+
+    /**
+     * Le corps reste un tableau JSON (compatibilité front) ; la troncature passe par les en-têtes.
+     */
+    static <T> ResponseEntity<List<T>> bounded(BoundedList<T> list) {
+        return ResponseEntity.ok()
+                .header(LIMIT_HEADER, String.valueOf(list.limit()))
+                .header(TRUNCATED_HEADER, String.valueOf(list.truncated()))
+                .body(list.items());
+    }
+
+    static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,12 +1,15 @@
 package com.solidarlink.backend.controller;
 
 import com.solidarlink.backend.dto.StatsDTOs;
+import com.solidarlink.backend.service.CaseCollectionVersion;
 import com.solidarlink.backend.service.PublicService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/public")
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class PublicController {
 
     private final PublicService publicService;
+    private final CaseCollectionVersion collectionVersion;
 
     @GetMapping("/stats")
     public ResponseEntity<StatsDTOs.PublicStatsDTO> getStats() {
@@ -25,8 +29,18 @@ public class PublicController {
         return ResponseEntity.ok(publicService.getImpactStats());
     }
 
+    @GetMapping("/stats/coverage")
+    public ResponseEntity<java.util.List<StatsDTOs.RegionCoverage>> getCoverage(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(publicService.getCoverage(limit));
+    }
+
     @GetMapping("/cases/resolved")
-    public ResponseEntity<java.util.List<com.solidarlink.backend.dto.CasHumanitaireDTO>> getLatestResolvedCases() {
-        return ResponseEntity.ok(publicService.getLatestResolvedCases());
+    public ResponseEntity<java.util.List<com.solidarlink.backend.dto.CasHumanitaireDTO>> getLatestResolvedCases(
+            WebRequest request) {
+        // Réponse identique pour tous : cache partagé (nginx) autorisé, avec revalidation
+        return collectionVersion.read(version -> ConditionalResponses.ifModified(request,
+                version.etag("resolved"), version.lastModified(), ConditionalResponses.REVALIDATE_PUBLIC,
+                () -> ResponseEntity.ok(publicService.getLatestResolvedCases())));
     }
 }
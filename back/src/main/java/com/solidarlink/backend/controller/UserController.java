@@ -39,6 +39,14 @@ public class UserController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/me/document")
+    public ResponseEntity<String> uploadDocument(
+            @AuthenticationPrincipal User user,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "CNI") String documentType) throws IOException {
+        return ResponseEntity.ok(userService.uploadDocument(user, file, documentType));
+    }
+
     @PostMapping("/me/avatar")
     public ResponseEntity<String> uploadAvatar(
             @AuthenticationPrincipal User user,
@@ -1,56 +1,84 @@
 package com.solidarlink.backend.controller;
 
+import com.solidarlink.backend.dto.CaseRecommendation;
+import com.solidarlink.backend.dto.LeaderboardEntry;
 import com.solidarlink.backend.entity.User;
-import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.gamification.Leaderboard;
+import com.solidarlink.backend.gamification.VolunteerLevel;
+import com.solidarlink.backend.matching.RecommendationService;
+import com.solidarlink.backend.service.VolunteerStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/volunteer")
 public class VolunteerController {
 
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+
     @Autowired
-    private UserRepository userRepository;
+    private VolunteerStatsService volunteerStatsService;
 
-    @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getVolunteerStats() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-
-        Optional<User> userOpt = userRepository.findByEmail(email);
-
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("level", user.getLevel());
-            stats.put("points", user.getPoints());
-            stats.put("missionsCompleted", user.getMissionsCompleted());
-            stats.put("hoursVolunteered", user.getHoursVolunteered());
-
-            // Calculate next level points
-            int nextLevelPoints = 200;
-            if ("Argent".equals(user.getLevel()))
-                nextLevelPoints = 500;
-            else if ("Or".equals(user.getLevel()))
-                nextLevelPoints = 1000;
-            else if ("Platine".equals(user.getLevel()))
-                nextLevelPoints = 2000;
-
-            stats.put("nextLevelPoints", nextLevelPoints);
-            stats.put("impactScore", user.getPoints() / 2); // Simple calculation for now
-
-            return ResponseEntity.ok(stats);
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    /**
+     * Cas ouverts autour de la position du bénévole, classés par proximité, compétences,
+     * disponibilité et ancienneté de la demande.
+     */
+    @GetMapping("/recommendations")
+    public ResponseEntity<List<CaseRecommendation>> getRecommendations(
+            @AuthenticationPrincipal User volunteer,
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "20000") double radius,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(recommendationService.recommend(volunteer, latitude, longitude, radius, size));
+    }
+
+    /**
+     * Meilleurs bénévoles par points, servis depuis le classement en mémoire.
+     */
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@RequestParam(defaultValue = "10") int size) {
+        if (!leaderboard.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
+        return ResponseEntity.ok(leaderboard.top(Math.max(1, Math.min(size, MAX_LEADERBOARD_SIZE))));
+    }
+
+    /**
+     * Tableau de bord du bénévole : points et niveau du profil déjà chargé par l'authentification,
+     * activité lue dans l'agrégat des statistiques (cache mémoire).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getVolunteerStats(@AuthenticationPrincipal User user) {
+        VolunteerStatsService.Stats activity = volunteerStatsService.statsOf(user.getId());
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("level", user.getLevel());
+        stats.put("points", user.getPoints());
+        stats.put("interventions", activity.interventions());
+        stats.put("missionsCompleted", activity.missionsCompleted());
+        stats.put("hoursVolunteered", activity.hoursVolunteered());
+
+        stats.put("nextLevelPoints", VolunteerLevel.of(user.getPoints()).nextLevelPoints());
+        leaderboard.rankOf(user.getId()).ifPresent(rank -> stats.put("rank", rank));
+        stats.put("impactScore", user.getPoints() / 2); // Simple calculation for now
 
-        return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(stats);
     }
 }
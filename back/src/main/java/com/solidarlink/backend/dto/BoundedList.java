@@ -0,0 +1,20 @@
+package com.solidarlink.backend.dto;
+
+import java.util.List;
+
+/**
+ * Résultat d'une liste non paginée plafonnée côté serveur. {@code truncated} indique que d'autres
+ * lignes existent : le client doit alors passer par la pagination ou le flux NDJSON.
+ */
+public record BoundedList<T>(List<T> items, int limit, boolean truncated) {
+
+    /**
+     * @param fetched lignes lues avec une ligne d'avance (limit + 1) pour détecter la troncature
+     */
+    public static <T> BoundedList<T> of(List<T> fetched, int limit) {
+        if (fetched.size() > limit) {
+            return new BoundedList<>(List.copyOf(fetched.subList(0, limit)), limit, true);
+        }
+        return new BoundedList<>(fetched, limit, false);
+    }
+}
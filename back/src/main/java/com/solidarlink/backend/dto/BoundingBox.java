@@ -0,0 +1,27 @@
+package com.solidarlink.backend.dto;
+
+/**
+ * Emprise géographique (WGS84) utilisée pour filtrer les cas visibles sur une carte.
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+
+    public BoundingBox {
+        if (minLon > maxLon || minLat > maxLat) {
+            throw new IllegalArgumentException("Emprise invalide : les minimums doivent être inférieurs aux maximums");
+        }
+    }
+
+    /**
+     * Construit une emprise si les quatre bornes sont renseignées, sinon null.
+     */
+    public static BoundingBox ofNullable(Double minLon, Double minLat, Double maxLon, Double maxLat) {
+        if (minLon == null || minLat == null || maxLon == null || maxLat == null) {
+            return null;
+        }
+        return new BoundingBox(minLon, minLat, maxLon, maxLat);
+    }
+
+    public boolean contains(double lon, double lat) {
+        return lon >= minLon && lon <= maxLon && lat >= minLat && lat <= maxLat;
+    }
+}
@@ -0,0 +1,23 @@
+package com.solidarlink.backend.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import de cas.
+ *
+ * @param rows            lignes (ou entités GeoJSON) lues
+ * @param errorsTruncated au-delà d'un certain nombre, les erreurs ne sont plus détaillées
+ */
+public record CaseImportReport(
+        long rows,
+        long imported,
+        long rejected,
+        List<RowError> errors,
+        boolean errorsTruncated) {
+
+    /**
+     * @param row numéro de ligne (CSV) ou rang de l'entité (GeoJSON), à partir de 1
+     */
+    public record RowError(long row, List<String> messages) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.solidarlink.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import org.locationtech.jts.geom.Point;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ligne des listes de cas, chargée par expression constructeur (une seule requête, sans entité).
+ * Les noms de champs JSON reprennent ceux de l'entité pour rester compatibles avec le front.
+ */
+public record CaseListItem(
+        Long id,
+        String titre,
+        String description,
+        CasCategorie categorie,
+        @JsonProperty("statut") CasStatut status,
+        Double latitude,
+        Double longitude,
+        List<String> photos,
+        PersonRef author,
+        PersonRef volunteer,
+        LocalDateTime dateIntervention,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    /**
+     * Constructeur utilisé par les requêtes : colonnes à plat, photos ajoutées ensuite.
+     */
+    public CaseListItem(Long id, String titre, String description, CasCategorie categorie, CasStatut status,
+                        Point location,
+                        Long authorId, String authorNom, String authorPrenom, String authorTelephone,
+                        Long volunteerId, String volunteerNom, String volunteerPrenom, String volunteerTelephone,
+                        LocalDateTime dateIntervention, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, titre, description, categorie, status,
+                location != null ? location.getY() : null,
+                location != null ? location.getX() : null,
+                List.of(),
+                PersonRef.ofNullable(authorId, authorNom, authorPrenom, authorTelephone),
+                PersonRef.ofNullable(volunteerId, volunteerNom, volunteerPrenom, volunteerTelephone),
+                dateIntervention, createdAt, updatedAt);
+    }
+
+    public CaseListItem withPhotos(List<String> photos) {
+        return new CaseListItem(id, titre, description, categorie, status, latitude, longitude,
+                photos == null ? List.of() : List.copyOf(photos),
+                author, volunteer, dateIntervention, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,64 @@
+package com.solidarlink.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vue compacte d'un cas affiché sur les cartes. Les noms de champs JSON reprennent ceux
+ * de l'entité (statut, latitude, longitude, author, photos) pour rester compatibles avec le front.
+ */
+public record CaseMapItem(
+        Long id,
+        String titre,
+        String description,
+        CasCategorie categorie,
+        @JsonProperty("statut") CasStatut status,
+        double latitude,
+        double longitude,
+        List<String> photos,
+        PersonRef author,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public CaseMapItem {
+        photos = photos == null ? List.of() : List.copyOf(photos);
+    }
+
+    /**
+     * Copie les champs utiles de l'entité ; l'auteur et les photos doivent être chargés.
+     */
+    public static CaseMapItem from(CasHumanitaire cas) {
+        return new CaseMapItem(
+                cas.getId(),
+                cas.getTitre(),
+                cas.getDescription(),
+                cas.getCategorie(),
+                cas.getStatus(),
+                cas.getLatitude() != null ? cas.getLatitude() : 0,
+                cas.getLongitude() != null ? cas.getLongitude() : 0,
+                cas.getPhotos(),
+                PersonRef.of(cas.getAuthor()),
+                cas.getCreatedAt(),
+                cas.getUpdatedAt());
+    }
+
+    public static CaseMapItem from(CaseListItem item) {
+        return new CaseMapItem(
+                item.id(),
+                item.titre(),
+                item.description(),
+                item.categorie(),
+                item.status(),
+                item.latitude() != null ? item.latitude() : 0,
+                item.longitude() != null ? item.longitude() : 0,
+                item.photos(),
+                item.author(),
+                item.createdAt(),
+                item.updatedAt());
+    }
+}
@@ -0,0 +1,36 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Critères combinables de recherche de cas. Tout critère null (ou ensemble vide) est ignoré.
+ * Converti en SQL par {@link com.solidarlink.backend.repository.CasHumanitaireSpecifications}.
+ */
+@Builder(toBuilder = true)
+public record CaseQuery(
+        Set<CasStatut> statuses,
+        Set<CasCategorie> categories,
+        BoundingBox viewport,
+        Radius radius,
+        Long authorId,
+        Long volunteerId,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo) {
+
+    /**
+     * Cercle de recherche : centre WGS84 et rayon en mètres.
+     */
+    public record Radius(double latitude, double longitude, double meters) {
+
+        public Radius {
+            if (meters <= 0) {
+                throw new IllegalArgumentException("Le rayon doit être strictement positif");
+            }
+        }
+    }
+}
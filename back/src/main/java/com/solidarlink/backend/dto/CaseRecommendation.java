@@ -0,0 +1,23 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasCategorie;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cas ouvert recommandé à un bénévole.
+ *
+ * @param score      adéquation entre 0 et 1 (voir {@link com.solidarlink.backend.matching.CaseMatcher})
+ * @param skillMatch la catégorie du cas correspond aux compétences déclarées
+ */
+public record CaseRecommendation(
+        Long id,
+        String titre,
+        CasCategorie categorie,
+        Double latitude,
+        Double longitude,
+        LocalDateTime createdAt,
+        double distanceMeters,
+        double score,
+        boolean skillMatch) {
+}
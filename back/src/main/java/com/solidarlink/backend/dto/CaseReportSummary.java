@@ -0,0 +1,38 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de la file de tri des signalements : signalements ouverts d'un cas. Priorité : nombre de
+ * signalants distincts, puis de signalements, puis le plus récent.
+ *
+ * @param hidden cas retiré automatiquement de la publication (seuil de signalants atteint)
+ */
+public record CaseReportSummary(
+        Long caseId,
+        String caseTitre,
+        CasStatut caseStatus,
+        long openReports,
+        long distinctReporters,
+        String latestMotif,
+        LocalDateTime firstReportAt,
+        LocalDateTime latestReportAt,
+        boolean hidden) {
+
+    /**
+     * Constructeur utilisé par la requête d'agrégation : le dernier motif est lu séparément.
+     */
+    public CaseReportSummary(Long caseId, String caseTitre, CasStatut caseStatus, long openReports,
+                             long distinctReporters, LocalDateTime firstReportAt, LocalDateTime latestReportAt,
+                             LocalDateTime hiddenAt) {
+        this(caseId, caseTitre, caseStatus, openReports, distinctReporters, null, firstReportAt, latestReportAt,
+                hiddenAt != null && caseStatus == CasStatut.EN_ATTENTE);
+    }
+
+    public CaseReportSummary withLatestMotif(String motif) {
+        return new CaseReportSummary(caseId, caseTitre, caseStatus, openReports, distinctReporters, motif,
+                firstReportAt, latestReportAt, hidden);
+    }
+}
@@ -0,0 +1,65 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CaseSearchDTOs {
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SearchHit {
+        private Long id;
+        private String titre;
+        private String description;
+        private CasCategorie categorie;
+        private CasStatut statut;
+        private Double latitude;
+        private Double longitude;
+        private LocalDateTime createdAt;
+        private float rank;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SearchPage {
+        private List<SearchHit> items;
+        // Curseur opaque à renvoyer pour obtenir la page suivante, null s'il n'y en a plus
+        private String nextCursor;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class NearbyHit {
+        private Long id;
+        private String titre;
+        private CasCategorie categorie;
+        private CasStatut statut;
+        private Double latitude;
+        private Double longitude;
+        private LocalDateTime createdAt;
+        private double distanceMeters;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class NearbyPage {
+        private List<NearbyHit> items;
+        // Curseur opaque à renvoyer pour obtenir la page suivante, null s'il n'y en a plus
+        private String nextCursor;
+    }
+}
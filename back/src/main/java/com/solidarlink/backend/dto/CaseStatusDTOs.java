@@ -0,0 +1,30 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasStatut;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class CaseStatusDTOs {
+
+    /**
+     * Cas visés par une liste d'id ou par un filtre (voir {@link ModerationDTOs.CaseSelection}).
+     */
+    public record BulkStatusRequest(
+            @Valid @NotNull(message = "La sélection des cas est obligatoire")
+            ModerationDTOs.CaseSelection cases,
+            @NotNull(message = "Le statut est obligatoire")
+            CasStatut status) {
+    }
+
+    /**
+     * @param updated cas dont le statut a changé
+     * @param skipped cas inexistants, déjà dans le statut demandé ou pour lesquels la transition est interdite
+     */
+    public record BulkStatusResult(
+            CasStatut status,
+            List<Long> updated,
+            List<Long> skipped) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne d'un historique d'interventions : le cas et le bénévole sont réduits à une référence,
+ * lus par jointure dans la même requête sans charger les entités.
+ */
+public record InterventionItem(
+        Long id,
+        LocalDateTime dateIntervention,
+        String message,
+        LocalDateTime createdAt,
+        Long caseId,
+        String caseTitre,
+        CasStatut caseStatus,
+        PersonRef volunteer) {
+
+    /**
+     * Constructeur utilisé par les requêtes : colonnes à plat.
+     */
+    public InterventionItem(Long id, LocalDateTime dateIntervention, String message, LocalDateTime createdAt,
+                            Long caseId, String caseTitre, CasStatut caseStatus,
+                            Long volunteerId, String volunteerNom, String volunteerPrenom, String volunteerTelephone) {
+        this(id, dateIntervention, message, createdAt, caseId, caseTitre, caseStatus,
+                PersonRef.ofNullable(volunteerId, volunteerNom, volunteerPrenom, volunteerTelephone));
+    }
+}
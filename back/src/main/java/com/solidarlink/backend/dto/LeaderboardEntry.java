@@ -0,0 +1,7 @@
+package com.solidarlink.backend.dto;
+
+/**
+ * Ligne du classement des bénévoles (rang à partir de 1).
+ */
+public record LeaderboardEntry(int rank, Long volunteerId, String displayName, long points) {
+}
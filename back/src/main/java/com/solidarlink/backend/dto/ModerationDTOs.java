@@ -0,0 +1,92 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sélections des opérations de modération en masse : une liste d'id, ou un filtre
+ * (pour traiter tout un arriéré sans lister les id).
+ */
+public class ModerationDTOs {
+
+    static final int MAX_IDS = 5000;
+
+    /**
+     * Critères null ignorés ; au moins un critère est exigé.
+     */
+    public record UserFilter(Role role, Boolean validated, Boolean banned) {
+
+        public boolean isEmpty() {
+            return role == null && validated == null && banned == null;
+        }
+    }
+
+    public record UserSelection(
+            @Size(max = MAX_IDS, message = "Maximum 5000 utilisateurs par requête")
+            List<Long> ids,
+            UserFilter filter) {
+
+        @AssertTrue(message = "Indiquer soit une liste d'id, soit un filtre non vide")
+        public boolean isTargeted() {
+            return hasIds() != (filter != null && !filter.isEmpty());
+        }
+
+        public boolean hasIds() {
+            return ids != null && !ids.isEmpty();
+        }
+    }
+
+    /**
+     * Critères null (ou ensembles vides) ignorés ; au moins un critère est exigé.
+     */
+    public record CaseFilter(
+            Set<CasStatut> statuses,
+            Set<CasCategorie> categories,
+            Long authorId,
+            LocalDateTime createdFrom,
+            LocalDateTime createdTo) {
+
+        public boolean isEmpty() {
+            return (statuses == null || statuses.isEmpty()) && (categories == null || categories.isEmpty())
+                    && authorId == null && createdFrom == null && createdTo == null;
+        }
+
+        public CaseQuery toQuery() {
+            return CaseQuery.builder()
+                    .statuses(statuses)
+                    .categories(categories)
+                    .authorId(authorId)
+                    .createdFrom(createdFrom)
+                    .createdTo(createdTo)
+                    .build();
+        }
+    }
+
+    public record CaseSelection(
+            @Size(max = MAX_IDS, message = "Maximum 5000 cas par requête")
+            List<Long> ids,
+            CaseFilter filter) {
+
+        @AssertTrue(message = "Indiquer soit une liste d'id, soit un filtre non vide")
+        public boolean isTargeted() {
+            return hasIds() != (filter != null && !filter.isEmpty());
+        }
+
+        public boolean hasIds() {
+            return ids != null && !ids.isEmpty();
+        }
+    }
+
+    /**
+     * @param updated nombre d'éléments effectivement modifiés (ceux déjà dans l'état demandé sont ignorés)
+     */
+    public record BulkResult(int updated) {
+    }
+}
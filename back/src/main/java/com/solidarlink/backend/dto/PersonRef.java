@@ -0,0 +1,20 @@
+package com.solidarlink.backend.dto;
+
+import com.solidarlink.backend.entity.User;
+
+/**
+ * Référence minimale vers un utilisateur (auteur ou volontaire d'un cas) dans les listes.
+ */
+public record PersonRef(Long id, String nom, String prenom, String telephone) {
+
+    public static PersonRef of(User user) {
+        return user == null ? null : new PersonRef(user.getId(), user.getNom(), user.getPrenom(), user.getTelephone());
+    }
+
+    /**
+     * Pour les expressions constructeur JPQL : la jointure externe renvoie un id null si absent.
+     */
+    static PersonRef ofNullable(Long id, String nom, String prenom, String telephone) {
+        return id == null ? null : new PersonRef(id, nom, prenom, telephone);
+    }
+}
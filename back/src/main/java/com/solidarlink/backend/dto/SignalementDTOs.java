@@ -0,0 +1,28 @@
+package com.solidarlink.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Signalement d'un cas par un utilisateur et file de tri des modérateurs.
+ */
+public class SignalementDTOs {
+
+    public record ReportRequest(
+            @NotBlank(message = "Le motif est obligatoire")
+            @Size(max = 255, message = "Le motif ne peut pas dépasser 255 caractères")
+            String motif,
+            @Size(max = 255, message = "La description ne peut pas dépasser 255 caractères")
+            String description) {
+    }
+
+    /**
+     * Décision du modérateur sur l'ensemble des signalements ouverts d'un cas.
+     */
+    public enum Decision {
+        /** Signalements infondés : ils sont clos, un cas masqué automatiquement est republié. */
+        DISMISS,
+        /** Signalements fondés : ils sont clos et le cas est rejeté. */
+        REJECT_CASE
+    }
+}
@@ -0,0 +1,29 @@
+package com.solidarlink.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne de la liste des signalements (administration) : le signalant et le cas visé sont réduits
+ * à une référence, chargés par jointure dans la même requête.
+ */
+public record SignalementListItem(
+        Long id,
+        String motif,
+        String description,
+        boolean closed,
+        LocalDateTime createdAt,
+        PersonRef reporter,
+        Long caseId,
+        String caseTitre) {
+
+    /**
+     * Constructeur utilisé par les requêtes : colonnes à plat.
+     */
+    public SignalementListItem(Long id, String motif, String description, boolean closed, LocalDateTime createdAt,
+                               Long reporterId, String reporterNom, String reporterPrenom, String reporterTelephone,
+                               Long caseId, String caseTitre) {
+        this(id, motif, description, closed, createdAt,
+                PersonRef.ofNullable(reporterId, reporterNom, reporterPrenom, reporterTelephone),
+                caseId, caseTitre);
+    }
+}
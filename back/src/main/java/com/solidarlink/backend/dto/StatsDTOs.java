@@ -1,10 +1,16 @@
 package com.solidarlink.backend.dto;
 
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CaseActivity;
+import com.solidarlink.backend.enums.StatsGranularity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public class StatsDTOs {
 
     @Data
@@ -45,4 +51,28 @@ public class StatsDTOs {
         private long completedMissions;
         private double successRate;
     }
+
+    /**
+     * Séries alignées sur {@code buckets} : counts.get(i) correspond à l'intervalle commençant à buckets.get(i).
+     * Les intervalles sans événement valent 0.
+     */
+    public record TimeSeries(
+            StatsGranularity granularity,
+            LocalDateTime from,
+            LocalDateTime to,
+            List<LocalDateTime> buckets,
+            List<Series> series) {
+    }
+
+    /**
+     * @param categorie null lorsque les catégories sont cumulées
+     */
+    public record Series(CaseActivity activity, CasCategorie categorie, List<Long> counts) {
+    }
+
+    /**
+     * Cas publiés situés dans une limite administrative (dernier calcul périodique).
+     */
+    public record RegionCoverage(String code, String name, long cases, long activeCases, long resolvedCases) {
+    }
 }
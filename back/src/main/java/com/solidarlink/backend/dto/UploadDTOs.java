@@ -0,0 +1,45 @@
+package com.solidarlink.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class UploadDTOs {
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PresignRequest {
+        @NotBlank(message = "Le nom du fichier est obligatoire")
+        private String filename;
+
+        @NotBlank(message = "Le type de fichier est obligatoire")
+        private String contentType;
+
+        // Taille exacte du fichier en octets : signée dans l'URL, le stockage refuse toute autre taille
+        @NotNull(message = "La taille du fichier est obligatoire")
+        @Positive(message = "La taille du fichier doit être positive")
+        private Long size;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PresignResponse {
+        // Clé à renvoyer à l'API (documentUrl, existingPhotos, ...) une fois l'upload terminé
+        private String key;
+        private String uploadUrl;
+        private String method;
+        private Map<String, String> headers;
+        private Instant expiresAt;
+    }
+}
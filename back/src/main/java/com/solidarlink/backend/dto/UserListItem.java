@@ -0,0 +1,30 @@
+package com.solidarlink.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.solidarlink.backend.enums.Role;
+
+/**
+ * Ligne des listes d'utilisateurs de l'administration : identité et état du compte uniquement.
+ * Les justificatifs ne sont renseignés que pour la file de validation (documentType/documentUrl).
+ */
+public record UserListItem(
+        Long id,
+        String nom,
+        String prenom,
+        String email,
+        String telephone,
+        Role role,
+        boolean validated,
+        boolean banned,
+        String avatarUrl,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String documentType,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String documentUrl) {
+
+    /**
+     * Liste générale : sans justificatif.
+     */
+    public UserListItem(Long id, String nom, String prenom, String email, String telephone, Role role,
+                        boolean validated, boolean banned, String avatarUrl) {
+        this(id, nom, prenom, email, telephone, role, validated, banned, avatarUrl, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.solidarlink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.locationtech.jts.geom.MultiPolygon;
+
+/**
+ * Limite administrative (commune, province, ...) chargée depuis un jeu de données local.
+ * Sert uniquement au calcul périodique de la couverture géographique (voir {@link BoundaryCoverage}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "admin_boundary")
+public class AdminBoundary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, length = 64)
+    private String code;
+
+    private String name;
+
+    @Column(columnDefinition = "geometry(MultiPolygon,4326)")
+    private MultiPolygon geom;
+}
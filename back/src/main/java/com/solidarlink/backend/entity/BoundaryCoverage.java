@@ -0,0 +1,35 @@
+package com.solidarlink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Couverture précalculée d'une limite administrative : cas publiés situés à l'intérieur.
+ * Seules les limites contenant au moins un cas y figurent. Table entièrement recalculée
+ * par {@link com.solidarlink.backend.spatial.CoverageService}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "boundary_coverage")
+public class BoundaryCoverage {
+
+    @Id
+    private Long boundaryId;
+
+    private String code;
+    private String name;
+
+    private long cases;
+    private long activeCases;
+    private long resolvedCases;
+
+    private LocalDateTime computedAt;
+}
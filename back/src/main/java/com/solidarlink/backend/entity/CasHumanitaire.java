@@ -1,6 +1,7 @@
 package com.solidarlink.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.solidarlink.backend.enums.CasCategorie;
 import com.solidarlink.backend.enums.CasStatut;
 import jakarta.persistence.*;
@@ -8,7 +9,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.BatchSize;
 import org.locationtech.jts.geom.Point;
 
 import java.time.LocalDateTime;
@@ -19,6 +19,19 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+// Plans de chargement par cas d'usage : les associations sont LAZY, chaque lecture déclare ce qu'elle utilise.
+// Les listes passent par des projections (CaseListItem) et l'export ne lit que des colonnes du cas.
+@NamedEntityGraph(name = CasHumanitaire.GRAPH_DETAIL, attributeNodes = {
+    @NamedAttributeNode("author"),
+    @NamedAttributeNode("volunteer"),
+    @NamedAttributeNode("photos")
+})
+@NamedEntityGraph(name = CasHumanitaire.GRAPH_MAP, attributeNodes = {
+    @NamedAttributeNode("author"),
+    @NamedAttributeNode("photos")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Tâches planifiées : index partiel idx_cas_date_intervention (date_intervention, id) WHERE status = 'EN_COURS' (V15)
 @Table(name = "cas_humanitaire", indexes = {
     @Index(name = "idx_cas_status", columnList = "status"),
     @Index(name = "idx_cas_categorie", columnList = "categorie"),
@@ -30,13 +43,20 @@ import java.util.List;
 })
 public class CasHumanitaire {
 
+    public static final String GRAPH_DETAIL = "CasHumanitaire.detail";
+    public static final String GRAPH_MAP = "CasHumanitaire.map";
+    public static final int DESCRIPTION_LENGTH = 1000;
+
+    // Séquence allouée par blocs de 50 (optimiseur pooled) : les identifiants sont connus avant l'INSERT,
+    // ce qui permet à Hibernate de regrouper les insertions par lots (voir hibernate.jdbc.batch_size, migration V4)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cas_humanitaire_seq")
+    @SequenceGenerator(name = "cas_humanitaire_seq", sequenceName = "cas_humanitaire_seq", allocationSize = 50)
     private Long id;
 
     private String titre;
 
-    @Column(length = 1000)
+    @Column(length = DESCRIPTION_LENGTH)
     private String description;
 
     @Enumerated(EnumType.STRING)
@@ -47,7 +67,6 @@ public class CasHumanitaire {
     private Point location;
 
     @ElementCollection(fetch = FetchType.LAZY)
-    @BatchSize(size = 10)
     private List<String> photos;
 
     @Enumerated(EnumType.STRING)
@@ -55,11 +74,11 @@ public class CasHumanitaire {
     @com.fasterxml.jackson.annotation.JsonProperty("statut")
     private CasStatut status = CasStatut.EN_ATTENTE;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     private User author;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "volunteer_id")
     private User volunteer;
 
@@ -70,6 +89,18 @@ public class CasHumanitaire {
     private LocalDateTime dateIntervention;
     private String messageIntervention;
 
+    // Suivi des tâches planifiées (rappel avant l'intervention, relance si elle est dépassée) ;
+    // remis à zéro à chaque prise en charge ou libération du cas
+    @JsonIgnore
+    private LocalDateTime reminderSentAt;
+
+    @JsonIgnore
+    private LocalDateTime escalatedAt;
+
+    // Retrait automatique de la publication (trop de signalements), en attente de la décision d'un modérateur
+    @JsonIgnore
+    private LocalDateTime reportHiddenAt;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
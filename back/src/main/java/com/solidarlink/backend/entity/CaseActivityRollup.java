@@ -0,0 +1,52 @@
+package com.solidarlink.backend.entity;
+
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CaseActivity;
+import com.solidarlink.backend.enums.StatsGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Nombre d'événements du cycle de vie des cas par intervalle (heure ou jour), étape et catégorie.
+ * Alimenté incrémentalement (voir {@link com.solidarlink.backend.service.CaseActivityRollupService}) :
+ * un graphique sur un an lit quelques centaines de lignes au lieu de parcourir tous les cas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "case_activity_rollup")
+public class CaseActivityRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(name = "event_count", nullable = false)
+    private long count;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 10)
+        private StatsGranularity granularity;
+
+        private LocalDateTime bucket;
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 20)
+        private CaseActivity activity;
+
+        @Enumerated(EnumType.STRING)
+        @Column(length = 20)
+        private CasCategorie categorie;
+    }
+}
@@ -14,10 +14,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 // Entity for managing interventions
+@Table(name = "intervention", indexes = {
+    @Index(name = "idx_intervention_cas_date", columnList = "cas_id, dateIntervention, id"),
+    @Index(name = "idx_intervention_benevole_date", columnList = "benevole_id, dateIntervention, id"),
+    @Index(name = "idx_intervention_date", columnList = "dateIntervention")
+})
 public class Intervention {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "intervention_seq")
+    @SequenceGenerator(name = "intervention_seq", sequenceName = "intervention_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
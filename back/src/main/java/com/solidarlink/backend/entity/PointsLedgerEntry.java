@@ -0,0 +1,55 @@
+package com.solidarlink.backend.entity;
+
+import com.solidarlink.backend.gamification.PointsReason;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Écriture du journal des points : source de vérité de la gamification. Les totaux ({@code User.points},
+ * classement) en sont des projections appliquées par lots (voir
+ * {@link com.solidarlink.backend.gamification.PointsLedgerApplier}).
+ * Un bénévole ne reçoit qu'une fois les points d'un motif pour un cas donné.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "points_ledger",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_points_ledger_award", columnNames = {"case_id", "volunteer_id", "reason"}))
+public class PointsLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "points_ledger_seq")
+    @SequenceGenerator(name = "points_ledger_seq", sequenceName = "points_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "volunteer_id", nullable = false)
+    private Long volunteerId;
+
+    @Column(name = "case_id", nullable = false)
+    private Long caseId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private PointsReason reason;
+
+    private int points;
+
+    // Reporté dans User.points et le classement
+    @Builder.Default
+    private boolean applied = false;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
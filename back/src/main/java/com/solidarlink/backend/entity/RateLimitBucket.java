@@ -0,0 +1,28 @@
+package com.solidarlink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compteur de quota partagé entre instances ; lu et écrit en SQL par
+ * {@link com.solidarlink.backend.ratelimit.JdbcRateLimitStore}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "rate_limit_bucket")
+public class RateLimitBucket {
+
+    @Id
+    @Column(length = 128)
+    private String bucketKey;
+
+    /**
+     * Instant (ms depuis l'époque, horloge de la base) auquel le seau sera de nouveau plein.
+     */
+    @Column(nullable = false)
+    private long fullAtMs;
+}
@@ -0,0 +1,38 @@
+package com.solidarlink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dernière exécution d'une tâche planifiée, toutes instances confondues
+ * (voir {@link com.solidarlink.backend.scheduler.ScheduledJobRunner}).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "scheduler_job")
+public class SchedulerJob {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private LocalDateTime lastStartedAt;
+
+    private LocalDateTime lastFinishedAt;
+
+    /**
+     * Éléments traités par la dernière exécution terminée.
+     */
+    private int lastProcessed;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -13,16 +13,24 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+// File de modération : signalements ouverts regroupés par cas (is_closed, cas_id).
+// Un signalement ouvert par (cas_id, reporter_id) : index unique partiel uq_signalement_open_reporter (V11)
+@Table(name = "signalement", indexes = {
+    @Index(name = "idx_signalement_open_cas", columnList = "isClosed, cas_id")
+})
 public class Signalement {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "signalement_seq")
+    @SequenceGenerator(name = "signalement_seq", sequenceName = "signalement_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reporter_id")
     private User reporter;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cas_id")
     private CasHumanitaire cas;
 
     private String motif;
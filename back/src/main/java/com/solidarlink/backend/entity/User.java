@@ -1,6 +1,8 @@
 package com.solidarlink.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.gamification.VolunteerLevel;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,6 +12,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -18,6 +21,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+// Les auteurs/volontaires des cas sont des proxys LAZY : ne pas sérialiser l'intercepteur Hibernate
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "_user")
 public class User implements UserDetails {
 
@@ -53,6 +58,9 @@ public class User implements UserDetails {
 
     private String avatarUrl;
 
+    // Null pour les comptes antérieurs à l'ajout de la colonne
+    private LocalDateTime createdAt;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
@@ -96,19 +104,17 @@ public class User implements UserDetails {
     @Builder.Default
     private Integer hoursVolunteered = 0;
 
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
     public void addPoints(int amount) {
         this.points += amount;
         updateLevel();
     }
 
     private void updateLevel() {
-        if (this.points >= 1000)
-            this.level = "Platine";
-        else if (this.points >= 500)
-            this.level = "Or";
-        else if (this.points >= 200)
-            this.level = "Argent";
-        else
-            this.level = "Bronze";
+        this.level = VolunteerLevel.of(this.points).label();
     }
 }
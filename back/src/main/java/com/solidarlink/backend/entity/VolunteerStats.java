@@ -0,0 +1,35 @@
+package com.solidarlink.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Activité d'un bénévole : cas pris en charge et missions menées à terme (cas résolus qui lui sont affectés).
+ * Tenue à jour à chaque transition (voir {@link com.solidarlink.backend.service.VolunteerStatsService}),
+ * recalculable depuis les interventions et les cas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "volunteer_stats")
+public class VolunteerStats {
+
+    @Id
+    @Column(name = "volunteer_id")
+    private Long volunteerId;
+
+    @Column(nullable = false)
+    private int interventions;
+
+    @Column(name = "missions_completed", nullable = false)
+    private int missionsCompleted;
+
+    private LocalDateTime updatedAt;
+}
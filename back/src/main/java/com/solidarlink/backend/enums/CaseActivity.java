@@ -0,0 +1,25 @@
+package com.solidarlink.backend.enums;
+
+/**
+ * Étapes du cycle de vie d'un cas comptées dans les séries temporelles.
+ */
+public enum CaseActivity {
+    CREATED,
+    VALIDATED,
+    TAKEN,
+    RESOLVED,
+    REJECTED;
+
+    /**
+     * Étape correspondant à un nouveau statut ; null pour un retour en attente (non compté).
+     */
+    public static CaseActivity reaching(CasStatut status) {
+        return switch (status) {
+            case VALIDE -> VALIDATED;
+            case EN_COURS -> TAKEN;
+            case RESOLU -> RESOLVED;
+            case REJETE -> REJECTED;
+            case EN_ATTENTE -> null;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package com.solidarlink.backend.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Pas d'une série temporelle. Seuls HOUR et DAY sont stockés : les semaines et les mois
+ * sont recomposés à partir des agrégats journaliers.
+ */
+public enum StatsGranularity {
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Début de l'intervalle contenant {@code time} (semaines du lundi au dimanche).
+     */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    public LocalDateTime next(LocalDateTime bucket) {
+        return switch (this) {
+            case HOUR -> bucket.plusHours(1);
+            case DAY -> bucket.plusDays(1);
+            case WEEK -> bucket.plusWeeks(1);
+            case MONTH -> bucket.plusMonths(1);
+        };
+    }
+
+    /**
+     * Granularité stockée à partir de laquelle cette série est calculée.
+     */
+    public StatsGranularity storedSource() {
+        return this == HOUR ? HOUR : DAY;
+    }
+}
@@ -0,0 +1,15 @@
+package com.solidarlink.backend.event;
+
+import com.solidarlink.backend.repository.UserContactRow;
+
+import java.util.List;
+
+/**
+ * Comptes validés en masse par un administrateur ; les emails de confirmation partent après le commit.
+ */
+public record AccountsValidatedEvent(List<UserContactRow> accounts) {
+
+    public AccountsValidatedEvent {
+        accounts = List.copyOf(accounts);
+    }
+}
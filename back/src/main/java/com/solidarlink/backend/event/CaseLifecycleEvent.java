@@ -0,0 +1,54 @@
+package com.solidarlink.backend.event;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publié par les services à chaque modification de cas. Les abonnés (index spatial, caches, ...)
+ * le reçoivent après le commit de la transaction.
+ *
+ * @param status nouveau statut pour STATUS_CHANGED, null sinon
+ */
+public record CaseLifecycleEvent(Type type, List<Long> caseIds, CasStatut status) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    public CaseLifecycleEvent {
+        caseIds = List.copyOf(caseIds);
+    }
+
+    public static CaseLifecycleEvent created(Long caseId) {
+        return created(List.of(caseId));
+    }
+
+    public static CaseLifecycleEvent created(Collection<Long> caseIds) {
+        return new CaseLifecycleEvent(Type.CREATED, List.copyOf(caseIds), null);
+    }
+
+    public static CaseLifecycleEvent updated(Long caseId) {
+        return new CaseLifecycleEvent(Type.UPDATED, List.of(caseId), null);
+    }
+
+    public static CaseLifecycleEvent statusChanged(Long caseId, CasStatut status) {
+        return statusChanged(List.of(caseId), status);
+    }
+
+    public static CaseLifecycleEvent statusChanged(Collection<Long> caseIds, CasStatut status) {
+        return new CaseLifecycleEvent(Type.STATUS_CHANGED, List.copyOf(caseIds), status);
+    }
+
+    public static CaseLifecycleEvent deleted(Long caseId) {
+        return deleted(List.of(caseId));
+    }
+
+    public static CaseLifecycleEvent deleted(Collection<Long> caseIds) {
+        return new CaseLifecycleEvent(Type.DELETED, List.copyOf(caseIds), null);
+    }
+}
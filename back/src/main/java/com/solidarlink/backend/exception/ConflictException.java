@@ -0,0 +1,12 @@
+package com.solidarlink.backend.exception;
+
+/**
+ * Exception levée lorsqu'une opération entre en conflit avec l'état courant de la ressource
+ * (par exemple un cas déjà pris en charge par un autre bénévole)
+ */
+public class ConflictException extends BusinessException {
+
+    public ConflictException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,19 @@
+package com.solidarlink.backend.exception;
+
+/**
+ * Exception levée lorsqu'une ressource limitée est saturée : le client peut réessayer
+ * après {@code retryAfterSeconds} (réponse 503 avec Retry-After)
+ */
+public class ServiceBusyException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, String errorCode, long retryAfterSeconds) {
+        super(message, errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
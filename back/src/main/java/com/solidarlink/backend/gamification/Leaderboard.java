@@ -0,0 +1,114 @@
+package com.solidarlink.backend.gamification;
+
+import com.solidarlink.backend.dto.LeaderboardEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Classement des bénévoles en mémoire, trié par points décroissants : lire le top N coûte N itérations,
+ * une mise à jour O(log n). Seuls les bénévoles ayant des points y figurent.
+ * Tant qu'il n'est pas reconstruit depuis le journal, {@link #isReady()} renvoie false.
+ */
+@Component
+public class Leaderboard {
+
+    /**
+     * @param displayName prénom et initiale du nom
+     */
+    public record Standing(Long volunteerId, String displayName, long points) {
+    }
+
+    private static final Comparator<Standing> ORDER = Comparator
+            .comparingLong(Standing::points).reversed()
+            .thenComparing(Standing::volunteerId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeSet<Standing> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, Standing> byVolunteer = new HashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void replaceAll(Collection<Standing> standings) {
+        lock.writeLock().lock();
+        try {
+            ranking.clear();
+            byVolunteer.clear();
+            standings.forEach(this::putLocked);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute des points à un bénévole (créé s'il n'a pas encore de points).
+     */
+    public void add(Long volunteerId, String displayName, long delta) {
+        lock.writeLock().lock();
+        try {
+            Standing previous = byVolunteer.get(volunteerId);
+            long points = delta;
+            if (previous != null) {
+                ranking.remove(previous);
+                points += previous.points();
+            }
+            putLocked(new Standing(volunteerId, displayName, points));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int size) {
+        List<LeaderboardEntry> top = new ArrayList<>(size);
+        lock.readLock().lock();
+        try {
+            Iterator<Standing> iterator = ranking.iterator();
+            while (iterator.hasNext() && top.size() < size) {
+                Standing standing = iterator.next();
+                top.add(new LeaderboardEntry(top.size() + 1, standing.volunteerId(), standing.displayName(),
+                        standing.points()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return top;
+    }
+
+    /**
+     * Rang (à partir de 1) d'un bénévole, vide s'il n'a pas de points. Parcourt les bénévoles mieux classés.
+     */
+    public OptionalInt rankOf(Long volunteerId) {
+        lock.readLock().lock();
+        try {
+            Standing standing = byVolunteer.get(volunteerId);
+            return standing == null ? OptionalInt.empty() : OptionalInt.of(ranking.headSet(standing).size() + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putLocked(Standing standing) {
+        byVolunteer.put(standing.volunteerId(), standing);
+        ranking.add(standing);
+    }
+
+    static String displayName(String prenom, String nom) {
+        String first = prenom != null ? prenom.trim() : "";
+        String initial = nom != null && !nom.isBlank() ? " " + nom.trim().charAt(0) + "." : "";
+        return (first + initial).trim();
+    }
+}
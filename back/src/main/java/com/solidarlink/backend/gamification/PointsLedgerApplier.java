@@ -0,0 +1,127 @@
+package com.solidarlink.backend.gamification;
+
+import com.solidarlink.backend.entity.PointsLedgerEntry;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.repository.PointsLedgerRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reporte les écritures du journal des points sur les projections : {@code User.points} et niveau
+ * en base, {@link Leaderboard} en mémoire. Traitement par lots de {@value #BATCH_SIZE}
+ * écritures, une transaction par lot ; le classement n'est modifié qu'après commit.
+ * <p>
+ * Le classement est reconstruit depuis le journal au démarrage, puis périodiquement : chaque instance
+ * ne voit passer que les lots qu'elle a elle-même reportés.
+ */
+@Component
+@Slf4j
+public class PointsLedgerApplier {
+
+    static final int BATCH_SIZE = 500;
+
+    private final PointsLedgerRepository ledgerRepository;
+    private final UserRepository userRepository;
+    private final Leaderboard leaderboard;
+    private final TransactionTemplate transaction;
+
+    public PointsLedgerApplier(PointsLedgerRepository ledgerRepository,
+                               UserRepository userRepository,
+                               Leaderboard leaderboard,
+                               PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.userRepository = userRepository;
+        this.leaderboard = leaderboard;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild();
+        applyPending();
+    }
+
+    /**
+     * Recharge le classement depuis les écritures déjà reportées. Synchronisé avec {@link #applyPending()} :
+     * un lot est compté soit par la reconstruction, soit par l'incrément, jamais deux fois.
+     */
+    @Scheduled(fixedDelayString = "${app.gamification.leaderboard-rebuild-interval-ms:600000}",
+            initialDelayString = "${app.gamification.leaderboard-rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            List<Leaderboard.Standing> standings = transaction.execute(status -> ledgerRepository.sumAppliedByVolunteer()
+                    .stream()
+                    .map(row -> new Leaderboard.Standing(row.volunteerId(),
+                            Leaderboard.displayName(row.prenom(), row.nom()), row.points()))
+                    .toList());
+            leaderboard.replaceAll(standings);
+            log.info("Classement reconstruit : {} bénévoles en {} ms", standings.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Reconstruction du classement impossible", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.gamification.apply-interval-ms:5000}",
+            initialDelayString = "${app.gamification.apply-interval-ms:5000}")
+    public synchronized void applyPending() {
+        try {
+            int applied;
+            do {
+                applied = applyBatch();
+            } while (applied == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            // Les écritures restent en attente : elles seront reportées au prochain passage
+            log.error("Report du journal des points interrompu", e);
+        }
+    }
+
+    private int applyBatch() {
+        Map<Long, Delta> deltas = new HashMap<>();
+        Integer count = transaction.execute(status -> {
+            List<PointsLedgerEntry> entries = ledgerRepository.lockPending(PageRequest.of(0, BATCH_SIZE));
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            for (PointsLedgerEntry entry : entries) {
+                deltas.computeIfAbsent(entry.getVolunteerId(), id -> new Delta()).add(entry);
+            }
+            // Entités modifiées en place (niveau calculé par User) : mises à jour groupées au flush
+            for (User user : userRepository.findAllById(deltas.keySet())) {
+                Delta delta = deltas.get(user.getId());
+                user.addPoints(delta.points);
+                delta.displayName = Leaderboard.displayName(user.getPrenom(), user.getNom());
+            }
+            ledgerRepository.markApplied(entries.stream().map(PointsLedgerEntry::getId).toList());
+            return entries.size();
+        });
+        if (count != null && count > 0 && leaderboard.isReady()) {
+            deltas.forEach((volunteerId, delta) -> {
+                if (delta.displayName != null) {
+                    leaderboard.add(volunteerId, delta.displayName, delta.points);
+                }
+            });
+        }
+        return count != null ? count : 0;
+    }
+
+    private static final class Delta {
+        int points;
+        String displayName;
+
+        void add(PointsLedgerEntry entry) {
+            points += entry.getPoints();
+        }
+    }
+}
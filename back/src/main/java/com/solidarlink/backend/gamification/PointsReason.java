@@ -0,0 +1,6 @@
+package com.solidarlink.backend.gamification;
+
+public enum PointsReason {
+    INTERVENTION_CONFIRMED,
+    CASE_RESOLVED
+}
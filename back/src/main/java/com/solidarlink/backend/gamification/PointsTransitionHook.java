@@ -0,0 +1,57 @@
+package com.solidarlink.backend.gamification;
+
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.repository.PointsLedgerRepository;
+import com.solidarlink.backend.workflow.CaseStatusChange;
+import com.solidarlink.backend.workflow.CaseTransitionHook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inscrit au journal les points gagnés par les bénévoles : prise en charge d'un cas (EN_COURS)
+ * et résolution d'un cas suivi (RESOLU). Les écritures font partie de la transaction de la transition ;
+ * leur report sur les totaux est asynchrone.
+ * <p>
+ * Une seule attribution par cas, bénévole et motif, garantie par la contrainte unique du journal :
+ * aucun verrou sur les cas n'est nécessaire.
+ */
+@Component
+public class PointsTransitionHook implements CaseTransitionHook {
+
+    private final PointsLedgerRepository ledgerRepository;
+    private final int interventionPoints;
+    private final int resolutionPoints;
+
+    public PointsTransitionHook(PointsLedgerRepository ledgerRepository,
+                                @Value("${app.gamification.points.intervention:20}") int interventionPoints,
+                                @Value("${app.gamification.points.resolution:50}") int resolutionPoints) {
+        this.ledgerRepository = ledgerRepository;
+        this.interventionPoints = interventionPoints;
+        this.resolutionPoints = resolutionPoints;
+    }
+
+    @Override
+    public void afterTransition(CasStatut to, List<CaseStatusChange> changes) {
+        switch (to) {
+            case EN_COURS -> award(PointsReason.INTERVENTION_CONFIRMED, interventionPoints, changes);
+            case RESOLU -> award(PointsReason.CASE_RESOLVED, resolutionPoints, changes);
+            default -> {
+            }
+        }
+    }
+
+    private void award(PointsReason reason, int points, List<CaseStatusChange> changes) {
+        List<Long> caseIds = changes.stream()
+                .filter(change -> change.volunteerId() != null)
+                .map(CaseStatusChange::caseId)
+                .toList();
+        if (caseIds.isEmpty()) {
+            return;
+        }
+        // Un cas résolu, rouvert puis résolu à nouveau ne rapporte rien de plus au même bénévole
+        ledgerRepository.awardToCurrentVolunteers(caseIds, reason.name(), points, LocalDateTime.now());
+    }
+}
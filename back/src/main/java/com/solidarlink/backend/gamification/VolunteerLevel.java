@@ -0,0 +1,42 @@
+package com.solidarlink.backend.gamification;
+
+/**
+ * Niveaux des bénévoles selon leurs points. Le libellé est la valeur stockée dans {@code User.level}.
+ */
+public enum VolunteerLevel {
+    BRONZE("Bronze", 0, 200),
+    ARGENT("Argent", 200, 500),
+    OR("Or", 500, 1000),
+    PLATINE("Platine", 1000, 2000);
+
+    private final String label;
+    private final int minPoints;
+    private final int nextLevelPoints;
+
+    VolunteerLevel(String label, int minPoints, int nextLevelPoints) {
+        this.label = label;
+        this.minPoints = minPoints;
+        this.nextLevelPoints = nextLevelPoints;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Objectif affiché au bénévole (au-delà du dernier niveau : palier symbolique).
+     */
+    public int nextLevelPoints() {
+        return nextLevelPoints;
+    }
+
+    public static VolunteerLevel of(int points) {
+        VolunteerLevel[] levels = values();
+        for (int i = levels.length - 1; i > 0; i--) {
+            if (points >= levels[i].minPoints) {
+                return levels[i];
+            }
+        }
+        return BRONZE;
+    }
+}
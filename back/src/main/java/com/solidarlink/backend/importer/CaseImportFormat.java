@@ -0,0 +1,23 @@
+package com.solidarlink.backend.importer;
+
+import java.util.Locale;
+
+public enum CaseImportFormat {
+    CSV,
+    GEOJSON;
+
+    /**
+     * Format déduit de l'extension du fichier, à défaut de format explicite.
+     */
+    public static CaseImportFormat fromFilename(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return CSV;
+        }
+        if (name.endsWith(".geojson") || name.endsWith(".json")) {
+            return GEOJSON;
+        }
+        throw new IllegalArgumentException("Format d'import non reconnu pour '" + filename
+                + "' : préciser format=CSV ou format=GEOJSON");
+    }
+}
@@ -0,0 +1,191 @@
+package com.solidarlink.backend.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.dto.CasHumanitaireDTO;
+import com.solidarlink.backend.dto.CaseImportReport;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.spatial.Geometries;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Import en masse de cas (CSV ou GeoJSON). Le fichier est lu en flux : seul le lot courant
+ * est en mémoire, quel que soit le nombre de lignes.
+ * <p>
+ * Les lignes invalides sont rejetées et détaillées dans le bilan, les autres sont enregistrées
+ * par lots dans des transactions distinctes : une erreur en fin de fichier n'annule pas les lots
+ * déjà importés. Si un lot est refusé par la base, ses lignes sont réessayées une à une pour
+ * n'écarter que la ligne fautive. Les cas importés sont en attente de modération, comme ceux créés un par un.
+ */
+@Service
+@Slf4j
+public class CaseImportService {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final CasHumanitaireRepository casRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CaseImportService(CasHumanitaireRepository casRepository,
+                             EntityManager entityManager,
+                             ApplicationEventPublisher eventPublisher,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.casRepository = casRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public CaseImportReport importCases(InputStream in, CaseImportFormat format, User author) throws IOException {
+        Report report = new Report();
+        List<ImportedRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        try (CaseRowSource source = open(in, format)) {
+            ImportedRow row;
+            while ((row = next(source, report)) != null) {
+                report.rows++;
+                List<String> errors = validate(row);
+                if (!errors.isEmpty()) {
+                    report.reject(row.number(), errors);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == BATCH_SIZE) {
+                    save(batch, author, report);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            save(batch, author, report);
+        }
+
+        log.info("Import {} par {} : {} lignes, {} cas importés, {} rejetés",
+                format, author.getEmail(), report.rows, report.imported, report.rejected);
+        return report.toDto();
+    }
+
+    private CaseRowSource open(InputStream in, CaseImportFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvCaseSource(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            case GEOJSON -> new GeoJsonCaseSource(objectMapper.createParser(in));
+        };
+    }
+
+    /**
+     * Un fichier illisible en cours de route (JSON mal formé, ...) arrête la lecture sans annuler
+     * les lots déjà enregistrés : l'erreur figure dans le bilan.
+     */
+    private static ImportedRow next(CaseRowSource source, Report report) throws IOException {
+        try {
+            return source.next();
+        } catch (JsonProcessingException e) {
+            report.rows++;
+            report.reject(report.rows, List.of("Fichier illisible, lecture interrompue : " + e.getOriginalMessage()));
+            return null;
+        }
+    }
+
+    private List<String> validate(ImportedRow row) {
+        if (row.error() != null) {
+            return List.of(row.error());
+        }
+        List<String> errors = new ArrayList<>(validator.validate(row.dto()).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .toList());
+        // Le DTO accepte 2000 caractères, la colonne n'en contient que 1000 : sans ce contrôle, l'INSERT échoue
+        String description = row.dto().getDescription();
+        if (description != null && description.length() > CasHumanitaire.DESCRIPTION_LENGTH) {
+            errors.add("La description ne doit pas dépasser " + CasHumanitaire.DESCRIPTION_LENGTH + " caractères");
+        }
+        return errors;
+    }
+
+    private void save(List<ImportedRow> batch, User author, Report report) {
+        try {
+            saveBatch(batch, author);
+            report.imported += batch.size();
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("Import : ligne {} refusée par la base", batch.get(0).number(), e);
+                report.reject(batch.get(0).number(), List.of("Enregistrement impossible : " + e.getMessage()));
+                return;
+            }
+            log.warn("Import : échec d'un lot de {} cas, nouvel essai ligne par ligne", batch.size(), e);
+            for (ImportedRow row : batch) {
+                save(List.of(row), author, report);
+            }
+        }
+    }
+
+    private void saveBatch(List<ImportedRow> batch, User author) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<CasHumanitaire> cases = batch.stream().map(row -> toEntity(row.dto(), author)).toList();
+            List<Long> ids = casRepository.saveAll(cases).stream().map(CasHumanitaire::getId).toList();
+            entityManager.flush();
+            eventPublisher.publishEvent(CaseLifecycleEvent.created(ids));
+            // Les entités du lot ne servent plus : le contexte de persistance ne grossit pas avec le fichier
+            entityManager.clear();
+        });
+    }
+
+    private static CasHumanitaire toEntity(CasHumanitaireDTO dto, User author) {
+        return CasHumanitaire.builder()
+                .titre(dto.getTitre())
+                .description(dto.getDescription())
+                .categorie(dto.getCategorie())
+                .location(Geometries.point(dto.getLongitude(), dto.getLatitude()))
+                .photos(new ArrayList<>())
+                .author(author)
+                .status(CasStatut.EN_ATTENTE)
+                .build();
+    }
+
+    private static final class Report {
+        long rows;
+        long imported;
+        long rejected;
+        final List<CaseImportReport.RowError> errors = new ArrayList<>();
+
+        void reject(long row, List<String> messages) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new CaseImportReport.RowError(row, messages));
+            }
+        }
+
+        CaseImportReport toDto() {
+            return new CaseImportReport(rows, imported, rejected, errors, rejected > errors.size());
+        }
+    }
+}
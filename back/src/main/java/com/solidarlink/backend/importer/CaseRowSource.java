@@ -0,0 +1,15 @@
+package com.solidarlink.backend.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lecture en flux d'un fichier d'import : une ligne à la fois, sans charger le fichier en mémoire.
+ */
+interface CaseRowSource extends Closeable {
+
+    /**
+     * @return la ligne suivante, ou null en fin de fichier
+     */
+    ImportedRow next() throws IOException;
+}
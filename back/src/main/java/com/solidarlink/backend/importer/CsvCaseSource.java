@@ -0,0 +1,165 @@
+package com.solidarlink.backend.importer;
+
+import com.solidarlink.backend.dto.CasHumanitaireDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV (RFC 4180 : champs entre guillemets, guillemets doublés, retours à la ligne dans un champ),
+ * lu caractère par caractère. Séparateur ',' ou ';' (tableurs français) déduit de l'en-tête.
+ * Colonnes attendues, dans un ordre quelconque : titre, description, categorie, latitude, longitude.
+ */
+final class CsvCaseSource implements CaseRowSource {
+
+    static final List<String> COLUMNS = List.of("titre", "description", "categorie", "latitude", "longitude");
+
+    // L'en-tête est relu après détection du séparateur
+    private static final int HEADER_READ_LIMIT = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final Map<String, Integer> columns = new HashMap<>();
+    // Ligne physique courante : un champ entre guillemets peut en couvrir plusieurs
+    private long line = 1;
+
+    CsvCaseSource(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        skipByteOrderMark();
+        this.separator = detectSeparator();
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("Fichier CSV vide");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Colonnes CSV manquantes : " + String.join(", ", missing));
+        }
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        while (true) {
+            long number = line;
+            List<String> fields;
+            try {
+                fields = readRecord();
+            } catch (IllegalArgumentException e) {
+                return ImportedRow.invalid(number, e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                return ImportedRow.of(number, CasHumanitaireDTO.builder()
+                        .titre(ImportValues.trimToNull(field(fields, "titre")))
+                        .description(ImportValues.trimToNull(field(fields, "description")))
+                        .categorie(ImportValues.parseCategorie(field(fields, "categorie")))
+                        .latitude(ImportValues.parseCoordinate(field(fields, "latitude"), "Latitude"))
+                        .longitude(ImportValues.parseCoordinate(field(fields, "longitude"), "Longitude"))
+                        .build());
+            } catch (IllegalArgumentException e) {
+                return ImportedRow.invalid(number, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, String column) {
+        int index = columns.get(column);
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    /**
+     * Marque d'ordre des octets ajoutée par les tableurs en UTF-8 : retirée avant l'en-tête,
+     * pour qu'un premier nom de colonne entre guillemets reste reconnu.
+     */
+    private void skipByteOrderMark() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private char detectSeparator() throws IOException {
+        reader.mark(HEADER_READ_LIMIT);
+        String header = reader.readLine();
+        reader.reset();
+        if (header == null) {
+            return ',';
+        }
+        long semicolons = header.chars().filter(c -> c == ';').count();
+        long commas = header.chars().filter(c -> c == ',').count();
+        return semicolons > commas ? ';' : ',';
+    }
+
+    /**
+     * @return les champs de l'enregistrement suivant, ou null en fin de fichier
+     * @throws IllegalArgumentException si le fichier se termine dans un champ entre guillemets
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        if (quoted) {
+            // Guillemet jamais refermé : le champ a absorbé toute la suite du fichier
+            throw new IllegalArgumentException("Guillemet non fermé : le champ se poursuit jusqu'à la fin du fichier");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,85 @@
+package com.solidarlink.backend.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.solidarlink.backend.dto.CasHumanitaireDTO;
+
+import java.io.IOException;
+
+/**
+ * FeatureCollection GeoJSON lue entité par entité : seule la Feature courante est en mémoire.
+ * Géométrie Point [longitude, latitude] ; propriétés titre, description, categorie.
+ */
+final class GeoJsonCaseSource implements CaseRowSource {
+
+    private final JsonParser parser;
+    private long index;
+
+    GeoJsonCaseSource(JsonParser parser) throws IOException {
+        this.parser = parser;
+        try {
+            seekFeatures();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("GeoJSON illisible : " + e.getOriginalMessage());
+        }
+    }
+
+    private void seekFeatures() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("GeoJSON : un objet FeatureCollection est attendu");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(name) && value == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IllegalArgumentException("GeoJSON : tableau 'features' introuvable");
+    }
+
+    @Override
+    public ImportedRow next() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            // Fin du tableau "features" : le reste du document (crs, ...) est ignoré
+            return null;
+        }
+        long number = ++index;
+        JsonNode feature = parser.readValueAsTree();
+        JsonNode properties = feature.path("properties");
+        JsonNode geometry = feature.path("geometry");
+
+        if (!"Point".equals(geometry.path("type").asText())) {
+            return ImportedRow.invalid(number, "Géométrie de type Point attendue");
+        }
+        JsonNode coordinates = geometry.path("coordinates");
+        if (!coordinates.isArray() || coordinates.size() < 2
+                || !coordinates.get(0).isNumber() || !coordinates.get(1).isNumber()) {
+            return ImportedRow.invalid(number, "Coordonnées [longitude, latitude] attendues");
+        }
+        try {
+            return ImportedRow.of(number, CasHumanitaireDTO.builder()
+                    .titre(ImportValues.trimToNull(text(properties, "titre")))
+                    .description(ImportValues.trimToNull(text(properties, "description")))
+                    .categorie(ImportValues.parseCategorie(text(properties, "categorie")))
+                    .longitude(coordinates.get(0).doubleValue())
+                    .latitude(coordinates.get(1).doubleValue())
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ImportedRow.invalid(number, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private static String text(JsonNode properties, String name) {
+        JsonNode value = properties.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,45 @@
+package com.solidarlink.backend.importer;
+
+import com.solidarlink.backend.enums.CasCategorie;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Conversion des valeurs textuelles communes aux formats d'import.
+ */
+final class ImportValues {
+
+    private ImportValues() {
+    }
+
+    /**
+     * Accepte la virgule décimale des tableurs français ("34,02").
+     */
+    static Double parseCoordinate(String value, String field) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value.trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " illisible : '" + value + "'");
+        }
+    }
+
+    static CasCategorie parseCategorie(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return CasCategorie.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Catégorie inconnue : '" + value + "' (attendu : "
+                    + Arrays.toString(CasCategorie.values()) + ")");
+        }
+    }
+
+    static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
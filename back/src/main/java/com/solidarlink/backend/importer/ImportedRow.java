@@ -0,0 +1,20 @@
+package com.solidarlink.backend.importer;
+
+import com.solidarlink.backend.dto.CasHumanitaireDTO;
+
+/**
+ * Ligne lue dans un fichier d'import.
+ *
+ * @param number numéro de ligne (CSV) ou rang de l'entité dans "features" (GeoJSON), à partir de 1
+ * @param error  erreur de lecture (nombre ou catégorie illisible, ...) : la ligne n'a pas de dto
+ */
+record ImportedRow(long number, CasHumanitaireDTO dto, String error) {
+
+    static ImportedRow of(long number, CasHumanitaireDTO dto) {
+        return new ImportedRow(number, dto, null);
+    }
+
+    static ImportedRow invalid(long number, String error) {
+        return new ImportedRow(number, null, error);
+    }
+}
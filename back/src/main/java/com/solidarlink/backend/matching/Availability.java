@@ -0,0 +1,37 @@
+package com.solidarlink.backend.matching;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Créneaux de disponibilité reconnus dans le texte libre {@code User.disponibilite}.
+ */
+public enum Availability {
+    ANYTIME,
+    WEEKDAYS,
+    WEEKENDS,
+    DAYTIME,
+    EVENINGS;
+
+    private static final int EVENING_START_HOUR = 18;
+    private static final int DAYTIME_START_HOUR = 8;
+
+    /**
+     * Les jours et les heures se combinent ("weekends, soirées") ; une dimension non précisée
+     * n'est pas restrictive.
+     */
+    static boolean coversNow(Set<Availability> slots, LocalDateTime now) {
+        if (slots.contains(ANYTIME)) {
+            return true;
+        }
+        boolean weekend = now.getDayOfWeek() == DayOfWeek.SATURDAY || now.getDayOfWeek() == DayOfWeek.SUNDAY;
+        boolean evening = now.getHour() >= EVENING_START_HOUR || now.getHour() < DAYTIME_START_HOUR;
+
+        boolean daysGiven = slots.contains(WEEKDAYS) || slots.contains(WEEKENDS);
+        boolean hoursGiven = slots.contains(DAYTIME) || slots.contains(EVENINGS);
+        boolean dayOk = !daysGiven || slots.contains(weekend ? WEEKENDS : WEEKDAYS);
+        boolean hourOk = !hoursGiven || slots.contains(evening ? EVENINGS : DAYTIME);
+        return dayOk && hourOk;
+    }
+}
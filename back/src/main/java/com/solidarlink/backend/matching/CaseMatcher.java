@@ -0,0 +1,63 @@
+package com.solidarlink.backend.matching;
+
+import com.solidarlink.backend.enums.CasCategorie;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Score d'adéquation bénévole / cas, entre 0 et 1 : somme pondérée de la proximité, de l'adéquation
+ * compétences / catégorie, de la disponibilité actuelle et de l'ancienneté de la demande
+ * (une demande qui attend depuis longtemps remonte).
+ */
+public final class CaseMatcher {
+
+    static final double DISTANCE_WEIGHT = 0.5;
+    static final double SKILL_WEIGHT = 0.3;
+    static final double AVAILABILITY_WEIGHT = 0.1;
+    static final double WAITING_WEIGHT = 0.1;
+
+    // Critère inconnu (profil vide, catégorie AUTRE) : ni bonus ni pénalité
+    private static final double NEUTRAL = 0.5;
+    private static final double UNAVAILABLE = 0.2;
+    private static final Duration MAX_WAITING = Duration.ofDays(7);
+
+    private CaseMatcher() {
+    }
+
+    public static double score(VolunteerProfile profile, CasCategorie categorie, double distanceMeters,
+                               double radiusMeters, LocalDateTime createdAt, LocalDateTime now) {
+        double proximity = 1 - Math.min(distanceMeters / radiusMeters, 1);
+        double score = DISTANCE_WEIGHT * proximity
+                + SKILL_WEIGHT * skillFit(profile, categorie)
+                + AVAILABILITY_WEIGHT * availabilityFit(profile, now)
+                + WAITING_WEIGHT * waiting(createdAt, now);
+        return Math.round(score * 1000) / 1000.0;
+    }
+
+    public static boolean isSkillMatch(VolunteerProfile profile, CasCategorie categorie) {
+        return categorie != null && profile.skills().contains(categorie);
+    }
+
+    static double skillFit(VolunteerProfile profile, CasCategorie categorie) {
+        if (profile.skills().isEmpty() || categorie == null || categorie == CasCategorie.AUTRE) {
+            return NEUTRAL;
+        }
+        return profile.skills().contains(categorie) ? 1 : 0;
+    }
+
+    static double availabilityFit(VolunteerProfile profile, LocalDateTime now) {
+        if (profile.availability().isEmpty()) {
+            return NEUTRAL;
+        }
+        return Availability.coversNow(profile.availability(), now) ? 1 : UNAVAILABLE;
+    }
+
+    static double waiting(LocalDateTime createdAt, LocalDateTime now) {
+        if (createdAt == null) {
+            return 0;
+        }
+        double hours = Math.max(Duration.between(createdAt, now).toHours(), 0);
+        return Math.min(hours / MAX_WAITING.toHours(), 1);
+    }
+}
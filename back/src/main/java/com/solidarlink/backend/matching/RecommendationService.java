@@ -0,0 +1,74 @@
+package com.solidarlink.backend.matching;
+
+import com.solidarlink.backend.dto.CaseRecommendation;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CaseNearbySearch;
+import com.solidarlink.backend.spatial.ActiveCaseIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recommandations de cas ouverts pour un bénévole.
+ * <p>
+ * Les candidats sont les {@value #MAX_CANDIDATES} cas VALIDE les plus proches, lus dans l'index spatial
+ * en mémoire (PostGIS tant qu'il n'est pas chargé) : le coût ne dépend pas du nombre total de cas ouverts.
+ * Ils sont ensuite classés par {@link CaseMatcher}.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    static final int MAX_CANDIDATES = 500;
+    static final int MAX_RESULTS = 50;
+    static final double MAX_RADIUS_METERS = 100_000;
+
+    private static final Set<CasStatut> OPEN = Set.of(CasStatut.VALIDE);
+
+    private final ActiveCaseIndex activeCaseIndex;
+    private final CasHumanitaireRepository casRepository;
+
+    public List<CaseRecommendation> recommend(User volunteer, double latitude, double longitude,
+                                              double radiusMeters, int size) {
+        if (radiusMeters <= 0 || radiusMeters > MAX_RADIUS_METERS) {
+            throw new IllegalArgumentException("Le rayon doit être compris entre 0 et " + (long) MAX_RADIUS_METERS + " mètres");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_RESULTS);
+        VolunteerProfile profile = VolunteerProfile.of(volunteer);
+        LocalDateTime now = LocalDateTime.now();
+
+        return candidates(latitude, longitude, radiusMeters).stream()
+                .map(hit -> new CaseRecommendation(
+                        hit.getId(),
+                        hit.getTitre(),
+                        hit.getCategorie(),
+                        hit.getLatitude(),
+                        hit.getLongitude(),
+                        hit.getCreatedAt(),
+                        hit.getDistanceMeters(),
+                        CaseMatcher.score(profile, hit.getCategorie(), hit.getDistanceMeters(), radiusMeters,
+                                hit.getCreatedAt(), now),
+                        CaseMatcher.isSkillMatch(profile, hit.getCategorie())))
+                .sorted(Comparator.comparingDouble(CaseRecommendation::score).reversed()
+                        .thenComparingDouble(CaseRecommendation::distanceMeters)
+                        .thenComparing(CaseRecommendation::id))
+                .limit(limit)
+                .toList();
+    }
+
+    private List<CaseSearchDTOs.NearbyHit> candidates(double latitude, double longitude, double radiusMeters) {
+        if (activeCaseIndex.isReady()) {
+            return activeCaseIndex.findNearby(latitude, longitude, radiusMeters, OPEN, null,
+                    null, null, MAX_CANDIDATES);
+        }
+        return casRepository.findNearby(new CaseNearbySearch(
+                latitude, longitude, radiusMeters, OPEN, null, null, null, MAX_CANDIDATES));
+    }
+}
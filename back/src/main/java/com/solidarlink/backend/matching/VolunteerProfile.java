@@ -0,0 +1,114 @@
+package com.solidarlink.backend.matching;
+
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Profil de recommandation déduit des champs libres du bénévole (compétences, disponibilité) par mots-clés.
+ * Un champ vide ou non reconnu donne un ensemble vide : le critère devient neutre.
+ * <p>
+ * Un mot-clé est une racine (ou une suite de racines) comparée au début des mots du texte, jamais à
+ * l'intérieur : "soin" reconnaît "soins" mais pas "besoin". Pour la disponibilité, les expressions
+ * les plus longues passent d'abord et consomment leurs mots : "fin de semaine" n'est pas aussi "semaine".
+ */
+public record VolunteerProfile(Set<CasCategorie> skills, Set<Availability> availability) {
+
+    // Racines sans accents, comparées au début des mots du texte normalisé
+    private static final Map<CasCategorie, List<String>> SKILL_KEYWORDS = Map.of(
+            CasCategorie.MEDICAL, List.of("medic", "sante", "secour", "infirm", "soin", "docteur", "pharma",
+                    "ambulan", "aide-soignant", "psycholog"),
+            CasCategorie.ALIMENTAIRE, List.of("aliment", "nourriture", "repas", "cuisin", "distribution",
+                    "denree", "panier", "epicerie"),
+            CasCategorie.LOGISTIQUE, List.of("logisti", "transport", "chauffeur", "permis", "livraison",
+                    "conduite", "vehicule", "stock", "manutention", "demenag", "bricol"));
+
+    private static final Map<Availability, List<String>> AVAILABILITY_KEYWORDS = Map.of(
+            Availability.ANYTIME, List.of("tout le temps", "tous les jours", "toujours", "flexible",
+                    "temps plein", "24h", "a tout moment"),
+            Availability.WEEKENDS, List.of("weekend", "week-end", "week end", "fin de semaine", "fins de semaine",
+                    "samedi", "dimanche"),
+            Availability.WEEKDAYS, List.of("semaine", "lundi", "mardi", "mercredi", "jeudi", "vendredi"),
+            Availability.EVENINGS, List.of("soir", "nuit"),
+            Availability.DAYTIME, List.of("matin", "journee", "apres-midi", "midi"));
+
+    // Expressions les plus longues d'abord
+    private static final List<Map.Entry<Availability, String[]>> AVAILABILITY_PHRASES = AVAILABILITY_KEYWORDS.entrySet()
+            .stream()
+            .flatMap(entry -> entry.getValue().stream().map(keyword -> Map.entry(entry.getKey(), keyword.split(" "))))
+            .sorted(Comparator.comparingInt((Map.Entry<Availability, String[]> entry) -> entry.getValue().length)
+                    .reversed())
+            .toList();
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^a-z0-9-]+");
+
+    public static VolunteerProfile of(User user) {
+        List<String> competences = words(user.getCompetences());
+        List<String> disponibilite = words(user.getDisponibilite());
+
+        Set<CasCategorie> skills = EnumSet.noneOf(CasCategorie.class);
+        SKILL_KEYWORDS.forEach((categorie, keywords) -> {
+            if (keywords.stream().anyMatch(keyword -> find(competences, keyword.split(" "), null))) {
+                skills.add(categorie);
+            }
+        });
+        Set<Availability> availability = EnumSet.noneOf(Availability.class);
+        boolean[] used = new boolean[disponibilite.size()];
+        for (Map.Entry<Availability, String[]> phrase : AVAILABILITY_PHRASES) {
+            if (find(disponibilite, phrase.getValue(), used)) {
+                availability.add(phrase.getKey());
+            }
+        }
+        return new VolunteerProfile(skills, availability);
+    }
+
+    /**
+     * Cherche le mot-clé sur des mots consécutifs non encore consommés ; marque ceux reconnus
+     * dans {@code used} s'il est fourni.
+     */
+    private static boolean find(List<String> words, String[] stems, boolean[] used) {
+        boolean found = false;
+        for (int start = 0; start + stems.length <= words.size(); start++) {
+            if (matchesAt(words, stems, start, used)) {
+                found = true;
+                if (used != null) {
+                    Arrays.fill(used, start, start + stems.length, true);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean matchesAt(List<String> words, String[] stems, int start, boolean[] used) {
+        for (int i = 0; i < stems.length; i++) {
+            String word = words.get(start + i);
+            // Dans une expression, seul le dernier mot est une racine : "fin de semaine", pas "fin depuis semaine"
+            boolean matches = i < stems.length - 1 ? word.equals(stems[i]) : word.startsWith(stems[i]);
+            if ((used != null && used[start + i]) || !matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(WORD_SEPARATOR.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+}
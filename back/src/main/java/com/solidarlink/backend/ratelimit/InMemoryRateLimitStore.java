@@ -0,0 +1,88 @@
+package com.solidarlink.backend.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Compteurs en mémoire, propres à l'instance.
+ * <p>
+ * La mémoire est bornée à {@code app.rate-limit.max-buckets} seaux : une fois la limite atteinte,
+ * les seaux pleins (inactifs) sont purgés ; si tous sont encore actifs, les nouveaux sujets partagent
+ * un seau de débordement par groupe plutôt que d'échapper au quota.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    // Purge au plus une fois par seconde, même sous une rafale de nouveaux sujets
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<RateLimitGroup, TokenBucket> overflow = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final LongSupplier clock;
+    private final AtomicLong nextSweepAt;
+
+    @Autowired
+    public InMemoryRateLimitStore(@Value("${app.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    InMemoryRateLimitStore(int maxBuckets, LongSupplier clock) {
+        this.maxBuckets = maxBuckets;
+        this.clock = clock;
+        this.nextSweepAt = new AtomicLong(clock.getAsLong());
+    }
+
+    @Override
+    public Duration tryConsume(RateLimitRule rule, String subject) {
+        long now = clock.getAsLong();
+        String key = rule.bucketKey(subject);
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(rule, key, now);
+        }
+        long wait = bucket.tryConsume(rule, now);
+        return wait == 0 ? Duration.ZERO : Duration.ofNanos(wait);
+    }
+
+    private TokenBucket newBucket(RateLimitRule rule, String key, long now) {
+        if (buckets.size() >= maxBuckets) {
+            sweep(now);
+            if (buckets.size() >= maxBuckets) {
+                return overflow.computeIfAbsent(rule.group(), group -> {
+                    log.warn("Limite de {} compteurs atteinte : seau partagé pour le groupe {}", maxBuckets, group.key());
+                    return new TokenBucket(now);
+                });
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+
+    /**
+     * Oublie les seaux pleins. Un jeton consommé pendant la purge sur un seau retiré est perdu :
+     * au pire une requête de plus dans la rafale.
+     */
+    private void sweep(long now) {
+        long next = nextSweepAt.get();
+        if (now - next < 0 || !nextSweepAt.compareAndSet(next, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,116 @@
+package com.solidarlink.backend.ratelimit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Compteurs partagés entre instances, dans rate_limit_bucket (PostgreSQL) : même algorithme que
+ * {@link TokenBucket}, la date « seau plein » étant lue et avancée par une seule instruction
+ * (INSERT … ON CONFLICT DO UPDATE … WHERE), sur l'horloge de la base.
+ * <p>
+ * Une instruction en auto-commit par requête limitée, sur un petit pool dédié
+ * ({@code app.rate-limit.pool-size}) : les quotas ne prennent pas de connexions au pool de JPA.
+ * Si aucune connexion n'est libre après {@code app.rate-limit.connection-timeout}, ou si la base
+ * ne répond pas, le quota est appliqué localement plutôt que de bloquer les requêtes.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "postgres")
+@Slf4j
+public class JdbcRateLimitStore implements RateLimitStore, DisposableBean {
+
+    private static final String NOW_MS = "(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::bigint";
+
+    // Aucune ligne renvoyée : la clause WHERE a refusé la mise à jour, le quota est dépassé
+    private static final String CONSUME = """
+            INSERT INTO rate_limit_bucket AS b (bucket_key, full_at_ms)
+            VALUES (?, %1$s + ?)
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET full_at_ms = GREATEST(b.full_at_ms, EXCLUDED.full_at_ms - ?) + ?
+            WHERE GREATEST(b.full_at_ms, EXCLUDED.full_at_ms - ?) - (EXCLUDED.full_at_ms - ?) <= ?
+            RETURNING b.full_at_ms
+            """.formatted(NOW_MS);
+
+    private static final String WAIT = "SELECT full_at_ms - " + NOW_MS + " - ? FROM rate_limit_bucket WHERE bucket_key = ?";
+
+    private static final String PURGE = "DELETE FROM rate_limit_bucket WHERE full_at_ms <= " + NOW_MS;
+
+    private final HikariDataSource dataSource;
+    private final InMemoryRateLimitStore fallback;
+
+    public JdbcRateLimitStore(DataSourceProperties dataSourceProperties,
+                              @Value("${app.rate-limit.max-buckets:100000}") int maxBuckets,
+                              @Value("${app.rate-limit.pool-size:4}") int poolSize,
+                              @Value("${app.rate-limit.connection-timeout:PT0.25S}") Duration connectionTimeout) {
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("rate-limit");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(1);
+        // Hikari impose au moins 250 ms
+        this.dataSource.setConnectionTimeout(Math.max(250, connectionTimeout.toMillis()));
+        this.dataSource.setAutoCommit(true);
+        this.fallback = new InMemoryRateLimitStore(maxBuckets);
+    }
+
+    @Override
+    public Duration tryConsume(RateLimitRule rule, String subject) {
+        String key = rule.bucketKey(subject);
+        long intervalMs = Math.max(1, Duration.ofNanos(rule.intervalNanos()).toMillis());
+        long toleranceMs = intervalMs * (rule.capacity() - 1);
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(CONSUME)) {
+                statement.setString(1, key);
+                for (int i = 2; i <= 6; i++) {
+                    statement.setLong(i, intervalMs);
+                }
+                statement.setLong(7, toleranceMs);
+                try (ResultSet result = statement.executeQuery()) {
+                    if (result.next()) {
+                        return Duration.ZERO;
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(WAIT)) {
+                statement.setLong(1, toleranceMs);
+                statement.setString(2, key);
+                try (ResultSet result = statement.executeQuery()) {
+                    long waitMs = result.next() ? result.getLong(1) : 0;
+                    return Duration.ofMillis(Math.max(1, waitMs));
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Compteur partagé {} indisponible, quota appliqué localement : {}", key, e.getMessage());
+            return fallback.tryConsume(rule, subject);
+        }
+    }
+
+    /**
+     * Les seaux pleins équivalent à des seaux absents : la table ne garde que les sujets actifs.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-interval-ms:60000}")
+    public void purgeFullBuckets() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PURGE)) {
+            int purged = statement.executeUpdate();
+            log.debug("{} compteurs de quota purgés", purged);
+        } catch (SQLException e) {
+            log.warn("Purge des compteurs de quota impossible : {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.solidarlink.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.dto.ErrorResponse;
+import com.solidarlink.backend.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Quotas des routes coûteuses (connexion, inscription, téléversements, écriture de cas) : 429 avec
+ * Retry-After au-delà du quota, avant tout hachage BCrypt ou écriture disque.
+ * <p>
+ * Placé après {@link com.solidarlink.backend.config.JwtAuthenticationFilter} pour compter par
+ * utilisateur connecté ; l'adresse IP est celle de {@code getRemoteAddr()}. Derrière nginx,
+ * {@code server.forward-headers-strategy=native} la remplace par le client de X-Forwarded-For quand
+ * la connexion vient d'un proxy de {@code server.tomcat.remoteip.internal-proxies}.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final RateLimitStore store;
+    private final RateLimitRules rules;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public RateLimitFilter(RateLimitStore store,
+                           RateLimitRules rules,
+                           ObjectMapper objectMapper,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled) {
+        this.store = store;
+        this.rules = rules;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || groupOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitGroup group = groupOf(request);
+        String subject = subjectOf(group, request);
+        Duration wait = store.tryConsume(rules.ruleFor(group), subject);
+        if (wait.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        log.debug("Quota {} dépassé pour {}", group.key(), subject);
+        reject(request, response, wait);
+    }
+
+    private static RateLimitGroup groupOf(HttpServletRequest request) {
+        return RateLimitGroup.match(request.getMethod(), PATH_HELPER.getPathWithinApplication(request));
+    }
+
+    private static String subjectOf(RateLimitGroup group, HttpServletRequest request) {
+        if (group.perUser()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User user) {
+                return "user:" + user.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, Duration wait) throws IOException {
+        // Arrondi à la seconde supérieure : le client ne doit pas revenir avant le prochain jeton
+        long retryAfter = Math.max(1, (wait.toMillis() + 999) / 1000);
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Trop de requêtes, réessayez dans " + retryAfter + " s")
+                .path(request.getRequestURI())
+                .errorCode("RATE_LIMITED")
+                .build();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,66 @@
+package com.solidarlink.backend.ratelimit;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+/**
+ * Routes limitées, regroupées par coût : chaque groupe a son propre quota
+ * ({@code app.rate-limit.<groupe>.capacity} par {@code app.rate-limit.<groupe>.period}).
+ */
+public enum RateLimitGroup {
+
+    /** Connexion : un hachage BCrypt par tentative. Par adresse IP, l'utilisateur n'étant pas encore connu. */
+    LOGIN("login", false, "/api/auth/login"),
+    /** Inscription : hachage BCrypt et création de compte. */
+    REGISTER("register", false, "/api/auth/register"),
+    /** Téléversements, pièce d'identité et avatar : espace disque. Par utilisateur, par adresse IP pour un appel anonyme. */
+    UPLOAD("upload", true, "/api/uploads", "/api/uploads/presign", "/api/users/me/document", "/api/users/me/avatar"),
+    /** Création et modification de cas (photos comprises), signalements. */
+    CASE_WRITE("case-write", true, "/api/cases", "/api/cases/{id}", "/api/cases/{id}/reports");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final String key;
+    private final boolean perUser;
+    private final List<String> patterns;
+
+    RateLimitGroup(String key, boolean perUser, String... patterns) {
+        this.key = key;
+        this.perUser = perUser;
+        this.patterns = List.of(patterns);
+    }
+
+    /**
+     * Nom du groupe dans la configuration et dans les clés des compteurs.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Compteur par utilisateur connecté plutôt que par adresse IP.
+     */
+    public boolean perUser() {
+        return perUser;
+    }
+
+    /**
+     * Seules les écritures (POST) sont limitées.
+     *
+     * @return null si la requête n'appartient à aucun groupe
+     */
+    public static RateLimitGroup match(String method, String path) {
+        if (!"POST".equals(method)) {
+            return null;
+        }
+        for (RateLimitGroup group : values()) {
+            for (String pattern : group.patterns) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+}
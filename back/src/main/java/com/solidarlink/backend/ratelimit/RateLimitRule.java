@@ -0,0 +1,34 @@
+package com.solidarlink.backend.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Quota d'un groupe : {@code capacity} requêtes en rafale, un jeton rendu toutes les
+ * {@code period / capacity}.
+ */
+public record RateLimitRule(RateLimitGroup group, int capacity, Duration period) {
+
+    public RateLimitRule {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Quota invalide pour " + group.key() + " : " + capacity + "/" + period);
+        }
+    }
+
+    /**
+     * Intervalle entre deux jetons.
+     */
+    public long intervalNanos() {
+        return period.toNanos() / capacity;
+    }
+
+    /**
+     * Avance tolérée sur le rythme régulier : la rafale de {@code capacity} requêtes.
+     */
+    public long toleranceNanos() {
+        return intervalNanos() * (capacity - 1);
+    }
+
+    public String bucketKey(String subject) {
+        return group.key() + ":" + subject;
+    }
+}
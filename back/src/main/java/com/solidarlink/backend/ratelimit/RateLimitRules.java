@@ -0,0 +1,39 @@
+package com.solidarlink.backend.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Quotas par groupe de routes, lus depuis {@code app.rate-limit.*}.
+ */
+@Component
+public class RateLimitRules {
+
+    private final Map<RateLimitGroup, RateLimitRule> rules = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimitRules(@Value("${app.rate-limit.login.capacity:10}") int loginCapacity,
+                          @Value("${app.rate-limit.login.period:PT1M}") Duration loginPeriod,
+                          @Value("${app.rate-limit.register.capacity:5}") int registerCapacity,
+                          @Value("${app.rate-limit.register.period:PT1H}") Duration registerPeriod,
+                          @Value("${app.rate-limit.upload.capacity:30}") int uploadCapacity,
+                          @Value("${app.rate-limit.upload.period:PT10M}") Duration uploadPeriod,
+                          @Value("${app.rate-limit.case-write.capacity:20}") int caseWriteCapacity,
+                          @Value("${app.rate-limit.case-write.period:PT1H}") Duration caseWritePeriod) {
+        add(RateLimitGroup.LOGIN, loginCapacity, loginPeriod);
+        add(RateLimitGroup.REGISTER, registerCapacity, registerPeriod);
+        add(RateLimitGroup.UPLOAD, uploadCapacity, uploadPeriod);
+        add(RateLimitGroup.CASE_WRITE, caseWriteCapacity, caseWritePeriod);
+    }
+
+    private void add(RateLimitGroup group, int capacity, Duration period) {
+        rules.put(group, new RateLimitRule(group, capacity, period));
+    }
+
+    public RateLimitRule ruleFor(RateLimitGroup group) {
+        return rules.get(group);
+    }
+}
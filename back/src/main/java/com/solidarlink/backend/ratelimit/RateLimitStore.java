@@ -0,0 +1,17 @@
+package com.solidarlink.backend.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Compteurs des quotas : en mémoire (une instance) ou partagés en base (plusieurs instances),
+ * selon {@code app.rate-limit.store}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Consomme un jeton du seau de {@code subject} (utilisateur ou adresse IP) pour ce quota.
+     *
+     * @return {@link Duration#ZERO} si la requête est acceptée, sinon l'attente avant le prochain jeton
+     */
+    Duration tryConsume(RateLimitRule rule, String subject);
+}
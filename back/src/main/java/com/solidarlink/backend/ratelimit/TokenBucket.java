@@ -0,0 +1,41 @@
+package com.solidarlink.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons sans verrou, réduit à une seule date (GCRA) : l'instant théorique auquel le seau
+ * serait de nouveau plein. Consommer un jeton recule cette date d'un intervalle ; la requête est
+ * refusée si elle dépasse l'instant présent de plus que la rafale tolérée.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 si un jeton a été consommé, sinon l'attente en nanosecondes avant le prochain jeton
+     */
+    long tryConsume(RateLimitRule rule, long now) {
+        while (true) {
+            long current = fullAt.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - rule.toleranceNanos();
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + rule.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Un seau plein équivaut à un seau absent : il peut être oublié.
+     */
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.AdminBoundary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AdminBoundaryRepository extends JpaRepository<AdminBoundary, Long> {
+
+    /**
+     * Géométrie GeoJSON convertie par PostGIS (Polygon ou MultiPolygon, WGS84) : aucune géométrie JTS
+     * n'est construite côté application pendant le chargement.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO admin_boundary (code, name, geom)
+            VALUES (:code, :name, ST_Multi(ST_SetSRID(ST_GeomFromGeoJSON(:geometry), 4326)))
+            ON CONFLICT (code) DO NOTHING
+            """, nativeQuery = true)
+    int insertFromGeoJson(@Param("code") String code, @Param("name") String name, @Param("geometry") String geometry);
+}
@@ -0,0 +1,42 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.BoundaryCoverage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BoundaryCoverageRepository extends JpaRepository<BoundaryCoverage, Long> {
+
+    @Modifying
+    @Query("DELETE FROM BoundaryCoverage")
+    int deleteAllRows();
+
+    /**
+     * Jointure spatiale complète (index GIST des deux côtés) : réservée au recalcul périodique,
+     * jamais exécutée pendant une requête HTTP. Les cas en attente de modération ou rejetés sont exclus.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO boundary_coverage (boundary_id, code, name, cases, active_cases, resolved_cases, computed_at)
+            SELECT b.id, b.code, b.name,
+                   COUNT(*),
+                   COUNT(*) FILTER (WHERE c.status IN ('VALIDE', 'EN_COURS')),
+                   COUNT(*) FILTER (WHERE c.status = 'RESOLU'),
+                   now()
+            FROM admin_boundary b
+            JOIN cas_humanitaire c ON ST_Intersects(b.geom, c.location)
+            WHERE c.status IN ('VALIDE', 'EN_COURS', 'RESOLU')
+            GROUP BY b.id, b.code, b.name
+            """, nativeQuery = true)
+    int insertComputedCoverage();
+
+    @Query("SELECT COUNT(b) FROM BoundaryCoverage b WHERE b.resolvedCases > 0")
+    long countWithResolvedCases();
+
+    List<BoundaryCoverage> findAllByOrderByCasesDescNameAsc(Pageable pageable);
+}
@@ -2,30 +2,29 @@ package com.solidarlink.backend.repository;
 
 import com.solidarlink.backend.entity.CasHumanitaire;
 import com.solidarlink.backend.entity.User;
-import com.solidarlink.backend.enums.CasCategorie;
 import com.solidarlink.backend.enums.CasStatut;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface CasHumanitaireRepository extends JpaRepository<CasHumanitaire, Long> {
-    
-    // ========== PAGINATED METHODS (NEW) ==========
-    Page<CasHumanitaire> findByAuthor(User author, Pageable pageable);
+public interface CasHumanitaireRepository extends JpaRepository<CasHumanitaire, Long>,
+        JpaSpecificationExecutor<CasHumanitaire>, CasHumanitaireRepositoryCustom {
 
-    Page<CasHumanitaire> findByVolunteer(User volunteer, Pageable pageable);
-
-    Page<CasHumanitaire> findByStatus(CasStatut status, Pageable pageable);
-    
-    Page<CasHumanitaire> findByStatusAndCategorie(CasStatut status, CasCategorie categorie, Pageable pageable);
-    
-    Page<CasHumanitaire> findByCategorie(CasCategorie categorie, Pageable pageable);
+    // Les listes paginées et filtrées passent par JpaSpecificationExecutor (voir CasHumanitaireSpecifications)
 
     // ========== NON-PAGINATED (Keep for backward compatibility) ==========
     List<CasHumanitaire> findByAuthor(User author);
@@ -34,53 +33,9 @@ public interface CasHumanitaireRepository extends JpaRepository<CasHumanitaire,
 
     List<CasHumanitaire> findByStatus(CasStatut status);
 
+    @EntityGraph(attributePaths = "photos")
     List<CasHumanitaire> findTop3ByStatusOrderByUpdatedAtDesc(CasStatut status);
 
-    @Query(value = "SELECT * FROM cas_humanitaire c WHERE ST_DWithin(c.location, ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326), :radius)", nativeQuery = true)
-    List<CasHumanitaire> findNearbyCases(@Param("latitude") double latitude, @Param("longitude") double longitude,
-            @Param("radius") double radius);
-
-    // ========== VIEWPORT-BASED QUERIES (PostGIS ST_Within) ==========
-    @Query(value = """
-        SELECT c.* FROM cas_humanitaire c 
-        WHERE c.location && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
-        AND ST_Within(c.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326))
-        """, 
-        countQuery = """
-        SELECT COUNT(*) FROM cas_humanitaire c 
-        WHERE c.location && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
-        AND ST_Within(c.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326))
-        """,
-        nativeQuery = true)
-    Page<CasHumanitaire> findWithinViewport(
-        @Param("minLon") double minLon, 
-        @Param("minLat") double minLat,
-        @Param("maxLon") double maxLon, 
-        @Param("maxLat") double maxLat,
-        Pageable pageable);
-
-    @Query(value = """
-        SELECT c.* FROM cas_humanitaire c 
-        WHERE c.location && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
-        AND ST_Within(c.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326))
-        AND CAST(c.status AS text) = :status
-        ORDER BY c.created_at DESC
-        """, 
-        countQuery = """
-        SELECT COUNT(*) FROM cas_humanitaire c 
-        WHERE c.location && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)
-        AND ST_Within(c.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326))
-        AND CAST(c.status AS text) = :status
-        """,
-        nativeQuery = true)
-    Page<CasHumanitaire> findWithinViewportAndStatus(
-        @Param("minLon") double minLon, 
-        @Param("minLat") double minLat,
-        @Param("maxLon") double maxLon, 
-        @Param("maxLat") double maxLat,
-        @Param("status") String status,
-        Pageable pageable);
-
     // Explicit JPQL Counting Queries
     @Query("SELECT COUNT(c) FROM CasHumanitaire c WHERE c.status = 'EN_ATTENTE'")
     long countEnAttente();
@@ -93,4 +48,206 @@ public interface CasHumanitaireRepository extends JpaRepository<CasHumanitaire,
 
     @Query("SELECT COUNT(c) FROM CasHumanitaire c WHERE c.status = 'REJETE'")
     long countRejetes();
+
+    /**
+     * Répartition par catégorie d'un ensemble de cas : [CasCategorie, Long].
+     */
+    @Query("SELECT c.categorie, COUNT(c) FROM CasHumanitaire c "
+            + "WHERE c.id IN :ids AND c.categorie IS NOT NULL GROUP BY c.categorie")
+    List<Object[]> countByCategorieForIds(@Param("ids") Collection<Long> ids);
+
+    // ========== DÉTAIL (auteur, volontaire et photos en une requête) ==========
+    @EntityGraph(CasHumanitaire.GRAPH_DETAIL)
+    @Query("SELECT c FROM CasHumanitaire c WHERE c.id = :id")
+    Optional<CasHumanitaire> findDetailedById(@Param("id") Long id);
+
+    // ========== TRANSITIONS ATOMIQUES ==========
+
+    /**
+     * Prise en charge d'un cas VALIDE par un bénévole en une seule instruction : la condition sur le statut
+     * est évaluée par la base au moment de l'écriture, deux bénévoles simultanés ne peuvent donc pas gagner
+     * tous les deux, sans verrou préalable sur le cas.
+     * updatedAt est renseigné ici car @PreUpdate ne s'applique pas aux mises à jour en masse.
+     *
+     * @return 1 si le cas est passé de VALIDE à EN_COURS, 0 sinon (cas inexistant, déjà pris ou non validé)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE CasHumanitaire c
+            SET c.status = 'EN_COURS', c.volunteer = :volunteer, c.dateIntervention = :dateIntervention,
+                c.messageIntervention = :message, c.reminderSentAt = null, c.escalatedAt = null, c.updatedAt = :now
+            WHERE c.id = :id AND c.status = 'VALIDE'
+            """)
+    int claimValidated(@Param("id") Long id,
+                       @Param("volunteer") User volunteer,
+                       @Param("dateIntervention") LocalDateTime dateIntervention,
+                       @Param("message") String message,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Nouvelle confirmation par le bénévole qui a déjà le cas : nouvelle date et nouveau message, rappel et
+     * relance réarmés ; le statut ne change pas.
+     *
+     * @return 1 si le cas est EN_COURS pour ce bénévole, 0 sinon
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE CasHumanitaire c
+            SET c.dateIntervention = :dateIntervention, c.messageIntervention = :message,
+                c.reminderSentAt = null, c.escalatedAt = null, c.updatedAt = :now
+            WHERE c.id = :id AND c.status = 'EN_COURS' AND c.volunteer = :volunteer
+            """)
+    int refreshClaim(@Param("id") Long id,
+                     @Param("volunteer") User volunteer,
+                     @Param("dateIntervention") LocalDateTime dateIntervention,
+                     @Param("message") String message,
+                     @Param("now") LocalDateTime now);
+
+    @Query("SELECT c.status FROM CasHumanitaire c WHERE c.id = :id")
+    Optional<CasStatut> findStatusById(@Param("id") Long id);
+
+    /**
+     * Auteur et bénévole d'un cas (contrôles d'accès), sans charger l'entité ni poser de verrou.
+     */
+    @Query("""
+            SELECT new com.solidarlink.backend.repository.CaseStatusRow(
+                c.id, c.status, c.titre, c.author.id, c.volunteer.id)
+            FROM CasHumanitaire c
+            WHERE c.id = :id
+            """)
+    Optional<CaseStatusRow> findStatusRow(@Param("id") Long id);
+
+    /**
+     * Verrouille (FOR UPDATE) les cas avant un changement de statut : le statut lu reste celui sur lequel
+     * la transition est validée jusqu'au commit. Ordre des id fixe pour éviter les interblocages
+     * entre deux transitions en masse.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT new com.solidarlink.backend.repository.CaseStatusRow(
+                c.id, c.status, c.titre, c.author.id, c.volunteer.id)
+            FROM CasHumanitaire c
+            WHERE c.id IN :ids
+            ORDER BY c.id
+            """)
+    List<CaseStatusRow> lockStatusRows(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Applique un statut à des cas déjà verrouillés et validés par CaseWorkflow, en une instruction.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CasHumanitaire c SET c.status = :status, c.updatedAt = :now WHERE c.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") CasStatut status,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * Idem, en libérant le bénévole et son intervention prévue (le cas redevient disponible).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE CasHumanitaire c
+            SET c.status = :status, c.volunteer = null, c.dateIntervention = null,
+                c.messageIntervention = null, c.reminderSentAt = null, c.escalatedAt = null, c.updatedAt = :now
+            WHERE c.id IN :ids
+            """)
+    int updateStatusReleasingVolunteer(@Param("ids") Collection<Long> ids,
+                                       @Param("status") CasStatut status,
+                                       @Param("now") LocalDateTime now);
+
+    // ========== TÂCHES PLANIFIÉES ==========
+    // Cas EN_COURS parcourus par date d'intervention (index partiel idx_cas_date_intervention, V15), par lots :
+    // un cas traité est marqué et sort du filtre, le lot suivant reprend en tête.
+
+    String CASE_REMINDER_ROW = """
+            SELECT new com.solidarlink.backend.repository.CaseReminderRow(
+                c.id, c.titre, c.dateIntervention, c.author.id, v.id, v.email, v.prenom)
+            FROM CasHumanitaire c JOIN c.volunteer v
+            WHERE c.status = 'EN_COURS'
+            """;
+
+    /**
+     * Interventions prévues dans [from, to) dont le bénévole n'a pas encore été rappelé.
+     */
+    @Query(CASE_REMINDER_ROW + """
+              AND c.reminderSentAt IS NULL
+              AND c.dateIntervention >= :from AND c.dateIntervention < :to
+            ORDER BY c.dateIntervention, c.id
+            """)
+    List<CaseReminderRow> findDueReminders(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+
+    /**
+     * Interventions dépassées avant {@code cutoff}, pas encore relancées.
+     */
+    @Query(CASE_REMINDER_ROW + """
+              AND c.escalatedAt IS NULL
+              AND c.dateIntervention < :cutoff
+            ORDER BY c.dateIntervention, c.id
+            """)
+    List<CaseReminderRow> findOverdueNotEscalated(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Interventions dépassées avant {@code cutoff}, relancées ou non (libération des cas).
+     */
+    @Query(CASE_REMINDER_ROW + """
+              AND c.dateIntervention < :cutoff
+            ORDER BY c.dateIntervention, c.id
+            """)
+    List<CaseReminderRow> findOverdue(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Marqueurs des tâches planifiées : updatedAt n'est pas modifié, le cas lui-même ne change pas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CasHumanitaire c SET c.reminderSentAt = :now WHERE c.id IN :ids AND c.reminderSentAt IS NULL")
+    int markReminded(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CasHumanitaire c SET c.escalatedAt = :now WHERE c.id IN :ids AND c.escalatedAt IS NULL")
+    int markEscalated(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // ========== MODÉRATION ==========
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CasHumanitaire c SET c.reportHiddenAt = :hiddenAt WHERE c.id = :id")
+    int setReportHiddenAt(@Param("id") Long id, @Param("hiddenAt") LocalDateTime hiddenAt);
+
+    @Query("SELECT c.reportHiddenAt FROM CasHumanitaire c WHERE c.id = :id")
+    Optional<LocalDateTime> findReportHiddenAt(@Param("id") Long id);
+
+    // ========== SUPPRESSION EN MASSE ==========
+    @Query("SELECT c.id FROM CasHumanitaire c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Les photos (collection d'éléments) sont supprimées par Hibernate avec les cas ;
+     * interventions et signalements doivent l'avoir été avant.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CasHumanitaire c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ========== INDEX SPATIAL EN MÉMOIRE ==========
+    @EntityGraph(CasHumanitaire.GRAPH_MAP)
+    @Query("SELECT c FROM CasHumanitaire c WHERE c.status IN :statuses")
+    List<CasHumanitaire> findForMapByStatusIn(@Param("statuses") Collection<CasStatut> statuses);
+
+    @EntityGraph(CasHumanitaire.GRAPH_MAP)
+    @Query("SELECT c FROM CasHumanitaire c WHERE c.id IN :ids")
+    List<CasHumanitaire> findForMapByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByStatusIn(Collection<CasStatut> statuses);
+
+    /**
+     * Validateur HTTP du détail d'un cas, lu sans charger l'entité.
+     */
+    @Query("SELECT COALESCE(c.updatedAt, c.createdAt) FROM CasHumanitaire c WHERE c.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+
+    @Query("SELECT MAX(c.updatedAt) FROM CasHumanitaire c WHERE c.status IN :statuses")
+    LocalDateTime findLatestUpdateByStatusIn(@Param("statuses") Collection<CasStatut> statuses);
 }
@@ -0,0 +1,56 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Requêtes construites dynamiquement (SQL natif PostGIS / plein texte) sur les cas.
+ */
+public interface CasHumanitaireRepositoryCustom {
+
+    /**
+     * Recherche plein texte classée par pertinence (ts_rank_cd), paginée par curseur (rank, id).
+     */
+    List<CaseSearchDTOs.SearchHit> searchFullText(CaseTextSearch search);
+
+    /**
+     * Cas situés dans un rayon (mètres), du plus proche au plus éloigné, paginés par curseur (distance, id).
+     */
+    List<CaseSearchDTOs.NearbyHit> findNearby(CaseNearbySearch search);
+
+    /**
+     * Lignes de liste (projection, sans entité) : une requête pour les cas, une pour leurs photos.
+     */
+    Page<CaseListItem> findListItems(Specification<CasHumanitaire> spec, Pageable pageable);
+
+    /**
+     * Au plus {@code limit} lignes, sans requête de comptage.
+     */
+    List<CaseListItem> findListItems(Specification<CasHumanitaire> spec, Sort sort, int limit);
+
+    /**
+     * Parcourt toutes les lignes par curseur et les remet par tranches de {@code chunkSize},
+     * photos comprises. À appeler dans une transaction (curseur serveur PostgreSQL).
+     */
+    void forEachListItemChunk(Specification<CasHumanitaire> spec, Sort sort, int chunkSize,
+                              Consumer<List<CaseListItem>> consumer);
+
+    /**
+     * Parcourt les cas par curseur (id croissant) sous forme d'entités GeoJSON déjà sérialisées
+     * par PostgreSQL (ST_AsGeoJSON), remises par tranches de {@code chunkSize}. À appeler dans une transaction.
+     */
+    void forEachGeoJsonFeatureChunk(CaseGeoJsonExport export, int chunkSize, Consumer<List<String>> consumer);
+
+    /**
+     * Identifiants des cas correspondant aux critères, par id croissant (opérations en masse).
+     */
+    List<Long> findIds(Specification<CasHumanitaire> spec);
+}
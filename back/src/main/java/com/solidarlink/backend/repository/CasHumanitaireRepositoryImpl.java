@@ -0,0 +1,350 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implémentation des requêtes dynamiques : seules les clauses nécessaires sont générées,
+ * afin que le planificateur puisse utiliser les index (GIN plein texte, GIST spatial, statut).
+ */
+public class CasHumanitaireRepositoryImpl implements CasHumanitaireRepositoryCustom {
+
+    private static final int PHOTO_BATCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CaseSearchDTOs.SearchHit> searchFullText(CaseTextSearch search) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT c.id, c.titre, c.description, c.categorie, c.status,
+                       ST_Y(c.location), ST_X(c.location), c.created_at,
+                       ts_rank_cd(c.search_vector, q.query) AS rank
+                FROM cas_humanitaire c,
+                     websearch_to_tsquery('public.french_unaccent', :text) AS q(query)
+                WHERE c.search_vector @@ q.query
+                """);
+        Map<String, Object> params = new HashMap<>();
+        params.put("text", search.query());
+
+        if (search.statuses() != null && !search.statuses().isEmpty()) {
+            sql.append(" AND c.status IN (:statuses)");
+            params.put("statuses", search.statuses().stream().map(CasStatut::name).toList());
+        }
+        if (search.categories() != null && !search.categories().isEmpty()) {
+            sql.append(" AND c.categorie IN (:categories)");
+            params.put("categories", search.categories().stream().map(CasCategorie::name).toList());
+        }
+        BoundingBox viewport = search.viewport();
+        if (viewport != null) {
+            sql.append(" AND c.location && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)");
+            params.put("minLon", viewport.minLon());
+            params.put("minLat", viewport.minLat());
+            params.put("maxLon", viewport.maxLon());
+            params.put("maxLat", viewport.maxLat());
+        }
+        if (search.afterRank() != null && search.afterId() != null) {
+            sql.append(" AND (ts_rank_cd(c.search_vector, q.query), c.id) < (CAST(:afterRank AS real), :afterId)");
+            params.put("afterRank", search.afterRank());
+            params.put("afterId", search.afterId());
+        }
+        sql.append(" ORDER BY rank DESC, c.id DESC LIMIT :limit");
+        params.put("limit", search.limit());
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(CasHumanitaireRepositoryImpl::toSearchHit).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CaseSearchDTOs.NearbyHit> findNearby(CaseNearbySearch search) {
+        // CAST(location AS geography) correspond à l'index d'expression idx_cas_humanitaire_location_geog :
+        // ST_DWithin filtre en mètres et l'opérateur KNN <-> fournit directement l'ordre par distance.
+        // <-> mesure sur la sphère : ST_DWithin(..., false) aussi, comme ActiveCaseIndex, sinon le filtre
+        // (ellipsoïde) et la distance renvoyée divergeraient au bord du rayon.
+        StringBuilder sql = new StringBuilder("""
+                SELECT c.id, c.titre, c.categorie, c.status,
+                       ST_Y(c.location), ST_X(c.location), c.created_at,
+                       CAST(c.location AS geography) <-> p.geog AS distance
+                FROM cas_humanitaire c,
+                     (SELECT CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography) AS geog) p
+                WHERE ST_DWithin(CAST(c.location AS geography), p.geog, :radius, false)
+                """);
+        Map<String, Object> params = new HashMap<>();
+        params.put("longitude", search.longitude());
+        params.put("latitude", search.latitude());
+        params.put("radius", search.radiusMeters());
+
+        if (search.statuses() != null && !search.statuses().isEmpty()) {
+            sql.append(" AND c.status IN (:statuses)");
+            params.put("statuses", search.statuses().stream().map(CasStatut::name).toList());
+        }
+        if (search.categories() != null && !search.categories().isEmpty()) {
+            sql.append(" AND c.categorie IN (:categories)");
+            params.put("categories", search.categories().stream().map(CasCategorie::name).toList());
+        }
+        if (search.afterDistance() != null && search.afterId() != null) {
+            sql.append(" AND (CAST(c.location AS geography) <-> p.geog, c.id) > (:afterDistance, :afterId)");
+            params.put("afterDistance", search.afterDistance());
+            params.put("afterId", search.afterId());
+        }
+        sql.append(" ORDER BY distance, c.id LIMIT :limit");
+        params.put("limit", search.limit());
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(CasHumanitaireRepositoryImpl::toNearbyHit).toList();
+    }
+
+    @Override
+    public Page<CaseListItem> findListItems(Specification<CasHumanitaire> spec, Pageable pageable) {
+        TypedQuery<CaseListItem> query = listItemQuery(spec, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(withPhotos(query.getResultList()));
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<CaseListItem> items = withPhotos(query.getResultList());
+        return PageableExecutionUtils.getPage(items, pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<CaseListItem> findListItems(Specification<CasHumanitaire> spec, Sort sort, int limit) {
+        return withPhotos(listItemQuery(spec, sort).setMaxResults(limit).getResultList());
+    }
+
+    @Override
+    public void forEachListItemChunk(Specification<CasHumanitaire> spec, Sort sort, int chunkSize,
+                                     Consumer<List<CaseListItem>> consumer) {
+        TypedQuery<CaseListItem> query = listItemQuery(spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        try (Stream<CaseListItem> rows = query.getResultStream()) {
+            List<CaseListItem> chunk = new ArrayList<>(chunkSize);
+            Iterator<CaseListItem> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    consumer.accept(withPhotos(chunk));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(withPhotos(chunk));
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachGeoJsonFeatureChunk(CaseGeoJsonExport export, int chunkSize, Consumer<List<String>> consumer) {
+        // Toute l'entité est construite par PostgreSQL : le JVM ne voit passer que du texte,
+        // ni géométrie JTS ni entité à hydrater.
+        StringBuilder sql = new StringBuilder("""
+                SELECT CAST(json_build_object(
+                           'type', 'Feature',
+                           'id', c.id,
+                           'geometry', CAST(ST_AsGeoJSON(c.location, 6) AS json),
+                           'properties', json_build_object(
+                               'titre', c.titre,
+                               'description', c.description,
+                               'categorie', c.categorie,
+                               'statut', c.status,
+                               'createdAt', c.created_at,
+                               'updatedAt', c.updated_at)) AS text)
+                FROM cas_humanitaire c
+                WHERE c.location IS NOT NULL
+                """);
+        Map<String, Object> params = new HashMap<>();
+
+        if (export.statuses() != null && !export.statuses().isEmpty()) {
+            sql.append(" AND c.status IN (:statuses)");
+            params.put("statuses", export.statuses().stream().map(CasStatut::name).toList());
+        }
+        if (export.categories() != null && !export.categories().isEmpty()) {
+            sql.append(" AND c.categorie IN (:categories)");
+            params.put("categories", export.categories().stream().map(CasCategorie::name).toList());
+        }
+        BoundingBox viewport = export.viewport();
+        if (viewport != null) {
+            sql.append(" AND c.location && ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)");
+            params.put("minLon", viewport.minLon());
+            params.put("minLat", viewport.minLat());
+            params.put("maxLon", viewport.maxLon());
+            params.put("maxLat", viewport.maxLat());
+        }
+        sql.append(" ORDER BY c.id");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        params.forEach(query::setParameter);
+
+        try (Stream<String> rows = query.getResultStream()) {
+            List<String> chunk = new ArrayList<>(chunkSize);
+            Iterator<String> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+            }
+        }
+    }
+
+    @Override
+    public List<Long> findIds(Specification<CasHumanitaire> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<CasHumanitaire> root = query.from(CasHumanitaire.class);
+        query.select(root.get("id"));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private TypedQuery<CaseListItem> listItemQuery(Specification<CasHumanitaire> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CaseListItem> query = cb.createQuery(CaseListItem.class);
+        Root<CasHumanitaire> root = query.from(CasHumanitaire.class);
+        Join<CasHumanitaire, User> author = root.join("author", JoinType.LEFT);
+        Join<CasHumanitaire, User> volunteer = root.join("volunteer", JoinType.LEFT);
+
+        query.select(cb.construct(CaseListItem.class,
+                root.get("id"), root.get("titre"), root.get("description"), root.get("categorie"),
+                root.get("status"), root.get("location"),
+                author.get("id"), author.get("nom"), author.get("prenom"), author.get("telephone"),
+                volunteer.get("id"), volunteer.get("nom"), volunteer.get("prenom"), volunteer.get("telephone"),
+                root.get("dateIntervention"), root.get("createdAt"), root.get("updatedAt")));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<CasHumanitaire> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<CasHumanitaire> root = query.from(CasHumanitaire.class);
+        query.select(cb.count(root));
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Charge les photos de tous les cas de la page en une requête (par tranches de PHOTO_BATCH_SIZE ids).
+     */
+    private List<CaseListItem> withPhotos(List<CaseListItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Map<Long, List<String>> photosByCase = new HashMap<>();
+        List<Long> ids = items.stream().map(CaseListItem::id).toList();
+        for (int from = 0; from < ids.size(); from += PHOTO_BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + PHOTO_BATCH_SIZE, ids.size()));
+            entityManager.createQuery(
+                            "SELECT c.id, p FROM CasHumanitaire c JOIN c.photos p WHERE c.id IN :ids", Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList()
+                    .forEach(row -> photosByCase
+                            .computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                            .add((String) row[1]));
+        }
+        return items.stream()
+                .map(item -> item.withPhotos(photosByCase.get(item.id())))
+                .toList();
+    }
+
+    private static CaseSearchDTOs.NearbyHit toNearbyHit(Object[] row) {
+        return CaseSearchDTOs.NearbyHit.builder()
+                .id(((Number) row[0]).longValue())
+                .titre((String) row[1])
+                .categorie(row[2] != null ? CasCategorie.valueOf((String) row[2]) : null)
+                .statut(row[3] != null ? CasStatut.valueOf((String) row[3]) : null)
+                .latitude(row[4] != null ? ((Number) row[4]).doubleValue() : null)
+                .longitude(row[5] != null ? ((Number) row[5]).doubleValue() : null)
+                .createdAt(toLocalDateTime(row[6]))
+                .distanceMeters(((Number) row[7]).doubleValue())
+                .build();
+    }
+
+    private static CaseSearchDTOs.SearchHit toSearchHit(Object[] row) {
+        return CaseSearchDTOs.SearchHit.builder()
+                .id(((Number) row[0]).longValue())
+                .titre((String) row[1])
+                .description((String) row[2])
+                .categorie(row[3] != null ? CasCategorie.valueOf((String) row[3]) : null)
+                .statut(row[4] != null ? CasStatut.valueOf((String) row[4]) : null)
+                .latitude(row[5] != null ? ((Number) row[5]).doubleValue() : null)
+                .longitude(row[6] != null ? ((Number) row[6]).doubleValue() : null)
+                .createdAt(toLocalDateTime(row[7]))
+                .rank(((Number) row[8]).floatValue())
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,112 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.locationtech.jts.geom.Geometry;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moteur de requêtes des listes de cas : traduit un {@link CaseQuery} en une seule requête SQL.
+ * Les prédicats portent directement sur les colonnes indexées (pas de CAST), et les filtres
+ * spatiaux passent par l'opérateur de boîte englobante pour utiliser l'index GIST.
+ * Les coordonnées sont liées comme paramètres : le texte SQL reste identique d'une carte à l'autre
+ * (cache de plans, {@code pg_stat_statements}).
+ */
+public final class CasHumanitaireSpecifications {
+
+    private static final double METERS_PER_DEGREE = 111_320d;
+    private static final int SRID = 4326;
+
+    private CasHumanitaireSpecifications() {
+    }
+
+    public static Specification<CasHumanitaire> matching(CaseQuery query) {
+        return (root, criteriaQuery, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            addIn(predicates, cb, root.get("status"), query.statuses());
+            addIn(predicates, cb, root.get("categorie"), query.categories());
+
+            if (query.authorId() != null) {
+                predicates.add(cb.equal(root.get("author").get("id"), query.authorId()));
+            }
+            if (query.volunteerId() != null) {
+                predicates.add(cb.equal(root.get("volunteer").get("id"), query.volunteerId()));
+            }
+            if (query.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), query.createdFrom()));
+            }
+            if (query.createdTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), query.createdTo()));
+            }
+            if (query.viewport() != null) {
+                predicates.add(intersects(root, cb, query.viewport()));
+            }
+            if (query.radius() != null) {
+                predicates.addAll(withinRadius(root, cb, query.radius()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static <T> void addIn(List<Predicate> predicates, CriteriaBuilder cb,
+                                  Expression<T> path, Collection<T> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        if (values.size() == 1) {
+            predicates.add(cb.equal(path, values.iterator().next()));
+        } else {
+            predicates.add(path.in(values));
+        }
+    }
+
+    private static Predicate intersects(Root<CasHumanitaire> root, CriteriaBuilder cb, BoundingBox box) {
+        Expression<Geometry> envelope = cb.function("ST_MakeEnvelope", Geometry.class,
+                bind(cb, box.minLon()), bind(cb, box.minLat()),
+                bind(cb, box.maxLon()), bind(cb, box.maxLat()),
+                bind(cb, SRID));
+        return cb.isTrue(cb.function("ST_Intersects", Boolean.class, root.get("location"), envelope));
+    }
+
+    /**
+     * Rayon en mètres : pré-filtre par boîte englobante (index GIST) puis distance sphérique exacte.
+     */
+    private static List<Predicate> withinRadius(Root<CasHumanitaire> root, CriteriaBuilder cb,
+                                                CaseQuery.Radius radius) {
+        double latDelta = radius.meters() / METERS_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(radius.latitude())), 0.01);
+        double lonDelta = radius.meters() / (METERS_PER_DEGREE * cosLat);
+
+        BoundingBox box = new BoundingBox(
+                radius.longitude() - lonDelta, Math.max(radius.latitude() - latDelta, -90),
+                radius.longitude() + lonDelta, Math.min(radius.latitude() + latDelta, 90));
+
+        Expression<Geometry> center = cb.function("ST_SetSRID", Geometry.class,
+                cb.function("ST_MakePoint", Geometry.class,
+                        bind(cb, radius.longitude()), bind(cb, radius.latitude())),
+                bind(cb, SRID));
+        Expression<Double> distance = cb.function("ST_DistanceSphere", Double.class,
+                root.get("location"), center);
+
+        return List.of(intersects(root, cb, box), cb.le(distance, radius.meters()));
+    }
+
+    /**
+     * Valeur liée comme paramètre JDBC ({@code cb.literal} l'écrirait en clair dans le SQL).
+     */
+    private static <T> Expression<T> bind(CriteriaBuilder cb, T value) {
+        return ((HibernateCriteriaBuilder) cb).value(value);
+    }
+}
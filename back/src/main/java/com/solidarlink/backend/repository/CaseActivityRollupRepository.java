@@ -0,0 +1,42 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.CaseActivityRollup;
+import com.solidarlink.backend.enums.StatsGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CaseActivityRollupRepository extends JpaRepository<CaseActivityRollup, CaseActivityRollup.Key> {
+
+    /**
+     * Incrément atomique : concurrent-safe sans verrou applicatif ni lecture préalable.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO case_activity_rollup (granularity, bucket, activity, categorie, event_count)
+            VALUES (:granularity, :bucket, :activity, :categorie, :delta)
+            ON CONFLICT (granularity, bucket, activity, categorie)
+            DO UPDATE SET event_count = case_activity_rollup.event_count + EXCLUDED.event_count
+            """, nativeQuery = true)
+    void increment(@Param("granularity") String granularity,
+                   @Param("bucket") LocalDateTime bucket,
+                   @Param("activity") String activity,
+                   @Param("categorie") String categorie,
+                   @Param("delta") long delta);
+
+    /**
+     * Lit la clé primaire par plage (granularity, bucket) : au plus un enregistrement par intervalle,
+     * étape et catégorie.
+     */
+    @Query("SELECT r FROM CaseActivityRollup r WHERE r.key.granularity = :granularity "
+            + "AND r.key.bucket >= :from AND r.key.bucket < :to")
+    List<CaseActivityRollup> findRange(@Param("granularity") StatsGranularity granularity,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,16 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.util.Set;
+
+/**
+ * Critères d'un export GeoJSON des cas. Tout critère null (ou ensemble vide) est ignoré.
+ */
+public record CaseGeoJsonExport(
+        Set<CasStatut> statuses,
+        Set<CasCategorie> categories,
+        BoundingBox viewport) {
+}
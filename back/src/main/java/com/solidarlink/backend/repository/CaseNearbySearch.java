@@ -0,0 +1,21 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.util.Set;
+
+/**
+ * Paramètres d'une recherche de proximité (rayon en mètres, tri par distance croissante).
+ * afterDistance/afterId forment le curseur de pagination (dernier résultat de la page précédente).
+ */
+public record CaseNearbySearch(
+        double latitude,
+        double longitude,
+        double radiusMeters,
+        Set<CasStatut> statuses,
+        Set<CasCategorie> categories,
+        Double afterDistance,
+        Long afterId,
+        int limit) {
+}
@@ -0,0 +1,16 @@
+package com.solidarlink.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cas EN_COURS à rappeler ou relancer : de quoi prévenir l'auteur et le bénévole sans charger les entités.
+ */
+public record CaseReminderRow(
+        Long id,
+        String titre,
+        LocalDateTime dateIntervention,
+        Long authorId,
+        Long volunteerId,
+        String volunteerEmail,
+        String volunteerPrenom) {
+}
@@ -0,0 +1,14 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+/**
+ * État d'un cas lu (et verrouillé avant un changement de statut) sans charger l'entité.
+ */
+public record CaseStatusRow(
+        Long id,
+        CasStatut status,
+        String titre,
+        Long authorId,
+        Long volunteerId) {
+}
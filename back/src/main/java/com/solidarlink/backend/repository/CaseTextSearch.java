@@ -0,0 +1,21 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.util.Set;
+
+/**
+ * Paramètres d'une recherche plein texte sur les cas.
+ * afterRank/afterId forment le curseur de pagination (dernier résultat de la page précédente).
+ */
+public record CaseTextSearch(
+        String query,
+        Set<CasStatut> statuses,
+        Set<CasCategorie> categories,
+        BoundingBox viewport,
+        Float afterRank,
+        Long afterId,
+        int limit) {
+}
@@ -1,14 +1,57 @@
 package com.solidarlink.backend.repository;
 
+import com.solidarlink.backend.dto.InterventionItem;
 import com.solidarlink.backend.entity.Intervention;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Repository
 public interface InterventionRepository extends JpaRepository<Intervention, Long> {
-    List<Intervention> findByCasId(Long casId);
 
-    List<Intervention> findByBenevoleId(Long benevoleId);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Intervention i WHERE i.cas.id IN :casIds")
+    int deleteByCasIdIn(@Param("casIds") Collection<Long> casIds);
+
+    // ========== HISTORIQUES (PROJECTIONS PAGINÉES) ==========
+    // Ordre fixé dans la requête : chaque historique suit un index (cas_id | benevole_id, date_intervention, id)
+
+    String INTERVENTION_ITEM = "SELECT new com.solidarlink.backend.dto.InterventionItem("
+            + "i.id, i.dateIntervention, i.message, i.createdAt, c.id, c.titre, c.status, "
+            + "b.id, b.nom, b.prenom, b.telephone) "
+            + "FROM Intervention i JOIN i.cas c JOIN i.benevole b ";
+
+    @Query(value = INTERVENTION_ITEM + "WHERE i.cas.id = :casId ORDER BY i.dateIntervention DESC, i.id DESC",
+            countQuery = "SELECT COUNT(i) FROM Intervention i WHERE i.cas.id = :casId")
+    Page<InterventionItem> findItemsByCasId(@Param("casId") Long casId, Pageable pageable);
+
+    @Query(value = INTERVENTION_ITEM + "WHERE i.benevole.id = :benevoleId ORDER BY i.dateIntervention DESC, i.id DESC",
+            countQuery = "SELECT COUNT(i) FROM Intervention i WHERE i.benevole.id = :benevoleId")
+    Page<InterventionItem> findItemsByBenevoleId(@Param("benevoleId") Long benevoleId, Pageable pageable);
+
+    /**
+     * Interventions prévues dans [from, to), de la plus proche à la plus lointaine.
+     */
+    @Query(value = INTERVENTION_ITEM + "WHERE i.dateIntervention >= :from AND i.dateIntervention < :to "
+            + "ORDER BY i.dateIntervention, i.id",
+            countQuery = "SELECT COUNT(i) FROM Intervention i WHERE i.dateIntervention >= :from AND i.dateIntervention < :to")
+    Page<InterventionItem> findUpcomingItems(@Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             Pageable pageable);
+
+    @Query(value = INTERVENTION_ITEM + "WHERE i.benevole.id = :benevoleId "
+            + "AND i.dateIntervention >= :from AND i.dateIntervention < :to ORDER BY i.dateIntervention, i.id",
+            countQuery = "SELECT COUNT(i) FROM Intervention i WHERE i.benevole.id = :benevoleId "
+                    + "AND i.dateIntervention >= :from AND i.dateIntervention < :to")
+    Page<InterventionItem> findUpcomingItemsByBenevoleId(@Param("benevoleId") Long benevoleId,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to,
+                                                         Pageable pageable);
 }
@@ -0,0 +1,63 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.PointsLedgerEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+
+    /**
+     * Inscrit les points de ces cas au bénévole qui les suit, en une instruction. Une attribution déjà
+     * inscrite (même cas, même bénévole, même motif) est écartée par uk_points_ledger_award : ni lecture
+     * préalable ni verrou sur les cas, même sous transitions concurrentes.
+     * <p>
+     * Toutes les écritures du journal passent par cette requête : les id tirés ici de la séquence ne
+     * croisent pas les plages allouées par Hibernate.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO points_ledger (id, volunteer_id, case_id, reason, points, applied, created_at)
+            SELECT nextval('points_ledger_seq'), c.volunteer_id, c.id, :reason, :points, false, :now
+            FROM cas_humanitaire c
+            WHERE c.id IN (:caseIds) AND c.volunteer_id IS NOT NULL
+            ON CONFLICT (case_id, volunteer_id, reason) DO NOTHING
+            """, nativeQuery = true)
+    int awardToCurrentVolunteers(@Param("caseIds") Collection<Long> caseIds,
+                                 @Param("reason") String reason,
+                                 @Param("points") int points,
+                                 @Param("now") LocalDateTime now);
+
+    /**
+     * Prochain lot d'écritures à reporter. SKIP LOCKED : deux instances se répartissent les lots
+     * au lieu de s'attendre.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT l FROM PointsLedgerEntry l WHERE l.applied = false ORDER BY l.id")
+    List<PointsLedgerEntry> lockPending(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE PointsLedgerEntry l SET l.applied = true WHERE l.id IN :ids")
+    int markApplied(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Totaux des écritures déjà reportées (reconstruction du classement) : une ligne par bénévole ayant des points.
+     */
+    @Query("SELECT new com.solidarlink.backend.repository.VolunteerPointsRow(u.id, u.prenom, u.nom, SUM(l.points)) "
+            + "FROM PointsLedgerEntry l JOIN User u ON u.id = l.volunteerId "
+            + "WHERE l.applied = true GROUP BY u.id, u.prenom, u.nom")
+    List<VolunteerPointsRow> sumAppliedByVolunteer();
+}
@@ -0,0 +1,9 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.SchedulerJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerJobRepository extends JpaRepository<SchedulerJob, String> {
+}
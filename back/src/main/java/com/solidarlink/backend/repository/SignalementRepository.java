@@ -1,12 +1,83 @@
 package com.solidarlink.backend.repository;
 
+import com.solidarlink.backend.dto.CaseReportSummary;
+import com.solidarlink.backend.dto.SignalementListItem;
 import com.solidarlink.backend.entity.Signalement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SignalementRepository extends JpaRepository<Signalement, Long> {
-    List<Signalement> findByIsClosedFalse();
+    // ========== PROJECTIONS POUR LES LISTES (ADMIN) ==========
+    String SIGNALEMENT_LIST_ITEM = "SELECT new com.solidarlink.backend.dto.SignalementListItem("
+            + "s.id, s.motif, s.description, s.isClosed, s.createdAt, "
+            + "r.id, r.nom, r.prenom, r.telephone, c.id, c.titre) "
+            + "FROM Signalement s LEFT JOIN s.reporter r LEFT JOIN s.cas c";
+
+    @Query(SIGNALEMENT_LIST_ITEM)
+    List<SignalementListItem> findListItems(Pageable pageable);
+
+    /**
+     * Parcours par curseur (à consommer dans une transaction), du plus récent au plus ancien.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SIGNALEMENT_LIST_ITEM + " ORDER BY s.createdAt DESC, s.id DESC")
+    Stream<SignalementListItem> streamListItems();
+
+    @Query(value = SIGNALEMENT_LIST_ITEM + " WHERE c.id = :casId AND s.isClosed = false ORDER BY s.createdAt DESC, s.id DESC",
+            countQuery = "SELECT COUNT(s) FROM Signalement s WHERE s.cas.id = :casId AND s.isClosed = false")
+    Page<SignalementListItem> findOpenListItemsByCasId(@Param("casId") Long casId, Pageable pageable);
+
+    // ========== FILE DE TRI (index idx_signalement_open_cas) ==========
+
+    /**
+     * Signalements ouverts regroupés par cas, les plus signalés en tête.
+     */
+    @Query(value = """
+            SELECT new com.solidarlink.backend.dto.CaseReportSummary(
+                c.id, c.titre, c.status, COUNT(s), COUNT(DISTINCT s.reporter.id),
+                MIN(s.createdAt), MAX(s.createdAt), c.reportHiddenAt)
+            FROM Signalement s JOIN s.cas c
+            WHERE s.isClosed = false
+            GROUP BY c.id, c.titre, c.status, c.reportHiddenAt
+            ORDER BY COUNT(DISTINCT s.reporter.id) DESC, COUNT(s) DESC, MAX(s.createdAt) DESC, c.id
+            """,
+            countQuery = "SELECT COUNT(DISTINCT s.cas.id) FROM Signalement s WHERE s.isClosed = false")
+    Page<CaseReportSummary> findOpenCaseSummaries(Pageable pageable);
+
+    /**
+     * Motif du dernier signalement ouvert de chaque cas : [casId, motif].
+     */
+    @Query("""
+            SELECT s.cas.id, s.motif FROM Signalement s
+            WHERE s.isClosed = false AND s.cas.id IN :casIds
+              AND s.createdAt = (SELECT MAX(s2.createdAt) FROM Signalement s2
+                                 WHERE s2.cas.id = s.cas.id AND s2.isClosed = false)
+            """)
+    List<Object[]> findLatestOpenMotifs(@Param("casIds") Collection<Long> casIds);
+
+    @Query("SELECT COUNT(DISTINCT s.reporter.id) FROM Signalement s WHERE s.cas.id = :casId AND s.isClosed = false")
+    long countOpenReporters(@Param("casId") Long casId);
+
+    boolean existsByCasIdAndReporterIdAndIsClosedFalse(Long casId, Long reporterId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Signalement s SET s.isClosed = true WHERE s.cas.id = :casId AND s.isClosed = false")
+    int closeOpenByCasId(@Param("casId") Long casId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Signalement s WHERE s.cas.id IN :casIds")
+    int deleteByCasIdIn(@Param("casIds") Collection<Long> casIds);
 }
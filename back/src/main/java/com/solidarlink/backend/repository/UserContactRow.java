@@ -0,0 +1,13 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.enums.Role;
+
+/**
+ * Coordonnées d'un utilisateur pour un envoi d'email, lues sans charger l'entité.
+ */
+public record UserContactRow(
+        Long id,
+        String email,
+        String prenom,
+        Role role) {
+}
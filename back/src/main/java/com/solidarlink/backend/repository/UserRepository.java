@@ -1,14 +1,27 @@
 package com.solidarlink.backend.repository;
 
+import com.solidarlink.backend.dto.UserListItem;
 import com.solidarlink.backend.entity.User;
 import com.solidarlink.backend.enums.Role;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -27,4 +40,100 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByIsValidatedFalse();
 
     List<User> findByRole(Role role);
+
+    long countByRole(Role role);
+
+    long countByRoleAndIsValidatedTrue(Role role);
+
+    /**
+     * Comptes validés créés avant une date ; les comptes sans date de création sont les plus anciens.
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.isValidated = true "
+            + "AND (u.createdAt IS NULL OR u.createdAt < :before)")
+    long countValidatedCreatedBefore(@Param("role") Role role, @Param("before") LocalDateTime before);
+
+    // ========== PROJECTIONS POUR LES LISTES (ADMIN) ==========
+    String USER_LIST_ITEM = "SELECT new com.solidarlink.backend.dto.UserListItem("
+            + "u.id, u.nom, u.prenom, u.email, u.telephone, u.role, u.isValidated, u.isBanned, u.avatarUrl) FROM User u";
+
+    String PENDING_USER_LIST_ITEM = "SELECT new com.solidarlink.backend.dto.UserListItem("
+            + "u.id, u.nom, u.prenom, u.email, u.telephone, u.role, u.isValidated, u.isBanned, u.avatarUrl, "
+            + "u.documentType, u.documentUrl) FROM User u WHERE u.isValidated = false";
+
+    @Query(USER_LIST_ITEM)
+    List<UserListItem> findAllListItems(Pageable pageable);
+
+    @Query(value = USER_LIST_ITEM, countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserListItem> findListItems(Pageable pageable);
+
+    @Query(PENDING_USER_LIST_ITEM)
+    List<UserListItem> findPendingListItems();
+
+    @Query(value = PENDING_USER_LIST_ITEM, countQuery = "SELECT COUNT(u) FROM User u WHERE u.isValidated = false")
+    Page<UserListItem> findPendingListItems(Pageable pageable);
+
+    /**
+     * Parcours par curseur (à consommer dans une transaction), par id croissant.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(USER_LIST_ITEM + " ORDER BY u.id")
+    Stream<UserListItem> streamListItems();
+
+    // ========== MODÉRATION EN MASSE ==========
+    String PENDING_CONTACT_ROW = "SELECT new com.solidarlink.backend.repository.UserContactRow("
+            + "u.id, u.email, u.prenom, u.role) FROM User u WHERE u.isValidated = false";
+
+    /**
+     * Comptes en attente de validation, verrouillés jusqu'au commit (pas de double email si deux
+     * administrateurs valident en même temps).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(PENDING_CONTACT_ROW + " AND u.id IN :ids ORDER BY u.id")
+    List<UserContactRow> lockPendingByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tous les critères du filtre sont appliqués (un critère ignoré élargirait la sélection).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(PENDING_CONTACT_ROW + " AND (:role IS NULL OR u.role = :role)"
+            + " AND (:validated IS NULL OR u.isValidated = :validated)"
+            + " AND (:banned IS NULL OR u.isBanned = :banned) ORDER BY u.id")
+    List<UserContactRow> lockPendingMatching(@Param("role") Role role,
+                                             @Param("validated") Boolean validated,
+                                             @Param("banned") Boolean banned);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.isValidated = true WHERE u.id IN :ids")
+    int markValidated(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Les administrateurs ne sont jamais bannis en masse.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.isBanned = :banned "
+            + "WHERE u.id IN :ids AND u.isBanned <> :banned AND u.role <> 'ADMIN'")
+    int updateBannedByIdIn(@Param("ids") Collection<Long> ids, @Param("banned") boolean banned);
+
+    /**
+     * {@code role}, {@code validated} et {@code currentlyBanned} sont les critères du filtre, tous appliqués ;
+     * {@code banned} est la nouvelle valeur.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.isBanned = :banned "
+            + "WHERE u.isBanned <> :banned AND u.role <> 'ADMIN' "
+            + "AND (:role IS NULL OR u.role = :role) AND (:validated IS NULL OR u.isValidated = :validated) "
+            + "AND (:currentlyBanned IS NULL OR u.isBanned = :currentlyBanned)")
+    int updateBannedMatching(@Param("role") Role role,
+                             @Param("validated") Boolean validated,
+                             @Param("currentlyBanned") Boolean currentlyBanned,
+                             @Param("banned") boolean banned);
+
+    /**
+     * Remplace le hachage du mot de passe s'il n'a pas changé entre-temps (re-hachage à la connexion,
+     * changement de mot de passe).
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
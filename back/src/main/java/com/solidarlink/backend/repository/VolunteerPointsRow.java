@@ -0,0 +1,7 @@
+package com.solidarlink.backend.repository;
+
+/**
+ * Total des points d'un bénévole, avec de quoi l'afficher dans le classement.
+ */
+public record VolunteerPointsRow(Long volunteerId, String prenom, String nom, long points) {
+}
@@ -0,0 +1,82 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.VolunteerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface VolunteerStatsRepository extends JpaRepository<VolunteerStats, Long> {
+
+    /**
+     * Activité de chaque bénévole, une ligne par (bénévole, cas) : cas où il a proposé une intervention
+     * ou qui lui sont affectés, {@code resolved} s'il l'a mené à terme. Seule règle de comptage,
+     * partagée par le recalcul complet et la mise à jour après transition.
+     */
+    String ACTIVITY = """
+            SELECT i.benevole_id AS volunteer_id, i.cas_id,
+                   (c.status = 'RESOLU' AND c.volunteer_id = i.benevole_id) AS resolved
+            FROM intervention i
+            JOIN cas_humanitaire c ON c.id = i.cas_id
+            UNION ALL
+            SELECT c.volunteer_id, c.id, c.status = 'RESOLU'
+            FROM cas_humanitaire c
+            WHERE c.volunteer_id IS NOT NULL
+            """;
+
+    /**
+     * Recalcule les compteurs de quelques bénévoles depuis l'historique (zéro s'ils n'ont plus d'activité) :
+     * une prise en charge répétée ne compte qu'une fois et un cas remis à disposition n'est plus compté,
+     * exactement comme {@link #insertFromHistory()}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO volunteer_stats (volunteer_id, interventions, missions_completed, updated_at)
+            SELECT u.id,
+                   COUNT(DISTINCT v.cas_id),
+                   COUNT(DISTINCT v.cas_id) FILTER (WHERE v.resolved),
+                   now()
+            FROM _user u
+            LEFT JOIN (""" + ACTIVITY + """
+            ) v ON v.volunteer_id = u.id
+            WHERE u.id IN (:volunteerIds)
+            GROUP BY u.id
+            ON CONFLICT (volunteer_id) DO UPDATE SET
+                interventions = EXCLUDED.interventions,
+                missions_completed = EXCLUDED.missions_completed,
+                updated_at = now()
+            """, nativeQuery = true)
+    void refreshFromHistory(@Param("volunteerIds") Collection<Long> volunteerIds);
+
+    /**
+     * Bloque les mises à jour pendant un recalcul complet : celles des transitions en cours s'appliquent
+     * après, sur les compteurs recalculés.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE volunteer_stats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query("DELETE FROM VolunteerStats")
+    int deleteAllRows();
+
+    /**
+     * Recalcul complet depuis l'historique (voir {@link #ACTIVITY}).
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO volunteer_stats (volunteer_id, interventions, missions_completed, updated_at)
+            SELECT v.volunteer_id,
+                   COUNT(DISTINCT v.cas_id),
+                   COUNT(DISTINCT v.cas_id) FILTER (WHERE v.resolved),
+                   now()
+            FROM (""" + ACTIVITY + """
+            ) v
+            GROUP BY v.volunteer_id
+            """, nativeQuery = true)
+    int insertFromHistory();
+}
@@ -0,0 +1,65 @@
+package com.solidarlink.backend.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Exclusion mutuelle entre instances par verrou consultatif PostgreSQL (pg_try_advisory_lock).
+ * Le verrou est de niveau session, tenu par une connexion dédiée pendant toute la tâche : la tâche
+ * peut enchaîner des transactions courtes, et le verrou tombe avec la connexion si l'instance s'arrête.
+ * Sur une autre base (tests), la tâche s'exécute sans verrou.
+ */
+@Component
+@Slf4j
+public class ClusterLock {
+
+    // Espace de clés des verrous de l'application ("SLJB")
+    private static final int NAMESPACE = 0x534C4A42;
+
+    private final DataSource dataSource;
+
+    public ClusterLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @return false si une autre instance exécute déjà cette tâche (elle n'est alors pas lancée)
+     */
+    public boolean runExclusively(String name, Runnable task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                task.run();
+                return true;
+            }
+            if (!call(connection, "SELECT pg_try_advisory_lock(?, ?)", name)) {
+                log.debug("Tâche {} déjà en cours sur une autre instance", name);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                call(connection, "SELECT pg_advisory_unlock(?, ?)", name);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Verrou de la tâche " + name + " indisponible", e);
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, NAMESPACE);
+            statement.setInt(2, name.hashCode());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
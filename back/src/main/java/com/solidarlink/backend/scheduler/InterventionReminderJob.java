@@ -0,0 +1,104 @@
+package com.solidarlink.backend.scheduler;
+
+import com.solidarlink.backend.repository.CaseReminderRow;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.service.EmailService;
+import com.solidarlink.backend.service.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Rappel des interventions prévues dans les prochaines heures : notification au bénévole et à l'auteur,
+ * email au bénévole. Chaque lot est marqué dans sa propre transaction puis notifié après commit ;
+ * un rappel n'est jamais envoyé deux fois (au plus une fois si l'instance s'arrête entre les deux).
+ */
+@Component
+@ConditionalOnProperty(name = "app.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class InterventionReminderJob {
+
+    static final String NAME = "intervention-reminders";
+    static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy 'à' HH:mm");
+
+    private final ScheduledJobRunner jobRunner;
+    private final CasHumanitaireRepository casRepository;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final TransactionTemplate transaction;
+    private final Duration lead;
+    private final int chunkSize;
+    private final int maxChunks;
+
+    public InterventionReminderJob(ScheduledJobRunner jobRunner,
+                                   CasHumanitaireRepository casRepository,
+                                   NotificationService notificationService,
+                                   EmailService emailService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.scheduler.reminders.lead:PT24H}") Duration lead,
+                                   @Value("${app.scheduler.chunk-size:200}") int chunkSize,
+                                   @Value("${app.scheduler.max-chunks-per-run:50}") int maxChunks) {
+        this.jobRunner = jobRunner;
+        this.casRepository = casRepository;
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.lead = lead;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.reminders.interval-ms:300000}",
+            initialDelayString = "${app.scheduler.reminders.interval-ms:300000}")
+    public void run() {
+        jobRunner.run(NAME, this::sendDueReminders);
+    }
+
+    /**
+     * Au plus {@code maxChunks} lots par passage : un arriéré important est résorbé sur plusieurs passages.
+     */
+    int sendDueReminders() {
+        int sent = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            LocalDateTime now = LocalDateTime.now();
+            List<CaseReminderRow> due = transaction.execute(status -> {
+                List<CaseReminderRow> rows = casRepository.findDueReminders(now, now.plus(lead),
+                        PageRequest.of(0, chunkSize));
+                if (!rows.isEmpty()) {
+                    casRepository.markReminded(rows.stream().map(CaseReminderRow::id).toList(), now);
+                }
+                return rows;
+            });
+            if (due == null || due.isEmpty()) {
+                break;
+            }
+            notify(due);
+            sent += due.size();
+            if (due.size() < chunkSize) {
+                break;
+            }
+        }
+        return sent;
+    }
+
+    private void notify(List<CaseReminderRow> due) {
+        for (CaseReminderRow row : due) {
+            String date = row.dateIntervention().format(DATE_FORMAT);
+            notificationService.sendNotificationToUser(row.volunteerId(), "intervention_reminder",
+                    String.format("Rappel : votre intervention pour le cas '%s' est prévue le %s", row.titre(), date));
+            if (row.authorId() != null) {
+                notificationService.sendNotificationToUser(row.authorId(), "intervention_reminder",
+                        String.format("Un bénévole interviendra le %s pour votre cas '%s'", date, row.titre()));
+            }
+        }
+        emailService.sendInterventionReminders(due);
+    }
+}
@@ -0,0 +1,84 @@
+package com.solidarlink.backend.scheduler;
+
+import com.solidarlink.backend.entity.SchedulerJob;
+import com.solidarlink.backend.repository.SchedulerJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Exécute une tâche planifiée sur une seule instance à la fois ({@link ClusterLock}) et enregistre
+ * son dernier passage dans scheduler_job. Une tâche en échec est journalisée ; elle reprend au passage
+ * suivant là où elle s'est arrêtée, ses lots déjà validés restant acquis.
+ */
+@Component
+@Slf4j
+public class ScheduledJobRunner {
+
+    private final ClusterLock clusterLock;
+    private final SchedulerJobRepository jobRepository;
+    private final TransactionTemplate transaction;
+
+    public ScheduledJobRunner(ClusterLock clusterLock,
+                              SchedulerJobRepository jobRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.clusterLock = clusterLock;
+        this.jobRepository = jobRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @param task traitement par lots, renvoie le nombre d'éléments traités
+     */
+    public void run(String name, IntSupplier task) {
+        try {
+            clusterLock.runExclusively(name, () -> execute(name, task));
+        } catch (RuntimeException e) {
+            log.error("Tâche planifiée {} non lancée", name, e);
+        }
+    }
+
+    public List<SchedulerJob> jobs() {
+        return jobRepository.findAll();
+    }
+
+    private void execute(String name, IntSupplier task) {
+        long start = System.currentTimeMillis();
+        record(name, job -> job.setLastStartedAt(LocalDateTime.now()));
+        try {
+            int processed = task.getAsInt();
+            record(name, job -> {
+                job.setLastFinishedAt(LocalDateTime.now());
+                job.setLastProcessed(processed);
+                job.setLastError(null);
+            });
+            if (processed > 0) {
+                log.info("Tâche {} : {} éléments traités en {} ms", name, processed, System.currentTimeMillis() - start);
+            }
+        } catch (RuntimeException e) {
+            log.error("Tâche planifiée {} interrompue", name, e);
+            String message = String.valueOf(e.getMessage());
+            record(name, job -> job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message));
+        }
+    }
+
+    private void record(String name, Consumer<SchedulerJob> update) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                SchedulerJob job = jobRepository.findById(name)
+                        .orElseGet(() -> SchedulerJob.builder().name(name).build());
+                update.accept(job);
+                jobRepository.save(job);
+            });
+        } catch (RuntimeException e) {
+            // Le suivi ne doit pas empêcher la tâche elle-même
+            log.warn("Suivi de la tâche {} non enregistré : {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.solidarlink.backend.scheduler;
+
+import com.solidarlink.backend.dto.CaseStatusDTOs;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.repository.CaseReminderRow;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.service.EmailService;
+import com.solidarlink.backend.service.NotificationService;
+import com.solidarlink.backend.workflow.CaseWorkflow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.solidarlink.backend.scheduler.InterventionReminderJob.DATE_FORMAT;
+
+/**
+ * Cas EN_COURS dont l'intervention est dépassée sans résolution :
+ * <ul>
+ *     <li>après {@code escalate-after}, relance du bénévole (notification et email) et de l'auteur ;</li>
+ *     <li>après {@code release-after}, le cas est libéré (VALIDE) par {@link CaseWorkflow} pour qu'un
+ *     autre bénévole puisse le prendre.</li>
+ * </ul>
+ * Traitement par lots, une transaction courte par lot.
+ */
+@Component
+@ConditionalOnProperty(name = "app.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class StaleCaseJob {
+
+    static final String NAME = "stale-cases";
+
+    private final ScheduledJobRunner jobRunner;
+    private final CasHumanitaireRepository casRepository;
+    private final CaseWorkflow caseWorkflow;
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final TransactionTemplate transaction;
+    private final Duration escalateAfter;
+    private final Duration releaseAfter;
+    private final boolean autoRelease;
+    private final int chunkSize;
+    private final int maxChunks;
+
+    public StaleCaseJob(ScheduledJobRunner jobRunner,
+                        CasHumanitaireRepository casRepository,
+                        CaseWorkflow caseWorkflow,
+                        NotificationService notificationService,
+                        EmailService emailService,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${app.scheduler.stale-cases.escalate-after:P2D}") Duration escalateAfter,
+                        @Value("${app.scheduler.stale-cases.release-after:P7D}") Duration releaseAfter,
+                        @Value("${app.scheduler.stale-cases.auto-release:true}") boolean autoRelease,
+                        @Value("${app.scheduler.chunk-size:200}") int chunkSize,
+                        @Value("${app.scheduler.max-chunks-per-run:50}") int maxChunks) {
+        this.jobRunner = jobRunner;
+        this.casRepository = casRepository;
+        this.caseWorkflow = caseWorkflow;
+        this.notificationService = notificationService;
+        this.emailService = emailService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.escalateAfter = escalateAfter;
+        this.releaseAfter = releaseAfter;
+        this.autoRelease = autoRelease;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.stale-cases.interval-ms:3600000}",
+            initialDelayString = "${app.scheduler.stale-cases.interval-ms:3600000}")
+    public void run() {
+        jobRunner.run(NAME, () -> (autoRelease ? releaseStale() : 0) + escalateOverdue());
+    }
+
+    /**
+     * Libère d'abord les cas les plus anciens : ils ne sont pas relancés en plus.
+     */
+    int releaseStale() {
+        int released = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            List<CaseReminderRow> stale = casRepository.findOverdue(LocalDateTime.now().minus(releaseAfter),
+                    PageRequest.of(0, chunkSize));
+            if (stale.isEmpty()) {
+                break;
+            }
+            // Transaction de CaseWorkflow : verrous, libération du bénévole, crochets et événements
+            CaseStatusDTOs.BulkStatusResult result = caseWorkflow.transitionAll(
+                    stale.stream().map(CaseReminderRow::id).toList(), CasStatut.VALIDE);
+            Set<Long> updated = new HashSet<>(result.updated());
+            stale.stream().filter(row -> updated.contains(row.id())).forEach(row ->
+                    notificationService.sendNotificationToUser(row.volunteerId(), "case_released",
+                            String.format("Le cas '%s' a été remis à disposition : l'intervention du %s n'a pas été menée à terme",
+                                    row.titre(), row.dateIntervention().format(DATE_FORMAT))));
+            released += updated.size();
+            // Lot sans effet (cas modifiés entre-temps) : on s'arrête plutôt que de relire les mêmes cas
+            if (updated.isEmpty() || stale.size() < chunkSize) {
+                break;
+            }
+        }
+        return released;
+    }
+
+    int escalateOverdue() {
+        int escalated = 0;
+        for (int chunk = 0; chunk < maxChunks; chunk++) {
+            LocalDateTime now = LocalDateTime.now();
+            List<CaseReminderRow> overdue = transaction.execute(status -> {
+                List<CaseReminderRow> rows = casRepository.findOverdueNotEscalated(now.minus(escalateAfter),
+                        PageRequest.of(0, chunkSize));
+                if (!rows.isEmpty()) {
+                    casRepository.markEscalated(rows.stream().map(CaseReminderRow::id).toList(), now);
+                }
+                return rows;
+            });
+            if (overdue == null || overdue.isEmpty()) {
+                break;
+            }
+            for (CaseReminderRow row : overdue) {
+                String date = row.dateIntervention().format(DATE_FORMAT);
+                notificationService.sendNotificationToUser(row.volunteerId(), "intervention_overdue",
+                        String.format("L'intervention du %s pour le cas '%s' est dépassée : pensez à mettre à jour le cas",
+                                date, row.titre()));
+                if (row.authorId() != null) {
+                    notificationService.sendNotificationToUser(row.authorId(), "intervention_overdue",
+                            String.format("L'intervention prévue le %s pour votre cas '%s' n'a pas encore été confirmée",
+                                    date, row.titre()));
+                }
+            }
+            emailService.sendOverdueInterventionNotices(overdue);
+            escalated += overdue.size();
+            if (overdue.size() < chunkSize) {
+                break;
+            }
+        }
+        return escalated;
+    }
+}
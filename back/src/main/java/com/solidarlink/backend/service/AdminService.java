@@ -1,21 +1,44 @@
 package com.solidarlink.backend.service;
 
+import com.solidarlink.backend.dto.BoundedList;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.dto.CaseStatusDTOs;
+import com.solidarlink.backend.dto.ModerationDTOs;
+import com.solidarlink.backend.dto.SignalementListItem;
 import com.solidarlink.backend.dto.StatsDTOs;
+import com.solidarlink.backend.dto.UserListItem;
 import com.solidarlink.backend.entity.CasHumanitaire;
 import com.solidarlink.backend.entity.Signalement;
 import com.solidarlink.backend.entity.User;
 import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.CaseActivity;
 import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.enums.StatsGranularity;
+import com.solidarlink.backend.event.AccountsValidatedEvent;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
 import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CasHumanitaireSpecifications;
+import com.solidarlink.backend.repository.InterventionRepository;
 import com.solidarlink.backend.repository.SignalementRepository;
+import com.solidarlink.backend.repository.UserContactRow;
 import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.workflow.CaseWorkflow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -26,22 +49,35 @@ public class AdminService {
     private final CasHumanitaireRepository casRepository;
     private final SignalementRepository signalementRepository;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CaseWorkflow caseWorkflow;
+    private final InterventionRepository interventionRepository;
+    private final CaseActivityRollupService activityRollupService;
 
-    public List<User> getPendingUsers() {
-        return userRepository.findByIsValidatedFalse();
+    private static final Specification<CasHumanitaire> ALL_CASES =
+            CasHumanitaireSpecifications.matching(CaseQuery.builder().build());
+
+    private static final int BULK_CHUNK_SIZE = 1000;
+
+    // Plafond des listes non paginées (voir BoundedList)
+    @Value("${app.lists.max-items:1000}")
+    private int maxListItems;
+
+    public List<UserListItem> getPendingUsers() {
+        return userRepository.findPendingListItems();
     }
 
     // ========== PAGINATED METHODS (NEW) ==========
-    public Page<User> getPendingUsersPaginated(Pageable pageable) {
-        return userRepository.findByIsValidatedFalse(pageable);
+    public Page<UserListItem> getPendingUsersPaginated(Pageable pageable) {
+        return userRepository.findPendingListItems(pageable);
     }
 
-    public Page<User> getAllUsersPaginated(Pageable pageable) {
-        return userRepository.findAll(pageable);
+    public Page<UserListItem> getAllUsersPaginated(Pageable pageable) {
+        return userRepository.findListItems(pageable);
     }
 
-    public Page<CasHumanitaire> getAllCasesPaginated(Pageable pageable) {
-        return casRepository.findAll(pageable);
+    public Page<CaseListItem> getAllCasesPaginated(Pageable pageable) {
+        return casRepository.findListItems(ALL_CASES, pageable);
     }
 
     public void validateUser(Long userId) {
@@ -68,8 +104,10 @@ public class AdminService {
         userRepository.deleteById(userId);
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public BoundedList<UserListItem> getAllUsers() {
+        List<UserListItem> fetched = userRepository.findAllListItems(
+                PageRequest.of(0, maxListItems + 1, Sort.by("id")));
+        return BoundedList.of(fetched, maxListItems);
     }
 
     public void toggleUserBan(Long userId) {
@@ -78,30 +116,32 @@ public class AdminService {
         userRepository.save(user);
     }
 
-    public List<CasHumanitaire> getAllCases() {
-        return casRepository.findAll();
+    public BoundedList<CaseListItem> getAllCases() {
+        List<CaseListItem> fetched = casRepository.findListItems(
+                ALL_CASES, Sort.by(Sort.Direction.DESC, "createdAt"), maxListItems + 1);
+        return BoundedList.of(fetched, maxListItems);
     }
 
+    /**
+     * EN_COURS sans bénévole publie le cas (VALIDE) : voir CaseTransitions.effectiveTarget.
+     */
     public void updateCaseStatus(Long caseId, CasStatut status) {
-        CasHumanitaire cas = casRepository.findById(caseId).orElseThrow();
-
-        // Fix: If Admin sets to EN_COURS (Validated) but no volunteer is assigned yet,
-        // we must set it to VALIDE so it appears on the map for volunteers.
-        if (status == CasStatut.EN_COURS && cas.getVolunteer() == null) {
-            cas.setStatus(CasStatut.VALIDE);
-        } else {
-            cas.setStatus(status);
-        }
+        caseWorkflow.transition(caseId, status);
+    }
 
-        casRepository.save(cas);
+    public CaseStatusDTOs.BulkStatusResult updateCasesStatus(CaseStatusDTOs.BulkStatusRequest request) {
+        return caseWorkflow.transitionAll(selectCaseIds(request.cases()), request.status());
     }
 
     public void deleteCase(Long caseId) {
         casRepository.deleteById(caseId);
+        eventPublisher.publishEvent(CaseLifecycleEvent.deleted(caseId));
     }
 
-    public List<Signalement> getAllSignalements() {
-        return signalementRepository.findAll();
+    public BoundedList<SignalementListItem> getAllSignalements() {
+        List<SignalementListItem> fetched = signalementRepository.findListItems(
+                PageRequest.of(0, maxListItems + 1, Sort.by(Sort.Direction.DESC, "createdAt", "id")));
+        return BoundedList.of(fetched, maxListItems);
     }
 
     public void closeSignalement(Long signalementId) {
@@ -145,25 +185,101 @@ public class AdminService {
         return stats;
     }
 
+    /**
+     * Créations des 7 derniers jours, lues dans les agrégats journaliers.
+     */
     private java.util.Map<String, Long> calculateCasesByDate() {
-        List<CasHumanitaire> cases = casRepository.findAll();
+        java.time.LocalDateTime today = java.time.LocalDate.now().atStartOfDay();
+        StatsDTOs.TimeSeries series = activityRollupService.timeSeries(today.minusDays(6), today.plusDays(1),
+                StatsGranularity.DAY, java.util.Set.of(CaseActivity.CREATED), null, false);
         java.util.Map<String, Long> stats = new java.util.TreeMap<>(); // TreeMap for sorting by date keys
+        List<Long> counts = series.series().get(0).counts();
+        for (int i = 0; i < series.buckets().size(); i++) {
+            stats.put(series.buckets().get(i).toLocalDate().toString(), counts.get(i));
+        }
+        return stats;
+    }
+
+    // ========== MODÉRATION EN MASSE ==========
 
-        // Initialize last 7 days with 0
-        java.time.LocalDate today = java.time.LocalDate.now();
-        for (int i = 6; i >= 0; i--) {
-            stats.put(today.minusDays(i).toString(), 0L);
+    /**
+     * Valide les comptes en attente de la sélection : une mise à jour par tranche de {@value #BULK_CHUNK_SIZE}
+     * comptes et un seul événement pour tous les emails de confirmation (envoyés après commit).
+     */
+    @Transactional
+    public ModerationDTOs.BulkResult validateUsers(ModerationDTOs.UserSelection selection) {
+        List<UserContactRow> pending = new ArrayList<>();
+        if (selection.hasIds()) {
+            chunks(distinct(selection.ids())).forEach(chunk -> pending.addAll(userRepository.lockPendingByIdIn(chunk)));
+        } else {
+            ModerationDTOs.UserFilter filter = selection.filter();
+            pending.addAll(userRepository.lockPendingMatching(filter.role(), filter.validated(), filter.banned()));
         }
 
-        for (CasHumanitaire c : cases) {
-            if (c.getCreatedAt() != null) {
-                java.time.LocalDate date = c.getCreatedAt().toLocalDate();
-                if (!date.isBefore(today.minusDays(6))) {
-                    String dateStr = date.toString();
-                    stats.put(dateStr, stats.getOrDefault(dateStr, 0L) + 1);
-                }
+        chunks(pending.stream().map(UserContactRow::id).toList()).forEach(userRepository::markValidated);
+        if (!pending.isEmpty()) {
+            eventPublisher.publishEvent(new AccountsValidatedEvent(pending));
+        }
+        log.info("✅ Validation en masse : {} comptes validés", pending.size());
+        return new ModerationDTOs.BulkResult(pending.size());
+    }
+
+    /**
+     * Bannit (ou réhabilite) les utilisateurs de la sélection, administrateurs exceptés.
+     */
+    @Transactional
+    public ModerationDTOs.BulkResult setUsersBanned(ModerationDTOs.UserSelection selection, boolean banned) {
+        int updated = 0;
+        if (selection.hasIds()) {
+            for (List<Long> chunk : chunks(distinct(selection.ids()))) {
+                updated += userRepository.updateBannedByIdIn(chunk, banned);
             }
+        } else {
+            ModerationDTOs.UserFilter filter = selection.filter();
+            updated = userRepository.updateBannedMatching(filter.role(), filter.validated(), filter.banned(), banned);
         }
-        return stats;
+        log.info("Bannissement en masse ({}) : {} utilisateurs modifiés", banned, updated);
+        return new ModerationDTOs.BulkResult(updated);
+    }
+
+    /**
+     * Supprime les cas de la sélection avec leurs interventions et signalements, par tranches.
+     */
+    @Transactional
+    public ModerationDTOs.BulkResult deleteCases(ModerationDTOs.CaseSelection selection) {
+        List<Long> deleted = new ArrayList<>();
+        for (List<Long> chunk : chunks(selectCaseIds(selection))) {
+            List<Long> existing = selection.hasIds() ? casRepository.findExistingIds(chunk) : chunk;
+            if (existing.isEmpty()) {
+                continue;
+            }
+            interventionRepository.deleteByCasIdIn(existing);
+            signalementRepository.deleteByCasIdIn(existing);
+            casRepository.deleteAllByIdIn(existing);
+            deleted.addAll(existing);
+        }
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(CaseLifecycleEvent.deleted(deleted));
+        }
+        log.info("Suppression en masse : {} cas supprimés", deleted.size());
+        return new ModerationDTOs.BulkResult(deleted.size());
+    }
+
+    private List<Long> selectCaseIds(ModerationDTOs.CaseSelection selection) {
+        return selection.hasIds()
+                ? distinct(selection.ids())
+                : casRepository.findIds(CasHumanitaireSpecifications.matching(selection.filter().toQuery()));
+    }
+
+    private static List<Long> distinct(List<Long> ids) {
+        return ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
     }
 }
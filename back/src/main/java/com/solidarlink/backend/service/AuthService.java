@@ -2,20 +2,23 @@ package com.solidarlink.backend.service;
 
 import com.solidarlink.backend.config.JwtService;
 import com.solidarlink.backend.dto.AuthDTOs;
+import com.solidarlink.backend.dto.UploadDTOs;
 import com.solidarlink.backend.entity.User;
-import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.exception.BusinessException;
 import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.storage.PresignedUrl;
+import com.solidarlink.backend.storage.StorageBackend;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -23,18 +26,24 @@ import java.util.UUID;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final StorageBackend storageBackend;
 
-    private final Path rootLocation = Paths.get("uploads");
+    // Même plafond que les envois multipart, que l'upload direct ne traverse pas
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxUploadSize;
+
+    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
+            "image/jpeg", "image/jpg", "image/png", "image/webp", "image/gif", "application/pdf");
 
     public AuthDTOs.AuthenticationResponse register(AuthDTOs.RegisterRequest request) {
         var user = User.builder()
                 .nom(request.getNom())
                 .prenom(request.getPrenom())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashing.encode(request.getPassword()))
                 .telephone(request.getTelephone())
                 .role(request.getRole())
                 .competences(request.getCompetences())
@@ -56,10 +65,11 @@ public class AuthService {
     }
 
     public AuthDTOs.AuthenticationResponse login(AuthDTOs.AuthenticationRequest request) {
-        authenticationManager.authenticate(
+        // BCrypt (et re-hachage éventuel) sur le pool de hachage borné
+        passwordHashing.compute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
-                        request.getPassword()));
+                        request.getPassword())));
         var user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow();
 
@@ -81,22 +91,50 @@ public class AuthService {
     }
 
     public String saveFile(MultipartFile file) throws IOException {
-        // Validate file type
-        String contentType = file.getContentType();
-        if (contentType == null || (!contentType.equals("image/jpeg") &&
-                !contentType.equals("image/jpg") &&
-                !contentType.equals("image/png") &&
-                !contentType.equals("image/webp") &&
-                !contentType.equals("image/gif") &&
-                !contentType.equals("application/pdf"))) {
-            throw new IllegalArgumentException("Format de fichier non supporté. Utilisez JPG, PNG, WebP, GIF ou PDF.");
-        }
+        validateContentType(file.getContentType());
 
-        if (!Files.exists(rootLocation)) {
-            Files.createDirectories(rootLocation);
+        String filename = generateKey(file.getOriginalFilename());
+        try (InputStream content = file.getInputStream()) {
+            storageBackend.store(filename, content, file.getSize(), file.getContentType());
         }
-        String filename = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Files.copy(file.getInputStream(), this.rootLocation.resolve(filename));
         return filename;
     }
+
+    /**
+     * Prépare un upload direct vers le stockage objet : le client envoie le fichier
+     * sur l'URL retournée puis transmet la clé à l'API.
+     */
+    public UploadDTOs.PresignResponse presignUpload(UploadDTOs.PresignRequest request) {
+        validateContentType(request.getContentType());
+        if (request.getSize() > maxUploadSize.toBytes()) {
+            throw new IllegalArgumentException("Fichier trop volumineux (maximum " + maxUploadSize.toMegabytes() + " Mo)");
+        }
+
+        String key = generateKey(request.getFilename());
+        PresignedUrl presigned = storageBackend.presignUpload(key, request.getContentType(), request.getSize())
+                .orElseThrow(() -> new BusinessException(
+                        "L'upload direct n'est pas supporté par le stockage configuré",
+                        "STORAGE_PRESIGN_UNSUPPORTED"));
+
+        return UploadDTOs.PresignResponse.builder()
+                .key(key)
+                .uploadUrl(presigned.url().toString())
+                .method(presigned.method())
+                .headers(presigned.headers())
+                .expiresAt(presigned.expiresAt())
+                .build();
+    }
+
+    private void validateContentType(String contentType) {
+        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType)) {
+            throw new IllegalArgumentException("Format de fichier non supporté. Utilisez JPG, PNG, WebP, GIF ou PDF.");
+        }
+    }
+
+    private String generateKey(String originalFilename) {
+        // Le nom d'origine est conservé pour la lisibilité, sans séparateurs de chemin
+        String safeName = originalFilename == null ? "file"
+                : originalFilename.replaceAll("[/\\\\]", "_");
+        return UUID.randomUUID() + "_" + safeName;
+    }
 }
@@ -1,18 +1,34 @@
 package com.solidarlink.backend.service;
 
+import com.solidarlink.backend.dto.BoundedList;
+import com.solidarlink.backend.dto.BoundingBox;
 import com.solidarlink.backend.dto.CasHumanitaireDTO;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
 import com.solidarlink.backend.dto.InterventionDTO;
 import com.solidarlink.backend.entity.CasHumanitaire;
 import com.solidarlink.backend.entity.User;
 import com.solidarlink.backend.enums.CasCategorie;
 import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.exception.BusinessException;
 import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CasHumanitaireSpecifications;
+import com.solidarlink.backend.repository.CaseNearbySearch;
+import com.solidarlink.backend.repository.CaseTextSearch;
+import com.solidarlink.backend.spatial.ActiveCaseIndex;
+import com.solidarlink.backend.spatial.Geometries;
+import com.solidarlink.backend.workflow.CaseWorkflow;
 import lombok.RequiredArgsConstructor;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
-import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -20,8 +36,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +54,16 @@ public class CasHumanitaireService {
     private final CasHumanitaireRepository casRepository;
     private final AuthService authService;
     private final NotificationService notificationService;
-    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActiveCaseIndex activeCaseIndex;
+    private final CaseWorkflow caseWorkflow;
+    private final GeometryFactory geometryFactory = Geometries.FACTORY;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    @Value("${app.lists.max-items:1000}")
+    private int maxListItems;
 
     public CasHumanitaire createCase(CasHumanitaireDTO request, User author) throws IOException {
         List<String> photoUrls = new ArrayList<>();
@@ -53,6 +86,7 @@ public class CasHumanitaireService {
                 .build();
 
         CasHumanitaire savedCase = casRepository.save(cas);
+        eventPublisher.publishEvent(CaseLifecycleEvent.created(savedCase.getId()));
 
         // Notification temps réel : nouveau cas créé
         notificationService.broadcastNotification(
@@ -64,7 +98,7 @@ public class CasHumanitaireService {
     }
 
     public CasHumanitaire updateCase(Long id, CasHumanitaireDTO request, User user) throws IOException {
-        CasHumanitaire cas = casRepository.findById(id).orElseThrow(() -> new RuntimeException("Case not found"));
+        CasHumanitaire cas = casRepository.findDetailedById(id).orElseThrow(() -> new RuntimeException("Case not found"));
 
         if (!cas.getAuthor().getId().equals(user.getId()) && !user.getRole().name().equals("ADMIN")) {
             throw new RuntimeException("Not authorized");
@@ -90,6 +124,7 @@ public class CasHumanitaireService {
         cas.setPhotos(currentPhotos);
 
         CasHumanitaire updatedCase = casRepository.save(cas);
+        eventPublisher.publishEvent(CaseLifecycleEvent.updated(updatedCase.getId()));
 
         // Notification temps réel : cas mis à jour
         notificationService.sendNotificationToUser(
@@ -107,94 +142,227 @@ public class CasHumanitaireService {
             throw new RuntimeException("Not authorized");
         }
         casRepository.delete(cas);
+        eventPublisher.publishEvent(CaseLifecycleEvent.deleted(id));
     }
 
-    public List<CasHumanitaire> getAllCases() {
-        return casRepository.findAll();
+    public BoundedList<CaseListItem> getAllCases() {
+        return listCases(CaseQuery.builder().build());
     }
 
     // ========== PAGINATED METHODS (NEW) ==========
-    public Page<CasHumanitaire> getAllCasesPaginated(Pageable pageable) {
-        return casRepository.findAll(pageable);
+    public Page<CaseListItem> getAllCasesPaginated(Pageable pageable) {
+        return findCases(CaseQuery.builder().build(), pageable);
     }
 
-    public Page<CasHumanitaire> getCasesByStatus(CasStatut status, Pageable pageable) {
-        return casRepository.findByStatus(status, pageable);
+    /**
+     * Point d'entrée unique des listes filtrées : toute combinaison de critères produit une seule requête.
+     */
+    public Page<CaseListItem> findCases(CaseQuery query, Pageable pageable) {
+        return casRepository.findListItems(CasHumanitaireSpecifications.matching(query), pageable);
     }
 
-    public Page<CasHumanitaire> getCasesByCategorie(CasCategorie categorie, Pageable pageable) {
-        return casRepository.findByCategorie(categorie, pageable);
+    /**
+     * Variante non paginée, du plus récent au plus ancien, plafonnée à app.lists.max-items lignes.
+     * Au-delà, la réponse est marquée tronquée : pagination ou flux NDJSON.
+     */
+    public BoundedList<CaseListItem> listCases(CaseQuery query) {
+        List<CaseListItem> fetched = casRepository.findListItems(
+                CasHumanitaireSpecifications.matching(query), NEWEST_FIRST, maxListItems + 1);
+        return BoundedList.of(fetched, maxListItems);
     }
 
-    public Page<CasHumanitaire> getCasesByStatusAndCategorie(CasStatut status, CasCategorie categorie, Pageable pageable) {
-        return casRepository.findByStatusAndCategorie(status, categorie, pageable);
+    /**
+     * Cas visibles sur une carte. Servi par l'index en mémoire quand il couvre les statuts demandés ;
+     * sans filtre de statut, l'index fournit les cas actifs et la base seulement les autres.
+     * Sinon (statuts inactifs, index non chargé), tout vient de la base.
+     */
+    public Page<CaseMapItem> getCasesInViewport(BoundingBox viewport, Set<CasStatut> statuses,
+                                                Set<CasCategorie> categories, Pageable pageable) {
+        if (activeCaseIndex.isReady() && activeCaseIndex.covers(statuses)) {
+            List<CaseMapItem> items = activeCaseIndex.findInViewport(viewport, statuses, categories);
+            return slice(items, pageable, items.size());
+        }
+        if (activeCaseIndex.isReady() && (statuses == null || statuses.isEmpty())) {
+            return getAllCasesInViewport(viewport, categories, pageable);
+        }
+        CaseQuery query = CaseQuery.builder()
+                .statuses(statuses)
+                .categories(categories)
+                .viewport(viewport)
+                .build();
+        return findCases(query, pageable).map(CaseMapItem::from);
     }
 
-    public Page<CasHumanitaire> getCasesWithinViewport(double minLon, double minLat, double maxLon, double maxLat, 
-                                                        CasStatut status, Pageable pageable) {
-        if (status != null) {
-            return casRepository.findWithinViewportAndStatus(minLon, minLat, maxLon, maxLat, status.name(), pageable);
-        }
-        return casRepository.findWithinViewport(minLon, minLat, maxLon, maxLat, pageable);
+    /**
+     * Fusion, du plus récent au plus ancien, des cas actifs de l'index et des cas inactifs de la base.
+     * Les offset + size premiers éléments de la fusion sont parmi les offset + size premiers de chaque
+     * source : la base n'en lit pas davantage.
+     */
+    private Page<CaseMapItem> getAllCasesInViewport(BoundingBox viewport, Set<CasCategorie> categories,
+                                                    Pageable pageable) {
+        List<CaseMapItem> active = activeCaseIndex.findInViewport(viewport, ActiveCaseIndex.INDEXED_STATUSES, categories);
+        int end = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        CaseQuery inactiveQuery = CaseQuery.builder()
+                .statuses(EnumSet.complementOf(EnumSet.copyOf(ActiveCaseIndex.INDEXED_STATUSES)))
+                .categories(categories)
+                .viewport(viewport)
+                .build();
+        Page<CaseMapItem> inactive = findCases(inactiveQuery, PageRequest.of(0, Math.max(end, 1),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"))).map(CaseMapItem::from);
+
+        List<CaseMapItem> merged = new ArrayList<>(active.size() + inactive.getNumberOfElements());
+        merged.addAll(active);
+        merged.addAll(inactive.getContent());
+        merged.sort(ActiveCaseIndex.NEWEST_FIRST);
+        return slice(merged, pageable, active.size() + inactive.getTotalElements());
     }
 
-    public Page<CasHumanitaire> getMyCasesPaginated(User user, Pageable pageable) {
-        return casRepository.findByAuthor(user, pageable);
+    private static <T> Page<T> slice(List<T> items, Pageable pageable, long total) {
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return new PageImpl<>(items.subList(from, to), pageable, total);
     }
 
-    public Page<CasHumanitaire> getMyInterventionsPaginated(User volunteer, Pageable pageable) {
-        return casRepository.findByVolunteer(volunteer, pageable);
+    public Page<CaseListItem> getMyCasesPaginated(User user, Pageable pageable) {
+        return findCases(CaseQuery.builder().authorId(user.getId()).build(), pageable);
     }
 
-    public List<CasHumanitaire> getMyCases(User user) {
-        return casRepository.findByAuthor(user);
+    public Page<CaseListItem> getMyInterventionsPaginated(User volunteer, Pageable pageable) {
+        return findCases(CaseQuery.builder().volunteerId(volunteer.getId()).build(), pageable);
     }
 
-    public List<CasHumanitaire> getValidatedCases() {
-        List<CasHumanitaire> cases = casRepository.findByStatus(CasStatut.VALIDE);
-        // Force le chargement des photos pour éviter LazyInitializationException
-        cases.forEach(cas -> cas.getPhotos().size());
-        return cases;
+    public BoundedList<CaseListItem> getMyCases(User user) {
+        return listCases(CaseQuery.builder().authorId(user.getId()).build());
     }
 
-    public List<CasHumanitaire> getNearbyCases(double latitude, double longitude, double radius) {
-        return casRepository.findNearbyCases(latitude, longitude, radius);
+    public BoundedList<CaseListItem> getValidatedCases() {
+        return listCases(CaseQuery.builder().statuses(Set.of(CasStatut.VALIDE)).build());
     }
 
-    public CasHumanitaire getCaseById(Long id) {
-        return casRepository.findById(id).orElseThrow(() -> new RuntimeException("Case not found"));
+    // ========== RECHERCHE PLEIN TEXTE ==========
+    public CaseSearchDTOs.SearchPage searchCases(String text, Set<CasStatut> statuses, Set<CasCategorie> categories,
+                                                 BoundingBox viewport, String cursor, int size) {
+        if (text == null || text.isBlank()) {
+            throw new BusinessException("Le texte de recherche est obligatoire", "SEARCH_QUERY_REQUIRED");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterRank = Float.valueOf(parts[0]);
+            afterId = Long.valueOf(parts[1]);
+        }
+
+        List<CaseSearchDTOs.SearchHit> hits = casRepository.searchFullText(new CaseTextSearch(
+                text.trim(), statuses, categories, viewport, afterRank, afterId, limit));
+
+        String nextCursor = null;
+        if (hits.size() == limit) {
+            CaseSearchDTOs.SearchHit last = hits.get(hits.size() - 1);
+            nextCursor = encodeCursor(last.getRank() + ":" + last.getId());
+        }
+        return CaseSearchDTOs.SearchPage.builder()
+                .items(hits)
+                .nextCursor(nextCursor)
+                .build();
     }
 
-    public CasHumanitaire takeCase(Long id, InterventionDTO intervention, User volunteer) {
-        CasHumanitaire cas = casRepository.findById(id).orElseThrow(() -> new RuntimeException("Case not found"));
+    private static String encodeCursor(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (cas.getStatus() != CasStatut.VALIDE) {
-            throw new RuntimeException("Case is not validated");
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            Double.parseDouble(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Curseur de pagination invalide", "INVALID_CURSOR");
         }
+    }
 
-        cas.setVolunteer(volunteer);
-        cas.setStatus(CasStatut.EN_COURS);
-        cas.setDateIntervention(intervention.getDateIntervention());
-        cas.setMessageIntervention(intervention.getMessageIntervention());
+    // ========== RECHERCHE DE PROXIMITÉ ==========
+    public CaseSearchDTOs.NearbyPage getNearbyCases(double latitude, double longitude, double radiusMeters,
+                                                    Set<CasStatut> statuses, Set<CasCategorie> categories,
+                                                    String cursor, int size) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordonnées invalides");
+        }
+        if (radiusMeters <= 0) {
+            throw new IllegalArgumentException("Le rayon doit être strictement positif");
+        }
+        int limit = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        // Par défaut, seuls les cas sur lesquels un volontaire peut agir
+        Set<CasStatut> effectiveStatuses = statuses == null || statuses.isEmpty()
+                ? Set.of(CasStatut.VALIDE) : statuses;
+
+        Double afterDistance = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            afterDistance = Double.valueOf(parts[0]);
+            afterId = Long.valueOf(parts[1]);
+        }
 
-        CasHumanitaire updatedCase = casRepository.save(cas);
+        List<CaseSearchDTOs.NearbyHit> hits = activeCaseIndex.isReady() && activeCaseIndex.covers(effectiveStatuses)
+                ? activeCaseIndex.findNearby(latitude, longitude, radiusMeters, effectiveStatuses, categories,
+                        afterDistance, afterId, limit)
+                : casRepository.findNearby(new CaseNearbySearch(
+                        latitude, longitude, radiusMeters, effectiveStatuses, categories, afterDistance, afterId, limit));
 
-        // Notification temps réel : intervention confirmée
-        notificationService.sendNotificationToUser(
-                cas.getAuthor().getId(),
-                "intervention_confirmed",
-                String.format("Un volontaire a pris en charge votre cas '%s'", updatedCase.getTitre())
-        );
+        String nextCursor = null;
+        if (hits.size() == limit) {
+            CaseSearchDTOs.NearbyHit last = hits.get(hits.size() - 1);
+            nextCursor = encodeCursor(last.getDistanceMeters() + ":" + last.getId());
+        }
+        return CaseSearchDTOs.NearbyPage.builder()
+                .items(hits)
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        return updatedCase;
+    public CasHumanitaire getCaseById(Long id) {
+        return casRepository.findDetailedById(id).orElseThrow(() -> new RuntimeException("Case not found"));
+    }
+
+    /**
+     * Date de dernière modification d'un cas (GET conditionnels), vide si le cas n'existe pas.
+     */
+    public Optional<Instant> getCaseLastModified(Long id) {
+        return casRepository.findLastModifiedById(id).map(CasHumanitaireService::toInstant);
     }
 
-    public List<CasHumanitaire> getMyInterventions(User volunteer) {
-        return casRepository.findByVolunteer(volunteer);
+    /**
+     * Même validateur que {@link #getCaseLastModified(Long)}, pour un cas déjà chargé.
+     */
+    public Optional<Instant> lastModifiedOf(CasHumanitaire cas) {
+        return Optional.ofNullable(cas.getUpdatedAt() != null ? cas.getUpdatedAt() : cas.getCreatedAt())
+                .map(CasHumanitaireService::toInstant);
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    public CasHumanitaire takeCase(Long id, InterventionDTO intervention, User volunteer) {
+        // Verrou et mise à jour conditionnelle, notification et événement : voir CaseWorkflow
+        caseWorkflow.claim(id, volunteer, intervention.getDateIntervention(), intervention.getMessageIntervention());
+        return casRepository.findDetailedById(id)
+                .orElseThrow(() -> new RuntimeException("Case not found"));
+    }
+
+    public BoundedList<CaseListItem> getMyInterventions(User volunteer) {
+        return listCases(CaseQuery.builder().volunteerId(volunteer.getId()).build());
     }
 
     public CasHumanitaire resolveCase(Long id, User user) {
-        CasHumanitaire cas = casRepository.findById(id).orElseThrow(() -> new RuntimeException("Case not found"));
+        CasHumanitaire cas = casRepository.findDetailedById(id).orElseThrow(() -> new RuntimeException("Case not found"));
 
         // Only author or volunteer can resolve? Usually author confirms resolution.
         if (!cas.getAuthor().getId().equals(user.getId()) &&
@@ -202,18 +370,8 @@ public class CasHumanitaireService {
             throw new RuntimeException("Not authorized");
         }
 
-        cas.setStatus(CasStatut.RESOLU);
-        CasHumanitaire resolvedCase = casRepository.save(cas);
-
-        // Notification temps réel : cas résolu
-        if (cas.getVolunteer() != null) {
-            notificationService.sendNotificationToUser(
-                    cas.getVolunteer().getId(),
-                    "case_resolved",
-                    String.format("Le cas '%s' a été marqué comme résolu", resolvedCase.getTitre())
-            );
-        }
-
-        return resolvedCase;
+        // Transition validée, notification du bénévole et événement : voir CaseWorkflow
+        caseWorkflow.transition(id, CasStatut.RESOLU);
+        return casRepository.findDetailedById(id).orElseThrow(() -> new RuntimeException("Case not found"));
     }
 }
@@ -0,0 +1,176 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.StatsDTOs;
+import com.solidarlink.backend.entity.CaseActivityRollup;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CaseActivity;
+import com.solidarlink.backend.enums.StatsGranularity;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CaseActivityRollupRepository;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Séries temporelles de l'activité des cas (créations, validations, prises en charge, résolutions, rejets).
+ * <p>
+ * Les agrégats horaires et journaliers sont incrémentés après chaque {@link CaseLifecycleEvent} validé,
+ * par un upsert par (intervalle, étape, catégorie) : une transition en masse de 1 000 cas coûte une lecture
+ * et quelques instructions. Les suppressions ne décomptent rien, les séries décrivent l'historique.
+ */
+@Service
+@Slf4j
+public class CaseActivityRollupService {
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final CaseActivityRollupRepository rollupRepository;
+    private final CasHumanitaireRepository casRepository;
+    private final TransactionTemplate rollupTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int maxBuckets;
+
+    public CaseActivityRollupService(CaseActivityRollupRepository rollupRepository,
+                                     CasHumanitaireRepository casRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.stats.timeseries.max-buckets:2000}") int maxBuckets) {
+        this.rollupRepository = rollupRepository;
+        this.casRepository = casRepository;
+        this.maxBuckets = maxBuckets;
+        // Après commit : transaction propre, indépendante de celle (terminée) qui a publié l'événement
+        this.rollupTransaction = new TransactionTemplate(transactionManager);
+        this.rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    // ========== ALIMENTATION ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaseLifecycle(CaseLifecycleEvent event) {
+        CaseActivity activity = switch (event.type()) {
+            case CREATED -> CaseActivity.CREATED;
+            case STATUS_CHANGED -> CaseActivity.reaching(event.status());
+            case UPDATED, DELETED -> null;
+        };
+        if (activity == null || event.caseIds().isEmpty()) {
+            return;
+        }
+        try {
+            record(activity, event.caseIds(), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // Les statistiques ne doivent jamais faire échouer l'opération métier, déjà validée
+            log.error("Agrégats d'activité non mis à jour ({} cas, {})", event.caseIds().size(), activity, e);
+        }
+    }
+
+    void record(CaseActivity activity, List<Long> caseIds, LocalDateTime at) {
+        rollupTransaction.executeWithoutResult(status -> {
+            Map<CasCategorie, Long> byCategorie = new EnumMap<>(CasCategorie.class);
+            for (int from = 0; from < caseIds.size(); from += ID_CHUNK_SIZE) {
+                List<Long> chunk = caseIds.subList(from, Math.min(from + ID_CHUNK_SIZE, caseIds.size()));
+                for (Object[] row : casRepository.countByCategorieForIds(chunk)) {
+                    byCategorie.merge((CasCategorie) row[0], ((Number) row[1]).longValue(), Long::sum);
+                }
+            }
+            byCategorie.forEach((categorie, count) -> {
+                for (StatsGranularity granularity : List.of(StatsGranularity.HOUR, StatsGranularity.DAY)) {
+                    rollupRepository.increment(granularity.name(), granularity.truncate(at),
+                            activity.name(), categorie.name(), count);
+                }
+            });
+        });
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * @param activities étapes à renvoyer (toutes si null ou vide)
+     * @param categories catégories prises en compte (toutes si null ou vide)
+     * @param byCategory une série par catégorie plutôt qu'une série cumulée par étape
+     */
+    public StatsDTOs.TimeSeries timeSeries(LocalDateTime from, LocalDateTime to, StatsGranularity granularity,
+                                           Set<CaseActivity> activities, Set<CasCategorie> categories,
+                                           boolean byCategory) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La date de début doit précéder la date de fin");
+        }
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDateTime bucket = granularity.truncate(from); bucket.isBefore(to); bucket = granularity.next(bucket)) {
+            if (buckets.size() == maxBuckets) {
+                throw new IllegalArgumentException("Période trop longue pour la granularité " + granularity
+                        + " (" + maxBuckets + " intervalles au plus)");
+            }
+            buckets.add(bucket);
+        }
+        Map<LocalDateTime, Integer> positions = new HashMap<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            positions.put(buckets.get(i), i);
+        }
+
+        Set<CaseActivity> wantedActivities = orAll(activities, CaseActivity.class);
+        Set<CasCategorie> wantedCategories = orAll(categories, CasCategorie.class);
+        Map<SeriesKey, long[]> counts = new HashMap<>();
+        for (CaseActivity activity : wantedActivities) {
+            if (byCategory) {
+                wantedCategories.forEach(categorie -> counts.put(new SeriesKey(activity, categorie), new long[buckets.size()]));
+            } else {
+                counts.put(new SeriesKey(activity, null), new long[buckets.size()]);
+            }
+        }
+
+        // Les agrégats stockés sont plus fins que (ou égaux à) la granularité demandée : chaque ligne
+        // tombe dans exactement un intervalle de la réponse
+        List<CaseActivityRollup> rows = readTransaction.execute(status -> rollupRepository.findRange(
+                granularity.storedSource(), buckets.get(0), to));
+        for (CaseActivityRollup row : rows) {
+            CaseActivityRollup.Key key = row.getKey();
+            if (!wantedActivities.contains(key.getActivity()) || !wantedCategories.contains(key.getCategorie())) {
+                continue;
+            }
+            Integer position = positions.get(granularity.truncate(key.getBucket()));
+            if (position != null) {
+                counts.get(new SeriesKey(key.getActivity(), byCategory ? key.getCategorie() : null))[position] += row.getCount();
+            }
+        }
+
+        List<StatsDTOs.Series> series = counts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new StatsDTOs.Series(entry.getKey().activity(), entry.getKey().categorie(),
+                        Arrays.stream(entry.getValue()).boxed().toList()))
+                .toList();
+        return new StatsDTOs.TimeSeries(granularity, from, to, buckets, series);
+    }
+
+    private static <E extends Enum<E>> Set<E> orAll(Collection<E> values, Class<E> type) {
+        return values == null || values.isEmpty() ? EnumSet.allOf(type) : EnumSet.copyOf(values);
+    }
+
+    private record SeriesKey(CaseActivity activity, CasCategorie categorie) implements Comparable<SeriesKey> {
+
+        @Override
+        public int compareTo(SeriesKey other) {
+            int byActivity = activity.compareTo(other.activity);
+            if (byActivity != 0 || categorie == null || other.categorie == null) {
+                return byActivity;
+            }
+            return categorie.compareTo(other.categorie);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.solidarlink.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Version de la collection des cas, tenue en base (migrations V13 et V14) : des déclencheurs ajoutent
+ * une ligne à case_collection_change dans la transaction même de toute écriture sur les cas, leurs
+ * photos ou le nom des personnes affichées, quel que soit le chemin (service, mise à jour en masse,
+ * tâche planifiée, autre instance, écriture hors application). Sert de validateur HTTP (ETag /
+ * Last-Modified) aux listes : un client à jour reçoit un 304 au prix d'une lecture.
+ * <p>
+ * Version = version de base + nombre de lignes de changement visibles : les écrivains n'ajoutent que
+ * des lignes, sans verrou partagé, et la version n'augmente qu'au commit. Toutes les instances lisent
+ * la même version : un ETag obtenu sur l'une est reconnu par les autres.
+ */
+@Component
+@Slf4j
+public class CaseCollectionVersion {
+
+    private static final String CURRENT = """
+            SELECT v.version + c.changes, GREATEST(v.modified_at, COALESCE(c.last_change, v.modified_at))
+            FROM case_collection_version v,
+                 (SELECT COUNT(*) AS changes, MAX(changed_at) AS last_change FROM case_collection_change) c
+            WHERE v.id = 1
+            """;
+
+    private static final String BUMP = "INSERT INTO case_collection_change DEFAULT VALUES";
+
+    // Seules les lignes validées sont déplacées : une écriture encore en cours sera comptée à son commit
+    private static final String COMPACT = """
+            WITH moved AS (DELETE FROM case_collection_change RETURNING changed_at)
+            UPDATE case_collection_version
+            SET version = version + (SELECT COUNT(*) FROM moved),
+                modified_at = GREATEST(modified_at, COALESCE((SELECT MAX(changed_at) FROM moved), modified_at))
+            WHERE id = 1
+            """;
+
+    public record Snapshot(long version, Instant lastModified) {
+
+        public String etag() {
+            return "W/\"cases-" + version + "\"";
+        }
+
+        /**
+         * ETag d'une liste dont le contenu dépend aussi d'autre chose que la collection (utilisateur, ...).
+         */
+        public String etag(String variant) {
+            return "W/\"cases-" + version + "-" + variant + "\"";
+        }
+    }
+
+    private final DataSource dataSource;
+    private final TransactionTemplate snapshotTransaction;
+
+    public CaseCollectionVersion(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Lit la version puis construit la réponse dans une même transaction en lecture seule : une seule
+     * connexion par requête, et version et données sont lues dans le même instantané.
+     */
+    public <T> T read(Function<Snapshot, T> response) {
+        return snapshotTransaction.execute(status -> response.apply(current()));
+    }
+
+    /**
+     * Sur la connexion de la transaction en cours s'il y en a une.
+     */
+    public Snapshot current() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(CURRENT);
+             ResultSet result = statement.executeQuery()) {
+            if (!result.next()) {
+                throw new DataAccessResourceFailureException("Ligne de case_collection_version absente");
+            }
+            return new Snapshot(result.getLong(1), result.getTimestamp(2).toInstant());
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Version de la collection des cas illisible", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Invalide les validateurs des listes sans écriture sur les cas (index spatial rechargé, ...).
+     */
+    public void bump() {
+        update(BUMP, "Version de la collection des cas non incrémentée");
+    }
+
+    /**
+     * Reporte les lignes de changement dans la version de base : la table reste courte et son
+     * comptage immédiat. La version lue ne change pas.
+     */
+    @Scheduled(fixedDelayString = "${app.lists.version-compaction-interval-ms:60000}",
+            initialDelayString = "${app.lists.version-compaction-interval-ms:60000}")
+    public void compact() {
+        try {
+            update(COMPACT, "Compactage de la version de la collection des cas impossible");
+        } catch (DataAccessException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+
+    private void update(String sql, String failure) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException(failure, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.solidarlink.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Réponses écrites au fil de l'eau (NDJSON, GeoJSON) : la requête s'exécute sur le thread d'écriture de
+ * la réponse, dans sa propre transaction en lecture seule, et chaque tranche lue est écrite aussitôt.
+ * <p>
+ * Une erreur d'écriture (le plus souvent : client déconnecté en cours de flux) interrompt la lecture,
+ * referme la transaction et remonte telle quelle au conteneur.
+ */
+@Component
+@Slf4j
+public class ChunkedStreams {
+
+    @FunctionalInterface
+    public interface ChunkWriter<T> {
+        void write(List<T> chunk) throws IOException;
+    }
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ChunkedStreams(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param name nom du flux dans le journal
+     */
+    public StreamingResponseBody response(String name, StreamingResponseBody body) {
+        return out -> {
+            try {
+                body.writeTo(out);
+            } catch (IOException e) {
+                log.debug("{} interrompu : {}", name, e.getMessage());
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Lit les tranches de {@code source} en lecture seule et les passe à {@code writer} au fur et à mesure.
+     */
+    public <T> void writeChunks(Consumer<Consumer<List<T>>> source, ChunkWriter<T> writer) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> source.accept(chunk -> {
+                try {
+                    writer.write(chunk);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.solidarlink.backend.service;
 
+import com.solidarlink.backend.event.AccountsValidatedEvent;
+import com.solidarlink.backend.repository.CaseReminderRow;
+import com.solidarlink.backend.repository.UserContactRow;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UnsupportedEncodingException;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 /**
  * Service d'envoi d'emails pour SolidarLink.
@@ -19,6 +30,9 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class EmailService {
 
+    private static final int MAIL_BATCH_SIZE = 50;
+    private static final DateTimeFormatter MAIL_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy 'à' HH:mm");
+
     private final JavaMailSender mailSender;
 
     @Value("${spring.mail.username}")
@@ -38,19 +52,7 @@ public class EmailService {
     @Async
     public void sendAccountValidatedEmail(String toEmail, String firstName, String role) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(toEmail);
-            helper.setSubject("🎉 Votre compte SolidarLink a été validé !");
-
-            String roleDisplay = formatRole(role);
-            String htmlContent = buildValidationEmailTemplate(firstName, roleDisplay);
-
-            helper.setText(htmlContent, true); // true = HTML content
-
-            mailSender.send(message);
+            mailSender.send(buildAccountValidatedMessage(toEmail, firstName, role));
             log.info("✅ Email de validation envoyé avec succès à : {}", toEmail);
 
         } catch (MessagingException e) {
@@ -60,6 +62,115 @@ public class EmailService {
         }
     }
 
+    /**
+     * Emails d'une validation en masse, après commit : une seule tâche asynchrone, messages envoyés
+     * par lots de {@value #MAIL_BATCH_SIZE} sur une même connexion SMTP.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountsValidated(AccountsValidatedEvent event) {
+        List<MimeMessage> batch = new ArrayList<>(MAIL_BATCH_SIZE);
+        int sent = 0;
+        for (UserContactRow account : event.accounts()) {
+            try {
+                batch.add(buildAccountValidatedMessage(account.email(), account.prenom(), account.role().name()));
+            } catch (Exception e) {
+                log.error("❌ Email de validation non construit pour {} : {}", account.email(), e.getMessage());
+            }
+            if (batch.size() == MAIL_BATCH_SIZE) {
+                sent += sendBatch(batch, "de validation");
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            sent += sendBatch(batch, "de validation");
+        }
+        log.info("✅ {} emails de validation envoyés sur {}", sent, event.accounts().size());
+    }
+
+    /**
+     * Rappels des interventions prévues (tâche planifiée), par lots de {@value #MAIL_BATCH_SIZE}.
+     */
+    @Async
+    public void sendInterventionReminders(List<CaseReminderRow> reminders) {
+        sendInterventionEmails(reminders, "de rappel",
+                row -> "⏰ Rappel : votre intervention du " + row.dateIntervention().format(MAIL_DATE_FORMAT),
+                row -> "Votre intervention pour le cas <strong>%s</strong> est prévue le <strong>%s</strong>. "
+                        .formatted(escapeHtml(row.titre()), row.dateIntervention().format(MAIL_DATE_FORMAT))
+                        + "Merci de prévenir le demandeur en cas d'empêchement.");
+    }
+
+    /**
+     * Relance des interventions dépassées sans que le cas soit résolu (tâche planifiée).
+     */
+    @Async
+    public void sendOverdueInterventionNotices(List<CaseReminderRow> overdue) {
+        sendInterventionEmails(overdue, "de relance",
+                row -> "Intervention dépassée : " + row.titre(),
+                row -> "L'intervention prévue le <strong>%s</strong> pour le cas <strong>%s</strong> est dépassée. "
+                        .formatted(row.dateIntervention().format(MAIL_DATE_FORMAT), escapeHtml(row.titre()))
+                        + "Si elle a eu lieu, marquez le cas comme résolu ; sinon il sera bientôt remis à disposition "
+                        + "d'autres bénévoles.");
+    }
+
+    private void sendInterventionEmails(List<CaseReminderRow> rows, String kind,
+                                        Function<CaseReminderRow, String> subject,
+                                        Function<CaseReminderRow, String> body) {
+        List<MimeMessage> batch = new ArrayList<>(MAIL_BATCH_SIZE);
+        int sent = 0;
+        for (CaseReminderRow row : rows) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                helper.setFrom(fromEmail, fromName);
+                helper.setTo(row.volunteerEmail());
+                helper.setSubject(subject.apply(row));
+                helper.setText(buildInterventionEmailTemplate(row.volunteerPrenom(), body.apply(row)), true);
+                batch.add(message);
+            } catch (Exception e) {
+                log.error("❌ Email {} non construit pour {} : {}", kind, row.volunteerEmail(), e.getMessage());
+            }
+            if (batch.size() == MAIL_BATCH_SIZE) {
+                sent += sendBatch(batch, kind);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            sent += sendBatch(batch, kind);
+        }
+        log.info("✅ {} emails {} envoyés sur {}", sent, kind, rows.size());
+    }
+
+    private int sendBatch(List<MimeMessage> batch, String kind) {
+        try {
+            mailSender.send(batch.toArray(MimeMessage[]::new));
+            return batch.size();
+        } catch (MailSendException e) {
+            // Les messages en échec sont listés ; les autres du lot sont partis
+            log.error("❌ {} emails {} en échec : {}", e.getFailedMessages().size(), kind, e.getMessage());
+            return batch.size() - e.getFailedMessages().size();
+        } catch (Exception e) {
+            log.error("❌ Erreur lors de l'envoi d'un lot d'emails {} : {}", kind, e.getMessage());
+            return 0;
+        }
+    }
+
+    private MimeMessage buildAccountValidatedMessage(String toEmail, String firstName, String role)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(toEmail);
+        helper.setSubject("🎉 Votre compte SolidarLink a été validé !");
+
+        String roleDisplay = formatRole(role);
+        String htmlContent = buildValidationEmailTemplate(firstName, roleDisplay);
+
+        helper.setText(htmlContent, true); // true = HTML content
+        return message;
+    }
+
     /**
      * Formate le rôle pour l'affichage dans l'email.
      */
@@ -133,6 +244,38 @@ public class EmailService {
             """.formatted(firstName, role);
     }
 
+    /**
+     * Gabarit court des emails liés aux interventions (corps déjà échappé).
+     */
+    private String buildInterventionEmailTemplate(String firstName, String content) {
+        return """
+            <!DOCTYPE html>
+            <html lang="fr">
+            <head>
+                <meta charset="UTF-8">
+            </head>
+            <body style="margin: 0; padding: 0; font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; background-color: #f8fafc;">
+                <div style="max-width: 600px; margin: 0 auto; padding: 40px 20px;">
+                    <div style="background-color: white; padding: 32px 30px; border-radius: 16px; box-shadow: 0 4px 6px -1px rgba(0, 0, 0, 0.1);">
+                        <p style="color: #334155; font-size: 16px; line-height: 1.6; margin: 0 0 16px 0;">Bonjour %s,</p>
+                        <p style="color: #334155; font-size: 16px; line-height: 1.6; margin: 0;">%s</p>
+                    </div>
+                    <div style="text-align: center; padding: 24px; color: #94a3b8; font-size: 12px;">
+                        <p style="margin: 0;">Cet email a été envoyé automatiquement, merci de ne pas y répondre.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """.formatted(escapeHtml(firstName), content);
+    }
+
+    private static String escapeHtml(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
     /**
      * Envoie un email de bienvenue lors de l'inscription (optionnel).
      */
@@ -4,24 +4,35 @@ import com.lowagie.text.*;
 import com.lowagie.text.pdf.*;
 import com.solidarlink.backend.entity.CasHumanitaire;
 import com.solidarlink.backend.repository.CasHumanitaireRepository;
-import lombok.RequiredArgsConstructor;
+import com.solidarlink.backend.repository.CaseGeoJsonExport;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.awt.Color;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 public class ExportService {
 
+    private static final int GEOJSON_CHUNK_SIZE = 500;
+
     private final CasHumanitaireRepository casRepository;
+    private final ChunkedStreams chunkedStreams;
+
+    public ExportService(CasHumanitaireRepository casRepository, ChunkedStreams chunkedStreams) {
+        this.casRepository = casRepository;
+        this.chunkedStreams = chunkedStreams;
+    }
 
     // Colors
     private static final Color COLOR_PRIMARY = new Color(17, 155, 209); // #119bd1
@@ -136,6 +147,29 @@ public class ExportService {
         return escapedData;
     }
 
+    /**
+     * FeatureCollection GeoJSON (RFC 7946) écrite au fil de l'eau : chaque entité est produite par
+     * PostgreSQL et recopiée telle quelle, tranche par tranche, sur le thread d'écriture de la réponse.
+     */
+    public StreamingResponseBody streamCasesGeoJson(CaseGeoJsonExport export) {
+        return chunkedStreams.response("Export GeoJSON", out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("{\"type\":\"FeatureCollection\",\"features\":[");
+            boolean[] first = {true};
+            chunkedStreams.<String>writeChunks(
+                    sink -> casRepository.forEachGeoJsonFeatureChunk(export, GEOJSON_CHUNK_SIZE, sink), chunk -> {
+                        for (String feature : chunk) {
+                            writer.write(first[0] ? "\n" : ",\n");
+                            writer.write(feature);
+                            first[0] = false;
+                        }
+                        writer.flush();
+                    });
+            writer.write("\n]}\n");
+            writer.flush();
+        });
+    }
+
     // Inner class for Header and Footer
     class HeaderFooterPageEvent extends PdfPageEventHelper {
 
@@ -1,17 +1,25 @@
 package com.solidarlink.backend.service;
 
 import com.solidarlink.backend.dto.InterventionDTOs;
-import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.dto.InterventionItem;
 import com.solidarlink.backend.entity.Intervention;
 import com.solidarlink.backend.entity.User;
-import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.exception.ResourceNotFoundException;
 import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CaseStatusRow;
 import com.solidarlink.backend.repository.InterventionRepository;
 import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.workflow.CaseWorkflow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class InterventionService {
@@ -19,40 +27,77 @@ public class InterventionService {
     private final InterventionRepository interventionRepository;
     private final CasHumanitaireRepository casRepository;
     private final UserRepository userRepository;
-    // private final NotificationService notificationService; // Assuming it exists
-    // or will be added later
+    private final CaseWorkflow caseWorkflow;
 
     @Transactional
     public void confirmIntervention(InterventionDTOs.InterventionRequest request, String userEmail) {
-        // 1. Validate Case
-        CasHumanitaire cas = casRepository.findById(request.getCasId())
-                .orElseThrow(() -> new RuntimeException("Cas non trouvé"));
-
-        if (cas.getStatus() != CasStatut.VALIDE && cas.getStatus() != CasStatut.EN_COURS) {
-            throw new RuntimeException("Ce cas n'est plus disponible pour une intervention");
-        }
-
-        // 2. Get Volunteer (from logged in user email to be secure)
+        // 1. Get Volunteer (from logged in user email to be secure)
         User benevole = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("Bénévole non trouvé"));
 
+        // 2. Claim Case : sous le verrou du cas, un seul bénévole l'emporte sous concurrence.
+        // Notification et événement ne partent que pour une vraie prise en charge (voir CaseWorkflow).
+        caseWorkflow.claim(request.getCasId(), benevole, request.getDateIntervention(), request.getMessage());
+
         // 3. Create Intervention
         Intervention intervention = Intervention.builder()
-                .cas(cas)
+                .cas(casRepository.getReferenceById(request.getCasId()))
                 .benevole(benevole)
                 .dateIntervention(request.getDateIntervention())
                 .message(request.getMessage())
                 .build();
 
         interventionRepository.save(intervention);
+    }
+
+    // ========== HISTORIQUES ==========
 
-        // 4. Update Case Status
-        cas.setStatus(CasStatut.EN_COURS);
-        cas.setVolunteer(benevole); // Assign volunteer to case
-        casRepository.save(cas);
+    /**
+     * Interventions proposées sur un cas, de la plus récente à la plus ancienne. Réservé à l'auteur du cas,
+     * à son bénévole et aux administrateurs.
+     */
+    @Transactional(readOnly = true)
+    public Page<InterventionItem> getCaseTimeline(Long caseId, User user, Pageable pageable) {
+        CaseStatusRow cas = casRepository.findStatusRow(caseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cas", "id", caseId));
+        if (user.getRole() != Role.ADMIN
+                && !user.getId().equals(cas.authorId())
+                && !user.getId().equals(cas.volunteerId())) {
+            throw new AccessDeniedException("Historique réservé aux participants du cas");
+        }
+        return interventionRepository.findItemsByCasId(caseId, pageable);
+    }
 
-        // 5. Notify Demandeur (Placeholder for now as NotificationService might need
-        // setup)
-        // notificationService.notifyDemandeAccepted(cas, intervention);
+    @Transactional(readOnly = true)
+    public Page<InterventionItem> getVolunteerTimeline(User volunteer, Pageable pageable) {
+        return interventionRepository.findItemsByBenevoleId(volunteer.getId(), pageable);
+    }
+
+    /**
+     * Interventions prévues du bénévole dans [from, to), de la plus proche à la plus lointaine.
+     */
+    @Transactional(readOnly = true)
+    public Page<InterventionItem> getUpcoming(User volunteer, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        checkWindow(from, to);
+        return interventionRepository.findUpcomingItemsByBenevoleId(volunteer.getId(), from, to, pageable);
+    }
+
+    /**
+     * Interventions prévues de tous les bénévoles (planning, administrateurs).
+     */
+    @Transactional(readOnly = true)
+    public Page<InterventionItem> getAllUpcoming(User requester, LocalDateTime from, LocalDateTime to,
+                                                 Pageable pageable) {
+        if (requester.getRole() != Role.ADMIN) {
+            throw new AccessDeniedException("Planning réservé aux administrateurs");
+        }
+        checkWindow(from, to);
+        return interventionRepository.findUpcomingItems(from, to, pageable);
+    }
+
+    private static void checkWindow(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("La fin de la période doit suivre son début");
+        }
     }
 }
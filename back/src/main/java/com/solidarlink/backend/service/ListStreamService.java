@@ -0,0 +1,97 @@
+package com.solidarlink.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.dto.SignalementListItem;
+import com.solidarlink.backend.dto.UserListItem;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CasHumanitaireSpecifications;
+import com.solidarlink.backend.repository.SignalementRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Listes complètes en NDJSON (un objet JSON par ligne). Les lignes sont lues par curseur et écrites
+ * au fil de l'eau : la mémoire consommée ne dépend pas de la taille de la table.
+ */
+@Service
+public class ListStreamService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final Sort CASES_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private final CasHumanitaireRepository casRepository;
+    private final UserRepository userRepository;
+    private final SignalementRepository signalementRepository;
+    private final ObjectMapper objectMapper;
+    private final ChunkedStreams chunkedStreams;
+
+    public ListStreamService(CasHumanitaireRepository casRepository,
+                             UserRepository userRepository,
+                             SignalementRepository signalementRepository,
+                             ObjectMapper objectMapper,
+                             ChunkedStreams chunkedStreams) {
+        this.casRepository = casRepository;
+        this.userRepository = userRepository;
+        this.signalementRepository = signalementRepository;
+        this.objectMapper = objectMapper;
+        this.chunkedStreams = chunkedStreams;
+    }
+
+    public StreamingResponseBody streamCases(CaseQuery query) {
+        return this.<CaseListItem>ndjson(sink -> casRepository.forEachListItemChunk(
+                CasHumanitaireSpecifications.matching(query), CASES_ORDER, CHUNK_SIZE, sink));
+    }
+
+    public StreamingResponseBody streamUsers() {
+        return this.<UserListItem>ndjson(sink -> forEachChunk(userRepository.streamListItems(), sink));
+    }
+
+    public StreamingResponseBody streamSignalements() {
+        return this.<SignalementListItem>ndjson(sink -> forEachChunk(signalementRepository.streamListItems(), sink));
+    }
+
+    /**
+     * Une ligne par élément ; la sortie est vidée après chaque tranche.
+     */
+    private <T> StreamingResponseBody ndjson(Consumer<Consumer<List<T>>> source) {
+        return chunkedStreams.response("Flux NDJSON", out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                // Séparateur de lignes écrit explicitement (par défaut Jackson sépare par un espace)
+                generator.setRootValueSeparator(null);
+                chunkedStreams.<T>writeChunks(source, chunk -> {
+                    for (T item : chunk) {
+                        generator.writeObject(item);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                });
+            }
+        });
+    }
+
+    private static <T> void forEachChunk(Stream<T> rows, Consumer<List<T>> sink) {
+        try (rows) {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            rows.forEachOrdered(row -> {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    sink.accept(chunk);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                sink.accept(chunk);
+            }
+        }
+    }
+}
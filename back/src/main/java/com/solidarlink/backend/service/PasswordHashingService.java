@@ -0,0 +1,134 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hachages de mots de passe (connexion, inscription, changement de mot de passe) sur un pool dédié
+ * et borné : une rafale de connexions occupe au plus {@code app.security.hashing.threads} cœurs,
+ * le reste de l'API garde les autres. Au-delà de la file d'attente, ou si l'attente dépasse
+ * {@code app.security.hashing.max-wait}, la requête est refusée (503 avec Retry-After) plutôt
+ * que d'accumuler des fils bloqués.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final int bcryptStrength;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${app.security.hashing.threads:0}") int threads,
+                                  @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.security.hashing.max-wait:PT5S}") Duration maxWait,
+                                  @Value("${app.security.bcrypt.strength:10}") int bcryptStrength) {
+        this.passwordEncoder = passwordEncoder;
+        this.maxWait = maxWait;
+        this.bcryptStrength = bcryptStrength;
+        // Par défaut la moitié des cœurs : le hachage est purement CPU
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // ========== HACHAGE ==========
+
+    public String encode(CharSequence rawPassword) {
+        return compute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return compute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Exécute sur le pool de hachage une opération qui hache (authentification comprise) ;
+     * ses exceptions sont relancées telles quelles.
+     */
+    public <T> T compute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Un hachage en cours ne s'interrompt pas : l'annulation retire seulement une tâche encore en file
+            future.cancel(false);
+            throw busy();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceBusyException busy() {
+        log.warn("Pool de hachage saturé ({} en cours, {} en attente)", executor.getActiveCount(), executor.getQueue().size());
+        return new ServiceBusyException("Trop de connexions simultanées, réessayez dans quelques secondes",
+                "AUTH_BUSY", Math.max(1, maxWait.toSeconds()));
+    }
+
+    // ========== CALIBRAGE ==========
+
+    /**
+     * Mesure le coût d'un hachage au démarrage : débit de connexions attendu par cœur et pour le pool.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThroughput() {
+        try {
+            long start = System.nanoTime();
+            compute(() -> passwordEncoder.encode("calibration"));
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            log.info("BCrypt coût {} : {} ms par hachage, ~{} connexions/s par cœur, {} fils de hachage",
+                    bcryptStrength, Math.round(millis), Math.round(1000 / millis), executor.getMaximumPoolSize());
+        } catch (RuntimeException e) {
+            log.warn("Calibrage du hachage impossible : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -5,49 +5,67 @@ import com.solidarlink.backend.enums.CasStatut;
 import com.solidarlink.backend.enums.Role;
 import com.solidarlink.backend.repository.CasHumanitaireRepository;
 import com.solidarlink.backend.repository.UserRepository;
-import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.spatial.CoverageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 public class PublicService {
 
     private final UserRepository userRepository;
     private final CasHumanitaireRepository casRepository;
+    private final CoverageService coverageService;
+
+    private static final int GROWTH_PERIOD_DAYS = 30;
+    private static final int MAX_COVERAGE_REGIONS = 100;
 
     public StatsDTOs.PublicStatsDTO getStats() {
         return StatsDTOs.PublicStatsDTO.builder()
-                .volunteers(userRepository.findByRole(Role.BENEVOLE).size())
-                .missions(casRepository.findByStatus(CasStatut.RESOLU).size())
-                .cities(5) // Mock data
+                .volunteers(userRepository.countByRole(Role.BENEVOLE))
+                .missions(casRepository.countResolus())
+                .cities(coverageService.summary().coveredRegions())
                 .build();
     }
 
     public StatsDTOs.ImpactStatsDTO getImpactStats() {
-        long activeVolunteers = userRepository.findByRole(Role.BENEVOLE).stream().filter(User::isValidated).count();
+        long activeVolunteers = userRepository.countByRoleAndIsValidatedTrue(Role.BENEVOLE);
         long completedMissions = casRepository.countResolus();
         long totalMissions = casRepository.count();
 
         double successRate = totalMissions > 0 ? ((double) completedMissions / totalMissions) * 100 : 0;
 
-        // Mocking growth and cities for now as they require more complex queries/data
-        double volunteerGrowth = 12.5;
-        long coveredCities = 8;
-
-        System.out.println("DEBUG IMPACT STATS -> Active Volunteers: " + activeVolunteers);
-        System.out.println("DEBUG IMPACT STATS -> Completed Missions: " + completedMissions);
-        System.out.println("DEBUG IMPACT STATS -> Total Missions: " + totalMissions);
-
         return StatsDTOs.ImpactStatsDTO.builder()
                 .activeVolunteers(activeVolunteers)
-                .volunteerGrowth(volunteerGrowth)
-                .coveredCities(coveredCities)
+                .volunteerGrowth(volunteerGrowth(activeVolunteers))
+                .coveredCities(coverageService.summary().coveredRegions())
                 .completedMissions(completedMissions)
                 .successRate(Math.round(successRate * 10.0) / 10.0)
                 .build();
     }
 
+    /**
+     * Progression (%) des bénévoles validés sur les {@value #GROWTH_PERIOD_DAYS} derniers jours.
+     */
+    private double volunteerGrowth(long activeVolunteers) {
+        long before = userRepository.countValidatedCreatedBefore(Role.BENEVOLE,
+                LocalDateTime.now().minusDays(GROWTH_PERIOD_DAYS));
+        if (before == 0) {
+            return 0;
+        }
+        double growth = ((double) (activeVolunteers - before) / before) * 100;
+        return Math.round(growth * 10.0) / 10.0;
+    }
+
+    public java.util.List<StatsDTOs.RegionCoverage> getCoverage(int limit) {
+        return coverageService.topRegions(Math.min(Math.max(limit, 1), MAX_COVERAGE_REGIONS)).stream()
+                .map(region -> new StatsDTOs.RegionCoverage(region.getCode(), region.getName(),
+                        region.getCases(), region.getActiveCases(), region.getResolvedCases()))
+                .toList();
+    }
+
     public java.util.List<com.solidarlink.backend.dto.CasHumanitaireDTO> getLatestResolvedCases() {
         return casRepository.findTop3ByStatusOrderByUpdatedAtDesc(CasStatut.RESOLU).stream()
                 .map(this::mapToDTO)
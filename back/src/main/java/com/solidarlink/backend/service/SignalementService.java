@@ -0,0 +1,142 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.CaseReportSummary;
+import com.solidarlink.backend.dto.SignalementDTOs;
+import com.solidarlink.backend.dto.SignalementListItem;
+import com.solidarlink.backend.entity.Signalement;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.exception.ConflictException;
+import com.solidarlink.backend.exception.ResourceNotFoundException;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CaseStatusRow;
+import com.solidarlink.backend.repository.SignalementRepository;
+import com.solidarlink.backend.workflow.CaseWorkflow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Signalements des cas et file de tri des modérateurs.
+ * <p>
+ * Un cas publié (VALIDE) signalé par {@code app.moderation.auto-hide-threshold} utilisateurs distincts
+ * repasse en modération (EN_ATTENTE) sans attendre un modérateur. Les cas EN_COURS restent publiés
+ * (un bénévole y est engagé) mais remontent en tête de la file.
+ */
+@Service
+@Slf4j
+public class SignalementService {
+
+    private final SignalementRepository signalementRepository;
+    private final CasHumanitaireRepository casRepository;
+    private final CaseWorkflow caseWorkflow;
+    private final int autoHideThreshold;
+
+    public SignalementService(SignalementRepository signalementRepository,
+                              CasHumanitaireRepository casRepository,
+                              CaseWorkflow caseWorkflow,
+                              @Value("${app.moderation.auto-hide-threshold:3}") int autoHideThreshold) {
+        this.signalementRepository = signalementRepository;
+        this.casRepository = casRepository;
+        this.caseWorkflow = caseWorkflow;
+        this.autoHideThreshold = autoHideThreshold;
+    }
+
+    // ========== SIGNALEMENT ==========
+
+    @Transactional
+    public void report(Long caseId, SignalementDTOs.ReportRequest request, User reporter) {
+        if (casRepository.findStatusRow(caseId).isEmpty()) {
+            throw new ResourceNotFoundException("Cas", "id", caseId);
+        }
+        if (signalementRepository.existsByCasIdAndReporterIdAndIsClosedFalse(caseId, reporter.getId())) {
+            throw alreadyReported();
+        }
+        try {
+            // Double envoi simultané : l'index unique partiel (V11) refuse le second signalement ouvert
+            signalementRepository.saveAndFlush(Signalement.builder()
+                    .cas(casRepository.getReferenceById(caseId))
+                    .reporter(reporter)
+                    .motif(request.motif())
+                    .description(request.description())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyReported();
+        }
+
+        // Compté sous le verrou du cas : le dernier de deux signalements simultanés voit l'autre
+        CaseStatusRow cas = casRepository.lockStatusRows(List.of(caseId)).get(0);
+        if (cas.status() == CasStatut.VALIDE && signalementRepository.countOpenReporters(caseId) >= autoHideThreshold) {
+            // Revalidation du statut par CaseWorkflow : deux signalements simultanés ne masquent qu'une fois
+            caseWorkflow.transition(caseId, CasStatut.EN_ATTENTE).ifPresent(change -> {
+                casRepository.setReportHiddenAt(caseId, LocalDateTime.now());
+                log.info("Cas {} retiré de la publication : {} signalants ou plus", caseId, autoHideThreshold);
+            });
+        }
+    }
+
+    private static ConflictException alreadyReported() {
+        return new ConflictException("Vous avez déjà signalé ce cas", "CASE_ALREADY_REPORTED");
+    }
+
+    // ========== TRI ==========
+
+    /**
+     * Cas signalés, les plus signalés en tête : une requête d'agrégation et une pour les derniers motifs de la page.
+     */
+    @Transactional(readOnly = true)
+    public Page<CaseReportSummary> triage(Pageable pageable) {
+        Page<CaseReportSummary> page = signalementRepository.findOpenCaseSummaries(pageable);
+        if (page.isEmpty()) {
+            return page;
+        }
+        Map<Long, String> motifs = new HashMap<>();
+        signalementRepository.findLatestOpenMotifs(page.map(CaseReportSummary::caseId).getContent())
+                .forEach(row -> motifs.putIfAbsent((Long) row[0], (String) row[1]));
+        List<CaseReportSummary> content = page.getContent().stream()
+                .map(summary -> summary.withLatestMotif(motifs.get(summary.caseId())))
+                .toList();
+        return new PageImpl<>(content, pageable, page.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SignalementListItem> openReportsOf(Long caseId, Pageable pageable) {
+        return signalementRepository.findOpenListItemsByCasId(caseId, pageable);
+    }
+
+    /**
+     * Clôt tous les signalements ouverts d'un cas selon la décision du modérateur.
+     *
+     * @return nombre de signalements clos
+     */
+    @Transactional
+    public int decide(Long caseId, SignalementDTOs.Decision decision) {
+        CaseStatusRow cas = casRepository.findStatusRow(caseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cas", "id", caseId));
+        int closed = signalementRepository.closeOpenByCasId(caseId);
+        boolean hidden = casRepository.findReportHiddenAt(caseId).isPresent();
+        switch (decision) {
+            case DISMISS -> {
+                // Seul un cas masqué par les signalements est republié ; une mise en attente manuelle est conservée
+                if (hidden && cas.status() == CasStatut.EN_ATTENTE) {
+                    caseWorkflow.transition(caseId, CasStatut.VALIDE);
+                }
+            }
+            case REJECT_CASE -> caseWorkflow.transition(caseId, CasStatut.REJETE);
+        }
+        if (hidden) {
+            casRepository.setReportHiddenAt(caseId, null);
+        }
+        return closed;
+    }
+}
@@ -2,9 +2,9 @@ package com.solidarlink.backend.service;
 
 import com.solidarlink.backend.dto.UserProfileDTO;
 import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.exception.ConflictException;
 import com.solidarlink.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -17,7 +17,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final AuthService authService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
 
     public UserProfileDTO getProfile(User user) {
         return UserProfileDTO.builder()
@@ -42,16 +42,36 @@ public class UserService {
         return getProfile(user);
     }
 
+    /**
+     * Les deux calculs BCrypt passent avant tout accès à la base : l'attente sur le pool de hachage
+     * ne retient ni transaction ni connexion. L'écriture est une mise à jour conditionnelle sur
+     * l'ancien hachage, qui refuse un mot de passe changé entre-temps (autre session, re-hachage).
+     */
     public void changePassword(User user, Map<String, String> request) {
         String currentPassword = request.get("currentPassword");
         String newPassword = request.get("newPassword");
+        String currentHash = user.getPassword();
 
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashing.matches(currentPassword, currentHash)) {
             throw new RuntimeException("Invalid current password");
         }
+        String newHash = passwordHashing.encode(newPassword);
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        if (userRepository.updatePasswordHash(user.getId(), currentHash, newHash) == 0) {
+            throw new ConflictException("Le mot de passe a été modifié entre-temps", "PASSWORD_CHANGED");
+        }
+        user.setPassword(newHash);
+    }
+
+    /**
+     * Pièce d'identité envoyée juste après l'inscription, avec le jeton renvoyé par celle-ci.
+     */
+    public String uploadDocument(User user, MultipartFile file, String documentType) throws IOException {
+        String filename = authService.saveFile(file);
+        user.setDocumentUrl(filename);
+        user.setDocumentType(documentType);
         userRepository.save(user);
+        return filename;
     }
 
     public String uploadAvatar(User user, MultipartFile file) throws IOException {
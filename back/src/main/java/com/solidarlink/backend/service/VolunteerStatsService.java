@@ -0,0 +1,167 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.entity.VolunteerStats;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.repository.VolunteerStatsRepository;
+import com.solidarlink.backend.workflow.CaseStatusChange;
+import com.solidarlink.backend.workflow.CaseTransitionHook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistiques des bénévoles (tableau de bord) : agrégat {@link VolunteerStats} mis à jour à chaque
+ * transition de statut, lu au travers d'un cache mémoire.
+ * <p>
+ * Les compteurs suivent l'historique : chaque cas pris en charge ou sur lequel le bénévole a proposé
+ * une intervention compte une fois, chaque cas résolu sous sa responsabilité une mission ; un cas rouvert
+ * perd sa mission, un cas remis à disposition sans intervention proposée ne compte plus.
+ * Après chaque transition, les bénévoles concernés sont recalculés avec la même règle que le recalcul
+ * complet ({@link #rebuild()}), après commit et dans leur propre transaction ; une erreur n'affecte
+ * jamais la transition.
+ */
+@Service
+@Slf4j
+public class VolunteerStatsService implements CaseTransitionHook {
+
+    public record Stats(int interventions, int missionsCompleted, int hoursVolunteered) {
+    }
+
+    private record Cached(Stats stats, long loadedAt) {
+    }
+
+    private final VolunteerStatsRepository statsRepository;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int hoursPerMission;
+    private final long cacheTtlMs;
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    public VolunteerStatsService(VolunteerStatsRepository statsRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.volunteer-stats.hours-per-mission:2}") int hoursPerMission,
+                                 @Value("${app.volunteer-stats.cache-ttl-ms:60000}") long cacheTtlMs) {
+        this.statsRepository = statsRepository;
+        this.hoursPerMission = hoursPerMission;
+        this.cacheTtlMs = cacheTtlMs;
+        // Après commit : transaction propre, indépendante de celle (terminée) de la transition
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    // ========== LECTURE ==========
+
+    /**
+     * Statistiques d'un bénévole : aucune requête tant que l'entrée du cache est récente
+     * (les transitions traitées par cette instance l'invalident immédiatement).
+     */
+    public Stats statsOf(Long volunteerId) {
+        Cached cached = cache.get(volunteerId);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.loadedAt() < cacheTtlMs) {
+            return cached.stats();
+        }
+        Stats stats = readTransaction.execute(status -> statsRepository.findById(volunteerId)
+                .map(row -> toStats(row.getInterventions(), row.getMissionsCompleted()))
+                .orElseGet(() -> toStats(0, 0)));
+        cache.put(volunteerId, new Cached(stats, now));
+        return stats;
+    }
+
+    /**
+     * Les heures ne sont pas saisies : estimation forfaitaire par mission menée à terme.
+     */
+    private Stats toStats(int interventions, int missionsCompleted) {
+        return new Stats(interventions, missionsCompleted, missionsCompleted * hoursPerMission);
+    }
+
+    // ========== ALIMENTATION ==========
+
+    /**
+     * Les bénévoles concernés sont recalculés après commit selon la règle du recalcul complet
+     * ({@link VolunteerStatsRepository#ACTIVITY}) : pas d'incrément qui diverge de l'historique
+     * quand un cas est repris ou remis à disposition.
+     */
+    @Override
+    public void afterTransition(CasStatut to, List<CaseStatusChange> changes) {
+        Set<Long> volunteerIds = new HashSet<>();
+        for (CaseStatusChange change : changes) {
+            if (change.volunteerId() != null) {
+                volunteerIds.add(change.volunteerId());
+            }
+        }
+        if (volunteerIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(volunteerIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(volunteerIds);
+            }
+        });
+    }
+
+    private void refresh(Set<Long> volunteerIds) {
+        try {
+            writeTransaction.executeWithoutResult(status -> statsRepository.refreshFromHistory(volunteerIds));
+        } catch (RuntimeException e) {
+            // Les statistiques ne doivent jamais faire échouer l'opération métier, déjà validée
+            log.error("Statistiques de {} bénévoles non mises à jour", volunteerIds.size(), e);
+        } finally {
+            volunteerIds.forEach(cache::remove);
+        }
+    }
+
+    // ========== RECALCUL ==========
+
+    /**
+     * Premier démarrage : l'agrégat est construit depuis l'historique.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (statsRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Reprise des statistiques des bénévoles impossible", e);
+        }
+    }
+
+    /**
+     * Recalcule tout l'agrégat depuis les interventions et les cas, en une instruction.
+     *
+     * @return nombre de bénévoles ayant une activité
+     */
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        Integer volunteers = writeTransaction.execute(status -> {
+            statsRepository.lockForRebuild();
+            statsRepository.deleteAllRows();
+            return statsRepository.insertFromHistory();
+        });
+        cache.clear();
+        log.info("Statistiques des bénévoles recalculées : {} bénévoles en {} ms",
+                volunteers, System.currentTimeMillis() - start);
+        return volunteers != null ? volunteers : 0;
+    }
+}
@@ -0,0 +1,237 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Index spatial en mémoire des cas actifs (VALIDE / EN_COURS), interrogé par les cartes
+ * à la place de PostGIS. Tant qu'il n'est pas chargé, {@link #isReady()} renvoie false et
+ * les appelants doivent interroger la base.
+ * Le Quadtree JTS accepte insertions et suppressions unitaires, contrairement au STRtree.
+ */
+@Component
+public class ActiveCaseIndex {
+
+    public static final Set<CasStatut> INDEXED_STATUSES = EnumSet.of(CasStatut.VALIDE, CasStatut.EN_COURS);
+
+    // Rayon moyen de WGS84 ((2a + b) / 3), celui de PostGIS pour les calculs sphériques
+    private static final double EARTH_RADIUS_METERS = 6_371_008.7714;
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    public static final Comparator<CaseMapItem> NEWEST_FIRST = Comparator
+            .comparing(CaseMapItem::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(CaseMapItem::id, Comparator.reverseOrder());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Quadtree tree = new Quadtree();
+    private Map<Long, CaseMapItem> byId = new HashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * L'index peut répondre seul si tous les statuts demandés y sont présents.
+     */
+    public boolean covers(Set<CasStatut> statuses) {
+        return statuses != null && !statuses.isEmpty() && INDEXED_STATUSES.containsAll(statuses);
+    }
+
+    /**
+     * Remplace tout le contenu (chargement initial ou resynchronisation).
+     */
+    public void replaceAll(Collection<CaseMapItem> items) {
+        Quadtree newTree = new Quadtree();
+        Map<Long, CaseMapItem> newById = new HashMap<>();
+        for (CaseMapItem item : items) {
+            if (INDEXED_STATUSES.contains(item.status())) {
+                newById.put(item.id(), item);
+                newTree.insert(envelopeOf(item), item);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            tree = newTree;
+            byId = newById;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insère ou remplace un cas ; un cas qui n'est plus actif est retiré.
+     */
+    public void upsert(CaseMapItem item) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(item.id());
+            if (INDEXED_STATUSES.contains(item.status())) {
+                byId.put(item.id(), item);
+                tree.insert(envelopeOf(item), item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Les résultats sont triés du plus récent au plus ancien.
+     */
+    public List<CaseMapItem> findInViewport(BoundingBox viewport, Set<CasStatut> statuses,
+                                            Set<CasCategorie> categories) {
+        List<CaseMapItem> result = candidates(viewport, matches(statuses, categories));
+        // Le Quadtree renvoie des candidats approximatifs : filtre exact sur l'emprise
+        result.removeIf(item -> !viewport.contains(item.longitude(), item.latitude()));
+        result.sort(NEWEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Même contrat que la recherche de proximité en base : tri par (distance, id) croissants,
+     * reprise après le curseur (afterDistance, afterId).
+     */
+    public List<CaseSearchDTOs.NearbyHit> findNearby(double latitude, double longitude, double radiusMeters,
+                                                     Set<CasStatut> statuses, Set<CasCategorie> categories,
+                                                     Double afterDistance, Long afterId, int limit) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double lonDelta = radiusMeters / (METERS_PER_DEGREE * cosLat);
+        BoundingBox box = new BoundingBox(
+                longitude - lonDelta, Math.max(latitude - latDelta, -90),
+                longitude + lonDelta, Math.min(latitude + latDelta, 90));
+
+        List<CaseSearchDTOs.NearbyHit> hits = new ArrayList<>();
+        for (CaseMapItem item : candidates(box, matches(statuses, categories))) {
+            double distance = distanceMeters(latitude, longitude, item.latitude(), item.longitude());
+            if (distance > radiusMeters || !isAfter(distance, item.id(), afterDistance, afterId)) {
+                continue;
+            }
+            hits.add(CaseSearchDTOs.NearbyHit.builder()
+                    .id(item.id())
+                    .titre(item.titre())
+                    .categorie(item.categorie())
+                    .statut(item.status())
+                    .latitude(item.latitude())
+                    .longitude(item.longitude())
+                    .createdAt(item.createdAt())
+                    .distanceMeters(distance)
+                    .build());
+        }
+        hits.sort(Comparator.comparingDouble(CaseSearchDTOs.NearbyHit::getDistanceMeters)
+                .thenComparing(CaseSearchDTOs.NearbyHit::getId));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Date de modification la plus récente connue, comparée à la base lors des contrôles de cohérence.
+     */
+    public Optional<LocalDateTime> latestUpdate() {
+        lock.readLock().lock();
+        try {
+            return byId.values().stream()
+                    .map(CaseMapItem::updatedAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<CaseMapItem> candidates(BoundingBox box, Predicate<CaseMapItem> filter) {
+        Envelope envelope = new Envelope(box.minLon(), box.maxLon(), box.minLat(), box.maxLat());
+        List<CaseMapItem> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Object candidate : tree.query(envelope)) {
+                CaseMapItem item = (CaseMapItem) candidate;
+                if (filter.test(item)) {
+                    result.add(item);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void removeLocked(Long id) {
+        CaseMapItem previous = byId.remove(id);
+        if (previous != null) {
+            tree.remove(envelopeOf(previous), previous);
+        }
+    }
+
+    private static Predicate<CaseMapItem> matches(Set<CasStatut> statuses, Set<CasCategorie> categories) {
+        return item -> (statuses == null || statuses.isEmpty() || statuses.contains(item.status()))
+                && (categories == null || categories.isEmpty() || categories.contains(item.categorie()));
+    }
+
+    private static boolean isAfter(double distance, Long id, Double afterDistance, Long afterId) {
+        if (afterDistance == null || afterId == null) {
+            return true;
+        }
+        int cmp = Double.compare(distance, afterDistance);
+        return cmp > 0 || (cmp == 0 && id > afterId);
+    }
+
+    private static Envelope envelopeOf(CaseMapItem item) {
+        return new Envelope(new Coordinate(item.longitude(), item.latitude()));
+    }
+
+    /**
+     * Distance sur la sphère, la même que côté base : l'opérateur {@code <->} sur geography, et
+     * {@code ST_DWithin(..., false)}, calculent sur la sphère de même rayon, pas sur l'ellipsoïde.
+     * Les deux chemins ne diffèrent que par l'arrondi (moins d'un millimètre), si bien qu'un curseur
+     * (distance, id) émis par l'un reste valable pour l'autre.
+     */
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
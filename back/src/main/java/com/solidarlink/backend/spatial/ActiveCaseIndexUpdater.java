@@ -0,0 +1,197 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.service.CaseCollectionVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Alimente {@link ActiveCaseIndex} : chargement complet au démarrage, mise à jour incrémentale
+ * sur les {@link CaseLifecycleEvent} après commit, et contrôle de cohérence périodique avec la base.
+ * <p>
+ * Pendant un chargement complet, les événements reçus sont mis de côté puis rejoués une fois l'instantané
+ * installé : une modification validée entre la lecture de l'instantané et son installation n'est pas perdue.
+ * Les cas sans position ne sont pas indexés.
+ */
+@Component
+@Slf4j
+public class ActiveCaseIndexUpdater {
+
+    private final ActiveCaseIndex index;
+    private final CasHumanitaireRepository casRepository;
+    private final CaseCollectionVersion collectionVersion;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+    private volatile boolean stale;
+
+    // Protège l'index pendant ses mises à jour, les événements mis de côté et le numéro de chargement
+    private final Object lock = new Object();
+    // Non nul pendant un chargement complet
+    private List<CaseLifecycleEvent> deferred;
+    private long generation;
+
+    public ActiveCaseIndexUpdater(ActiveCaseIndex index,
+                                  CasHumanitaireRepository casRepository,
+                                  CaseCollectionVersion collectionVersion,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.spatial-index.enabled:true}") boolean enabled) {
+        this.index = index;
+        this.casRepository = casRepository;
+        this.collectionVersion = collectionVersion;
+        this.enabled = enabled;
+        // Transaction dédiée : après commit, le contexte de persistance de la requête d'origine
+        // contient encore l'entité modifiée et ses collections non chargées
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        synchronized (lock) {
+            deferred = new ArrayList<>();
+        }
+        List<CaseLifecycleEvent> replay;
+        long replayGeneration;
+        try {
+            long start = System.currentTimeMillis();
+            List<CaseMapItem> items = readTransaction.execute(status -> toItems(
+                    casRepository.findForMapByStatusIn(ActiveCaseIndex.INDEXED_STATUSES)));
+            synchronized (lock) {
+                index.replaceAll(items);
+                replay = deferred;
+                replayGeneration = ++generation;
+                deferred = null;
+            }
+            stale = false;
+            log.info("Index spatial chargé : {} cas actifs en {} ms, {} événements rejoués",
+                    index.size(), System.currentTimeMillis() - start, replay.size());
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                deferred = null;
+            }
+            stale = true;
+            log.error("Chargement de l'index spatial impossible, les cartes interrogent la base", e);
+            return;
+        }
+        // Relus après l'instantané : l'état rejoué est au moins aussi récent que celui chargé
+        replay.forEach(event -> apply(event, replayGeneration));
+    }
+
+    // Le plus tôt possible après le commit : la version de la collection (en base) est déjà visible,
+    // l'index doit la rattraper avant que d'autres lectures ne le servent
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCaseLifecycle(CaseLifecycleEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long seen;
+        synchronized (lock) {
+            if (deferred != null) {
+                deferred.add(event);
+                return;
+            }
+            if (!index.isReady()) {
+                return;
+            }
+            seen = generation;
+        }
+        apply(event, seen);
+    }
+
+    /**
+     * @param seen numéro du chargement complet sur lequel l'événement s'applique
+     */
+    private void apply(CaseLifecycleEvent event, long seen) {
+        try {
+            List<CaseMapItem> items = event.type() == CaseLifecycleEvent.Type.DELETED
+                    ? List.of()
+                    : readTransaction.execute(status -> toItems(casRepository.findForMapByIdIn(event.caseIds())));
+            synchronized (lock) {
+                if (deferred != null) {
+                    // Lu avant l'instantané en cours : rejoué après son installation
+                    deferred.add(event);
+                    return;
+                }
+                if (generation == seen) {
+                    Set<Long> missing = new HashSet<>(event.caseIds());
+                    for (CaseMapItem item : items) {
+                        index.upsert(item);
+                        missing.remove(item.id());
+                    }
+                    missing.forEach(index::remove);
+                    return;
+                }
+                seen = generation;
+            }
+            // Un chargement complet s'est terminé pendant la lecture : relire plutôt qu'écraser l'instantané
+            apply(event, seen);
+        } catch (RuntimeException e) {
+            // L'index n'est plus fiable : il sera rechargé au prochain contrôle
+            stale = true;
+            log.warn("Mise à jour de l'index spatial échouée pour {} : {}", event, e.getMessage());
+        }
+    }
+
+    /**
+     * Compare le nombre de cas actifs et la dernière date de modification avec la base ;
+     * recharge entièrement l'index en cas d'écart (événement perdu, écriture hors application).
+     */
+    @Scheduled(fixedDelayString = "${app.spatial-index.check-interval-ms:300000}",
+            initialDelayString = "${app.spatial-index.check-interval-ms:300000}")
+    public void checkConsistency() {
+        if (!enabled) {
+            return;
+        }
+        if (stale || !index.isReady()) {
+            reload();
+            return;
+        }
+        long dbCount = casRepository.countByStatusIn(ActiveCaseIndex.INDEXED_STATUSES);
+        LocalDateTime dbLatest = casRepository.findLatestUpdateByStatusIn(ActiveCaseIndex.INDEXED_STATUSES);
+        LocalDateTime indexLatest = index.latestUpdate().orElse(null);
+        if (dbCount != index.size() || !Objects.equals(dbLatest, indexLatest)) {
+            log.warn("Index spatial désynchronisé (base : {} cas / {}, index : {} cas / {}), rechargement",
+                    dbCount, dbLatest, index.size(), indexLatest);
+            reload();
+            // Des cartes ont pu être servies par l'index désynchronisé sous une version déjà à jour
+            collectionVersion.bump();
+        }
+    }
+
+    private static List<CaseMapItem> toItems(List<CasHumanitaire> cases) {
+        // Sans position, un cas serait placé en (0, 0) : il ne figure que dans les listes
+        return cases.stream()
+                .filter(cas -> cas.getLocation() != null)
+                .map(CaseMapItem::from)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,151 @@
+package com.solidarlink.backend.spatial;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.repository.AdminBoundaryRepository;
+import com.solidarlink.backend.scheduler.ClusterLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Charge les limites administratives depuis un fichier GeoJSON local (export GADM, OpenStreetMap, ...)
+ * au démarrage, si la table est vide, par une seule instance à la fois. Le fichier est lu entité par
+ * entité et les géométries sont converties par PostGIS.
+ * <p>
+ * Pour un jeu volumineux, préférer un chargement direct (ogr2ogr vers la table admin_boundary).
+ */
+@Component
+@Slf4j
+public class BoundaryLoader {
+
+    static final String LOCK = "boundary-load";
+
+    private static final int BATCH_SIZE = 200;
+
+    private final AdminBoundaryRepository boundaryRepository;
+    private final CoverageService coverageService;
+    private final ClusterLock clusterLock;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final String location;
+    private final String codeProperty;
+    private final String nameProperty;
+
+    public BoundaryLoader(AdminBoundaryRepository boundaryRepository,
+                          CoverageService coverageService,
+                          ClusterLock clusterLock,
+                          ResourceLoader resourceLoader,
+                          ObjectMapper objectMapper,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.coverage.boundaries.location:}") String location,
+                          @Value("${app.coverage.boundaries.code-property:code}") String codeProperty,
+                          @Value("${app.coverage.boundaries.name-property:name}") String nameProperty) {
+        this.boundaryRepository = boundaryRepository;
+        this.coverageService = coverageService;
+        this.clusterLock = clusterLock;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.location = location;
+        this.codeProperty = codeProperty;
+        this.nameProperty = nameProperty;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (location.isBlank()) {
+            return;
+        }
+        try {
+            // Les instances démarrées ensemble : une seule charge, les autres trouvent la table remplie
+            clusterLock.runExclusively(LOCK, this::loadIfEmpty);
+        } catch (RuntimeException e) {
+            log.error("Chargement des limites administratives impossible ({})", location, e);
+        }
+    }
+
+    private void loadIfEmpty() {
+        if (boundaryRepository.count() > 0) {
+            return;
+        }
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            long start = System.currentTimeMillis();
+            int loaded = load(in);
+            log.info("{} limites administratives chargées depuis {} en {} ms",
+                    loaded, location, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        coverageService.refresh();
+    }
+
+    int load(InputStream in) throws IOException {
+        int loaded = 0;
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            seekFeatures(parser);
+            List<JsonNode> batch = new ArrayList<>(BATCH_SIZE);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(parser.readValueAsTree());
+                if (batch.size() == BATCH_SIZE) {
+                    loaded += insert(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                loaded += insert(batch);
+            }
+        }
+        return loaded;
+    }
+
+    private int insert(List<JsonNode> features) {
+        return transaction.execute(status -> {
+            int inserted = 0;
+            for (JsonNode feature : features) {
+                JsonNode properties = feature.path("properties");
+                JsonNode geometry = feature.path("geometry");
+                String type = geometry.path("type").asText();
+                String code = properties.path(codeProperty).asText(null);
+                if (code == null || !(type.equals("Polygon") || type.equals("MultiPolygon"))) {
+                    log.warn("Limite ignorée (code {} / géométrie {})", code, type);
+                    continue;
+                }
+                inserted += boundaryRepository.insertFromGeoJson(
+                        code, properties.path(nameProperty).asText(code), geometry.toString());
+            }
+            return inserted;
+        });
+    }
+
+    private static void seekFeatures(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("GeoJSON : un objet FeatureCollection est attendu");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("features".equals(name) && value == JsonToken.START_ARRAY) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("GeoJSON : tableau 'features' introuvable");
+    }
+}
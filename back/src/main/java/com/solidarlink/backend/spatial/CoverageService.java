@@ -0,0 +1,125 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.entity.BoundaryCoverage;
+import com.solidarlink.backend.repository.AdminBoundaryRepository;
+import com.solidarlink.backend.repository.BoundaryCoverageRepository;
+import com.solidarlink.backend.scheduler.ClusterLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Couverture géographique : nombre de limites administratives (communes, ...) contenant des cas publiés.
+ * <p>
+ * La jointure spatiale cas × limites est recalculée périodiquement dans {@code boundary_coverage},
+ * par une seule instance à la fois ; les statistiques publiques lisent un résumé gardé en mémoire,
+ * sans requête SQL.
+ */
+@Service
+@Slf4j
+public class CoverageService {
+
+    /**
+     * @param coveredRegions           limites contenant au moins un cas publié
+     * @param regionsWithResolvedCases limites contenant au moins un cas résolu
+     * @param computedAt               date du dernier calcul, null si aucune limite n'est chargée
+     */
+    public record Summary(long coveredRegions, long regionsWithResolvedCases, LocalDateTime computedAt) {
+    }
+
+    static final String LOCK = "coverage-refresh";
+
+    private static final Summary EMPTY = new Summary(0, 0, null);
+
+    private final BoundaryCoverageRepository coverageRepository;
+    private final AdminBoundaryRepository boundaryRepository;
+    private final ClusterLock clusterLock;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private volatile Summary summary;
+
+    public CoverageService(BoundaryCoverageRepository coverageRepository,
+                           AdminBoundaryRepository boundaryRepository,
+                           ClusterLock clusterLock,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.coverage.enabled:true}") boolean enabled) {
+        this.coverageRepository = coverageRepository;
+        this.boundaryRepository = boundaryRepository;
+        this.clusterLock = clusterLock;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Recalcul complet sous {@link ClusterLock} (une instance à la fois, sans suppressions et insertions
+     * concurrentes), dans une seule transaction : les lecteurs voient l'ancienne couverture jusqu'au commit.
+     * Chaque instance relit ensuite le résumé ; celle qui n'a pas obtenu le verrou verra le nouveau
+     * calcul au passage suivant.
+     */
+    @Scheduled(fixedDelayString = "${app.coverage.refresh-interval-ms:3600000}",
+            initialDelayString = "${app.coverage.initial-delay-ms:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!clusterLock.runExclusively(LOCK, this::recompute)) {
+                log.debug("Couverture géographique en cours de recalcul sur une autre instance");
+            }
+            summary = readSummary();
+        } catch (RuntimeException e) {
+            // L'ancienne couverture reste servie
+            log.error("Recalcul de la couverture géographique impossible", e);
+        }
+    }
+
+    private void recompute() {
+        long start = System.currentTimeMillis();
+        Integer regions = transaction.execute(status -> {
+            if (boundaryRepository.count() == 0) {
+                return null;
+            }
+            coverageRepository.deleteAllRows();
+            return coverageRepository.insertComputedCoverage();
+        });
+        if (regions == null) {
+            log.debug("Couverture géographique non calculée : aucune limite administrative chargée");
+            return;
+        }
+        log.info("Couverture géographique recalculée : {} limites couvertes en {} ms",
+                regions, System.currentTimeMillis() - start);
+    }
+
+    public Summary summary() {
+        Summary current = summary;
+        if (current == null) {
+            // Premier accès après démarrage : dernier calcul persistant, sans jointure spatiale
+            current = readSummary();
+            summary = current;
+        }
+        return current;
+    }
+
+    public List<BoundaryCoverage> topRegions(int limit) {
+        return coverageRepository.findAllByOrderByCasesDescNameAsc(PageRequest.of(0, limit));
+    }
+
+    private Summary readSummary() {
+        return transaction.execute(status -> {
+            long covered = coverageRepository.count();
+            if (covered == 0) {
+                return EMPTY;
+            }
+            LocalDateTime computedAt = coverageRepository.findAllByOrderByCasesDescNameAsc(PageRequest.of(0, 1))
+                    .get(0).getComputedAt();
+            return new Summary(covered, coverageRepository.countWithResolvedCases(), computedAt);
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.solidarlink.backend.spatial;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Fabrique de géométries partagée (WGS84, SRID 4326). GeometryFactory est sans état modifiable :
+ * une seule instance sert toute l'application.
+ */
+public final class Geometries {
+
+    public static final int SRID = 4326;
+
+    public static final GeometryFactory FACTORY = new GeometryFactory(new PrecisionModel(), SRID);
+
+    private Geometries() {
+    }
+
+    public static Point point(double longitude, double latitude) {
+        return FACTORY.createPoint(new Coordinate(longitude, latitude));
+    }
+}
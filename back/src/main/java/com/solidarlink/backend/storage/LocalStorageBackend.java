@@ -0,0 +1,72 @@
+package com.solidarlink.backend.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Stockage sur le disque local du nœud (comportement historique, dossier "uploads").
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+
+    private final Path rootLocation;
+
+    public LocalStorageBackend(@Value("${app.storage.local.root:uploads}") String root) {
+        this.rootLocation = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        if (!Files.exists(rootLocation)) {
+            Files.createDirectories(rootLocation);
+        }
+        Files.copy(content, resolve(key));
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        Path file = resolve(key);
+        if (!Files.isReadable(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(file));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<PresignedUrl> presignUpload(String key, String contentType, long contentLength) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<URI> presignDownload(String key) {
+        return Optional.empty();
+    }
+
+    private Path resolve(String key) {
+        Path file = rootLocation.resolve(key).normalize();
+        // Empêche la sortie du dossier racine via des clés du type "../.."
+        if (!file.startsWith(rootLocation)) {
+            throw new IllegalArgumentException("Clé de fichier invalide : " + key);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,11 @@
+package com.solidarlink.backend.storage;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * URL pré-signée et en-têtes que le client doit renvoyer tels quels au stockage.
+ */
+public record PresignedUrl(URI url, String method, Map<String, String> headers, Instant expiresAt) {
+}
@@ -0,0 +1,157 @@
+package com.solidarlink.backend.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Stockage objet compatible S3 (AWS S3, MinIO, ...). Les clients envoient et téléchargent
+ * les fichiers directement via des URLs pré-signées : les octets ne transitent plus par la JVM.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend, DisposableBean {
+
+    private final S3Client client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Duration presignTtl;
+
+    public S3StorageBackend(
+            @Value("${app.storage.s3.endpoint:}") String endpoint,
+            @Value("${app.storage.s3.region:eu-west-3}") String region,
+            @Value("${app.storage.s3.bucket}") String bucket,
+            @Value("${app.storage.s3.access-key}") String accessKey,
+            @Value("${app.storage.s3.secret-key}") String secretKey,
+            @Value("${app.storage.s3.path-style:true}") boolean pathStyle,
+            @Value("${app.storage.s3.presign-ttl:PT15M}") Duration presignTtl) {
+        StaticCredentialsProvider credentials = StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration s3Config = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyle)
+                .build();
+
+        var clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Config);
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(s3Config);
+        // Endpoint personnalisé pour MinIO ou tout autre stockage S3-compatible
+        if (endpoint != null && !endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.client = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+        this.bucket = bucket;
+        this.presignTtl = presignTtl;
+        log.info("S3 storage backend initialised - bucket: {}, endpoint: {}", bucket,
+                endpoint == null || endpoint.isBlank() ? "AWS" : endpoint);
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build();
+        try {
+            client.putObject(request, RequestBody.fromInputStream(content, size));
+        } catch (SdkException e) {
+            throw new IOException("Échec de l'envoi du fichier vers le stockage S3 : " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<Resource> load(String key) {
+        // Les fichiers sont servis par redirection vers une URL pré-signée
+        return Optional.empty();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (SdkException e) {
+            throw new IOException("Échec de la suppression du fichier S3 : " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<PresignedUrl> presignUpload(String key, String contentType, long contentLength) {
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(builder -> builder
+                .signatureDuration(presignTtl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(contentLength)
+                        .build()));
+
+        // Le client doit renvoyer exactement les en-têtes signés (dont Content-Type et Content-Length)
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!"host".equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        return Optional.of(new PresignedUrl(
+                toUri(presigned.url()),
+                presigned.httpRequest().method().name(),
+                headers,
+                presigned.expiration()));
+    }
+
+    @Override
+    public Optional<URI> presignDownload(String key) {
+        PresignedGetObjectRequest presigned = presigner.presignGetObject(builder -> builder
+                .signatureDuration(presignTtl)
+                .getObjectRequest(GetObjectRequest.builder().bucket(bucket).key(key).build()));
+        return Optional.of(toUri(presigned.url()));
+    }
+
+    @Override
+    public void destroy() {
+        presigner.close();
+        client.close();
+    }
+
+    private static URI toUri(java.net.URL url) {
+        try {
+            return url.toURI();
+        } catch (java.net.URISyntaxException e) {
+            throw new IllegalStateException("URL pré-signée invalide : " + url, e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.solidarlink.backend.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Abstraction du stockage des fichiers uploadés (photos, pièces d'identité, avatars).
+ * L'implémentation est choisie via la propriété {@code app.storage.type} (local | s3).
+ */
+public interface StorageBackend {
+
+    /**
+     * Enregistre le contenu sous la clé donnée.
+     */
+    void store(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * Charge le fichier pour le servir via l'application (stockage local uniquement).
+     */
+    Optional<Resource> load(String key);
+
+    void delete(String key) throws IOException;
+
+    /**
+     * URL pré-signée permettant au client d'envoyer le fichier directement au stockage.
+     * La taille fait partie de la signature : un envoi d'une autre taille est refusé par le stockage.
+     * Vide si le backend ne supporte pas l'upload direct.
+     */
+    Optional<PresignedUrl> presignUpload(String key, String contentType, long contentLength);
+
+    /**
+     * URL pré-signée de téléchargement direct. Vide si le fichier doit être servi par l'application.
+     */
+    Optional<URI> presignDownload(String key);
+}
@@ -0,0 +1,18 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+/**
+ * Changement de statut appliqué à un cas, transmis aux {@link CaseTransitionHook}.
+ *
+ * @param volunteerId bénévole concerné : celui qui prend le cas (EN_COURS), ou celui qui y était
+ *                    affecté avant la transition (résolution, libération, ...) ; null s'il n'y en a pas
+ */
+public record CaseStatusChange(
+        Long caseId,
+        CasStatut from,
+        CasStatut to,
+        String titre,
+        Long authorId,
+        Long volunteerId) {
+}
@@ -0,0 +1,17 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.util.List;
+
+/**
+ * Effet de bord d'un changement de statut (notifications, points, ...). Les beans qui implémentent
+ * cette interface sont appelés par {@link CaseWorkflow} dans la transaction, après l'écriture,
+ * une fois par statut cible : une transition en masse de 500 cas donne un seul appel.
+ * Les écritures en base suivent la transaction ; les effets externes (notifications, caches)
+ * s'enregistrent pour {@code afterCommit}.
+ */
+public interface CaseTransitionHook {
+
+    void afterTransition(CasStatut to, List<CaseStatusChange> changes);
+}
@@ -0,0 +1,61 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.enums.CasStatut;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.solidarlink.backend.enums.CasStatut.EN_ATTENTE;
+import static com.solidarlink.backend.enums.CasStatut.EN_COURS;
+import static com.solidarlink.backend.enums.CasStatut.REJETE;
+import static com.solidarlink.backend.enums.CasStatut.RESOLU;
+import static com.solidarlink.backend.enums.CasStatut.VALIDE;
+
+/**
+ * Transitions de statut autorisées pour un cas. {@link CaseWorkflow} refuse toute autre transition.
+ */
+public final class CaseTransitions {
+
+    private static final Map<CasStatut, Set<CasStatut>> ALLOWED = new EnumMap<>(CasStatut.class);
+
+    static {
+        allow(EN_ATTENTE, VALIDE, REJETE, RESOLU);
+        allow(VALIDE, EN_ATTENTE, EN_COURS, RESOLU, REJETE);
+        allow(EN_COURS, VALIDE, RESOLU, REJETE);
+        allow(RESOLU, VALIDE, EN_COURS);
+        allow(REJETE, EN_ATTENTE, VALIDE);
+    }
+
+    private CaseTransitions() {
+    }
+
+    private static void allow(CasStatut from, CasStatut first, CasStatut... others) {
+        ALLOWED.put(from, Collections.unmodifiableSet(EnumSet.of(first, others)));
+    }
+
+    public static boolean isAllowed(CasStatut from, CasStatut to) {
+        return ALLOWED.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    public static Set<CasStatut> targetsOf(CasStatut from) {
+        return ALLOWED.getOrDefault(from, Set.of());
+    }
+
+    /**
+     * Statut réellement appliqué : un cas ne peut être EN_COURS sans bénévole, il est alors
+     * publié (VALIDE) pour qu'un bénévole puisse le prendre en charge.
+     */
+    public static CasStatut effectiveTarget(CasStatut requested, boolean hasVolunteer) {
+        return requested == EN_COURS && !hasVolunteer ? VALIDE : requested;
+    }
+
+    /**
+     * Un cas qui redevient disponible (VALIDE) ou repasse en modération (EN_ATTENTE) n'a plus de bénévole.
+     */
+    public static boolean releasesVolunteer(CasStatut to) {
+        return to == VALIDE || to == EN_ATTENTE;
+    }
+}
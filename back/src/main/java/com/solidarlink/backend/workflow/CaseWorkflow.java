@@ -0,0 +1,164 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.dto.CaseStatusDTOs;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.exception.ConflictException;
+import com.solidarlink.backend.exception.ResourceNotFoundException;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CaseStatusRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Point de passage unique des changements de statut d'un cas : valide la transition
+ * ({@link CaseTransitions}), l'écrit, puis déclenche les {@link CaseTransitionHook} et
+ * l'événement {@link CaseLifecycleEvent}.
+ * <p>
+ * Les cas sont verrouillés puis mis à jour par lots : une instruction UPDATE par statut cible
+ * et par tranche de {@value #BATCH_SIZE} cas, quel que soit leur nombre.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CaseWorkflow {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final CasHumanitaireRepository casRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<CaseTransitionHook> hooks;
+
+    /**
+     * Change le statut d'un cas.
+     *
+     * @return le changement appliqué, vide si le cas était déjà dans ce statut
+     * @throws ConflictException si la transition n'est pas autorisée depuis le statut actuel
+     */
+    @Transactional
+    public Optional<CaseStatusChange> transition(Long caseId, CasStatut target) {
+        CaseStatusRow row = casRepository.lockStatusRows(List.of(caseId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Cas", "id", caseId));
+
+        CasStatut effective = CaseTransitions.effectiveTarget(target, row.volunteerId() != null);
+        if (row.status() == effective) {
+            return Optional.empty();
+        }
+        if (!CaseTransitions.isAllowed(row.status(), effective)) {
+            throw new ConflictException(
+                    String.format("Transition de statut non autorisée : %s → %s", row.status(), effective),
+                    "INVALID_STATUS_TRANSITION");
+        }
+
+        CaseStatusChange change = toChange(row, effective);
+        apply(effective, List.of(change), LocalDateTime.now());
+        return Optional.of(change);
+    }
+
+    /**
+     * Change le statut de plusieurs cas. Les cas pour lesquels la transition est interdite sont ignorés
+     * (et listés dans le résultat) au lieu de faire échouer l'ensemble.
+     */
+    @Transactional
+    public CaseStatusDTOs.BulkStatusResult transitionAll(Collection<Long> caseIds, CasStatut target) {
+        List<Long> ids = caseIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<Long> updated = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            Map<CasStatut, List<CaseStatusChange>> byTarget = new EnumMap<>(CasStatut.class);
+            Set<Long> found = new HashSet<>();
+
+            for (CaseStatusRow row : casRepository.lockStatusRows(chunk)) {
+                found.add(row.id());
+                CasStatut effective = CaseTransitions.effectiveTarget(target, row.volunteerId() != null);
+                if (row.status() == effective || !CaseTransitions.isAllowed(row.status(), effective)) {
+                    skipped.add(row.id());
+                } else {
+                    byTarget.computeIfAbsent(effective, s -> new ArrayList<>()).add(toChange(row, effective));
+                }
+            }
+            chunk.stream().filter(id -> !found.contains(id)).forEach(skipped::add);
+
+            byTarget.forEach((status, changes) -> {
+                apply(status, changes, now);
+                changes.forEach(change -> updated.add(change.caseId()));
+            });
+        }
+
+        log.info("Transition en masse vers {} : {} cas modifiés, {} ignorés", target, updated.size(), skipped.size());
+        return new CaseStatusDTOs.BulkStatusResult(target, updated, skipped);
+    }
+
+    /**
+     * Prise en charge par un bénévole, sans verrou préalable : une mise à jour conditionnelle
+     * VALIDE → EN_COURS, dont la base garantit qu'un seul bénévole l'obtient sous concurrence. Une nouvelle
+     * confirmation par le bénévole qui a déjà le cas met à jour la date et le message, sans déclencher
+     * de nouveau les effets (notification, points, statistiques, agrégats).
+     *
+     * @return le changement VALIDE → EN_COURS, vide pour une nouvelle confirmation
+     * @throws ConflictException si un autre bénévole a déjà le cas, ou s'il n'est pas validé
+     */
+    @Transactional
+    public Optional<CaseStatusChange> claim(Long caseId, User volunteer, LocalDateTime dateIntervention, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        if (casRepository.claimValidated(caseId, volunteer, dateIntervention, message, now) == 1) {
+            // Relu après l'écriture : titre et auteur pour les effets de la transition
+            CaseStatusRow row = casRepository.findStatusRow(caseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cas", "id", caseId));
+            CaseStatusChange change = new CaseStatusChange(row.id(), CasStatut.VALIDE, CasStatut.EN_COURS,
+                    row.titre(), row.authorId(), volunteer.getId());
+            afterWrite(CasStatut.EN_COURS, List.of(change));
+            return Optional.of(change);
+        }
+        if (casRepository.refreshClaim(caseId, volunteer, dateIntervention, message, now) == 1) {
+            return Optional.empty();
+        }
+
+        CaseStatusRow row = casRepository.findStatusRow(caseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cas", "id", caseId));
+        if (row.status() == CasStatut.EN_COURS) {
+            throw new ConflictException("Ce cas a déjà été pris en charge par un autre bénévole",
+                    "CASE_ALREADY_TAKEN");
+        }
+        throw new ConflictException("Ce cas n'est plus disponible pour une intervention", "CASE_NOT_AVAILABLE");
+    }
+
+    private void apply(CasStatut status, List<CaseStatusChange> changes, LocalDateTime now) {
+        List<Long> ids = changes.stream().map(CaseStatusChange::caseId).toList();
+        if (CaseTransitions.releasesVolunteer(status)) {
+            casRepository.updateStatusReleasingVolunteer(ids, status, now);
+        } else {
+            casRepository.updateStatus(ids, status, now);
+        }
+        afterWrite(status, changes);
+    }
+
+    private void afterWrite(CasStatut status, List<CaseStatusChange> changes) {
+        hooks.forEach(hook -> hook.afterTransition(status, changes));
+        eventPublisher.publishEvent(CaseLifecycleEvent.statusChanged(
+                changes.stream().map(CaseStatusChange::caseId).toList(), status));
+    }
+
+    private static CaseStatusChange toChange(CaseStatusRow row, CasStatut to) {
+        return new CaseStatusChange(row.id(), row.status(), to, row.titre(), row.authorId(), row.volunteerId());
+    }
+}
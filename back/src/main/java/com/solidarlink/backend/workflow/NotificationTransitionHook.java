@@ -0,0 +1,56 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Notifications temps réel liées au statut : l'auteur quand un bénévole prend son cas,
+ * le bénévole quand le cas qu'il suivait est résolu. Envoyées après le commit : une transition
+ * annulée ne doit rien annoncer.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationTransitionHook implements CaseTransitionHook {
+
+    private final NotificationService notificationService;
+
+    @Override
+    public void afterTransition(CasStatut to, List<CaseStatusChange> changes) {
+        if (to != CasStatut.EN_COURS && to != CasStatut.RESOLU) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(to, changes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(to, changes);
+            }
+        });
+    }
+
+    private void send(CasStatut to, List<CaseStatusChange> changes) {
+        switch (to) {
+            case EN_COURS -> changes.forEach(change -> notificationService.sendNotificationToUser(
+                    change.authorId(),
+                    "intervention_confirmed",
+                    String.format("Un volontaire a pris en charge votre cas '%s'", change.titre())));
+            case RESOLU -> changes.stream()
+                    .filter(change -> change.volunteerId() != null)
+                    .forEach(change -> notificationService.sendNotificationToUser(
+                            change.volunteerId(),
+                            "case_resolved",
+                            String.format("Le cas '%s' a été marqué comme résolu", change.titre())));
+            default -> {
+            }
+        }
+    }
+}
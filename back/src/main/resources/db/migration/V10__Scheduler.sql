@@ -0,0 +1,20 @@
+-- =====================================================
+-- SolidarLink - Tâches planifiées (rappels, cas en souffrance)
+-- =====================================================
+
+-- Marqueurs posés par InterventionReminderJob et StaleCaseJob, remis à zéro à chaque prise en charge
+ALTER TABLE cas_humanitaire ADD COLUMN IF NOT EXISTS reminder_sent_at TIMESTAMP;
+ALTER TABLE cas_humanitaire ADD COLUMN IF NOT EXISTS escalated_at TIMESTAMP;
+
+-- Parcours des interventions à venir ou dépassées, par date puis id (lots successifs)
+CREATE INDEX IF NOT EXISTS idx_cas_date_intervention
+ON cas_humanitaire(date_intervention, id);
+
+-- Dernière exécution de chaque tâche, toutes instances confondues
+CREATE TABLE IF NOT EXISTS scheduler_job (
+    name             VARCHAR(64) PRIMARY KEY,
+    last_started_at  TIMESTAMP,
+    last_finished_at TIMESTAMP,
+    last_processed   INTEGER NOT NULL DEFAULT 0,
+    last_error       VARCHAR(1000)
+);
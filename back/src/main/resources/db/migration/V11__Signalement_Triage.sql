@@ -0,0 +1,21 @@
+-- =====================================================
+-- SolidarLink - File de tri des signalements
+-- =====================================================
+
+-- 1. Signalements ouverts regroupés par cas (file de tri, seuil de masquage, doublons)
+CREATE INDEX IF NOT EXISTS idx_signalement_open_cas
+ON signalement(is_closed, cas_id);
+
+-- 2. Cas retiré de la publication par les signalements (republié si les signalements sont écartés)
+ALTER TABLE cas_humanitaire ADD COLUMN IF NOT EXISTS report_hidden_at TIMESTAMP;
+
+-- 3. Un seul signalement ouvert par utilisateur et par cas, même sur un double envoi simultané
+--    (les doublons existants sont clos, le plus ancien reste ouvert)
+UPDATE signalement s SET is_closed = TRUE
+WHERE NOT s.is_closed
+  AND EXISTS (SELECT 1 FROM signalement o
+              WHERE o.cas_id = s.cas_id AND o.reporter_id = s.reporter_id
+                AND NOT o.is_closed AND o.id < s.id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_signalement_open_reporter
+ON signalement(cas_id, reporter_id) WHERE NOT is_closed;
@@ -0,0 +1,10 @@
+-- =====================================================
+-- SolidarLink - Quotas partagés entre instances
+-- =====================================================
+
+-- Compteurs de app.rate-limit.store=postgres : une ligne par sujet actif (groupe:utilisateur ou groupe:ip),
+-- supprimée dès que le seau est de nouveau plein
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+    bucket_key VARCHAR(128) PRIMARY KEY,
+    full_at_ms BIGINT NOT NULL
+);
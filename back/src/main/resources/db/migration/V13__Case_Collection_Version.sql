@@ -0,0 +1,66 @@
+-- =====================================================
+-- SolidarLink - Version de la collection des cas (ETag des listes)
+-- =====================================================
+
+-- Une seule ligne, lue par CaseCollectionVersion avant chaque liste conditionnelle
+CREATE TABLE IF NOT EXISTS case_collection_version (
+    id          SMALLINT    PRIMARY KEY CHECK (id = 1),
+    version     BIGINT      NOT NULL,
+    modified_at TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO case_collection_version (id, version, modified_at)
+VALUES (1, 1, now())
+ON CONFLICT (id) DO NOTHING;
+
+-- Incrément dans la transaction de l'écriture : visible de toutes les instances au commit, annulé avec elle.
+-- Au niveau instruction, une seule fois par INSERT / UPDATE / DELETE, et seulement si des lignes ont changé
+-- (markReminded, refreshClaim, ... peuvent ne toucher aucune ligne)
+CREATE OR REPLACE FUNCTION bump_case_collection_version() RETURNS trigger AS $$
+BEGIN
+    IF TG_LEVEL = 'STATEMENT' AND NOT EXISTS (SELECT 1 FROM changed) THEN
+        RETURN NULL;
+    END IF;
+    UPDATE case_collection_version
+    SET version = version + 1, modified_at = clock_timestamp()
+    WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Cas (statut, modération, marqueurs des tâches planifiées, suppressions en masse, ...)
+DROP TRIGGER IF EXISTS cas_collection_version_insert ON cas_humanitaire;
+CREATE TRIGGER cas_collection_version_insert AFTER INSERT ON cas_humanitaire
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_case_collection_version();
+
+DROP TRIGGER IF EXISTS cas_collection_version_update ON cas_humanitaire;
+CREATE TRIGGER cas_collection_version_update AFTER UPDATE ON cas_humanitaire
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_case_collection_version();
+
+DROP TRIGGER IF EXISTS cas_collection_version_delete ON cas_humanitaire;
+CREATE TRIGGER cas_collection_version_delete AFTER DELETE ON cas_humanitaire
+    REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_case_collection_version();
+
+-- Photos (collection d'éléments de CasHumanitaire)
+DROP TRIGGER IF EXISTS cas_photos_collection_version_insert ON cas_humanitaire_photos;
+CREATE TRIGGER cas_photos_collection_version_insert AFTER INSERT ON cas_humanitaire_photos
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_case_collection_version();
+
+DROP TRIGGER IF EXISTS cas_photos_collection_version_delete ON cas_humanitaire_photos;
+CREATE TRIGGER cas_photos_collection_version_delete AFTER DELETE ON cas_humanitaire_photos
+    REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_case_collection_version();
+
+-- Auteurs et bénévoles affichés dans les listes : seules les coordonnées visibles comptent
+-- (une connexion, une validation de compte ou un re-hachage ne modifient aucune liste)
+DROP TRIGGER IF EXISTS user_collection_version ON _user;
+CREATE TRIGGER user_collection_version AFTER UPDATE ON _user
+    FOR EACH ROW
+    WHEN (OLD.nom IS DISTINCT FROM NEW.nom
+          OR OLD.prenom IS DISTINCT FROM NEW.prenom
+          OR OLD.telephone IS DISTINCT FROM NEW.telephone)
+    EXECUTE FUNCTION bump_case_collection_version();
@@ -0,0 +1,27 @@
+-- =====================================================
+-- SolidarLink - Version des listes sans ligne partagée verrouillée
+-- =====================================================
+
+-- V13 incrémentait la ligne unique de case_collection_version dans la transaction de chaque écriture :
+-- la ligne restait verrouillée jusqu'au commit et sérialisait tous les écrivains de cas (imports,
+-- transitions en masse, tâches planifiées, prises en charge), avec un risque d'interblocage face aux
+-- verrous de cas (SignalementService.report).
+--
+-- Chaque écriture ajoute désormais une ligne à case_collection_change (INSERT : aucun verrou partagé).
+-- Version = version de base + nombre de lignes ; elle n'augmente qu'au commit de l'écriture, quel que
+-- soit l'ordre des commits. CaseCollectionVersion reporte périodiquement les lignes dans la base.
+CREATE TABLE IF NOT EXISTS case_collection_change (
+    id         BIGSERIAL   PRIMARY KEY,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+-- Les déclencheurs de V13 restent en place : seule la fonction change
+CREATE OR REPLACE FUNCTION bump_case_collection_version() RETURNS trigger AS $$
+BEGIN
+    IF TG_LEVEL = 'STATEMENT' AND NOT EXISTS (SELECT 1 FROM changed) THEN
+        RETURN NULL;
+    END IF;
+    INSERT INTO case_collection_change DEFAULT VALUES;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,12 @@
+-- =====================================================
+-- SolidarLink - Index partiel des interventions en cours
+-- =====================================================
+
+-- Les cas RESOLU gardent leur date_intervention : l'index de V10 les contenait tous, et
+-- findOverdue / findOverdueNotEscalated parcouraient tout l'historique des cas résolus avant
+-- d'atteindre les cas EN_COURS. L'index ne couvre plus que les cas filtrés par les tâches planifiées.
+DROP INDEX IF EXISTS idx_cas_date_intervention;
+
+CREATE INDEX idx_cas_date_intervention
+ON cas_humanitaire(date_intervention, id)
+WHERE status = 'EN_COURS';
@@ -0,0 +1,34 @@
+-- =====================================================
+-- SolidarLink - Recherche plein texte sur les cas
+-- Colonne tsvector générée + index GIN
+-- =====================================================
+
+-- 1. Configuration française insensible aux accents
+-- "medecin" trouve "médecin", "hopital" trouve "hôpital"
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'french_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION public.french_unaccent (COPY = french);
+        ALTER TEXT SEARCH CONFIGURATION public.french_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem;
+    END IF;
+END
+$$;
+
+-- 2. Colonne tsvector générée (titre pondéré A, description pondérée B)
+-- Maintenue automatiquement par PostgreSQL à chaque INSERT/UPDATE, non mappée par JPA
+ALTER TABLE cas_humanitaire
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('public.french_unaccent'::regconfig, coalesce(titre, '')), 'A') ||
+        setweight(to_tsvector('public.french_unaccent'::regconfig, coalesce(description, '')), 'B')
+    ) STORED;
+
+-- 3. Index GIN pour l'opérateur @@
+-- Impact: GET /api/cases/search
+CREATE INDEX IF NOT EXISTS idx_cas_humanitaire_search_vector
+ON cas_humanitaire USING GIN(search_vector);
+
+ANALYZE cas_humanitaire;
@@ -0,0 +1,13 @@
+-- =====================================================
+-- SolidarLink - Recherche de proximité en mètres
+-- Index GIST d'expression sur location::geography
+-- =====================================================
+
+-- Utilisé par GET /api/cases/nearby :
+--   ST_DWithin(CAST(location AS geography), point, rayon_en_metres)
+--   ORDER BY CAST(location AS geography) <-> point   (parcours KNN)
+-- L'expression doit être identique à celle des requêtes pour que l'index soit choisi.
+CREATE INDEX IF NOT EXISTS idx_cas_humanitaire_location_geog
+ON cas_humanitaire USING GIST ((CAST(location AS geography)));
+
+ANALYZE cas_humanitaire;
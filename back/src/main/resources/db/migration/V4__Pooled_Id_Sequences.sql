@@ -0,0 +1,25 @@
+-- =====================================================
+-- SolidarLink - Identifiants par séquence (insertions par lots)
+-- cas_humanitaire, intervention, signalement
+-- =====================================================
+
+-- Avec IDENTITY, Hibernate doit exécuter chaque INSERT immédiatement pour connaître l'identifiant,
+-- ce qui désactive hibernate.jdbc.batch_size. Les séquences sont lues par blocs de 50 (optimiseur
+-- pooled : un appel à nextval pour 50 lignes) ; INCREMENT BY doit donc valoir allocationSize.
+--
+-- À appliquer AVANT de déployer la version qui utilise ces séquences : sinon ddl-auto=update les
+-- créerait à partir de 1, en collision avec les identifiants existants.
+--
+-- setval(..., false) : le prochain nextval renvoie MAX(id) + 50, soit le bloc MAX(id) + 1 .. MAX(id) + 50.
+
+CREATE SEQUENCE IF NOT EXISTS cas_humanitaire_seq INCREMENT BY 50;
+SELECT setval('cas_humanitaire_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM cas_humanitaire), false);
+ALTER TABLE cas_humanitaire ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS intervention_seq INCREMENT BY 50;
+SELECT setval('intervention_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM intervention), false);
+ALTER TABLE intervention ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS signalement_seq INCREMENT BY 50;
+SELECT setval('signalement_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM signalement), false);
+ALTER TABLE signalement ALTER COLUMN id DROP IDENTITY IF EXISTS;
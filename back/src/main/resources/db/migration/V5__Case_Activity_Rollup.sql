@@ -0,0 +1,30 @@
+-- =====================================================
+-- SolidarLink - Agrégats d'activité des cas (séries temporelles)
+-- =====================================================
+
+-- Une ligne par (granularité, intervalle, étape, catégorie) ; la clé primaire sert les lectures
+-- par plage (granularity, bucket). Incrémentée par CaseActivityRollupService après chaque événement.
+CREATE TABLE IF NOT EXISTS case_activity_rollup (
+    granularity VARCHAR(10) NOT NULL,
+    bucket      TIMESTAMP   NOT NULL,
+    activity    VARCHAR(20) NOT NULL,
+    categorie   VARCHAR(20) NOT NULL,
+    event_count BIGINT      NOT NULL,
+    PRIMARY KEY (granularity, bucket, activity, categorie)
+);
+
+-- Reprise de l'historique : seules les créations sont datées (created_at). Les validations,
+-- prises en charge et résolutions antérieures ne sont pas historisées et partent de zéro.
+INSERT INTO case_activity_rollup (granularity, bucket, activity, categorie, event_count)
+SELECT 'HOUR', date_trunc('hour', created_at), 'CREATED', categorie, COUNT(*)
+FROM cas_humanitaire
+WHERE created_at IS NOT NULL AND categorie IS NOT NULL
+GROUP BY date_trunc('hour', created_at), categorie
+ON CONFLICT DO NOTHING;
+
+INSERT INTO case_activity_rollup (granularity, bucket, activity, categorie, event_count)
+SELECT 'DAY', date_trunc('day', created_at), 'CREATED', categorie, COUNT(*)
+FROM cas_humanitaire
+WHERE created_at IS NOT NULL AND categorie IS NOT NULL
+GROUP BY date_trunc('day', created_at), categorie
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,31 @@
+-- =====================================================
+-- SolidarLink - Couverture géographique (limites administratives)
+-- =====================================================
+
+-- Limites administratives chargées localement : au démarrage depuis app.coverage.boundaries.location
+-- (GeoJSON), ou directement, par exemple :
+--   ogr2ogr -f PostgreSQL PG:"dbname=solidarlink" communes.geojson -nln admin_boundary -append \
+--           -nlt MULTIPOLYGON -t_srs EPSG:4326 -sql "SELECT code, nom AS name FROM communes"
+CREATE TABLE IF NOT EXISTS admin_boundary (
+    id   BIGSERIAL PRIMARY KEY,
+    code VARCHAR(64) UNIQUE,
+    name VARCHAR(255),
+    geom geometry(MultiPolygon, 4326)
+);
+
+-- Jointure spatiale cas × limites : GIST des deux côtés (cas_humanitaire.location est indexé par V1)
+CREATE INDEX IF NOT EXISTS idx_admin_boundary_geom ON admin_boundary USING GIST (geom);
+
+-- Résultat précalculé, entièrement recalculé par CoverageService (app.coverage.refresh-interval-ms)
+CREATE TABLE IF NOT EXISTS boundary_coverage (
+    boundary_id    BIGINT PRIMARY KEY,
+    code           VARCHAR(64),
+    name           VARCHAR(255),
+    cases          BIGINT NOT NULL,
+    active_cases   BIGINT NOT NULL,
+    resolved_cases BIGINT NOT NULL,
+    computed_at    TIMESTAMP
+);
+
+-- Date d'inscription (progression des bénévoles) ; NULL pour les comptes existants
+ALTER TABLE _user ADD COLUMN IF NOT EXISTS created_at TIMESTAMP;
@@ -0,0 +1,23 @@
+-- =====================================================
+-- SolidarLink - Journal des points des bénévoles
+-- =====================================================
+
+CREATE SEQUENCE IF NOT EXISTS points_ledger_seq START WITH 1 INCREMENT BY 50;
+
+-- Une écriture par (cas, bénévole, motif) : la contrainte unique rend l'attribution idempotente.
+CREATE TABLE IF NOT EXISTS points_ledger (
+    id           BIGINT      PRIMARY KEY,
+    volunteer_id BIGINT      NOT NULL,
+    case_id      BIGINT      NOT NULL,
+    reason       VARCHAR(32) NOT NULL,
+    points       INTEGER     NOT NULL,
+    applied      BOOLEAN     NOT NULL DEFAULT FALSE,
+    created_at   TIMESTAMP,
+    CONSTRAINT uk_points_ledger_award UNIQUE (case_id, volunteer_id, reason)
+);
+
+-- File des écritures à reporter (PointsLedgerApplier) : reste petite quel que soit l'historique
+CREATE INDEX IF NOT EXISTS idx_points_ledger_pending ON points_ledger (id) WHERE NOT applied;
+
+-- Reconstruction du classement (somme par bénévole)
+CREATE INDEX IF NOT EXISTS idx_points_ledger_volunteer ON points_ledger (volunteer_id);
@@ -0,0 +1,12 @@
+-- =====================================================
+-- SolidarLink - Statistiques des bénévoles
+-- =====================================================
+
+-- Une ligne par bénévole ayant une activité ; tenue à jour par VolunteerStatsService.
+-- Remplie depuis l'historique au premier démarrage (table vide) ou via POST /api/admin/stats/volunteers/rebuild.
+CREATE TABLE IF NOT EXISTS volunteer_stats (
+    volunteer_id       BIGINT  PRIMARY KEY,
+    interventions      INTEGER NOT NULL,
+    missions_completed INTEGER NOT NULL,
+    updated_at         TIMESTAMP
+);
@@ -0,0 +1,15 @@
+-- =====================================================
+-- SolidarLink - Index des historiques d'interventions
+-- =====================================================
+
+-- 1. Historique d'un cas (GET /api/interventions/case/{id}) : filtre + tri servis par l'index
+CREATE INDEX IF NOT EXISTS idx_intervention_cas_date
+ON intervention(cas_id, date_intervention, id);
+
+-- 2. Historique et interventions à venir d'un bénévole (/api/interventions/me, /me/upcoming)
+CREATE INDEX IF NOT EXISTS idx_intervention_benevole_date
+ON intervention(benevole_id, date_intervention, id);
+
+-- 3. Interventions prévues sur une période, tous bénévoles (/api/interventions/upcoming)
+CREATE INDEX IF NOT EXISTS idx_intervention_date
+ON intervention(date_intervention);
@@ -0,0 +1,226 @@
+package com.solidarlink.backend.controller;
+
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.service.CaseCollectionVersion;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import com.solidarlink.backend.support.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET conditionnels : un client à jour reçoit un 304 sans que le cas ni la liste ne soient chargés.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+class ConditionalGetTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CaseCollectionVersion collectionVersion;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private User author;
+    private CasHumanitaire cas;
+    private QueryBudget budget;
+
+    @BeforeEach
+    void seed() {
+        budget = new QueryBudget(entityManagerFactory);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(User.builder()
+                .nom("etag-" + run)
+                .prenom("etag")
+                .email("etag-" + run + "@etag.test")
+                .password("x")
+                .role(Role.CITOYEN)
+                .build());
+        cas = casRepository.save(CasHumanitaire.builder()
+                .titre("ETag " + run)
+                .description("Cas de test des GET conditionnels")
+                .categorie(CasCategorie.MEDICAL)
+                .status(CasStatut.VALIDE)
+                .location(geometryFactory.createPoint(new Coordinate(-7.59, 33.57)))
+                .photos(List.of("etag.jpg"))
+                .author(author)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        casRepository.delete(cas);
+        userRepository.delete(author);
+    }
+
+    @Test
+    void caseDetailAnswers304WithoutLoadingTheCase() throws Exception {
+        String etag = mockMvc.perform(get("/api/cases/{id}", cas.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        budget.assertAtMost(1, "GET /api/cases/{id} (If-None-Match)", () ->
+                mockMvc.perform(get("/api/cases/{id}", cas.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                        .andExpect(status().isNotModified()));
+
+        cas.setTitre(cas.getTitre() + " (modifié)");
+        cas = casRepository.save(cas);
+        mockMvc.perform(get("/api/cases/{id}", cas.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listAnswers304UntilACaseChanges() throws Exception {
+        String etag = listEtag();
+
+        // Seule la version est lue (JDBC), aucune requête Hibernate
+        budget.assertAtMost(0, "GET /api/cases/paginated (If-None-Match)", () ->
+                mockMvc.perform(get("/api/cases/paginated").header(HttpHeaders.IF_NONE_MATCH, etag))
+                        .andExpect(status().isNotModified()));
+
+        cas.setTitre(cas.getTitre() + " (modifié)");
+        cas = casRepository.save(cas);
+        assertChangedSince(etag);
+    }
+
+    @Test
+    void writesWithoutLifecycleEventAlsoChangeTheListVersion() throws Exception {
+        // Masquage par signalements : mise à jour en masse, sans événement
+        String etag = listEtag();
+        transactionTemplate.executeWithoutResult(tx -> casRepository.setReportHiddenAt(cas.getId(), LocalDateTime.now()));
+        etag = assertChangedSince(etag);
+
+        // Marqueur de la tâche de rappels
+        transactionTemplate.executeWithoutResult(tx -> casRepository.markReminded(List.of(cas.getId()), LocalDateTime.now()));
+        etag = assertChangedSince(etag);
+
+        // Nom de l'auteur affiché dans les listes
+        author.setNom(author.getNom() + "-renommé");
+        author = userRepository.save(author);
+        etag = assertChangedSince(etag);
+
+        // Écriture sans effet (aucune ligne) : la version ne bouge pas
+        transactionTemplate.executeWithoutResult(tx -> casRepository.markReminded(List.of(cas.getId()), LocalDateTime.now()));
+        mockMvc.perform(get("/api/cases/paginated").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void listVersionIsSharedThroughTheDatabase() throws Exception {
+        // Une autre instance (ou un script SQL) écrit directement en base
+        String etag = listEtag();
+        jdbcTemplate.update("UPDATE cas_humanitaire SET titre = titre || ' (SQL)' WHERE id = ?", cas.getId());
+        assertChangedSince(etag);
+    }
+
+    @Test
+    void caseWritersDoNotWaitOnEachOtherAndCountOnCommit() throws Exception {
+        CasHumanitaire other = casRepository.save(CasHumanitaire.builder()
+                .titre(cas.getTitre() + " bis")
+                .description("Second cas de test des GET conditionnels")
+                .categorie(CasCategorie.MEDICAL)
+                .status(CasStatut.VALIDE)
+                .location(geometryFactory.createPoint(new Coordinate(-7.58, 33.57)))
+                .author(author)
+                .build());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Premier écrivain : transaction laissée ouverte après sa mise à jour
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(tx -> {
+                jdbcTemplate.update("UPDATE cas_humanitaire SET titre = titre || ' (1)' WHERE id = ?", cas.getId());
+                written.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+            String etag = listEtag();
+
+            // Le second n'attend pas le commit du premier
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> jdbcTemplate.update(
+                    "UPDATE cas_humanitaire SET titre = titre || ' (2)' WHERE id = ?", other.getId()));
+            etag = assertChangedSince(etag);
+
+            // Validé après le second : la version augmente quand même
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            etag = assertChangedSince(etag);
+
+            // Le compactage ne change pas la version lue
+            collectionVersion.compact();
+            mockMvc.perform(get("/api/cases/paginated").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            casRepository.delete(other);
+        }
+    }
+
+    private String listEtag() throws Exception {
+        return mockMvc.perform(get("/api/cases/paginated"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private String assertChangedSince(String etag) throws Exception {
+        return mockMvc.perform(get("/api/cases/paginated").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,132 @@
+package com.solidarlink.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.spatial.Geometries;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Export GeoJSON : FeatureCollection valide, géométrie calculée par PostGIS, filtres appliqués en SQL.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+class GeoJsonExportTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    private final List<CasHumanitaire> cases = new ArrayList<>();
+    private User author;
+    private String run;
+
+    @BeforeEach
+    void seed() {
+        run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(User.builder()
+                .nom("geojson-" + run)
+                .prenom("geojson")
+                .email("geojson-" + run + "@geojson.test")
+                .password("x")
+                .role(Role.CITOYEN)
+                .build());
+        cases.add(save(CasCategorie.MEDICAL, CasStatut.VALIDE, -7.59, 33.57));
+        cases.add(save(CasCategorie.ALIMENTAIRE, CasStatut.VALIDE, -7.60, 33.58));
+        cases.add(save(CasCategorie.MEDICAL, CasStatut.EN_ATTENTE, -7.61, 33.59));
+        cases.add(save(CasCategorie.MEDICAL, CasStatut.VALIDE, 2.35, 48.85));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        casRepository.deleteAll(cases);
+        userRepository.delete(author);
+    }
+
+    @Test
+    void exportsMatchingCasesAsPointFeatures() throws Exception {
+        JsonNode collection = export(get("/api/admin/reports/cases/geojson")
+                .param("status", "VALIDE")
+                .param("categorie", "MEDICAL")
+                .param("minLon", "-8").param("minLat", "33")
+                .param("maxLon", "-7").param("maxLat", "34"));
+
+        assertThat(collection.path("type").asText()).isEqualTo("FeatureCollection");
+        List<JsonNode> seeded = seeded(collection);
+        assertThat(seeded).singleElement().satisfies(feature -> {
+            assertThat(feature.path("id").asLong()).isEqualTo(cases.get(0).getId());
+            assertThat(feature.path("geometry").path("type").asText()).isEqualTo("Point");
+            assertThat(feature.path("geometry").path("coordinates").get(0).asDouble()).isEqualTo(-7.59);
+            assertThat(feature.path("geometry").path("coordinates").get(1).asDouble()).isEqualTo(33.57);
+            assertThat(feature.path("properties").path("categorie").asText()).isEqualTo("MEDICAL");
+        });
+    }
+
+    @Test
+    void exportsEverythingWithoutFilters() throws Exception {
+        assertThat(seeded(export(get("/api/admin/reports/cases/geojson")))).hasSize(cases.size());
+    }
+
+    private JsonNode export(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult pending = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> seeded(JsonNode collection) {
+        return StreamSupport.stream(collection.path("features").spliterator(), false)
+                .filter(feature -> feature.path("properties").path("titre").asText().startsWith("GeoJSON " + run))
+                .toList();
+    }
+
+    private CasHumanitaire save(CasCategorie categorie, CasStatut status, double lon, double lat) {
+        return casRepository.save(CasHumanitaire.builder()
+                .titre("GeoJSON " + run + " " + cases.size())
+                .description("Cas de test de l'export GeoJSON")
+                .categorie(categorie)
+                .status(status)
+                .location(Geometries.point(lon, lat))
+                .photos(List.of())
+                .author(author)
+                .build());
+    }
+}
@@ -0,0 +1,129 @@
+package com.solidarlink.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listes historiques plafonnées et leurs variantes NDJSON (liste complète, lue par curseur).
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+@TestPropertySource(properties = "app.lists.max-items=3")
+class ListStreamingTest extends PostgresIntegrationTest {
+
+    private static final int CASES = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final List<CasHumanitaire> cases = new ArrayList<>();
+    private User author;
+    private String run;
+
+    @BeforeEach
+    void seed() {
+        run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(User.builder()
+                .nom("stream-" + run)
+                .prenom("stream")
+                .email("stream-" + run + "@stream.test")
+                .password("x")
+                .role(Role.CITOYEN)
+                .build());
+        for (int i = 0; i < CASES; i++) {
+            cases.add(casRepository.save(CasHumanitaire.builder()
+                    .titre("Flux " + run + " " + i)
+                    .description("Cas de test des flux NDJSON")
+                    .categorie(CasCategorie.ALIMENTAIRE)
+                    .status(CasStatut.VALIDE)
+                    .location(geometryFactory.createPoint(new Coordinate(2.35, 48.85 + i * 0.001)))
+                    .photos(List.of("flux-" + i + ".jpg"))
+                    .author(author)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        casRepository.deleteAll(cases);
+        userRepository.delete(author);
+    }
+
+    @Test
+    void legacyListIsCappedAndFlaggedAsTruncated() throws Exception {
+        mockMvc.perform(get("/api/admin/cases"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ListResponses.LIMIT_HEADER, "3"))
+                .andExpect(header().string(ListResponses.TRUNCATED_HEADER, "true"))
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void streamReturnsEveryRowAsOneJsonObjectPerLine() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/api/admin/cases/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        List<JsonNode> seeded = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            if (node.path("titre").asText().startsWith("Flux " + run)) {
+                seeded.add(node);
+            }
+        }
+        assertThat(seeded).hasSize(CASES);
+        assertThat(seeded).allSatisfy(node -> {
+            assertThat(node.path("photos")).hasSize(1);
+            assertThat(node.path("author").path("nom").asText()).isEqualTo("stream-" + run);
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package com.solidarlink.backend.controller;
+
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import com.solidarlink.backend.support.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budget de requêtes SQL par endpoint : échoue dès qu'un chargement N+1 réapparaît
+ * (le nombre de requêtes ne doit pas dépendre du nombre de cas renvoyés).
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = "ADMIN")
+class QueryBudgetTest extends PostgresIntegrationTest {
+
+    private static final int CASES = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final List<CasHumanitaire> cases = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+    private QueryBudget budget;
+
+    @BeforeEach
+    void seed() {
+        budget = new QueryBudget(entityManagerFactory);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < CASES; i++) {
+            User author = userRepository.save(user("author-" + run + "-" + i, Role.CITOYEN));
+            User volunteer = userRepository.save(user("volunteer-" + run + "-" + i, Role.BENEVOLE));
+            users.add(author);
+            users.add(volunteer);
+            cases.add(casRepository.save(CasHumanitaire.builder()
+                    .titre("Budget " + run + " " + i)
+                    .description("Cas de test du budget de requêtes")
+                    .categorie(CasCategorie.values()[i % CasCategorie.values().length])
+                    .status(CasStatut.EN_COURS)
+                    .location(geometryFactory.createPoint(new Coordinate(2.35 + i * 0.001, 48.85)))
+                    .photos(List.of("photo-a-" + i + ".jpg", "photo-b-" + i + ".jpg"))
+                    .author(author)
+                    .volunteer(volunteer)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        casRepository.deleteAll(cases);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void caseListsRunAConstantNumberOfQueries() throws Exception {
+        budget.assertAtMost(2, "GET /api/cases", () ->
+                mockMvc.perform(get("/api/cases")).andExpect(status().isOk()));
+        budget.assertAtMost(3, "GET /api/cases/paginated", () ->
+                mockMvc.perform(get("/api/cases/paginated").param("size", String.valueOf(CASES)))
+                        .andExpect(status().isOk()));
+        budget.assertAtMost(2, "GET /api/admin/cases", () ->
+                mockMvc.perform(get("/api/admin/cases")).andExpect(status().isOk()));
+        budget.assertAtMost(1, "GET /api/admin/users", () ->
+                mockMvc.perform(get("/api/admin/users")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void caseDetailLoadsAuthorVolunteerAndPhotosInOneQuery() throws Exception {
+        Long id = cases.get(0).getId();
+        budget.assertAtMost(1, "GET /api/cases/{id}", () ->
+                mockMvc.perform(get("/api/cases/{id}", id)).andExpect(status().isOk()));
+    }
+
+    @Test
+    void exportReadsCasesInOneQuery() throws Exception {
+        budget.assertAtMost(1, "GET /api/admin/reports/cases/csv", () ->
+                mockMvc.perform(get("/api/admin/reports/cases/csv")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void publicResolvedCasesLoadPhotosWithTheCases() throws Exception {
+        budget.assertAtMost(1, "GET /api/public/cases/resolved", () ->
+                mockMvc.perform(get("/api/public/cases/resolved")).andExpect(status().isOk()));
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder()
+                .nom(name)
+                .prenom(name)
+                .email(name + "@budget.test")
+                .password("x")
+                .role(role)
+                .build();
+    }
+}
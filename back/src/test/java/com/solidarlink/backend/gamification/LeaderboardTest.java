@@ -0,0 +1,39 @@
+package com.solidarlink.backend.gamification;
+
+import com.solidarlink.backend.dto.LeaderboardEntry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaderboardTest {
+
+    @Test
+    void incrementsReorderTheRanking() {
+        Leaderboard leaderboard = new Leaderboard();
+        assertThat(leaderboard.isReady()).isFalse();
+
+        leaderboard.replaceAll(List.of(
+                new Leaderboard.Standing(1L, "Amina B.", 120),
+                new Leaderboard.Standing(2L, "Youssef K.", 80),
+                new Leaderboard.Standing(3L, "Sara L.", 80)));
+        leaderboard.add(3L, "Sara L.", 50);
+        leaderboard.add(4L, "Omar T.", 20);
+
+        assertThat(leaderboard.isReady()).isTrue();
+        assertThat(leaderboard.top(3)).extracting(LeaderboardEntry::volunteerId).containsExactly(3L, 1L, 2L);
+        assertThat(leaderboard.top(10)).last().isEqualTo(new LeaderboardEntry(4, 4L, "Omar T.", 20));
+        assertThat(leaderboard.rankOf(2L)).hasValue(3);
+        assertThat(leaderboard.rankOf(99L)).isEmpty();
+    }
+
+    @Test
+    void levelsFollowPointThresholds() {
+        assertThat(VolunteerLevel.of(0)).isEqualTo(VolunteerLevel.BRONZE);
+        assertThat(VolunteerLevel.of(199).nextLevelPoints()).isEqualTo(200);
+        assertThat(VolunteerLevel.of(500).label()).isEqualTo("Or");
+        assertThat(VolunteerLevel.of(5000)).isEqualTo(VolunteerLevel.PLATINE);
+        assertThat(Leaderboard.displayName("Amina", " benali")).isEqualTo("Amina b.");
+    }
+}
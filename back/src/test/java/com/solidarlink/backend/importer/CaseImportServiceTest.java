@@ -0,0 +1,204 @@
+package com.solidarlink.backend.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.dto.CaseImportReport;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CaseImportServiceTest {
+
+    private static final String HEADER = "titre,description,categorie,latitude,longitude\n";
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ValidatorFactory validatorFactory;
+    private CaseImportService service;
+    private final User author = User.builder().id(1L).email("import@solidarlink.test").build();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new CaseImportService(casRepository, entityManager, eventPublisher,
+                validatorFactory.getValidator(), new ObjectMapper(), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheirLineAndValidRowsImported() throws IOException {
+        savesAssignIds();
+
+        CaseImportReport report = importCsv(HEADER
+                + validRow("Premier cas")
+                + "Eau potable,\"Description sur\ndeux lignes du fichier\",MEDICAL,33.57,-7.59\n"
+                + "Cas,Trop court,MEDICAL,33.57,-7.59\n"
+                + "Colis,Description assez longue du cas,MEDICAL,95,-7.59\n");
+
+        assertThat(report.rows()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).extracting(CaseImportReport.RowError::row).containsExactly(5L, 6L);
+        assertThat(report.errors().get(0).messages()).containsExactly(
+                "La description doit contenir entre 20 et 2000 caractères",
+                "Le titre doit contenir entre 5 et 200 caractères");
+        assertThat(report.errors().get(1).messages()).containsExactly("La latitude doit être comprise entre -90 et 90");
+
+        ArgumentCaptor<List<CasHumanitaire>> saved = casesCaptor();
+        verify(casRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).allSatisfy(cas -> {
+            assertThat(cas.getStatus()).isEqualTo(CasStatut.EN_ATTENTE);
+            assertThat(cas.getAuthor()).isSameAs(author);
+        });
+        verify(eventPublisher).publishEvent(any(CaseLifecycleEvent.class));
+    }
+
+    @Test
+    void failedBatchIsRetriedRowByRowAndRejectsOnlyTheFaultyRow() throws IOException {
+        // La base refuse tout lot qui contient le cas défaillant
+        when(casRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<CasHumanitaire> cases = invocation.getArgument(0);
+            if (cases.stream().anyMatch(cas -> cas.getTitre().equals("Cas défaillant"))) {
+                throw new DataIntegrityViolationException("contrainte violée");
+            }
+            return withIds(cases);
+        });
+        int rows = CaseImportService.BATCH_SIZE + 3;
+        String csv = IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> validRow(i == 10 ? "Cas défaillant" : "Cas importé " + i))
+                .collect(Collectors.joining("", HEADER, ""));
+
+        CaseImportReport report = importCsv(csv);
+
+        assertThat(report.rows()).isEqualTo(rows);
+        assertThat(report.imported()).isEqualTo(rows - 1);
+        assertThat(report.rejected()).isEqualTo(1);
+        // En-tête en ligne 1
+        assertThat(report.errors()).extracting(CaseImportReport.RowError::row).containsExactly(11L);
+        assertThat(report.errors().get(0).messages()).containsExactly("Enregistrement impossible : contrainte violée");
+        // Lot de 500, puis ses 500 lignes une à une, puis le lot final de 3
+        verify(casRepository, times(CaseImportService.BATCH_SIZE + 2)).saveAll(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(CaseImportService.BATCH_SIZE)).publishEvent(any(CaseLifecycleEvent.class));
+    }
+
+    @Test
+    void descriptionLongerThanTheColumnIsRejectedBeforeTheInsert() throws IOException {
+        savesAssignIds();
+        String description = "d".repeat(CasHumanitaire.DESCRIPTION_LENGTH + 1);
+
+        CaseImportReport report = importCsv(HEADER
+                + validRow("Premier cas")
+                + "Description trop longue," + description + ",MEDICAL,33.57,-7.59\n");
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).extracting(CaseImportReport.RowError::row).containsExactly(3L);
+        assertThat(report.errors().get(0).messages()).containsExactly("La description ne doit pas dépasser 1000 caractères");
+        ArgumentCaptor<List<CasHumanitaire>> saved = casesCaptor();
+        verify(casRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(CasHumanitaire::getTitre).containsExactly("Premier cas");
+    }
+
+    @Test
+    void malformedGeoJsonKeepsTheFeaturesReadBefore() throws IOException {
+        savesAssignIds();
+        String geoJson = """
+                {"type": "FeatureCollection", "features": [%s, %s, {"type": "Feature", "geometry": }
+                """.formatted(GeoJsonCaseSourceTest.feature("Premier cas"), GeoJsonCaseSourceTest.feature("Second cas"));
+
+        CaseImportReport report = service.importCases(stream(geoJson), CaseImportFormat.GEOJSON, author);
+
+        assertThat(report.rows()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(1);
+        assertThat(report.errors().get(0).row()).isEqualTo(3);
+        assertThat(report.errors().get(0).messages().get(0)).startsWith("Fichier illisible, lecture interrompue");
+    }
+
+    @Test
+    void onlyTheFirstErrorsAreDetailed() throws IOException {
+        int rows = CaseImportService.MAX_REPORTED_ERRORS + 2;
+        String csv = IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> "Cas,Trop court,MEDICAL,33.57,-7.59\n")
+                .collect(Collectors.joining("", HEADER, ""));
+
+        CaseImportReport report = importCsv(csv);
+
+        assertThat(report.rejected()).isEqualTo(rows);
+        assertThat(report.errors()).hasSize(CaseImportService.MAX_REPORTED_ERRORS);
+        assertThat(report.errorsTruncated()).isTrue();
+        verify(casRepository, never()).saveAll(anyList());
+    }
+
+    private CaseImportReport importCsv(String csv) throws IOException {
+        return service.importCases(stream(csv), CaseImportFormat.CSV, author);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String validRow(String titre) {
+        return titre + ",Description assez longue du cas,ALIMENTAIRE,34.02,-6.84\n";
+    }
+
+    private void savesAssignIds() {
+        when(casRepository.saveAll(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+    }
+
+    private List<CasHumanitaire> withIds(List<CasHumanitaire> cases) {
+        cases.forEach(cas -> cas.setId(ids.incrementAndGet()));
+        return cases;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<CasHumanitaire>> casesCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.solidarlink.backend.importer;
+
+import com.solidarlink.backend.enums.CasCategorie;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvCaseSourceTest {
+
+    private static final String HEADER = "titre,description,categorie,latitude,longitude\n";
+
+    @Test
+    void quotedFieldsKeepSeparatorsDoubledQuotesAndNewlines() throws IOException {
+        List<ImportedRow> rows = read(HEADER
+                + "\"Colis, urgent\",\"Il a dit \"\"merci\"\"\",alimentaire,34.02,-6.84\n"
+                + "Eau,\"Première ligne\r\nseconde ligne\",MEDICAL,33.57,-7.59\r\n"
+                + "Couvertures,Sans guillemets,LOGISTIQUE,35.76,-5.83\n");
+
+        assertThat(rows).extracting(ImportedRow::number).containsExactly(2L, 3L, 5L);
+        assertThat(rows.get(0).dto().getTitre()).isEqualTo("Colis, urgent");
+        assertThat(rows.get(0).dto().getDescription()).isEqualTo("Il a dit \"merci\"");
+        assertThat(rows.get(0).dto().getCategorie()).isEqualTo(CasCategorie.ALIMENTAIRE);
+        assertThat(rows.get(1).dto().getDescription()).isEqualTo("Première ligne\r\nseconde ligne");
+        assertThat(rows.get(2).dto().getLatitude()).isEqualTo(35.76);
+    }
+
+    @Test
+    void semicolonSeparatorDecimalCommaAndByteOrderMark() throws IOException {
+        List<ImportedRow> rows = read("\uFEFF\"titre\";longitude;latitude;categorie;description\n"
+                + "Repas chauds;-6,84;34,02;ALIMENTAIRE;Distribution du soir\n"
+                + "\n"
+                + "Médicaments;-7,59;33,57;MEDICAL;Pharmacie de garde\n");
+
+        // Ligne vide ignorée, sans décaler la numérotation
+        assertThat(rows).extracting(ImportedRow::number).containsExactly(2L, 4L);
+        assertThat(rows.get(0).dto().getTitre()).isEqualTo("Repas chauds");
+        assertThat(rows.get(0).dto().getLatitude()).isEqualTo(34.02);
+        assertThat(rows.get(0).dto().getLongitude()).isEqualTo(-6.84);
+    }
+
+    @Test
+    void missingColumnsRejectTheFile() {
+        assertThatThrownBy(() -> read("titre,description,latitude\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Colonnes CSV manquantes : categorie, longitude");
+        assertThatThrownBy(() -> read(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Fichier CSV vide");
+    }
+
+    @Test
+    void unreadableValuesRejectOnlyTheirRow() throws IOException {
+        List<ImportedRow> rows = read(HEADER
+                + "Colis,Description,INCONNUE,34.02,-6.84\n"
+                + "Colis,Description,MEDICAL,nord,-6.84\n"
+                + "Colis,Description,MEDICAL,34.02\n");
+
+        assertThat(rows.get(0).error()).startsWith("Catégorie inconnue : 'INCONNUE'");
+        assertThat(rows.get(1).error()).isEqualTo("Latitude illisible : 'nord'");
+        // Colonne absente de la ligne : valeur manquante, signalée à la validation
+        assertThat(rows.get(2).error()).isNull();
+        assertThat(rows.get(2).dto().getLongitude()).isNull();
+    }
+
+    @Test
+    void unclosedQuoteIsRejectedWithTheLineWhereTheRowStarts() throws IOException {
+        List<ImportedRow> rows = read(HEADER
+                + "Colis,Description,MEDICAL,34.02,-6.84\n"
+                + "Eau,\"Guillemet ouvert\n"
+                + "jamais refermé,MEDICAL,33.57,-7.59\n"
+                + "Couvertures,Description,LOGISTIQUE,35.76,-5.83\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).isNull();
+        assertThat(rows.get(1).number()).isEqualTo(3);
+        assertThat(rows.get(1).error()).startsWith("Guillemet non fermé");
+    }
+
+    private static List<ImportedRow> read(String csv) throws IOException {
+        List<ImportedRow> rows = new ArrayList<>();
+        try (CsvCaseSource source = new CsvCaseSource(new BufferedReader(new StringReader(csv)))) {
+            ImportedRow row;
+            while ((row = source.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,80 @@
+package com.solidarlink.backend.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.enums.CasCategorie;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeoJsonCaseSourceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void featuresAreReadOneByOneAndNumberedByRank() throws IOException {
+        try (GeoJsonCaseSource source = open("""
+                {"type": "FeatureCollection", "name": "import", "crs": {"type": "name"},
+                 "features": [
+                   %s,
+                   {"type": "Feature", "geometry": {"type": "LineString", "coordinates": [[0, 0], [1, 1]]}},
+                   {"type": "Feature", "geometry": {"type": "Point", "coordinates": ["-6.84", 34.02]}},
+                   {"type": "Feature", "properties": {"categorie": "divers"},
+                    "geometry": {"type": "Point", "coordinates": [-6.84, 34.02]}}
+                 ],
+                 "bbox": [-7, 33, -6, 35]}
+                """.formatted(feature("Colis alimentaire")))) {
+            ImportedRow first = source.next();
+            assertThat(first.number()).isEqualTo(1);
+            assertThat(first.dto().getTitre()).isEqualTo("Colis alimentaire");
+            assertThat(first.dto().getCategorie()).isEqualTo(CasCategorie.ALIMENTAIRE);
+            assertThat(first.dto().getLongitude()).isEqualTo(-6.84);
+            assertThat(first.dto().getLatitude()).isEqualTo(34.02);
+
+            assertThat(source.next().error()).isEqualTo("Géométrie de type Point attendue");
+            assertThat(source.next().error()).isEqualTo("Coordonnées [longitude, latitude] attendues");
+            ImportedRow fourth = source.next();
+            assertThat(fourth.number()).isEqualTo(4);
+            assertThat(fourth.error()).startsWith("Catégorie inconnue : 'divers'");
+            assertThat(source.next()).isNull();
+        }
+    }
+
+    @Test
+    void malformedJsonAfterSomeFeaturesStopsTheReading() throws IOException {
+        try (GeoJsonCaseSource source = open("""
+                {"type": "FeatureCollection", "features": [%s, %s, {"type": "Feature", "geometry": {"type": ]}
+                """.formatted(feature("Premier cas"), feature("Second cas")))) {
+            assertThat(source.next().dto().getTitre()).isEqualTo("Premier cas");
+            assertThat(source.next().dto().getTitre()).isEqualTo("Second cas");
+            assertThatThrownBy(source::next).isInstanceOf(JsonProcessingException.class);
+        }
+    }
+
+    @Test
+    void documentWithoutFeaturesIsRejected() {
+        assertThatThrownBy(() -> open("[]"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("GeoJSON : un objet FeatureCollection est attendu");
+        assertThatThrownBy(() -> open("{\"type\": \"FeatureCollection\"}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("GeoJSON : tableau 'features' introuvable");
+        assertThatThrownBy(() -> open("{\"type\": "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("GeoJSON illisible");
+    }
+
+    static String feature(String titre) {
+        return """
+                {"type": "Feature",
+                 "properties": {"titre": "%s", "description": "Description assez longue du cas", "categorie": "alimentaire"},
+                 "geometry": {"type": "Point", "coordinates": [-6.84, 34.02]}}""".formatted(titre);
+    }
+
+    private GeoJsonCaseSource open(String json) throws IOException {
+        return new GeoJsonCaseSource(objectMapper.createParser(json));
+    }
+}
@@ -0,0 +1,85 @@
+package com.solidarlink.backend.matching;
+
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class CaseMatcherTest {
+
+    // Samedi 20h
+    private static final LocalDateTime SATURDAY_EVENING = LocalDateTime.of(2024, 3, 9, 20, 0);
+
+    @Test
+    void profileIsReadFromFreeText() {
+        VolunteerProfile profile = VolunteerProfile.of(User.builder()
+                .competences("Premiers Secours, conduite (permis B)")
+                .disponibilite("Week-ends et soirées")
+                .build());
+
+        assertThat(profile.skills()).containsExactlyInAnyOrder(CasCategorie.MEDICAL, CasCategorie.LOGISTIQUE);
+        assertThat(profile.availability()).containsExactlyInAnyOrder(Availability.WEEKENDS, Availability.EVENINGS);
+        assertThat(Availability.coversNow(profile.availability(), SATURDAY_EVENING)).isTrue();
+        assertThat(Availability.coversNow(profile.availability(), SATURDAY_EVENING.minusDays(4))).isFalse();
+    }
+
+    @Test
+    void keywordsMatchWholeWordsOnly() {
+        VolunteerProfile profile = VolunteerProfile.of(User.builder()
+                .competences("Je serai là en cas de besoin")
+                .disponibilite("En fin de semaine")
+                .build());
+
+        // "soin" n'est pas reconnu dans "besoin", ni "semaine" (jours ouvrés) dans "fin de semaine"
+        assertThat(profile.skills()).isEmpty();
+        assertThat(profile.availability()).containsExactly(Availability.WEEKENDS);
+    }
+
+    @Test
+    void keywordsIgnoreAccentsAndCaseAndMatchWordStems() {
+        VolunteerProfile profile = VolunteerProfile.of(User.builder()
+                .competences("SOINS à domicile, Pharmacienne")
+                .disponibilite("La semaine, l'Après-midi")
+                .build());
+
+        assertThat(profile.skills()).containsExactly(CasCategorie.MEDICAL);
+        assertThat(profile.availability()).containsExactlyInAnyOrder(Availability.WEEKDAYS, Availability.DAYTIME);
+    }
+
+    @Test
+    void emptyProfileIsNeutral() {
+        VolunteerProfile profile = VolunteerProfile.of(User.builder().build());
+
+        assertThat(CaseMatcher.skillFit(profile, CasCategorie.MEDICAL)).isEqualTo(0.5);
+        assertThat(CaseMatcher.availabilityFit(profile, SATURDAY_EVENING)).isEqualTo(0.5);
+    }
+
+    @Test
+    void matchingSkillOutranksSlightlyCloserCase() {
+        VolunteerProfile profile = VolunteerProfile.of(User.builder().competences("infirmière").build());
+
+        double medicalAt3km = CaseMatcher.score(profile, CasCategorie.MEDICAL, 3_000, 20_000,
+                SATURDAY_EVENING, SATURDAY_EVENING);
+        double foodAt1km = CaseMatcher.score(profile, CasCategorie.ALIMENTAIRE, 1_000, 20_000,
+                SATURDAY_EVENING, SATURDAY_EVENING);
+
+        assertThat(medicalAt3km).isGreaterThan(foodAt1km);
+        assertThat(CaseMatcher.isSkillMatch(profile, CasCategorie.MEDICAL)).isTrue();
+    }
+
+    @Test
+    void longWaitingCaseGetsABoost() {
+        VolunteerProfile profile = VolunteerProfile.of(User.builder().build());
+
+        double fresh = CaseMatcher.score(profile, CasCategorie.AUTRE, 5_000, 20_000,
+                SATURDAY_EVENING, SATURDAY_EVENING);
+        double waitingForAWeek = CaseMatcher.score(profile, CasCategorie.AUTRE, 5_000, 20_000,
+                SATURDAY_EVENING.minusDays(7), SATURDAY_EVENING);
+
+        assertThat(waitingForAWeek - fresh).isEqualTo(CaseMatcher.WAITING_WEIGHT, offset(0.001));
+    }
+}
@@ -0,0 +1,56 @@
+package com.solidarlink.backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final RateLimitRule LOGIN = new RateLimitRule(RateLimitGroup.LOGIN, 3, Duration.ofSeconds(30));
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @Test
+    void burstUpToCapacityThenOneTokenPerInterval() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume(LOGIN, "ip:1")).isZero();
+        }
+        assertThat(store.tryConsume(LOGIN, "ip:1")).isEqualTo(Duration.ofSeconds(10));
+        // Un autre sujet a son propre seau
+        assertThat(store.tryConsume(LOGIN, "ip:2")).isZero();
+
+        advance(Duration.ofSeconds(4));
+        assertThat(store.tryConsume(LOGIN, "ip:1")).isEqualTo(Duration.ofSeconds(6));
+        advance(Duration.ofSeconds(6));
+        assertThat(store.tryConsume(LOGIN, "ip:1")).isZero();
+        assertThat(store.tryConsume(LOGIN, "ip:1")).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void idleBucketsAreForgottenAndNewSubjectsShareAnOverflowBucketWhenFull() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(2, clock::get);
+        store.tryConsume(LOGIN, "ip:1");
+        store.tryConsume(LOGIN, "ip:2");
+
+        // Seaux encore actifs : les nouveaux sujets se partagent un seul seau
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume(LOGIN, "ip:overflow-" + i)).isZero();
+        }
+        assertThat(store.tryConsume(LOGIN, "ip:overflow-3")).isPositive();
+        assertThat(store.size()).isEqualTo(2);
+
+        // Seaux de nouveau pleins : purgés au prochain nouveau sujet
+        advance(Duration.ofSeconds(30));
+        assertThat(store.tryConsume(LOGIN, "ip:3")).isZero();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
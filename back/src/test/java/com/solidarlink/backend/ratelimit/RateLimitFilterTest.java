@@ -0,0 +1,106 @@
+package com.solidarlink.backend.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final Duration PERIOD = Duration.ofMinutes(1);
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitRules rules = new RateLimitRules(2, PERIOD, 2, PERIOD, 2, PERIOD, 2, PERIOD);
+        filter = new RateLimitFilter(new InMemoryRateLimitStore(100), rules, new ObjectMapper().findAndRegisterModules(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void loginIsCountedPerClientAddress() throws Exception {
+        assertThat(post("/api/auth/login", "203.0.113.1").getStatus()).isEqualTo(200);
+        assertThat(post("/api/auth/login", "203.0.113.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = post("/api/auth/login", "203.0.113.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        // Un jeton toutes les 30 s (2 par minute)
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(rejected.getContentAsString()).contains("\"errorCode\":\"RATE_LIMITED\"");
+
+        // Connexion déjà authentifiée : la connexion reste comptée par adresse
+        authenticate(5L);
+        assertThat(post("/api/auth/login", "203.0.113.1").getStatus()).isEqualTo(429);
+        assertThat(post("/api/auth/login", "203.0.113.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void caseWritesAreCountedPerUserWhateverTheAddress() throws Exception {
+        authenticate(5L);
+        assertThat(post("/api/cases", "203.0.113.1").getStatus()).isEqualTo(200);
+        assertThat(post("/api/cases/12/reports", "203.0.113.2").getStatus()).isEqualTo(200);
+        assertThat(post("/api/cases", "203.0.113.3").getStatus()).isEqualTo(429);
+
+        authenticate(6L);
+        assertThat(post("/api/cases", "203.0.113.1").getStatus()).isEqualTo(200);
+
+        // Appel anonyme : par adresse IP
+        SecurityContextHolder.clearContext();
+        assertThat(post("/api/cases", "203.0.113.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void profileFilesShareTheUploadQuota() throws Exception {
+        authenticate(5L);
+        assertThat(post("/api/users/me/document", "203.0.113.1").getStatus()).isEqualTo(200);
+        assertThat(post("/api/users/me/avatar", "203.0.113.1").getStatus()).isEqualTo(200);
+        assertThat(post("/api/uploads", "203.0.113.1").getStatus()).isEqualTo(429);
+        assertThat(post("/api/users/me/avatar", "203.0.113.1").getStatus()).isEqualTo(429);
+
+        // Quota distinct des écritures de cas
+        assertThat(post("/api/cases", "203.0.113.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void readsAndOtherRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(request("GET", "/api/cases", "203.0.113.1").getStatus()).isEqualTo(200);
+            assertThat(post("/api/interventions", "203.0.113.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse post(String path, String remoteAddr) throws Exception {
+        return request("POST", path, remoteAddr);
+    }
+
+    private MockHttpServletResponse request(String method, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(Long userId) {
+        User user = User.builder().id(userId).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,133 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Débit d'insertion d'un import de cas en masse : identifiants par séquence (pooled) et INSERT par lots.
+ * Le débit et le nombre de requêtes préparées sont journalisés avec la version de PostgreSQL mesurée ;
+ * le test échoue si les insertions ne sont plus regroupées.
+ */
+@Slf4j
+class CaseBulkInsertLoadTest extends PostgresIntegrationTest {
+
+    private static final int CASES = 5_000;
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final List<Long> inserted = new ArrayList<>();
+    private User author;
+
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(User.builder()
+                .nom("import-" + run)
+                .prenom("import")
+                .email("import-" + run + "@load.test")
+                .password("x")
+                .role(Role.CITOYEN)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (int from = 0; from < inserted.size(); from += CHUNK) {
+            List<Long> chunk = inserted.subList(from, Math.min(from + CHUNK, inserted.size()));
+            transactionTemplate.executeWithoutResult(status -> casRepository.deleteAllByIdIn(chunk));
+        }
+        userRepository.delete(author);
+    }
+
+    @Test
+    void bulkImportIsBatched() throws SQLException {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int from = 0; from < CASES; from += CHUNK) {
+            int offset = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = offset; i < offset + CHUNK; i++) {
+                    CasHumanitaire cas = casRepository.save(newCase(i));
+                    inserted.add(cas.getId());
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("Import de {} cas (2 photos chacun) sur {} : {} s, {} cas/s, {} requêtes préparées",
+                CASES, database(), String.format("%.2f", seconds), Math.round(CASES / seconds), statements);
+
+        // Sans lots : un INSERT par cas et par photo, soit 15 000 requêtes
+        assertThat(statements).isLessThan(CASES / 5);
+        assertThat(inserted).doesNotHaveDuplicates().hasSize(CASES);
+    }
+
+    private String database() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName() + " " + metaData.getDatabaseProductVersion();
+        }
+    }
+
+    private CasHumanitaire newCase(int i) {
+        return CasHumanitaire.builder()
+                .titre("Import " + i)
+                .description("Besoin importé depuis un tableur partenaire")
+                .categorie(CasCategorie.ALIMENTAIRE)
+                .status(CasStatut.EN_ATTENTE)
+                .location(geometryFactory.createPoint(new Coordinate(-6.8 + i * 1e-5, 34.0)))
+                .photos(List.of("import-" + i + "-a.jpg", "import-" + i + "-b.jpg"))
+                .author(author)
+                .build();
+    }
+}
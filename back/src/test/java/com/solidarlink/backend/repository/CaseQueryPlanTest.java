@@ -0,0 +1,163 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import com.solidarlink.backend.support.QueryPlans;
+import com.solidarlink.backend.support.SqlCaptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie, via EXPLAIN, que chaque combinaison de filtres du moteur de requêtes
+ * reste servie par l'index du filtre (condition d'index, pas un simple parcours trié
+ * filtré ensuite) et sans parcours séquentiel de cas_humanitaire.
+ * Nécessite PostgreSQL 16+ pour EXPLAIN (GENERIC_PLAN).
+ */
+class CaseQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final BoundingBox PARIS = new BoundingBox(2.22, 48.81, 2.47, 48.91);
+
+    private static final String[] STATUS_INDEXES = {
+            "idx_cas_status", "idx_cas_humanitaire_status",
+            "idx_cas_status_created", "idx_cas_humanitaire_status_created"};
+
+    private static final String[] LOCATION_INDEXES = {
+            "idx_cas_humanitaire_location_gist", "idx_cas_humanitaire_location_status_gist"};
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private QueryPlans queryPlans;
+
+    @BeforeEach
+    void setUp() {
+        SqlCaptor.clear();
+        queryPlans = new QueryPlans(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void statusQueryUsesIndex() {
+        assertIndexed(CaseQuery.builder().statuses(Set.of(CasStatut.VALIDE)).build(), STATUS_INDEXES);
+    }
+
+    @Test
+    void statusSetAndCategoryQueryUsesIndex() {
+        assertIndexed(CaseQuery.builder()
+                .statuses(Set.of(CasStatut.VALIDE, CasStatut.EN_COURS))
+                .categories(Set.of(CasCategorie.values()[0]))
+                .build(), concat(STATUS_INDEXES, "idx_cas_categorie", "idx_cas_humanitaire_categorie"));
+    }
+
+    @Test
+    void viewportAndStatusQueryUsesIndex() {
+        String sql = assertIndexed(CaseQuery.builder()
+                .viewport(PARIS)
+                .statuses(Set.of(CasStatut.VALIDE))
+                .build(), LOCATION_INDEXES);
+        // Coordonnées liées : un seul texte SQL quelle que soit la carte
+        assertThat(sql).doesNotContain("48.81").doesNotContain("4326");
+    }
+
+    @Test
+    void radiusQueryUsesIndex() {
+        String sql = assertIndexed(CaseQuery.builder()
+                .radius(new CaseQuery.Radius(48.8566, 2.3522, 2_000))
+                .build(), LOCATION_INDEXES);
+        assertThat(sql).doesNotContain("48.8566").doesNotContain("4326");
+    }
+
+    @Test
+    void authorAndDateRangeQueryUsesIndex() {
+        assertIndexed(CaseQuery.builder()
+                .authorId(1L)
+                .createdFrom(LocalDateTime.now().minusDays(30))
+                .createdTo(LocalDateTime.now())
+                .build(), "idx_cas_author", "idx_cas_humanitaire_author_id",
+                "idx_cas_created_at", "idx_cas_humanitaire_created_at");
+    }
+
+    @Test
+    void volunteerQueryUsesIndex() {
+        assertIndexed(CaseQuery.builder().volunteerId(1L).build(),
+                "idx_cas_volunteer", "idx_cas_humanitaire_volunteer_id");
+    }
+
+    @Test
+    void nearbyQueryUsesGeographyIndex() {
+        casRepository.findNearby(new CaseNearbySearch(48.8566, 2.3522, 5_000,
+                Set.of(CasStatut.VALIDE), null, 1_200d, 42L, 20));
+
+        List<String> plan = queryPlans.explain(QueryPlans.capturedSelect("cas_humanitaire"));
+        assertThat(plan)
+                .anyMatch(line -> line.contains("idx_cas_humanitaire_location_geog"))
+                .noneMatch(line -> line.contains("Seq Scan on cas_humanitaire"));
+    }
+
+    @Test
+    void overdueScansUsePartialInterventionIndex() {
+        // Index partiel : les cas résolus, qui gardent leur date d'intervention, n'y figurent pas
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_cas_date_intervention'", String.class))
+                .contains("WHERE").contains("EN_COURS");
+
+        casRepository.findOverdue(LocalDateTime.now(), PageRequest.of(0, 100));
+        assertUsesInterventionIndex();
+
+        SqlCaptor.clear();
+        casRepository.findOverdueNotEscalated(LocalDateTime.now(), PageRequest.of(0, 100));
+        assertUsesInterventionIndex();
+    }
+
+    private void assertUsesInterventionIndex() {
+        String sql = QueryPlans.capturedSelect("cas_humanitaire");
+        assertThat(queryPlans.explain(sql))
+                .as("Plan de %s", sql)
+                .anyMatch(line -> line.contains("idx_cas_date_intervention"))
+                .noneMatch(line -> line.contains("Seq Scan on cas_humanitaire"));
+    }
+
+    /**
+     * Le plan doit utiliser l'un des index attendus (créés à la fois par l'entité et par V1)
+     * avec une condition d'index : un parcours de idx_cas_created_at pour le tri, filtrant
+     * ensuite chaque ligne, ne suffit pas.
+     */
+    private String assertIndexed(CaseQuery query, String... indexes) {
+        casRepository.findAll(CasHumanitaireSpecifications.matching(query),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        String sql = QueryPlans.capturedSelect("cas_humanitaire");
+        List<String> plan = queryPlans.explain(sql);
+        assertThat(plan)
+                .as("Plan de %s", sql)
+                .anyMatch(line -> Arrays.stream(indexes).anyMatch(line::contains))
+                .anyMatch(line -> line.contains("Index Cond"))
+                .noneMatch(line -> line.contains("Seq Scan on cas_humanitaire"));
+        return sql;
+    }
+
+    private static String[] concat(String[] first, String... more) {
+        return Stream.concat(Arrays.stream(first), Arrays.stream(more)).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,66 @@
+package com.solidarlink.backend.repository;
+
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import com.solidarlink.backend.support.QueryPlans;
+import com.solidarlink.backend.support.SqlCaptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Historiques d'interventions : chaque page est servie par un index, sans parcours séquentiel
+ * de la table intervention. Nécessite PostgreSQL 16+ pour EXPLAIN (GENERIC_PLAN).
+ */
+class InterventionQueryPlanTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private InterventionRepository interventionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private QueryPlans queryPlans;
+
+    @BeforeEach
+    void setUp() {
+        SqlCaptor.clear();
+        queryPlans = new QueryPlans(jdbcTemplate, transactionTemplate);
+    }
+
+    @Test
+    void caseTimelineUsesIndex() {
+        interventionRepository.findItemsByCasId(1L, PageRequest.of(0, 20));
+        assertIndexed("idx_intervention_cas_date");
+    }
+
+    @Test
+    void volunteerTimelineUsesIndex() {
+        interventionRepository.findItemsByBenevoleId(1L, PageRequest.of(0, 20));
+        assertIndexed("idx_intervention_benevole_date");
+    }
+
+    @Test
+    void upcomingWindowUsesIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        interventionRepository.findUpcomingItems(now, now.plusDays(7), PageRequest.of(0, 20));
+        assertIndexed("idx_intervention_date");
+    }
+
+    private void assertIndexed(String index) {
+        String sql = QueryPlans.capturedSelect("from intervention");
+        assertThat(queryPlans.explain(sql))
+                .as("Plan de %s", sql)
+                .anyMatch(line -> line.contains(index))
+                .noneMatch(line -> line.contains("Seq Scan on intervention"));
+    }
+}
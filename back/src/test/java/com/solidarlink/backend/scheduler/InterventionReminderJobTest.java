@@ -0,0 +1,173 @@
+package com.solidarlink.backend.scheduler;
+
+import com.solidarlink.backend.repository.CaseReminderRow;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.service.EmailService;
+import com.solidarlink.backend.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterventionReminderJobTest {
+
+    private static final Duration LEAD = Duration.ofHours(24);
+    private static final int CHUNK_SIZE = 2;
+    private static final int MAX_CHUNKS = 50;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InterventionReminderJob job;
+
+    // Cas pris en charge sans rappel envoyé, et date du rappel une fois marqué
+    private final List<CaseReminderRow> scheduled = new ArrayList<>();
+    private final Map<Long, LocalDateTime> reminded = new HashMap<>();
+    private final List<CaseReminderRow> emailed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        job = new InterventionReminderJob(jobRunner, casRepository, notificationService, emailService,
+                transactionManager, LEAD, CHUNK_SIZE, MAX_CHUNKS);
+
+        // Même sélection que la requête : pas encore rappelés, dans la fenêtre, par date puis id
+        when(casRepository.findDueReminders(any(), any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            Pageable page = invocation.getArgument(2);
+            return scheduled.stream()
+                    .filter(row -> !reminded.containsKey(row.id()))
+                    .filter(row -> !row.dateIntervention().isBefore(from) && row.dateIntervention().isBefore(to))
+                    .sorted(Comparator.comparing(CaseReminderRow::dateIntervention)
+                            .thenComparing(CaseReminderRow::id))
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        when(casRepository.markReminded(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            LocalDateTime now = invocation.getArgument(1);
+            int marked = 0;
+            for (Long id : ids) {
+                if (reminded.putIfAbsent(id, now) == null) {
+                    marked++;
+                }
+            }
+            return marked;
+        });
+        doAnswer(invocation -> emailed.addAll(invocation.getArgument(0)))
+                .when(emailService).sendInterventionReminders(any());
+    }
+
+    @Test
+    void onlyInterventionsWithinTheLeadAreReminded() {
+        LocalDateTime now = LocalDateTime.now();
+        schedule(1L, now.plusHours(3));
+        schedule(2L, now.plusHours(23));
+        schedule(3L, now.plusHours(25));
+        schedule(4L, now.minusHours(1));
+
+        assertThat(job.sendDueReminders()).isEqualTo(2);
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(casRepository, atLeastOnce()).findDueReminders(from.capture(), to.capture(), any());
+        assertThat(from.getValue()).isCloseTo(now, within(1, ChronoUnit.MINUTES));
+        assertThat(Duration.between(from.getValue(), to.getValue())).isEqualTo(LEAD);
+        assertThat(emailed).extracting(CaseReminderRow::id).containsExactly(1L, 2L);
+        assertThat(reminded).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void eachChunkIsMarkedBeforeItsNotifications() {
+        LocalDateTime soon = LocalDateTime.now().plusHours(2);
+        for (long id = 1; id <= 5; id++) {
+            schedule(id, soon.plusMinutes(id));
+        }
+
+        assertThat(job.sendDueReminders()).isEqualTo(5);
+
+        // Lots de 2, 2 puis 1 : le dernier, incomplet, termine le passage
+        InOrder order = inOrder(casRepository, emailService);
+        order.verify(casRepository).markReminded(eq(List.of(1L, 2L)), any());
+        order.verify(emailService).sendInterventionReminders(argThat(rows -> rows.size() == 2));
+        order.verify(casRepository).markReminded(eq(List.of(3L, 4L)), any());
+        order.verify(emailService).sendInterventionReminders(argThat(rows -> rows.size() == 2));
+        order.verify(casRepository).markReminded(eq(List.of(5L)), any());
+        order.verify(emailService).sendInterventionReminders(argThat(rows -> rows.size() == 1));
+        verify(casRepository, times(3)).findDueReminders(any(), any(), any());
+        // Bénévole et auteur
+        verify(notificationService, times(10)).sendNotificationToUser(anyLong(), eq("intervention_reminder"), anyString());
+    }
+
+    @Test
+    void backlogIsCappedPerRunAndNoCaseIsRemindedTwice() {
+        LocalDateTime soon = LocalDateTime.now().plusHours(1);
+        int backlog = CHUNK_SIZE * MAX_CHUNKS + 30;
+        for (long id = 1; id <= backlog; id++) {
+            schedule(id, soon.plusSeconds(id));
+        }
+
+        // Premier passage : 50 lots au plus, le reste attend le passage suivant
+        assertThat(job.sendDueReminders()).isEqualTo(CHUNK_SIZE * MAX_CHUNKS);
+        verify(casRepository, times(MAX_CHUNKS)).markReminded(anyCollection(), any());
+
+        assertThat(job.sendDueReminders()).isEqualTo(30);
+        assertThat(job.sendDueReminders()).isZero();
+
+        assertThat(emailed).hasSize(backlog)
+                .extracting(CaseReminderRow::id).doesNotHaveDuplicates();
+        assertThat(reminded).hasSize(backlog);
+    }
+
+    @Test
+    void runGoesThroughTheJobRunner() {
+        job.run();
+
+        verify(jobRunner).run(eq(InterventionReminderJob.NAME), any());
+        verifyNoInteractions(casRepository);
+    }
+
+    private void schedule(Long id, LocalDateTime date) {
+        scheduled.add(new CaseReminderRow(id, "Cas " + id, date, 20L, 10L, "benevole@test", "Sara"));
+    }
+}
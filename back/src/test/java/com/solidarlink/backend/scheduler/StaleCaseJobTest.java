@@ -0,0 +1,97 @@
+package com.solidarlink.backend.scheduler;
+
+import com.solidarlink.backend.dto.CaseStatusDTOs;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.repository.CaseReminderRow;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.service.EmailService;
+import com.solidarlink.backend.service.NotificationService;
+import com.solidarlink.backend.workflow.CaseWorkflow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StaleCaseJobTest {
+
+    private static final LocalDateTime LAST_WEEK = LocalDateTime.now().minusDays(8);
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private CaseWorkflow caseWorkflow;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StaleCaseJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new StaleCaseJob(jobRunner, casRepository, caseWorkflow, notificationService, emailService,
+                transactionManager, Duration.ofDays(2), Duration.ofDays(7), true, 2, 10);
+    }
+
+    @Test
+    void staleCasesAreReleasedChunkByChunk() {
+        when(casRepository.findOverdue(any(), any()))
+                .thenReturn(List.of(row(1L), row(2L)))
+                .thenReturn(List.of(row(3L)));
+        when(caseWorkflow.transitionAll(any(), eq(CasStatut.VALIDE)))
+                .thenReturn(new CaseStatusDTOs.BulkStatusResult(CasStatut.VALIDE, List.of(1L, 2L), List.of()))
+                .thenReturn(new CaseStatusDTOs.BulkStatusResult(CasStatut.VALIDE, List.of(3L), List.of()));
+
+        assertThat(job.releaseStale()).isEqualTo(3);
+        verify(caseWorkflow).transitionAll(List.of(1L, 2L), CasStatut.VALIDE);
+        verify(caseWorkflow).transitionAll(List.of(3L), CasStatut.VALIDE);
+        verify(notificationService, times(3)).sendNotificationToUser(eq(10L), eq("case_released"), anyString());
+    }
+
+    @Test
+    void releaseStopsWhenAChunkChangesNothing() {
+        when(casRepository.findOverdue(any(), any())).thenReturn(List.of(row(1L), row(2L)));
+        when(caseWorkflow.transitionAll(any(), eq(CasStatut.VALIDE)))
+                .thenReturn(new CaseStatusDTOs.BulkStatusResult(CasStatut.VALIDE, List.of(), List.of(1L, 2L)));
+
+        assertThat(job.releaseStale()).isZero();
+        verify(caseWorkflow, times(1)).transitionAll(any(), any());
+    }
+
+    @Test
+    void overdueInterventionsAreEscalatedOnce() {
+        when(casRepository.findOverdueNotEscalated(any(), any())).thenReturn(List.of(row(4L)));
+
+        assertThat(job.escalateOverdue()).isEqualTo(1);
+        verify(casRepository).markEscalated(eq(List.of(4L)), any());
+        verify(notificationService).sendNotificationToUser(eq(10L), eq("intervention_overdue"), anyString());
+        verify(notificationService).sendNotificationToUser(eq(20L), eq("intervention_overdue"), anyString());
+        verify(emailService).sendOverdueInterventionNotices(List.of(row(4L)));
+    }
+
+    private static CaseReminderRow row(Long id) {
+        return new CaseReminderRow(id, "Cas " + id, LAST_WEEK, 20L, 10L, "benevole@test", "Sara");
+    }
+}
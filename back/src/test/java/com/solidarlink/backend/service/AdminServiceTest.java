@@ -0,0 +1,253 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.ModerationDTOs;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.event.AccountsValidatedEvent;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.InterventionRepository;
+import com.solidarlink.backend.repository.SignalementRepository;
+import com.solidarlink.backend.repository.UserContactRow;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.workflow.CaseWorkflow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private SignalementRepository signalementRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CaseWorkflow caseWorkflow;
+
+    @Mock
+    private InterventionRepository interventionRepository;
+
+    @Mock
+    private CaseActivityRollupService activityRollupService;
+
+    private AdminService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AdminService(userRepository, casRepository, signalementRepository, emailService,
+                eventPublisher, caseWorkflow, interventionRepository, activityRollupService);
+    }
+
+    // ========== VALIDATION ==========
+
+    @Test
+    void validationByIdsLocksAndUpdatesByChunksOfAThousand() {
+        // 2500 id, dont des doublons et un null : trois tranches triées
+        List<Long> ids = new ArrayList<>(ids(1, 2500));
+        ids.add(42L);
+        ids.add(null);
+        when(userRepository.lockPendingByIdIn(anyCollection()))
+                .thenAnswer(invocation -> contacts(invocation.getArgument(0)));
+
+        ModerationDTOs.BulkResult result = service.validateUsers(new ModerationDTOs.UserSelection(ids, null));
+
+        assertThat(result.updated()).isEqualTo(2500);
+        assertThat(chunksOf(captureLocked())).containsExactly(List.of(1L, 1000L), List.of(1001L, 2000L), List.of(2001L, 2500L));
+        ArgumentCaptor<Collection<Long>> validated = collectionCaptor();
+        verify(userRepository, times(3)).markValidated(validated.capture());
+        assertThat(validated.getAllValues()).extracting(Collection::size).containsExactly(1000, 1000, 500);
+        verify(userRepository, never()).lockPendingMatching(any(), any(), any());
+
+        // Un seul événement pour tous les emails
+        ArgumentCaptor<AccountsValidatedEvent> event = ArgumentCaptor.forClass(AccountsValidatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().accounts()).hasSize(2500);
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void validationByFilterUsesTheMatchingQuery() {
+        when(userRepository.lockPendingMatching(Role.BENEVOLE, null, false))
+                .thenReturn(contacts(ids(1, 3)));
+
+        ModerationDTOs.BulkResult result = service.validateUsers(new ModerationDTOs.UserSelection(
+                null, new ModerationDTOs.UserFilter(Role.BENEVOLE, null, false)));
+
+        assertThat(result.updated()).isEqualTo(3);
+        verify(userRepository).markValidated(List.of(1L, 2L, 3L));
+        verify(userRepository, never()).lockPendingByIdIn(anyCollection());
+    }
+
+    @Test
+    void nothingToValidatePublishesNoEvent() {
+        when(userRepository.lockPendingByIdIn(anyCollection())).thenReturn(List.of());
+
+        assertThat(service.validateUsers(new ModerationDTOs.UserSelection(List.of(1L), null)).updated()).isZero();
+        verify(userRepository, never()).markValidated(anyCollection());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // ========== BANNISSEMENT ==========
+
+    @Test
+    void banByIdsSumsTheChunkUpdates() {
+        when(userRepository.updateBannedByIdIn(anyCollection(), eq(true))).thenReturn(1000, 200);
+
+        ModerationDTOs.BulkResult result = service.setUsersBanned(
+                new ModerationDTOs.UserSelection(ids(1, 1500), null), true);
+
+        assertThat(result.updated()).isEqualTo(1200);
+        ArgumentCaptor<Collection<Long>> chunks = collectionCaptor();
+        verify(userRepository, times(2)).updateBannedByIdIn(chunks.capture(), eq(true));
+        assertThat(chunks.getAllValues()).extracting(Collection::size).containsExactly(1000, 500);
+        verify(userRepository, never()).updateBannedMatching(any(), any(), any(), eq(true));
+    }
+
+    @Test
+    void unbanByFilterIsOneUpdate() {
+        when(userRepository.updateBannedMatching(Role.CITOYEN, true, null, false)).thenReturn(7);
+
+        ModerationDTOs.BulkResult result = service.setUsersBanned(new ModerationDTOs.UserSelection(
+                List.of(), new ModerationDTOs.UserFilter(Role.CITOYEN, true, null)), false);
+
+        assertThat(result.updated()).isEqualTo(7);
+        verify(userRepository, never()).updateBannedByIdIn(anyCollection(), eq(false));
+    }
+
+    @Test
+    void everyFilterCriterionNarrowsTheSelection() {
+        // {"banned": true} seul : sans ce critère, la requête bannirait tous les comptes non administrateurs
+        service.setUsersBanned(new ModerationDTOs.UserSelection(
+                null, new ModerationDTOs.UserFilter(null, null, true)), true);
+        verify(userRepository).updateBannedMatching(null, null, true, true);
+
+        // {"validated": true} seul : aucun compte en attente ne correspond
+        service.validateUsers(new ModerationDTOs.UserSelection(
+                null, new ModerationDTOs.UserFilter(null, true, null)));
+        verify(userRepository).lockPendingMatching(null, true, null);
+    }
+
+    // ========== SUPPRESSION ==========
+
+    @Test
+    void caseDeletionRemovesChildRowsBeforeTheCases() {
+        // Id inconnus ignorés : seuls les cas existants sont supprimés et annoncés
+        when(casRepository.findExistingIds(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(id -> id % 2 == 0).toList());
+
+        ModerationDTOs.BulkResult result = service.deleteCases(new ModerationDTOs.CaseSelection(ids(1, 1200), null));
+
+        assertThat(result.updated()).isEqualTo(600);
+        InOrder order = inOrder(interventionRepository, signalementRepository, casRepository);
+        for (int chunk = 0; chunk < 2; chunk++) {
+            order.verify(interventionRepository).deleteByCasIdIn(anyList());
+            order.verify(signalementRepository).deleteByCasIdIn(anyList());
+            order.verify(casRepository).deleteAllByIdIn(anyList());
+        }
+        ArgumentCaptor<CaseLifecycleEvent> event = ArgumentCaptor.forClass(CaseLifecycleEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(CaseLifecycleEvent.Type.DELETED);
+        assertThat(event.getValue().caseIds()).hasSize(600).allMatch(id -> id % 2 == 0);
+    }
+
+    @Test
+    void caseDeletionByFilterChunksTheMatchingIds() {
+        when(casRepository.findIds(any())).thenReturn(ids(1, 2001));
+
+        ModerationDTOs.BulkResult result = service.deleteCases(new ModerationDTOs.CaseSelection(null,
+                new ModerationDTOs.CaseFilter(Set.of(CasStatut.REJETE), null, null, null, null)));
+
+        assertThat(result.updated()).isEqualTo(2001);
+        ArgumentCaptor<Collection<Long>> deleted = collectionCaptor();
+        verify(casRepository, times(3)).deleteAllByIdIn(deleted.capture());
+        assertThat(deleted.getAllValues()).extracting(Collection::size).containsExactly(1000, 1000, 1);
+        // Ids issus de la base : pas de vérification d'existence
+        verify(casRepository, never()).findExistingIds(anyCollection());
+    }
+
+    @Test
+    void selectionsAreCappedAtFiveThousandIds() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Set<ConstraintViolation<ModerationDTOs.UserSelection>> atCap = factory.getValidator()
+                    .validate(new ModerationDTOs.UserSelection(ids(1, 5000), null));
+            Set<ConstraintViolation<ModerationDTOs.CaseSelection>> overCap = factory.getValidator()
+                    .validate(new ModerationDTOs.CaseSelection(ids(1, 5001), null));
+            Set<ConstraintViolation<ModerationDTOs.UserSelection>> both = factory.getValidator()
+                    .validate(new ModerationDTOs.UserSelection(List.of(1L),
+                            new ModerationDTOs.UserFilter(Role.CITOYEN, null, null)));
+
+            assertThat(atCap).isEmpty();
+            assertThat(overCap).extracting(ConstraintViolation::getMessage).containsExactly("Maximum 5000 cas par requête");
+            assertThat(both).extracting(ConstraintViolation::getMessage)
+                    .containsExactly("Indiquer soit une liste d'id, soit un filtre non vide");
+        }
+    }
+
+    private List<List<Long>> chunksOf(List<Collection<Long>> calls) {
+        // Première et dernière valeur de chaque tranche
+        return calls.stream().map(chunk -> {
+            List<Long> values = List.copyOf(chunk);
+            return List.of(values.get(0), values.get(values.size() - 1));
+        }).toList();
+    }
+
+    private List<Collection<Long>> captureLocked() {
+        ArgumentCaptor<Collection<Long>> locked = collectionCaptor();
+        verify(userRepository, atLeastOnce()).lockPendingByIdIn(locked.capture());
+        return locked.getAllValues();
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().toList();
+    }
+
+    private static List<UserContactRow> contacts(Collection<Long> ids) {
+        return ids.stream().map(id -> new UserContactRow(id, "user" + id + "@solidarlink.test", "Prénom", Role.BENEVOLE))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<Long>> collectionCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.ModerationDTOs;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Chaque critère du filtre d'une modération en masse restreint la sélection : un filtre dont les
+ * critères ne désignent aucun compte ne modifie rien.
+ */
+class BulkModerationFilterTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User active;
+    private User pending;
+
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        active = userRepository.save(user("active-" + run, true));
+        pending = userRepository.save(user("pending-" + run, false));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAllById(List.of(active.getId(), pending.getId()));
+    }
+
+    @Test
+    void banFilterOnBannedAccountsBansNobody() {
+        ModerationDTOs.BulkResult result = adminService.setUsersBanned(new ModerationDTOs.UserSelection(
+                null, new ModerationDTOs.UserFilter(null, null, true)), true);
+
+        assertThat(result.updated()).isZero();
+        assertThat(reload(active).isBanned()).isFalse();
+        assertThat(reload(pending).isBanned()).isFalse();
+    }
+
+    @Test
+    void validationFilterOnValidatedAccountsValidatesNobody() {
+        ModerationDTOs.BulkResult result = adminService.validateUsers(new ModerationDTOs.UserSelection(
+                null, new ModerationDTOs.UserFilter(null, true, null)));
+
+        assertThat(result.updated()).isZero();
+        assertThat(reload(pending).isValidated()).isFalse();
+    }
+
+    private User reload(User user) {
+        return userRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private static User user(String name, boolean validated) {
+        return User.builder()
+                .nom(name)
+                .prenom(name)
+                .email(name + "@moderation.test")
+                .password("x")
+                .role(Role.CITOYEN)
+                .isValidated(validated)
+                .isBanned(false)
+                .build();
+    }
+}
@@ -1,33 +1,46 @@
 package com.solidarlink.backend.service;
 
+import com.solidarlink.backend.dto.BoundingBox;
 import com.solidarlink.backend.dto.CasHumanitaireDTO;
+import com.solidarlink.backend.dto.CaseListItem;
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.dto.CaseQuery;
+import com.solidarlink.backend.dto.InterventionDTO;
 import com.solidarlink.backend.entity.CasHumanitaire;
 import com.solidarlink.backend.entity.User;
 import com.solidarlink.backend.enums.CasCategorie;
 import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.exception.ConflictException;
 import com.solidarlink.backend.exception.ResourceNotFoundException;
 import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.spatial.ActiveCaseIndex;
+import com.solidarlink.backend.workflow.CaseWorkflow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,11 +55,21 @@ class CasHumanitaireServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ActiveCaseIndex activeCaseIndex;
+
+    @Mock
+    private CaseWorkflow caseWorkflow;
+
     @InjectMocks
     private CasHumanitaireService casService;
 
     private User testUser;
     private CasHumanitaire testCase;
+    private CaseListItem testItem;
     private GeometryFactory geometryFactory;
 
     @BeforeEach
@@ -68,45 +91,77 @@ class CasHumanitaireServiceTest {
                 .location(location)
                 .author(testUser)
                 .build();
+
+        testItem = new CaseListItem(1L, "Test Case", "Test Description", CasCategorie.ALIMENTAIRE,
+                CasStatut.EN_ATTENTE, location, 1L, null, null, null, null, null, null, null,
+                null, null, null);
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void shouldGetAllCasesPaginated() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<CasHumanitaire> expectedPage = new PageImpl<>(Arrays.asList(testCase));
-        when(casRepository.findAll(pageable)).thenReturn(expectedPage);
+        Page<CaseListItem> expectedPage = new PageImpl<>(List.of(testItem));
+        when(casRepository.findListItems(any(Specification.class), eq(pageable))).thenReturn(expectedPage);
 
         // When
-        Page<CasHumanitaire> result = casService.getAllCasesPaginated(pageable);
+        Page<CaseListItem> result = casService.getAllCasesPaginated(pageable);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).getTitre()).isEqualTo("Test Case");
-        verify(casRepository).findAll(pageable);
+        assertThat(result.getContent().get(0).titre()).isEqualTo("Test Case");
+        verify(casRepository).findListItems(any(Specification.class), eq(pageable));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void viewportWithoutStatusFilterMergesIndexedActiveCasesWithInactiveCasesFromTheDatabase() {
+        BoundingBox viewport = new BoundingBox(-7.70, 33.50, -7.50, 33.65);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(activeCaseIndex.isReady()).thenReturn(true);
+        when(activeCaseIndex.findInViewport(viewport, ActiveCaseIndex.INDEXED_STATUSES, null)).thenReturn(List.of(
+                mapItem(3L, CasStatut.EN_COURS, base.plusMinutes(3)),
+                mapItem(1L, CasStatut.VALIDE, base.plusMinutes(1))));
+        when(casRepository.findListItems(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(
+                List.of(listItem(4L, CasStatut.RESOLU, base.plusMinutes(4)),
+                        listItem(2L, CasStatut.EN_ATTENTE, base.plusMinutes(2))),
+                PageRequest.of(0, 3), 7));
+
+        Page<CaseMapItem> page = casService.getCasesInViewport(viewport, null, null, PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).extracting(CaseMapItem::id).containsExactly(2L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(9);
+        // La base ne lit que les offset + size premiers cas inactifs
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(casRepository).findListItems(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getOffset()).isZero();
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(4);
     }
 
     @Test
-    void shouldGetCasesByStatus() {
+    @SuppressWarnings("unchecked")
+    void shouldFindCasesByStatus() {
         // Given
         Pageable pageable = PageRequest.of(0, 10);
-        Page<CasHumanitaire> expectedPage = new PageImpl<>(Arrays.asList(testCase));
-        when(casRepository.findByStatus(CasStatut.EN_ATTENTE, pageable)).thenReturn(expectedPage);
+        Page<CaseListItem> expectedPage = new PageImpl<>(List.of(testItem));
+        when(casRepository.findListItems(any(Specification.class), eq(pageable))).thenReturn(expectedPage);
+        CaseQuery query = CaseQuery.builder().statuses(Set.of(CasStatut.EN_ATTENTE)).build();
 
         // When
-        Page<CasHumanitaire> result = casService.getCasesByStatus(CasStatut.EN_ATTENTE, pageable);
+        Page<CaseListItem> result = casService.findCases(query, pageable);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(casRepository).findByStatus(CasStatut.EN_ATTENTE, pageable);
+        verify(casRepository).findListItems(any(Specification.class), eq(pageable));
     }
 
     @Test
     void shouldThrowExceptionWhenCaseNotFound() {
         // Given
-        when(casRepository.findById(999L)).thenReturn(Optional.empty());
+        when(casRepository.findDetailedById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> casService.getCaseById(999L))
@@ -131,11 +186,10 @@ class CasHumanitaireServiceTest {
         // Given
         testCase.setStatus(CasStatut.EN_COURS);
         testCase.setVolunteer(testUser);
-        when(casRepository.findById(1L)).thenReturn(Optional.of(testCase));
-        when(casRepository.save(any(CasHumanitaire.class))).thenAnswer(invocation -> {
-            CasHumanitaire cas = invocation.getArgument(0);
-            cas.setStatus(CasStatut.RESOLU);
-            return cas;
+        when(casRepository.findDetailedById(1L)).thenReturn(Optional.of(testCase));
+        when(caseWorkflow.transition(1L, CasStatut.RESOLU)).thenAnswer(invocation -> {
+            testCase.setStatus(CasStatut.RESOLU);
+            return Optional.empty();
         });
 
         // When
@@ -143,6 +197,32 @@ class CasHumanitaireServiceTest {
 
         // Then
         assertThat(resolved.getStatus()).isEqualTo(CasStatut.RESOLU);
-        verify(casRepository).save(any(CasHumanitaire.class));
+        verify(caseWorkflow).transition(1L, CasStatut.RESOLU);
+        verify(casRepository, never()).save(any(CasHumanitaire.class));
+    }
+
+    @Test
+    void shouldRejectTakingACaseAlreadyTakenByAnotherVolunteer() {
+        // Given : la prise en charge conditionnelle échoue (voir CaseWorkflowTest)
+        InterventionDTO intervention = new InterventionDTO();
+        when(caseWorkflow.claim(eq(1L), eq(testUser), any(), any())).thenThrow(
+                new ConflictException("Ce cas a déjà été pris en charge par un autre bénévole", "CASE_ALREADY_TAKEN"));
+
+        // When & Then
+        assertThatThrownBy(() -> casService.takeCase(1L, intervention, testUser))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("déjà été pris en charge");
+        verify(casRepository, never()).findDetailedById(any());
+        verifyNoInteractions(eventPublisher, notificationService);
+    }
+
+    private static CaseMapItem mapItem(Long id, CasStatut status, LocalDateTime createdAt) {
+        return new CaseMapItem(id, "Cas " + id, null, CasCategorie.ALIMENTAIRE, status,
+                33.57, -7.59, List.of(), null, createdAt, createdAt);
+    }
+
+    private static CaseListItem listItem(Long id, CasStatut status, LocalDateTime createdAt) {
+        return new CaseListItem(id, "Cas " + id, null, CasCategorie.ALIMENTAIRE, status, 33.57, -7.59,
+                List.of(), null, null, null, createdAt, createdAt);
     }
 }
@@ -0,0 +1,121 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.StatsDTOs;
+import com.solidarlink.backend.entity.CaseActivityRollup;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.CaseActivity;
+import com.solidarlink.backend.enums.StatsGranularity;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CaseActivityRollupRepository;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaseActivityRollupServiceTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+
+    @Mock
+    private CaseActivityRollupRepository rollupRepository;
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CaseActivityRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CaseActivityRollupService(rollupRepository, casRepository, transactionManager, 100);
+    }
+
+    @Test
+    void weeklySeriesFoldsDailyRollupsAndFillsGaps() {
+        when(rollupRepository.findRange(eq(StatsGranularity.DAY), eq(MONDAY), any())).thenReturn(List.of(
+                row(MONDAY, CaseActivity.CREATED, CasCategorie.MEDICAL, 2),
+                row(MONDAY.plusDays(6), CaseActivity.CREATED, CasCategorie.ALIMENTAIRE, 3),
+                row(MONDAY.plusDays(14), CaseActivity.CREATED, CasCategorie.MEDICAL, 1),
+                row(MONDAY.plusDays(1), CaseActivity.RESOLVED, CasCategorie.MEDICAL, 4)));
+
+        StatsDTOs.TimeSeries series = service.timeSeries(MONDAY.plusDays(2), MONDAY.plusDays(21),
+                StatsGranularity.WEEK, Set.of(CaseActivity.CREATED), null, false);
+
+        assertThat(series.buckets()).containsExactly(MONDAY, MONDAY.plusWeeks(1), MONDAY.plusWeeks(2));
+        assertThat(series.series()).singleElement().satisfies(created -> {
+            assertThat(created.activity()).isEqualTo(CaseActivity.CREATED);
+            assertThat(created.categorie()).isNull();
+            assertThat(created.counts()).containsExactly(5L, 0L, 1L);
+        });
+    }
+
+    @Test
+    void seriesCanBeSplitByCategory() {
+        when(rollupRepository.findRange(eq(StatsGranularity.DAY), any(), any())).thenReturn(List.of(
+                row(MONDAY, CaseActivity.TAKEN, CasCategorie.MEDICAL, 2),
+                row(MONDAY, CaseActivity.TAKEN, CasCategorie.AUTRE, 1)));
+
+        StatsDTOs.TimeSeries series = service.timeSeries(MONDAY, MONDAY.plusDays(1), StatsGranularity.DAY,
+                Set.of(CaseActivity.TAKEN), Set.of(CasCategorie.MEDICAL, CasCategorie.LOGISTIQUE), true);
+
+        assertThat(series.series()).extracting(StatsDTOs.Series::categorie)
+                .containsExactly(CasCategorie.MEDICAL, CasCategorie.LOGISTIQUE);
+        assertThat(series.series().get(0).counts()).containsExactly(2L);
+        assertThat(series.series().get(1).counts()).containsExactly(0L);
+    }
+
+    @Test
+    void rejectsRangesWithTooManyBuckets() {
+        assertThatThrownBy(() -> service.timeSeries(MONDAY, MONDAY.plusDays(30), StatsGranularity.HOUR,
+                null, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void statusChangeIncrementsHourlyAndDailyRollupsPerCategory() {
+        when(casRepository.countByCategorieForIds(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new Object[]{CasCategorie.MEDICAL, 2L},
+                new Object[]{CasCategorie.AUTRE, 1L}));
+
+        service.onCaseLifecycle(CaseLifecycleEvent.statusChanged(List.of(1L, 2L, 3L), CasStatut.RESOLU));
+
+        verify(rollupRepository).increment(eq("HOUR"), any(), eq("RESOLVED"), eq("MEDICAL"), eq(2L));
+        verify(rollupRepository).increment(eq("DAY"), any(), eq("RESOLVED"), eq("MEDICAL"), eq(2L));
+        verify(rollupRepository).increment(eq("HOUR"), any(), eq("RESOLVED"), eq("AUTRE"), eq(1L));
+        verify(rollupRepository).increment(eq("DAY"), any(), eq("RESOLVED"), eq("AUTRE"), eq(1L));
+    }
+
+    @Test
+    void backToModerationIsNotCounted() {
+        service.onCaseLifecycle(CaseLifecycleEvent.statusChanged(1L, CasStatut.EN_ATTENTE));
+        service.onCaseLifecycle(CaseLifecycleEvent.updated(1L));
+
+        verifyNoInteractions(casRepository);
+        verify(rollupRepository, never()).increment(anyString(), any(), anyString(), anyString(), anyLong());
+    }
+
+    private static CaseActivityRollup row(LocalDateTime bucket, CaseActivity activity, CasCategorie categorie, long count) {
+        return new CaseActivityRollup(
+                new CaseActivityRollup.Key(StatsGranularity.DAY, bucket, activity, categorie), count);
+    }
+}
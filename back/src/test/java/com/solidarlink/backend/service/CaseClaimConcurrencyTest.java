@@ -0,0 +1,202 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.InterventionDTO;
+import com.solidarlink.backend.dto.InterventionDTOs;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.exception.ConflictException;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prise en charge concurrente d'un même cas : exactement un bénévole l'emporte,
+ * les autres reçoivent un conflit, sans verrou pessimiste.
+ */
+class CaseClaimConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int VOLUNTEERS = 16;
+
+    @Autowired
+    private CasHumanitaireService casService;
+
+    @Autowired
+    private InterventionService interventionService;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final List<User> volunteers = new ArrayList<>();
+    private User author;
+    private CasHumanitaire cas;
+
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(user("author-" + run, Role.CITOYEN));
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            volunteers.add(userRepository.save(user("volunteer-" + run + "-" + i, Role.BENEVOLE)));
+        }
+        cas = casRepository.save(CasHumanitaire.builder()
+                .titre("Concurrence " + run)
+                .description("Cas disputé par plusieurs bénévoles")
+                .categorie(CasCategorie.ALIMENTAIRE)
+                .status(CasStatut.VALIDE)
+                .location(geometryFactory.createPoint(new Coordinate(-6.84, 34.02)))
+                .author(author)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM points_ledger WHERE case_id = ?", cas.getId());
+        jdbcTemplate.update("DELETE FROM intervention WHERE cas_id = ?", cas.getId());
+        casRepository.deleteById(cas.getId());
+        userRepository.deleteAll(volunteers);
+        userRepository.delete(author);
+    }
+
+    @Test
+    void exactlyOneVolunteerTakesTheCase() throws Exception {
+        InterventionDTO intervention = InterventionDTO.builder()
+                .dateIntervention(LocalDateTime.now().plusDays(1))
+                .messageIntervention("J'arrive")
+                .build();
+
+        List<Outcome> outcomes = race(volunteer -> () -> {
+            casService.takeCase(cas.getId(), intervention, volunteer);
+            return null;
+        });
+
+        assertExactlyOneWinner(outcomes);
+    }
+
+    @Test
+    void exactlyOneVolunteerConfirmsAnIntervention() throws Exception {
+        List<Outcome> outcomes = race(volunteer -> () -> {
+            InterventionDTOs.InterventionRequest request = new InterventionDTOs.InterventionRequest();
+            request.setCasId(cas.getId());
+            request.setDateIntervention(LocalDateTime.now().plusDays(1));
+            request.setMessage("Disponible demain");
+            interventionService.confirmIntervention(request, volunteer.getEmail());
+            return null;
+        });
+
+        User winner = assertExactlyOneWinner(outcomes);
+        assertThat(jdbcTemplate.queryForList("SELECT benevole_id FROM intervention WHERE cas_id = ?", Long.class, cas.getId()))
+                .containsExactly(winner.getId());
+    }
+
+    @Test
+    void repeatedConfirmationsByTheWinnerAwardPointsOnce() throws Exception {
+        // Double envoi du même bénévole : une prise en charge, des confirmations, une seule attribution
+        User volunteer = volunteers.get(0);
+        List<Outcome> outcomes = race(ignored -> () -> {
+            casService.takeCase(cas.getId(), InterventionDTO.builder()
+                    .dateIntervention(LocalDateTime.now().plusDays(1))
+                    .messageIntervention("J'arrive")
+                    .build(), volunteer);
+            return null;
+        });
+
+        assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome.error()).isNull());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM points_ledger WHERE case_id = ? AND reason = 'INTERVENTION_CONFIRMED'",
+                Long.class, cas.getId())).isEqualTo(1);
+    }
+
+    /**
+     * Tous les bénévoles partent en même temps (barrière de départ).
+     */
+    private List<Outcome> race(Function<User, Callable<Void>> attempt) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(VOLUNTEERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (User volunteer : volunteers) {
+                Callable<Void> call = attempt.apply(volunteer);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<Outcome> outcomes = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get(30, TimeUnit.SECONDS);
+                    outcomes.add(new Outcome(volunteers.get(i), null));
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome(volunteers.get(i), e.getCause()));
+                } catch (TimeoutException e) {
+                    throw new AssertionError("Prise en charge bloquée", e);
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private User assertExactlyOneWinner(List<Outcome> outcomes) {
+        List<Outcome> winners = outcomes.stream().filter(o -> o.error() == null).toList();
+        assertThat(winners).hasSize(1);
+        assertThat(outcomes.stream().filter(o -> o.error() != null))
+                .hasSize(VOLUNTEERS - 1)
+                .allSatisfy(o -> assertThat(o.error()).isInstanceOf(ConflictException.class));
+
+        User winner = winners.get(0).volunteer();
+        CasHumanitaire saved = casRepository.findDetailedById(cas.getId()).orElseThrow();
+        assertThat(saved.getStatus()).isEqualTo(CasStatut.EN_COURS);
+        assertThat(saved.getVolunteer().getId()).isEqualTo(winner.getId());
+        return winner;
+    }
+
+    private record Outcome(User volunteer, Throwable error) {
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder()
+                .nom(name)
+                .prenom(name)
+                .email(name + "@claim.test")
+                .password("x")
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.solidarlink.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedStreamsTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChunkedStreams streams;
+
+    @BeforeEach
+    void setUp() {
+        streams = new ChunkedStreams(transactionManager);
+    }
+
+    @Test
+    void chunksAreWrittenInOneReadOnlyTransaction() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        StreamingResponseBody body = streams.response("Flux de test", stream -> streams.<String>writeChunks(
+                sink -> {
+                    sink.accept(List.of("a", "b"));
+                    sink.accept(List.of("c"));
+                },
+                chunk -> stream.write(String.join("", chunk).getBytes(StandardCharsets.UTF_8))));
+        body.writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("abc");
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void disconnectedClientStopsTheReadAndRethrowsTheWriteError() {
+        IOException reset = new IOException("Connection reset by peer");
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw reset;
+            }
+        };
+        List<Integer> read = new ArrayList<>();
+
+        StreamingResponseBody body = streams.response("Flux de test", stream -> streams.<Integer>writeChunks(
+                sink -> {
+                    for (int i = 0; i < 3; i++) {
+                        read.add(i);
+                        sink.accept(List.of(i));
+                    }
+                },
+                chunk -> stream.write(chunk.get(0))));
+
+        // Même exception qu'à l'écriture, pas d'UncheckedIOException ; aucune tranche lue après l'erreur
+        assertThatThrownBy(() -> body.writeTo(disconnected)).isSameAs(reset);
+        assertThat(read).containsExactly(0);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+}
@@ -0,0 +1,126 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.event.AccountsValidatedEvent;
+import com.solidarlink.backend.repository.UserContactRow;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Emails d'une validation en masse : envoyés seulement après le commit, par lots de 50 messages.
+ * Sans @EnableAsync, l'écouteur s'exécute dans le fil qui valide la transaction.
+ */
+@SpringJUnitConfig(EmailServiceTest.Config.class)
+@TestPropertySource(properties = "spring.mail.username=noreply@solidarlink.test")
+class EmailServiceTest {
+
+    @Configuration
+    @Import(EmailService.class)
+    static class Config {
+
+        @Bean
+        JavaMailSender mailSender() {
+            return mock(JavaMailSender.class);
+        }
+
+        @Bean
+        static TransactionalEventListenerFactory transactionalEventListenerFactory() {
+            return new TransactionalEventListenerFactory();
+        }
+    }
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        clearInvocations(mailSender);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void validationEmailsWaitForTheCommit() {
+        beginTransaction();
+        eventPublisher.publishEvent(new AccountsValidatedEvent(accounts(3)));
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+
+        commit();
+        verify(mailSender).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void rolledBackValidationSendsNothing() {
+        beginTransaction();
+        eventPublisher.publishEvent(new AccountsValidatedEvent(accounts(3)));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(mailSender, never()).send(any(MimeMessage[].class));
+    }
+
+    @Test
+    void emailsAreSentInBatchesOfFifty() {
+        eventPublisher.publishEvent(new AccountsValidatedEvent(accounts(120)));
+
+        ArgumentCaptor<MimeMessage[]> batches = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(3)).send(batches.capture());
+        assertThat(batches.getAllValues()).extracting(batch -> batch.length).containsExactly(50, 50, 20);
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static List<UserContactRow> accounts(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new UserContactRow(id, "user" + id + "@solidarlink.test", "Prénom", Role.BENEVOLE))
+                .toList();
+    }
+}
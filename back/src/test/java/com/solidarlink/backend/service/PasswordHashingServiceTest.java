@@ -0,0 +1,108 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingServiceTest.class);
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void callersNeverWaitLongerThanMaxWait() throws Exception {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), 1, 1, Duration.ofMillis(200), 4);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> hashing = CompletableFuture.supplyAsync(() -> service.compute(() -> {
+            running.countDown();
+            return await(release);
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Le seul fil est occupé : la tâche attend en file puis abandonne au bout de max-wait
+        assertThatThrownBy(() -> service.matches("secret", "$2a$04$invalid"))
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting(e -> ((ServiceBusyException) e).getRetryAfterSeconds()).isEqualTo(1L);
+
+        // Aucun appelant n'attend plus de max-wait, même celui dont le hachage est en cours
+        assertThatThrownBy(() -> hashing.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ServiceBusyException.class);
+        release.countDown();
+    }
+
+    @Test
+    void taskExceptionsAreRethrownUnchanged() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5), 4);
+
+        assertThatThrownBy(() -> service.compute(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        })).isInstanceOf(BadCredentialsException.class);
+        assertThat(service.matches("secret", service.encode("secret"))).isTrue();
+    }
+
+    /**
+     * Débit de connexions (vérifications BCrypt) par cœur et pour le pool, selon le coût.
+     * SOLIDARLINK_BENCHMARK=true mvn test -Dtest=PasswordHashingServiceTest
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "SOLIDARLINK_BENCHMARK", matches = "true")
+    void loginThroughputPerCore() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), cores, 1024, Duration.ofMinutes(1), 4);
+        for (int strength = 8; strength <= 12; strength++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            String hash = encoder.encode("benchmark-password");
+            double perCore = logins(1, () -> encoder.matches("benchmark-password", hash));
+            double pool = logins(cores, () -> service.compute(() -> encoder.matches("benchmark-password", hash)));
+            log.info("BCrypt coût {} : {} connexions/s par cœur, {} connexions/s sur {} cœurs",
+                    strength, String.format("%.1f", perCore), String.format("%.1f", pool), cores);
+        }
+    }
+
+    private static double logins(int clients, Runnable login) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        AtomicLong count = new AtomicLong();
+        List<CompletableFuture<Void>> runs = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            runs.add(CompletableFuture.runAsync(() -> {
+                while (System.nanoTime() < deadline) {
+                    login.run();
+                    count.incrementAndGet();
+                }
+            }, runnable -> new Thread(runnable).start()));
+        }
+        CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).get();
+        return count.get() / 2.0;
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
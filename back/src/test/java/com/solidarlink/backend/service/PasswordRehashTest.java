@@ -0,0 +1,85 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.AuthDTOs;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Re-hachage à la connexion d'un hachage plus faible que app.security.bcrypt.strength (10 par défaut),
+ * sans écraser un mot de passe changé entre-temps.
+ */
+class PasswordRehashTest extends PostgresIntegrationTest {
+
+    private static final String PASSWORD = "secret-password";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserDetailsPasswordService passwordService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BCryptPasswordEncoder weakEncoder = new BCryptPasswordEncoder(4);
+    private User user;
+    private String weakHash;
+
+    @BeforeEach
+    void seed() {
+        weakHash = weakEncoder.encode(PASSWORD);
+        user = userRepository.save(User.builder()
+                .nom("Rehash")
+                .prenom("Rehash")
+                .email("rehash-" + UUID.randomUUID().toString().substring(0, 8) + "@rehash.test")
+                .password(weakHash)
+                .role(Role.CITOYEN)
+                .isValidated(true)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void loginUpgradesAWeakerHash() {
+        authService.login(AuthDTOs.AuthenticationRequest.builder()
+                .email(user.getEmail())
+                .password(PASSWORD)
+                .build());
+
+        String stored = storedHash();
+        assertThat(stored).isNotEqualTo(weakHash).startsWith("$2a$10$");
+        assertThat(new BCryptPasswordEncoder(10).matches(PASSWORD, stored)).isTrue();
+    }
+
+    @Test
+    void rehashLeavesAPasswordChangedInTheMeantimeAlone() {
+        // Copie chargée par la connexion, avant le changement de mot de passe d'une autre session
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        String changed = weakEncoder.encode("changed-password");
+        userRepository.updatePasswordHash(user.getId(), weakHash, changed);
+
+        passwordService.updatePassword(loaded, new BCryptPasswordEncoder(10).encode(PASSWORD));
+
+        assertThat(storedHash()).isEqualTo(changed);
+    }
+
+    private String storedHash() {
+        return userRepository.findById(user.getId()).orElseThrow().getPassword();
+    }
+}
@@ -0,0 +1,81 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.StatsDTOs;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.spatial.CoverageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PublicServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private CoverageService coverageService;
+
+    private PublicService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PublicService(userRepository, casRepository, coverageService);
+        when(coverageService.summary()).thenReturn(new CoverageService.Summary(4, 2, null));
+    }
+
+    @Test
+    void growthComparesWithVolunteersValidatedThirtyDaysAgo() {
+        volunteers(12, 10);
+
+        StatsDTOs.ImpactStatsDTO stats = service.getImpactStats();
+
+        assertThat(stats.getActiveVolunteers()).isEqualTo(12);
+        assertThat(stats.getVolunteerGrowth()).isEqualTo(20.0);
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRepository).countValidatedCreatedBefore(eq(Role.BENEVOLE), before.capture());
+        assertThat(before.getValue())
+                .isCloseTo(LocalDateTime.now().minusDays(30), within(1, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void growthIsRoundedToOneDecimal() {
+        // 1/3 = 33,33... %
+        volunteers(4, 3);
+        assertThat(service.getImpactStats().getVolunteerGrowth()).isEqualTo(33.3);
+
+        // Moins de bénévoles validés qu'il y a 30 jours (comptes supprimés) : progression négative
+        volunteers(5, 6);
+        assertThat(service.getImpactStats().getVolunteerGrowth()).isEqualTo(-16.7);
+    }
+
+    @Test
+    void growthIsZeroWithoutVolunteersThirtyDaysAgo() {
+        volunteers(7, 0);
+
+        assertThat(service.getImpactStats().getVolunteerGrowth()).isZero();
+    }
+
+    private void volunteers(long active, long thirtyDaysAgo) {
+        when(userRepository.countByRoleAndIsValidatedTrue(Role.BENEVOLE)).thenReturn(active);
+        when(userRepository.countValidatedCreatedBefore(eq(Role.BENEVOLE), any())).thenReturn(thirtyDaysAgo);
+    }
+}
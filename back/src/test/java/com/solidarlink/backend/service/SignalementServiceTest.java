@@ -0,0 +1,144 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.SignalementDTOs;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.Signalement;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.exception.ConflictException;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CaseStatusRow;
+import com.solidarlink.backend.repository.SignalementRepository;
+import com.solidarlink.backend.workflow.CaseStatusChange;
+import com.solidarlink.backend.workflow.CaseWorkflow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SignalementServiceTest {
+
+    private static final Long CASE_ID = 1L;
+
+    @Mock
+    private SignalementRepository signalementRepository;
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private CaseWorkflow caseWorkflow;
+
+    private SignalementService service;
+    private final User reporter = User.builder().id(5L).build();
+    private final SignalementDTOs.ReportRequest request = new SignalementDTOs.ReportRequest("Arnaque", null);
+
+    @BeforeEach
+    void setUp() {
+        service = new SignalementService(signalementRepository, casRepository, caseWorkflow, 3);
+    }
+
+    @Test
+    void publishedCaseIsHiddenOnceThresholdIsReached() {
+        when(casRepository.findStatusRow(CASE_ID)).thenReturn(Optional.of(row(CasStatut.VALIDE)));
+        when(casRepository.lockStatusRows(List.of(CASE_ID))).thenReturn(List.of(row(CasStatut.VALIDE)));
+        when(casRepository.getReferenceById(CASE_ID)).thenReturn(new CasHumanitaire());
+        when(signalementRepository.countOpenReporters(CASE_ID)).thenReturn(3L);
+        when(caseWorkflow.transition(CASE_ID, CasStatut.EN_ATTENTE)).thenReturn(Optional.of(
+                new CaseStatusChange(CASE_ID, CasStatut.VALIDE, CasStatut.EN_ATTENTE, "Cas", 2L, null)));
+
+        service.report(CASE_ID, request, reporter);
+
+        // Signalement écrit, puis compté une fois le cas verrouillé
+        InOrder order = inOrder(signalementRepository, casRepository);
+        order.verify(signalementRepository).saveAndFlush(any(Signalement.class));
+        order.verify(casRepository).lockStatusRows(List.of(CASE_ID));
+        order.verify(signalementRepository).countOpenReporters(CASE_ID);
+        verify(casRepository).setReportHiddenAt(eq(CASE_ID), any(LocalDateTime.class));
+    }
+
+    @Test
+    void caseBelowThresholdOrInProgressStaysPublished() {
+        when(casRepository.getReferenceById(CASE_ID)).thenReturn(new CasHumanitaire());
+        when(casRepository.findStatusRow(CASE_ID)).thenReturn(Optional.of(row(CasStatut.VALIDE)));
+        when(casRepository.lockStatusRows(List.of(CASE_ID))).thenReturn(List.of(row(CasStatut.VALIDE)));
+        when(signalementRepository.countOpenReporters(CASE_ID)).thenReturn(2L);
+        service.report(CASE_ID, request, reporter);
+
+        // Statut relu sous le verrou : pris en charge entre-temps
+        when(casRepository.lockStatusRows(List.of(CASE_ID))).thenReturn(List.of(row(CasStatut.EN_COURS)));
+        service.report(CASE_ID, request, reporter);
+
+        verifyNoInteractions(caseWorkflow);
+        verify(casRepository, never()).setReportHiddenAt(any(), any());
+    }
+
+    @Test
+    void sameUserCannotReportACaseTwice() {
+        when(casRepository.findStatusRow(CASE_ID)).thenReturn(Optional.of(row(CasStatut.VALIDE)));
+        when(signalementRepository.existsByCasIdAndReporterIdAndIsClosedFalse(CASE_ID, 5L)).thenReturn(true);
+
+        assertThatThrownBy(() -> service.report(CASE_ID, request, reporter)).isInstanceOf(ConflictException.class);
+        verify(signalementRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void simultaneousDoubleSubmitIsAConflict() {
+        // Les deux requêtes passent la vérification ; l'index unique partiel refuse la seconde
+        when(casRepository.findStatusRow(CASE_ID)).thenReturn(Optional.of(row(CasStatut.VALIDE)));
+        when(casRepository.getReferenceById(CASE_ID)).thenReturn(new CasHumanitaire());
+        when(signalementRepository.saveAndFlush(any(Signalement.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_signalement_open_reporter"));
+
+        assertThatThrownBy(() -> service.report(CASE_ID, request, reporter))
+                .isInstanceOf(ConflictException.class)
+                .extracting(e -> ((ConflictException) e).getErrorCode()).isEqualTo("CASE_ALREADY_REPORTED");
+        verifyNoInteractions(caseWorkflow);
+    }
+
+    @Test
+    void dismissRepublishesOnlyCasesHiddenByReports() {
+        when(casRepository.findStatusRow(CASE_ID)).thenReturn(Optional.of(row(CasStatut.EN_ATTENTE)));
+        when(casRepository.findReportHiddenAt(CASE_ID)).thenReturn(Optional.of(LocalDateTime.now()));
+        service.decide(CASE_ID, SignalementDTOs.Decision.DISMISS);
+
+        verify(signalementRepository).closeOpenByCasId(CASE_ID);
+        verify(caseWorkflow).transition(CASE_ID, CasStatut.VALIDE);
+        verify(casRepository).setReportHiddenAt(eq(CASE_ID), isNull());
+
+        // Mise en attente manuelle par un modérateur : le cas reste en attente
+        clearInvocations(caseWorkflow);
+        when(casRepository.findReportHiddenAt(CASE_ID)).thenReturn(Optional.empty());
+        service.decide(CASE_ID, SignalementDTOs.Decision.DISMISS);
+        verifyNoInteractions(caseWorkflow);
+    }
+
+    @Test
+    void rejectClosesReportsAndRejectsTheCase() {
+        when(casRepository.findStatusRow(CASE_ID)).thenReturn(Optional.of(row(CasStatut.EN_COURS)));
+        when(casRepository.findReportHiddenAt(CASE_ID)).thenReturn(Optional.empty());
+
+        service.decide(CASE_ID, SignalementDTOs.Decision.REJECT_CASE);
+
+        verify(signalementRepository).closeOpenByCasId(CASE_ID);
+        verify(caseWorkflow).transition(CASE_ID, CasStatut.REJETE);
+    }
+
+    private static CaseStatusRow row(CasStatut status) {
+        return new CaseStatusRow(CASE_ID, status, "Cas", 2L, null);
+    }
+}
@@ -0,0 +1,144 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.dto.InterventionDTO;
+import com.solidarlink.backend.dto.InterventionDTOs;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.entity.VolunteerStats;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.enums.Role;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.UserRepository;
+import com.solidarlink.backend.repository.VolunteerStatsRepository;
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import com.solidarlink.backend.workflow.CaseWorkflow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les compteurs tenus à jour transition après transition sont ceux que donne le recalcul complet,
+ * y compris pour une prise en charge confirmée deux fois et un cas remis à disposition.
+ */
+class VolunteerStatsConsistencyTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private VolunteerStatsService statsService;
+
+    @Autowired
+    private VolunteerStatsRepository statsRepository;
+
+    @Autowired
+    private CasHumanitaireService casService;
+
+    @Autowired
+    private InterventionService interventionService;
+
+    @Autowired
+    private CaseWorkflow caseWorkflow;
+
+    @Autowired
+    private CasHumanitaireRepository casRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final List<CasHumanitaire> cases = new ArrayList<>();
+    private User author;
+    private User volunteer;
+
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(user("author-" + run, Role.CITOYEN));
+        volunteer = userRepository.save(user("volunteer-" + run, Role.BENEVOLE));
+        for (int i = 0; i < 4; i++) {
+            cases.add(casRepository.save(CasHumanitaire.builder()
+                    .titre("Statistiques " + run + " " + i)
+                    .description("Cas de test des statistiques")
+                    .categorie(CasCategorie.ALIMENTAIRE)
+                    .status(CasStatut.VALIDE)
+                    .location(geometryFactory.createPoint(new Coordinate(-6.84, 34.02)))
+                    .author(author)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        cases.forEach(cas -> {
+            jdbcTemplate.update("DELETE FROM intervention WHERE cas_id = ?", cas.getId());
+            casRepository.deleteById(cas.getId());
+        });
+        statsRepository.deleteById(volunteer.getId());
+        userRepository.delete(volunteer);
+        userRepository.delete(author);
+    }
+
+    @Test
+    void maintainedCountersMatchARebuild() {
+        // Confirmée deux fois : une seule intervention
+        take(cases.get(0));
+        take(cases.get(0));
+        // Proposée puis remise à disposition : l'intervention proposée reste comptée
+        confirm(cases.get(1));
+        caseWorkflow.transition(cases.get(1).getId(), CasStatut.VALIDE);
+        // Prise puis remise à disposition sans intervention proposée : plus comptée
+        take(cases.get(2));
+        caseWorkflow.transition(cases.get(2).getId(), CasStatut.VALIDE);
+        // Résolue, rouverte puis résolue de nouveau : une mission
+        take(cases.get(3));
+        caseWorkflow.transition(cases.get(3).getId(), CasStatut.RESOLU);
+        caseWorkflow.transition(cases.get(3).getId(), CasStatut.EN_COURS);
+        caseWorkflow.transition(cases.get(3).getId(), CasStatut.RESOLU);
+
+        VolunteerStats maintained = statsRepository.findById(volunteer.getId()).orElseThrow();
+        statsService.rebuild();
+        VolunteerStats rebuilt = statsRepository.findById(volunteer.getId()).orElseThrow();
+
+        assertThat(maintained.getInterventions()).isEqualTo(rebuilt.getInterventions()).isEqualTo(3);
+        assertThat(maintained.getMissionsCompleted()).isEqualTo(rebuilt.getMissionsCompleted()).isEqualTo(1);
+    }
+
+    private void take(CasHumanitaire cas) {
+        casService.takeCase(cas.getId(), InterventionDTO.builder()
+                .dateIntervention(LocalDateTime.now().plusDays(1))
+                .messageIntervention("J'arrive")
+                .build(), volunteer);
+    }
+
+    private void confirm(CasHumanitaire cas) {
+        InterventionDTOs.InterventionRequest request = new InterventionDTOs.InterventionRequest();
+        request.setCasId(cas.getId());
+        request.setDateIntervention(LocalDateTime.now().plusDays(1));
+        request.setMessage("Disponible demain");
+        interventionService.confirmIntervention(request, volunteer.getEmail());
+    }
+
+    private static User user(String name, Role role) {
+        return User.builder()
+                .nom(name)
+                .prenom(name)
+                .email(name + "@stats.test")
+                .password("x")
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.solidarlink.backend.service;
+
+import com.solidarlink.backend.entity.VolunteerStats;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.repository.VolunteerStatsRepository;
+import com.solidarlink.backend.workflow.CaseStatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VolunteerStatsServiceTest {
+
+    @Mock
+    private VolunteerStatsRepository statsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private VolunteerStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VolunteerStatsService(statsRepository, transactionManager, 2, 60_000);
+    }
+
+    @Test
+    void eachTransitionRecomputesItsVolunteersFromHistory() {
+        service.afterTransition(CasStatut.EN_COURS, List.of(
+                change(1L, CasStatut.VALIDE, CasStatut.EN_COURS, 7L),
+                change(2L, CasStatut.VALIDE, CasStatut.EN_COURS, 7L)));
+        service.afterTransition(CasStatut.RESOLU, List.of(
+                change(1L, CasStatut.EN_COURS, CasStatut.RESOLU, 7L),
+                change(3L, CasStatut.EN_COURS, CasStatut.RESOLU, 8L),
+                change(4L, CasStatut.VALIDE, CasStatut.RESOLU, null)));
+
+        verify(statsRepository).refreshFromHistory(Set.of(7L));
+        verify(statsRepository).refreshFromHistory(Set.of(7L, 8L));
+        verifyNoMoreInteractions(statsRepository);
+    }
+
+    @Test
+    void releasingACaseRecomputesTheVolunteerItWasTakenFrom() {
+        // Compté par le recalcul, pas par un incrément : rien à retirer à la main
+        service.afterTransition(CasStatut.VALIDE, List.of(change(3L, CasStatut.EN_COURS, CasStatut.VALIDE, 8L)));
+        service.afterTransition(CasStatut.VALIDE, List.of(change(5L, CasStatut.EN_ATTENTE, CasStatut.VALIDE, null)));
+
+        verify(statsRepository).refreshFromHistory(Set.of(8L));
+        verifyNoMoreInteractions(statsRepository);
+    }
+
+    @Test
+    void statsAreServedFromCacheUntilTheVolunteerChanges() {
+        when(statsRepository.findById(7L)).thenReturn(Optional.of(VolunteerStats.builder()
+                .volunteerId(7L).interventions(4).missionsCompleted(3).build()));
+
+        assertThat(service.statsOf(7L)).isEqualTo(new VolunteerStatsService.Stats(4, 3, 6));
+        assertThat(service.statsOf(7L)).isEqualTo(new VolunteerStatsService.Stats(4, 3, 6));
+        verify(statsRepository, times(1)).findById(7L);
+
+        service.afterTransition(CasStatut.RESOLU, List.of(change(1L, CasStatut.EN_COURS, CasStatut.RESOLU, 7L)));
+        service.statsOf(7L);
+        verify(statsRepository, times(2)).findById(7L);
+        verify(statsRepository).refreshFromHistory(Set.of(7L));
+    }
+
+    private static CaseStatusChange change(Long caseId, CasStatut from, CasStatut to, Long volunteerId) {
+        return new CaseStatusChange(caseId, from, to, "Cas " + caseId, 1L, volunteerId);
+    }
+}
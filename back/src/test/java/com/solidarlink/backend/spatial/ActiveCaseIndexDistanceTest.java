@@ -0,0 +1,55 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * L'index en mémoire et la recherche de proximité en base mesurent la même distance :
+ * un curseur (distance, id) reste valable quel que soit le chemin qui sert la page suivante.
+ */
+class ActiveCaseIndexDistanceTest extends PostgresIntegrationTest {
+
+    private static final double[][] PAIRS = {
+            {33.5731, -7.5898, 34.0209, -6.8416},   // Casablanca -> Rabat
+            {33.5731, -7.5898, 33.5800, -7.6000},   // ~1 km
+            {48.8566, 2.3522, 45.7640, 4.8357},     // Paris -> Lyon
+            {-33.8688, 151.2093, 64.1466, -21.9426} // Sydney -> Reykjavik
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void indexDistanceMatchesPostgisSphereDistance() {
+        for (double[] pair : PAIRS) {
+            double index = ActiveCaseIndex.distanceMeters(pair[0], pair[1], pair[2], pair[3]);
+            Double knn = jdbcTemplate.queryForObject("""
+                    SELECT CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography)
+                           <-> CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography)
+                    """, Double.class, pair[1], pair[0], pair[3], pair[2]);
+            Double sphere = jdbcTemplate.queryForObject(
+                    "SELECT ST_DistanceSphere(ST_SetSRID(ST_MakePoint(?, ?), 4326), ST_SetSRID(ST_MakePoint(?, ?), 4326))",
+                    Double.class, pair[1], pair[0], pair[3], pair[2]);
+
+            assertThat(index).as("<-> %s", (Object) pair).isCloseTo(knn, within(0.01));
+            assertThat(index).as("ST_DistanceSphere %s", (Object) pair).isCloseTo(sphere, within(0.01));
+        }
+    }
+
+    @Test
+    void radiusFilterUsesTheSameSphereAsTheDistance() {
+        // Juste au-delà de la distance sphérique : exclu, comme par ActiveCaseIndex.findNearby
+        double distance = ActiveCaseIndex.distanceMeters(33.5731, -7.5898, 34.0209, -6.8416);
+        Boolean within = jdbcTemplate.queryForObject("""
+                SELECT ST_DWithin(CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography),
+                                  CAST(ST_SetSRID(ST_MakePoint(?, ?), 4326) AS geography), ?, false)
+                """, Boolean.class, -7.5898, 33.5731, -6.8416, 34.0209, distance - 1);
+
+        assertThat(within).isFalse();
+    }
+}
@@ -0,0 +1,100 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.dto.CaseSearchDTOs;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ActiveCaseIndexTest {
+
+    private static final BoundingBox CASABLANCA = new BoundingBox(-7.70, 33.50, -7.50, 33.65);
+
+    private ActiveCaseIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ActiveCaseIndex();
+        index.replaceAll(List.of(
+                item(1L, CasStatut.VALIDE, 33.5731, -7.5898, 1),
+                item(2L, CasStatut.EN_COURS, 33.5800, -7.6000, 2),
+                item(3L, CasStatut.EN_ATTENTE, 33.5731, -7.5898, 3),
+                item(4L, CasStatut.VALIDE, 34.0209, -6.8416, 4)));
+    }
+
+    @Test
+    void shouldKeepOnlyActiveCases() {
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.covers(Set.of(CasStatut.VALIDE, CasStatut.EN_COURS))).isTrue();
+        assertThat(index.covers(Set.of(CasStatut.EN_ATTENTE))).isFalse();
+        assertThat(index.covers(null)).isFalse();
+    }
+
+    @Test
+    void shouldFindCasesInViewportNewestFirst() {
+        List<CaseMapItem> result = index.findInViewport(CASABLANCA, Set.of(CasStatut.VALIDE, CasStatut.EN_COURS), null);
+
+        assertThat(result).extracting(CaseMapItem::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldReflectUpsertAndRemove() {
+        index.upsert(item(1L, CasStatut.RESOLU, 33.5731, -7.5898, 1));
+        index.upsert(item(5L, CasStatut.VALIDE, 33.6000, -7.6500, 5));
+        index.remove(2L);
+
+        List<CaseMapItem> result = index.findInViewport(CASABLANCA, Set.of(CasStatut.VALIDE, CasStatut.EN_COURS), null);
+
+        assertThat(result).extracting(CaseMapItem::id).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnNearbyCasesByDistanceWithCursor() {
+        List<CaseSearchDTOs.NearbyHit> firstPage = index.findNearby(33.5731, -7.5898, 5_000,
+                Set.of(CasStatut.VALIDE, CasStatut.EN_COURS), null, null, null, 1);
+
+        assertThat(firstPage).extracting(CaseSearchDTOs.NearbyHit::getId).containsExactly(1L);
+        assertThat(firstPage.get(0).getDistanceMeters()).isZero();
+
+        CaseSearchDTOs.NearbyHit last = firstPage.get(0);
+        List<CaseSearchDTOs.NearbyHit> secondPage = index.findNearby(33.5731, -7.5898, 5_000,
+                Set.of(CasStatut.VALIDE, CasStatut.EN_COURS), null, last.getDistanceMeters(), last.getId(), 10);
+
+        // Rabat (id 4) est à ~85 km : hors rayon
+        assertThat(secondPage).extracting(CaseSearchDTOs.NearbyHit::getId).containsExactly(2L);
+        assertThat(secondPage.get(0).getDistanceMeters()).isBetween(1_000d, 1_300d);
+    }
+
+    @Test
+    void shouldMatchPostgisSphericalDistance() {
+        // Casablanca -> Rabat : ~85,2 km sur la sphère
+        double distance = ActiveCaseIndex.distanceMeters(33.5731, -7.5898, 34.0209, -6.8416);
+
+        assertThat(distance).isBetween(85_000d, 85_400d);
+    }
+
+    @Test
+    void shouldUseThePostgisSphereRadius() {
+        // Un degré de méridien sur la sphère de rayon moyen WGS84 : R * pi / 180
+        double distance = ActiveCaseIndex.distanceMeters(10, 5, 11, 5);
+
+        assertThat(distance).isCloseTo(111_195.0797, within(0.001));
+    }
+
+    private static CaseMapItem item(Long id, CasStatut status, double lat, double lon, int minutes) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(minutes);
+        return new CaseMapItem(id, "Cas " + id, null, CasCategorie.ALIMENTAIRE, status,
+                lat, lon, List.of(), null, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,101 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.dto.BoundingBox;
+import com.solidarlink.backend.dto.CaseMapItem;
+import com.solidarlink.backend.entity.CasHumanitaire;
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasCategorie;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.service.CaseCollectionVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveCaseIndexUpdaterTest {
+
+    private static final BoundingBox CASABLANCA = new BoundingBox(-7.70, 33.50, -7.50, 33.65);
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private CaseCollectionVersion collectionVersion;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ActiveCaseIndex index = new ActiveCaseIndex();
+    private ActiveCaseIndexUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        updater = new ActiveCaseIndexUpdater(index, casRepository, collectionVersion, transactionManager, true);
+    }
+
+    @Test
+    void eventsReceivedDuringAReloadAreReplayedOnTheSnapshot() {
+        // Le cas 2 est pris en charge pendant la lecture de l'instantané, qui le voit encore VALIDE
+        when(casRepository.findForMapByStatusIn(anyCollection())).thenAnswer(invocation -> {
+            updater.onCaseLifecycle(CaseLifecycleEvent.statusChanged(2L, CasStatut.EN_COURS));
+            updater.onCaseLifecycle(CaseLifecycleEvent.deleted(1L));
+            return new ArrayList<>(List.of(cas(1L, CasStatut.VALIDE, 1), cas(2L, CasStatut.VALIDE, 1)));
+        });
+        when(casRepository.findForMapByIdIn(List.of(2L)))
+                .thenReturn(new ArrayList<>(List.of(cas(2L, CasStatut.EN_COURS, 2))));
+
+        updater.reload();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.findInViewport(CASABLANCA, ActiveCaseIndex.INDEXED_STATUSES, null))
+                .extracting(CaseMapItem::id, CaseMapItem::status)
+                .containsExactly(tuple(2L, CasStatut.EN_COURS));
+    }
+
+    @Test
+    void casesWithoutLocationAreNotIndexed() {
+        CasHumanitaire withoutLocation = cas(2L, CasStatut.VALIDE, 1);
+        withoutLocation.setLocation(null);
+        when(casRepository.findForMapByStatusIn(anyCollection()))
+                .thenReturn(new ArrayList<>(List.of(cas(1L, CasStatut.VALIDE, 1), withoutLocation)));
+        updater.reload();
+        assertThat(index.size()).isEqualTo(1);
+
+        // Position retirée après coup : le cas sort de l'index au lieu d'être placé en (0, 0)
+        CasHumanitaire moved = cas(1L, CasStatut.VALIDE, 2);
+        moved.setLocation(null);
+        when(casRepository.findForMapByIdIn(List.of(1L))).thenReturn(new ArrayList<>(List.of(moved)));
+        updater.onCaseLifecycle(CaseLifecycleEvent.updated(1L));
+
+        assertThat(index.size()).isZero();
+    }
+
+    private static CasHumanitaire cas(Long id, CasStatut status, int minute) {
+        return CasHumanitaire.builder()
+                .id(id)
+                .titre("Cas " + id)
+                .description("Description du cas " + id)
+                .categorie(CasCategorie.ALIMENTAIRE)
+                .status(status)
+                .location(Geometries.point(-7.59, 33.57))
+                .photos(new ArrayList<>())
+                .author(User.builder().id(1L).build())
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 10, minute))
+                .build();
+    }
+}
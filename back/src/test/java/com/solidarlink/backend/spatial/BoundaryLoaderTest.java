@@ -0,0 +1,157 @@
+package com.solidarlink.backend.spatial;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solidarlink.backend.repository.AdminBoundaryRepository;
+import com.solidarlink.backend.scheduler.ClusterLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundaryLoaderTest {
+
+    private static final String SQUARE = "{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[1,0],[1,1],[0,0]]]}";
+
+    @Mock
+    private AdminBoundaryRepository boundaryRepository;
+
+    @Mock
+    private CoverageService coverageService;
+
+    @Mock
+    private ClusterLock clusterLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BoundaryLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = loader("classpath:limites-de-test.geojson");
+    }
+
+    @Test
+    void polygonsAreInsertedAndOtherFeaturesSkipped() throws IOException {
+        when(boundaryRepository.insertFromGeoJson(anyString(), anyString(), anyString())).thenReturn(1);
+
+        int loaded = loader.load(stream("""
+                {"type": "FeatureCollection", "name": "communes", "features": [
+                  %s,
+                  {"type": "Feature", "properties": {"code": "B"},
+                   "geometry": {"type": "MultiPolygon", "coordinates": [[[[0,0],[1,0],[1,1],[0,0]]]]}},
+                  {"type": "Feature", "properties": {"code": "C", "name": "Point"},
+                   "geometry": {"type": "Point", "coordinates": [0, 0]}},
+                  {"type": "Feature", "properties": {"name": "Sans code"}, "geometry": %s}
+                ]}
+                """.formatted(feature("A"), SQUARE)));
+
+        assertThat(loaded).isEqualTo(2);
+        verify(boundaryRepository).insertFromGeoJson(eq("A"), eq("Commune A"), contains("\"Polygon\""));
+        // Sans nom : le code sert de nom
+        verify(boundaryRepository).insertFromGeoJson(eq("B"), eq("B"), contains("\"MultiPolygon\""));
+        verifyNoMoreInteractions(boundaryRepository);
+    }
+
+    @Test
+    void featuresAreInsertedByBatchesOf200() throws IOException {
+        when(boundaryRepository.insertFromGeoJson(anyString(), anyString(), anyString())).thenReturn(1);
+        String features = IntStream.range(0, 450)
+                .mapToObj(i -> feature("C" + i))
+                .collect(Collectors.joining(","));
+
+        assertThat(loader.load(stream("{\"features\": [" + features + "]}"))).isEqualTo(450);
+
+        // 200 + 200 + 50 : une transaction par lot
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void documentWithoutFeaturesIsRejected() {
+        assertThatThrownBy(() -> loader.load(stream("{\"type\": \"FeatureCollection\"}")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> loader.load(stream("[]")))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void startupLoadRunsUnderTheClusterLockAndRefreshesCoverage() {
+        lockAcquired();
+        when(boundaryRepository.count()).thenReturn(0L);
+        when(boundaryRepository.insertFromGeoJson(anyString(), anyString(), anyString())).thenReturn(1);
+        loader = loader("data:" + "{\"features\": [" + feature("A") + "]}");
+
+        loader.loadOnStartup();
+
+        InOrder order = inOrder(clusterLock, boundaryRepository, coverageService);
+        order.verify(clusterLock).runExclusively(eq(BoundaryLoader.LOCK), any());
+        order.verify(boundaryRepository).insertFromGeoJson(eq("A"), eq("Commune A"), anyString());
+        order.verify(coverageService).refresh();
+    }
+
+    @Test
+    void startupLoadSkipsAFilledTable() {
+        // Une autre instance a chargé les limites pendant que celle-ci attendait son tour
+        lockAcquired();
+        when(boundaryRepository.count()).thenReturn(1500L);
+
+        loader.loadOnStartup();
+
+        verify(boundaryRepository, never()).insertFromGeoJson(anyString(), anyString(), anyString());
+        verifyNoInteractions(coverageService);
+    }
+
+    @Test
+    void startupLoadIsDisabledWithoutLocation() {
+        loader("").loadOnStartup();
+
+        verifyNoInteractions(clusterLock, boundaryRepository, coverageService);
+    }
+
+    private BoundaryLoader loader(String location) {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        resourceLoader.addProtocolResolver((path, ignored) -> path.startsWith("data:")
+                ? new ByteArrayResource(
+                        path.substring("data:".length()).getBytes(StandardCharsets.UTF_8))
+                : null);
+        return new BoundaryLoader(boundaryRepository, coverageService, clusterLock, resourceLoader,
+                new ObjectMapper(), transactionManager, location, "code", "name");
+    }
+
+    private void lockAcquired() {
+        when(clusterLock.runExclusively(eq(BoundaryLoader.LOCK), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
+    private static String feature(String code) {
+        return """
+                {"type": "Feature", "properties": {"code": "%s", "name": "Commune %s"}, "geometry": %s}
+                """.formatted(code, code, SQUARE);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,128 @@
+package com.solidarlink.backend.spatial;
+
+import com.solidarlink.backend.entity.BoundaryCoverage;
+import com.solidarlink.backend.repository.AdminBoundaryRepository;
+import com.solidarlink.backend.repository.BoundaryCoverageRepository;
+import com.solidarlink.backend.scheduler.ClusterLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoverageServiceTest {
+
+    private static final LocalDateTime COMPUTED_AT = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Mock
+    private BoundaryCoverageRepository coverageRepository;
+
+    @Mock
+    private AdminBoundaryRepository boundaryRepository;
+
+    @Mock
+    private ClusterLock clusterLock;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CoverageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CoverageService(coverageRepository, boundaryRepository, clusterLock, transactionManager, true);
+    }
+
+    @Test
+    void refreshRecomputesUnderTheClusterLock() {
+        lockAcquired();
+        when(boundaryRepository.count()).thenReturn(12L);
+        when(coverageRepository.insertComputedCoverage()).thenReturn(3);
+        storedCoverage(3, 1);
+
+        service.refresh();
+
+        verify(clusterLock).runExclusively(eq(CoverageService.LOCK), any());
+        InOrder order = inOrder(coverageRepository);
+        order.verify(coverageRepository).deleteAllRows();
+        order.verify(coverageRepository).insertComputedCoverage();
+        order.verify(coverageRepository).count();
+        assertThat(service.summary()).isEqualTo(new CoverageService.Summary(3, 1, COMPUTED_AT));
+    }
+
+    @Test
+    void instanceWithoutTheLockOnlyRereadsTheSummary() {
+        // Une autre instance recalcule : ni suppression ni insertion ici
+        when(clusterLock.runExclusively(eq(CoverageService.LOCK), any())).thenReturn(false);
+        storedCoverage(5, 2);
+
+        service.refresh();
+
+        verify(coverageRepository, never()).deleteAllRows();
+        verify(coverageRepository, never()).insertComputedCoverage();
+        assertThat(service.summary().coveredRegions()).isEqualTo(5);
+    }
+
+    @Test
+    void nothingIsDeletedWithoutBoundaries() {
+        lockAcquired();
+        when(boundaryRepository.count()).thenReturn(0L);
+        when(coverageRepository.count()).thenReturn(0L);
+
+        service.refresh();
+
+        verify(coverageRepository, never()).deleteAllRows();
+        assertThat(service.summary()).isEqualTo(new CoverageService.Summary(0, 0, null));
+    }
+
+    @Test
+    void failedRefreshKeepsThePreviousSummary() {
+        lockAcquired();
+        when(boundaryRepository.count()).thenReturn(12L);
+        when(coverageRepository.insertComputedCoverage()).thenReturn(3);
+        storedCoverage(3, 1);
+        service.refresh();
+
+        when(clusterLock.runExclusively(eq(CoverageService.LOCK), any()))
+                .thenThrow(new DataAccessResourceFailureException("Base indisponible"));
+        service.refresh();
+
+        assertThat(service.summary()).isEqualTo(new CoverageService.Summary(3, 1, COMPUTED_AT));
+    }
+
+    @Test
+    void disabledServiceNeverRecomputes() {
+        service = new CoverageService(coverageRepository, boundaryRepository, clusterLock, transactionManager, false);
+
+        service.refresh();
+
+        verifyNoInteractions(clusterLock, coverageRepository, boundaryRepository);
+    }
+
+    private void lockAcquired() {
+        when(clusterLock.runExclusively(eq(CoverageService.LOCK), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+
+    private void storedCoverage(long covered, long withResolved) {
+        when(coverageRepository.count()).thenReturn(covered);
+        when(coverageRepository.findAllByOrderByCasesDescNameAsc(PageRequest.of(0, 1)))
+                .thenReturn(List.of(BoundaryCoverage.builder().computedAt(COMPUTED_AT).build()));
+        when(coverageRepository.countWithResolvedCases()).thenReturn(withResolved);
+    }
+}
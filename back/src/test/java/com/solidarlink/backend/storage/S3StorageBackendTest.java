@@ -0,0 +1,146 @@
+package com.solidarlink.backend.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste le backend S3 contre un serveur local minimal compatible S3 (type MinIO),
+ * sans dépendance réseau externe.
+ */
+class S3StorageBackendTest {
+
+    private HttpServer server;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private S3StorageBackend backend;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        String endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+        backend = new S3StorageBackend(endpoint, "us-east-1", "uploads", "minio", "minio-secret",
+                true, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldStoreAndServeThroughPresignedDownload() throws Exception {
+        byte[] content = "photo-bytes".getBytes(StandardCharsets.UTF_8);
+
+        backend.store("abc_photo.jpg", new ByteArrayInputStream(content), content.length, "image/jpeg");
+
+        assertThat(objects).containsKey("/uploads/abc_photo.jpg");
+        URI download = backend.presignDownload("abc_photo.jpg").orElseThrow();
+        assertThat(download.getQuery()).contains("X-Amz-Signature");
+
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(download).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(content);
+    }
+
+    @Test
+    void shouldUploadDirectlyWithPresignedUrl() throws Exception {
+        PresignedUrl presigned = backend.presignUpload("direct_doc.png", "image/png", 9).orElseThrow();
+
+        assertThat(presigned.method()).isEqualTo("PUT");
+        assertThat(presigned.headers())
+                .containsEntry("content-type", "image/png")
+                .containsEntry("content-length", "9");
+
+        HttpRequest.Builder upload = HttpRequest.newBuilder(presigned.url())
+                .PUT(HttpRequest.BodyPublishers.ofString("png-bytes"));
+        // Content-Length est posé par HttpClient d'après le corps (en-tête restreint)
+        presigned.headers().forEach((name, value) -> {
+            if (!"content-length".equalsIgnoreCase(name)) {
+                upload.header(name, value);
+            }
+        });
+        HttpResponse<Void> response = httpClient.send(upload.build(), HttpResponse.BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(new String(objects.get("/uploads/direct_doc.png"), StandardCharsets.UTF_8)).isEqualTo("png-bytes");
+    }
+
+    @Test
+    void shouldDeleteObject() throws Exception {
+        objects.put("/uploads/old.jpg", new byte[]{1, 2, 3});
+
+        backend.delete("old.jpg");
+
+        assertThat(objects).doesNotContainKey("/uploads/old.jpg");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                String sha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+                objects.put(path, sha != null && sha.startsWith("STREAMING-") ? decodeAwsChunked(body) : body);
+                exchange.sendResponseHeaders(200, -1);
+            }
+            case "GET" -> {
+                byte[] body = objects.get(path);
+                if (body == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                }
+            }
+            case "DELETE" -> {
+                objects.remove(path);
+                exchange.sendResponseHeaders(204, -1);
+            }
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+        exchange.close();
+    }
+
+    // Décode le format "aws-chunked" : <taille hex>;chunk-signature=...\r\n<données>\r\n ... 0;...\r\n
+    private static byte[] decodeAwsChunked(byte[] body) throws IOException {
+        InputStream in = new ByteArrayInputStream(body);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while (true) {
+            StringBuilder header = new StringBuilder();
+            int c;
+            while ((c = in.read()) != '\n' && c != -1) {
+                header.append((char) c);
+            }
+            int size = Integer.parseInt(header.toString().split(";")[0].trim(), 16);
+            if (size == 0) {
+                return out.toByteArray();
+            }
+            out.write(in.readNBytes(size));
+            in.skip(2);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.solidarlink.backend.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base des tests d'intégration qui exigent un vrai PostgreSQL/PostGIS (plans d'exécution,
+ * concurrence, volumétrie). Ignorés tant que SOLIDARLINK_IT_DB_URL n'est pas défini, par exemple :
+ * <pre>
+ * SOLIDARLINK_IT_DB_URL=jdbc:postgresql://localhost:5432/solidedb_it \
+ * SOLIDARLINK_IT_DB_USER=postgres SOLIDARLINK_IT_DB_PASSWORD=postgres mvn test
+ * </pre>
+ * Les migrations de db/migration doivent avoir été appliquées sur cette base.
+ */
+@SpringBootTest
+@RequiresPostgres
+public abstract class PostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("SOLIDARLINK_IT_DB_URL"));
+        registry.add("spring.datasource.username", () -> env("SOLIDARLINK_IT_DB_USER", "postgres"));
+        registry.add("spring.datasource.password", () -> env("SOLIDARLINK_IT_DB_PASSWORD", "postgres"));
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+                SqlCaptor.class::getName);
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,39 @@
+package com.solidarlink.backend.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compte les requêtes SQL exécutées via les statistiques Hibernate
+ * (hibernate.generate_statistics, activé par {@link PostgresIntegrationTest}).
+ */
+public final class QueryBudget {
+
+    private final Statistics statistics;
+
+    public QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Exécute l'action et échoue si elle prépare plus de {@code maxQueries} requêtes.
+     */
+    public void assertAtMost(int maxQueries, String label, ThrowingRunnable action) throws Exception {
+        statistics.clear();
+        SqlCaptor.clear();
+        action.run();
+        long executed = statistics.getPrepareStatementCount();
+        assertThat(executed)
+                .as("%s : %d requêtes pour un budget de %d%n%s", label, executed, maxQueries,
+                        String.join("\n", SqlCaptor.statements()))
+                .isLessThanOrEqualTo(maxQueries);
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,54 @@
+package com.solidarlink.backend.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Plans d'exécution des requêtes capturées par {@link SqlCaptor}, via EXPLAIN (GENERIC_PLAN)
+ * (PostgreSQL 16+) : les paramètres JDBC {@code ?} sont renumérotés en {@code $n} sans valeur.
+ */
+public final class QueryPlans {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public QueryPlans(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Premier SELECT capturé dont le texte contient {@code fragment}.
+     */
+    public static String capturedSelect(String fragment) {
+        return SqlCaptor.statements().stream()
+                .filter(statement -> statement.strip().toLowerCase().startsWith("select"))
+                .filter(statement -> statement.contains(fragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Aucune requête capturée"));
+    }
+
+    public List<String> explain(String sql) {
+        String generic = numberParameters(sql);
+        return transactionTemplate.execute(status -> {
+            // Force le planificateur à révéler l'absence d'index plutôt qu'à préférer un seq scan sur une petite table
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + generic, String.class);
+        });
+    }
+
+    static String numberParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                out.append('$').append(++index);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
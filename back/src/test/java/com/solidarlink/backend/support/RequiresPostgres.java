@@ -0,0 +1,20 @@
+package com.solidarlink.backend.support;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Active le test uniquement si une base PostgreSQL d'intégration est fournie.
+ * Annotation héritée : les conditions JUnit seules ne passent pas aux sous-classes.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@EnabledIfEnvironmentVariable(named = "SOLIDARLINK_IT_DB_URL", matches = ".+")
+public @interface RequiresPostgres {
+}
@@ -0,0 +1,30 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.enums.CasStatut;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseTransitionsTest {
+
+    @Test
+    void everyStatusHasAWayOut() {
+        for (CasStatut status : CasStatut.values()) {
+            assertThat(CaseTransitions.targetsOf(status)).isNotEmpty().doesNotContain(status);
+        }
+    }
+
+    @Test
+    void resolvedCaseCannotGoBackToModeration() {
+        assertThat(CaseTransitions.isAllowed(CasStatut.RESOLU, CasStatut.EN_ATTENTE)).isFalse();
+        assertThat(CaseTransitions.isAllowed(CasStatut.REJETE, CasStatut.RESOLU)).isFalse();
+        assertThat(CaseTransitions.isAllowed(CasStatut.EN_ATTENTE, CasStatut.VALIDE)).isTrue();
+    }
+
+    @Test
+    void inProgressWithoutVolunteerPublishesTheCase() {
+        assertThat(CaseTransitions.effectiveTarget(CasStatut.EN_COURS, false)).isEqualTo(CasStatut.VALIDE);
+        assertThat(CaseTransitions.effectiveTarget(CasStatut.EN_COURS, true)).isEqualTo(CasStatut.EN_COURS);
+        assertThat(CaseTransitions.effectiveTarget(CasStatut.RESOLU, false)).isEqualTo(CasStatut.RESOLU);
+    }
+}
@@ -0,0 +1,145 @@
+package com.solidarlink.backend.workflow;
+
+import com.solidarlink.backend.entity.User;
+import com.solidarlink.backend.enums.CasStatut;
+import com.solidarlink.backend.event.CaseLifecycleEvent;
+import com.solidarlink.backend.exception.ConflictException;
+import com.solidarlink.backend.repository.CasHumanitaireRepository;
+import com.solidarlink.backend.repository.CaseStatusRow;
+import com.solidarlink.backend.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CaseWorkflowTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Mock
+    private CasHumanitaireRepository casRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CaseTransitionHook hook;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private CaseWorkflow workflow;
+    private User volunteer;
+
+    @BeforeEach
+    void setUp() {
+        workflow = new CaseWorkflow(casRepository, eventPublisher,
+                List.of(hook, new NotificationTransitionHook(notificationService)));
+        volunteer = new User();
+        volunteer.setId(7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void claimOfAValidatedCaseFiresTheTransition() {
+        when(casRepository.claimValidated(eq(1L), eq(volunteer), eq(DATE), eq("J'arrive"), any())).thenReturn(1);
+        stored(CasStatut.EN_COURS, 7L);
+
+        assertThat(workflow.claim(1L, volunteer, DATE, "J'arrive")).hasValueSatisfying(change -> {
+            assertThat(change.from()).isEqualTo(CasStatut.VALIDE);
+            assertThat(change.to()).isEqualTo(CasStatut.EN_COURS);
+            assertThat(change.volunteerId()).isEqualTo(7L);
+        });
+        verify(hook).afterTransition(eq(CasStatut.EN_COURS), anyList());
+        verify(eventPublisher).publishEvent(any(CaseLifecycleEvent.class));
+        verify(notificationService).sendNotificationToUser(eq(3L), eq("intervention_confirmed"), any());
+        // Mise à jour conditionnelle seule : aucun SELECT ... FOR UPDATE
+        verify(casRepository, never()).lockStatusRows(anyList());
+        verify(casRepository, never()).refreshClaim(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reconfirmationByTheSameVolunteerFiresNothing() {
+        when(casRepository.claimValidated(eq(1L), eq(volunteer), any(), any(), any())).thenReturn(0);
+        when(casRepository.refreshClaim(eq(1L), eq(volunteer), eq(DATE), eq("Finalement demain"), any()))
+                .thenReturn(1);
+
+        assertThat(workflow.claim(1L, volunteer, DATE, "Finalement demain")).isEmpty();
+        verifyNoInteractions(hook, eventPublisher, notificationService);
+        verify(casRepository, never()).lockStatusRows(anyList());
+    }
+
+    @Test
+    void claimOfACaseTakenByAnotherVolunteerIsAConflict() {
+        when(casRepository.claimValidated(eq(1L), eq(volunteer), any(), any(), any())).thenReturn(0);
+        when(casRepository.refreshClaim(eq(1L), eq(volunteer), any(), any(), any())).thenReturn(0);
+        stored(CasStatut.EN_COURS, 8L);
+
+        assertThatThrownBy(() -> workflow.claim(1L, volunteer, DATE, null))
+                .isInstanceOf(ConflictException.class)
+                .extracting(e -> ((ConflictException) e).getErrorCode()).isEqualTo("CASE_ALREADY_TAKEN");
+        verifyNoInteractions(hook, eventPublisher, notificationService);
+    }
+
+    @Test
+    void claimOfACaseNotPublishedIsAConflict() {
+        when(casRepository.claimValidated(eq(1L), eq(volunteer), any(), any(), any())).thenReturn(0);
+        when(casRepository.refreshClaim(eq(1L), eq(volunteer), any(), any(), any())).thenReturn(0);
+        stored(CasStatut.EN_ATTENTE, null);
+
+        assertThatThrownBy(() -> workflow.claim(1L, volunteer, DATE, null))
+                .isInstanceOf(ConflictException.class)
+                .extracting(e -> ((ConflictException) e).getErrorCode()).isEqualTo("CASE_NOT_AVAILABLE");
+    }
+
+    @Test
+    void notificationsWaitForTheCommit() {
+        when(casRepository.claimValidated(eq(1L), eq(volunteer), any(), any(), any())).thenReturn(1);
+        stored(CasStatut.EN_COURS, 7L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        workflow.claim(1L, volunteer, DATE, null);
+        verify(notificationService, never()).sendNotificationToUser(anyLong(), anyString(), any());
+
+        // Transaction annulée : aucune notification
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(notificationService, never()).sendNotificationToUser(anyLong(), anyString(), any());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(notificationService).sendNotificationToUser(eq(3L), eq("intervention_confirmed"), any());
+    }
+
+    private void stored(CasStatut status, Long volunteerId) {
+        when(casRepository.findStatusRow(1L))
+                .thenReturn(Optional.of(new CaseStatusRow(1L, status, "Colis", 3L, volunteerId)));
+    }
+}
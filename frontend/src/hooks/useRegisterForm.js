@@ -27,25 +27,6 @@ export const useRegisterForm = () => {
         setError(null);
 
         try {
-            // Handle file upload
-            let documentUrl = null;
-            let documentType = null;
-
-            if (data.document && data.document.length > 0) {
-                try {
-                    const file = data.document[0];
-                    const filename = await authService.uploadFile(file);
-                    documentUrl = filename;
-                    documentType = "CNI"; // Default type
-                } catch (uploadError) {
-                    console.error('File upload failed:', uploadError);
-                    throw new Error("Erreur lors de l'upload du document. Veuillez réessayer.");
-                }
-            } else if (role === 'VOLUNTEER') {
-                // Force document upload for volunteers if not handled by validation
-                // throw new Error("Le document d'identité est obligatoire pour les bénévoles.");
-            }
-
             const registerData = {
                 nom: data.lastName,
                 prenom: data.firstName,
@@ -54,12 +35,20 @@ export const useRegisterForm = () => {
                 telephone: data.phone,
                 role: role === 'CITIZEN' ? 'CITOYEN' : 'BENEVOLE',
                 competences: role === 'VOLUNTEER' ? data.skills : null,
-                disponibilite: role === 'VOLUNTEER' ? data.availability : null,
-                documentUrl,
-                documentType
+                disponibilite: role === 'VOLUNTEER' ? data.availability : null
             };
 
-            await authService.register(registerData);
+            const { token } = await authService.register(registerData);
+
+            // Handle file upload: uploads require an account, so the document follows registration
+            if (data.document && data.document.length > 0) {
+                try {
+                    await authService.uploadDocument(data.document[0], token, 'CNI');
+                } catch (uploadError) {
+                    console.error('File upload failed:', uploadError);
+                    throw new Error("Compte créé, mais l'envoi du document a échoué. Contactez un administrateur pour le transmettre.");
+                }
+            }
             setIsSuccess(true);
 
         } catch (err) {
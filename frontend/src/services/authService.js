@@ -6,12 +6,15 @@ const authService = {
         return response.data;
     },
 
-    uploadFile: async (file) => {
+    // Pièce d'identité : envoyée après l'inscription, avec le jeton qu'elle renvoie
+    uploadDocument: async (file, token, documentType = 'CNI') => {
         const formData = new FormData();
         formData.append('file', file);
-        const response = await api.post('/uploads', formData, {
+        formData.append('documentType', documentType);
+        const response = await api.post('/users/me/document', formData, {
             headers: {
                 'Content-Type': 'multipart/form-data',
+                Authorization: `Bearer ${token}`,
             },
         });
         return response.data; // Returns the filename
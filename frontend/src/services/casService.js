@@ -53,15 +53,18 @@ const casService = {
     },
 
     /**
-     * Get cases nearby
+     * Get cases nearby, closest first
      * @param {number} latitude 
      * @param {number} longitude 
      * @param {number} radius in meters
      * @param {string} [categorie] optional
+     * @param {string} [cursor] optional, nextCursor of the previous page
+     * @returns {Promise<{items: Array<{id, titre, distanceMeters}>, nextCursor: string|null}>}
      */
-    getCasesNearby: async (latitude, longitude, radius, categorie) => {
+    getCasesNearby: async (latitude, longitude, radius, categorie, cursor) => {
         const params = { latitude, longitude, radius };
         if (categorie) params.categorie = categorie;
+        if (cursor) params.cursor = cursor;
 
         const response = await api.get('/cases/nearby', { params });
         return response.data;